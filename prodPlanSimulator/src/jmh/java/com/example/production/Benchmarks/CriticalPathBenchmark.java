@@ -0,0 +1,40 @@
+package com.example.production.Benchmarks;
+
+import com.example.production.Domain.CriticalPathAnalyzer;
+import com.example.production.Domain.ProductionTree;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the forward and backward passes of {@link CriticalPathAnalyzer} on balanced
+ * production trees of 10^3 to 10^6 operations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CriticalPathBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int operations;
+
+    @Param({"4"})
+    public int fanOut;
+
+    private ProductionTree tree;
+    private final CriticalPathAnalyzer analyzer = new CriticalPathAnalyzer();
+
+    @Setup(Level.Trial)
+    public void buildTree() {
+        tree = SyntheticData.productionTree(operations, fanOut, 42);
+    }
+
+    @Benchmark
+    public int calculateEarliestAndLatest() {
+        analyzer.calculateEarliestAndLatest(tree);
+        return tree.getRoot().getChildren().get(0).getSlack();
+    }
+}
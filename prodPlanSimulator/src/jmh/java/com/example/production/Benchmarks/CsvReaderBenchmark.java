@@ -0,0 +1,114 @@
+package com.example.production.Benchmarks;
+
+import com.example.production.Domain.Article;
+import com.example.production.Domain.ProductionTree;
+import com.example.production.Domain.Workstation;
+import com.example.production.Utils.CSVReader;
+import com.example.production.Utils.DatasetGenerator;
+import com.example.production.Utils.MappedCSVReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the CSV loaders on files written by {@link DatasetGenerator}: articles.csv and
+ * workstations.csv through {@link CSVReader#readCSVFile} and {@link MappedCSVReader}, and the BOO
+ * through {@link CSVReader#readProductionTrees}.
+ * <p>
+ * readProductionTrees builds one tree per BOO entry, so the number of nodes grows with
+ * entries times tree depth; with fan-out 4, depth 8 already gives about 10^5 operations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CsvReaderBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ArticleFiles {
+
+        @Param({"1000", "10000", "100000", "1000000"})
+        public int articles;
+
+        private Path directory;
+        private Path articlesFile;
+        private Path workstationsFile;
+
+        @Setup(Level.Trial)
+        public void writeFiles() throws IOException {
+            directory = Files.createTempDirectory("prodplan-bench");
+            articlesFile = directory.resolve("articles.csv");
+            workstationsFile = directory.resolve("workstations.csv");
+
+            DatasetGenerator generator = new DatasetGenerator(42);
+            generator.writeArticles(articlesFile, articles, 20, 5);
+            generator.writeWorkstations(workstationsFile, 20, 3, 100);
+        }
+
+        @TearDown(Level.Trial)
+        public void deleteFiles() throws IOException {
+            SyntheticData.deleteRecursively(directory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BooFiles {
+
+        @Param({"4", "6", "8"})
+        public int booDepth;
+
+        @Param({"4"})
+        public int fanOut;
+
+        private Path directory;
+        private Path booFile;
+        private Path itemsFile;
+        private Path operationsFile;
+
+        @Setup(Level.Trial)
+        public void writeFiles() throws IOException {
+            directory = Files.createTempDirectory("prodplan-bench");
+            booFile = directory.resolve("boo_v2.csv");
+            itemsFile = directory.resolve("items.csv");
+            operationsFile = directory.resolve("operations.csv");
+
+            new DatasetGenerator(42).writeBoo(booFile, itemsFile, operationsFile, booDepth, fanOut, 20);
+        }
+
+        @TearDown(Level.Trial)
+        public void deleteFiles() throws IOException {
+            SyntheticData.deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    public List<Article> readArticles(ArticleFiles files) throws IOException {
+        List<Article> articles = new ArrayList<>(files.articles);
+        List<Workstation> workstations = new ArrayList<>();
+        CSVReader.readCSVFile(files.articlesFile.toString(), "article", articles, workstations, null);
+        CSVReader.readCSVFile(files.workstationsFile.toString(), "workstation", articles, workstations, null);
+        return articles;
+    }
+
+    @Benchmark
+    public List<Article> readArticlesMapped(ArticleFiles files) throws IOException {
+        List<Article> articles = new ArrayList<>(files.articles);
+        List<Workstation> workstations = new ArrayList<>();
+        MappedCSVReader reader = new MappedCSVReader();
+        reader.readArticles(files.articlesFile, articles);
+        reader.readWorkstations(files.workstationsFile, workstations);
+        return articles;
+    }
+
+    @Benchmark
+    public Map<String, ProductionTree> readProductionTrees(BooFiles files) throws IOException {
+        return CSVReader.readProductionTrees(files.booFile.toString(), files.itemsFile.toString(), files.operationsFile.toString());
+    }
+}
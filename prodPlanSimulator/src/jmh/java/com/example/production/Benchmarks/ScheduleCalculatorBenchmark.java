@@ -0,0 +1,44 @@
+package com.example.production.Benchmarks;
+
+import com.example.production.Domain.ScheduleCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ScheduleCalculator#calculateSchedule} (topological sort, forward and backward
+ * pass) on random PERT/CPM projects of 10^3 to 10^6 activities.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ScheduleCalculatorBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int activities;
+
+    /**
+     * Probability that an activity depends on each of the previous {@link #window} activities.
+     */
+    @Param({"0.1", "0.5"})
+    public double density;
+
+    @Param({"10"})
+    public int window;
+
+    private SyntheticData.Project project;
+
+    @Setup(Level.Trial)
+    public void buildProject() {
+        project = SyntheticData.project(activities, window, density, 42);
+    }
+
+    @Benchmark
+    public double calculateSchedule() {
+        ScheduleCalculator.calculateSchedule(project.graph, project.activities);
+        return project.activities.get(project.activities.size() - 1).getLatestFinish();
+    }
+}
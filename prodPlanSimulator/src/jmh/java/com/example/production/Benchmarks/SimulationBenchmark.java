@@ -0,0 +1,63 @@
+package com.example.production.Benchmarks;
+
+import com.example.production.Domain.Article;
+import com.example.production.Domain.Simulation;
+import com.example.production.Domain.Workstation;
+import com.example.production.Utils.NullPrinter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full run of the deterministic simulation engine, from the first dispatch to the
+ * summary, for datasets of 10^3 to 10^6 articles. Output goes to a {@link NullPrinter}, so only
+ * the event loop and the statistics are measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SimulationBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int articles;
+
+    @Param({"20"})
+    public int operationTypes;
+
+    @Param({"3"})
+    public int workstationsPerOperation;
+
+    @Param({"5"})
+    public int routingLength;
+
+    @Param({"FIFO", "PRIORITY"})
+    public Simulation.SimulationStrategy strategy;
+
+    private List<Article> articleList;
+    private Simulation simulation;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        articleList = SyntheticData.articles(articles, operationTypes, routingLength, 42);
+    }
+
+    /**
+     * A simulation keeps its statistics and flow records and adds usage time to the workstations,
+     * so each invocation gets fresh ones.
+     */
+    @Setup(Level.Invocation)
+    public void createSimulation() {
+        List<Workstation> workstationList = SyntheticData.workstations(operationTypes, workstationsPerOperation, 7);
+        simulation = new Simulation(articleList, workstationList, new NullPrinter(), strategy, Simulation.EngineMode.DETERMINISTIC);
+    }
+
+    @Benchmark
+    public int runSimulation() {
+        simulation.runSimulation();
+        return simulation.getTotalProductionTime();
+    }
+}
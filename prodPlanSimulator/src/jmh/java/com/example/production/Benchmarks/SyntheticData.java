@@ -0,0 +1,132 @@
+package com.example.production.Benchmarks;
+
+import com.example.production.Domain.Activity;
+import com.example.production.Domain.Article;
+import com.example.production.Domain.ProductionNode;
+import com.example.production.Domain.ProductionTree;
+import com.example.production.Domain.Workstation;
+import com.example.production.Graphs.Graph;
+import com.example.production.Graphs.Map.MapGraph;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Builds reproducible synthetic inputs for the benchmarks. Every method takes a seed, so two
+ * forks of the same benchmark always measure the same data.
+ */
+final class SyntheticData {
+
+    private static final String[] PRIORITIES = {"high", "normal", "low"};
+
+    private SyntheticData() {
+    }
+
+    static String operationName(int operation) {
+        return "OP" + operation;
+    }
+
+    /**
+     * Creates articles with random routings over {@code operations} operations.
+     */
+    static List<Article> articles(int count, int operations, int routingLength, long seed) {
+        Random random = new Random(seed);
+        List<Article> articles = new ArrayList<>(count);
+        for (int a = 0; a < count; a++) {
+            List<String> routing = new ArrayList<>(routingLength);
+            for (int i = 0; i < routingLength; i++) {
+                routing.add(operationName(random.nextInt(operations)));
+            }
+            articles.add(new Article(a + 1, PRIORITIES[random.nextInt(PRIORITIES.length)], routing));
+        }
+        return articles;
+    }
+
+    /**
+     * Creates {@code perOperation} workstations for each operation, with processing times from 1 to 100.
+     */
+    static List<Workstation> workstations(int operations, int perOperation, long seed) {
+        Random random = new Random(seed);
+        List<Workstation> workstations = new ArrayList<>(operations * perOperation);
+        for (int o = 0; o < operations; o++) {
+            for (int w = 0; w < perOperation; w++) {
+                workstations.add(new Workstation("WS" + o + "_" + w, operationName(o), 1 + random.nextInt(100)));
+            }
+        }
+        return workstations;
+    }
+
+    /**
+     * Creates a production tree with {@code operations} operation nodes, each with its output
+     * material and up to {@code fanOut} sub-operations (breadth-first, so the tree stays balanced).
+     */
+    static ProductionTree productionTree(int operations, int fanOut, long seed) {
+        Random random = new Random(seed);
+        ProductionNode root = new ProductionNode("M0", "product", ProductionNode.NodeType.MATERIAL, 1);
+        Deque<ProductionNode> open = new ArrayDeque<>();
+        open.add(root);
+        int created = 0;
+        while (created < operations) {
+            ProductionNode material = open.poll();
+            for (int c = 0; c < fanOut && created < operations; c++, created++) {
+                ProductionNode operation = new ProductionNode("O" + created, "operation " + created, ProductionNode.NodeType.OPERATION, 1);
+                operation.setDuration(1 + random.nextInt(10));
+                ProductionNode input = new ProductionNode("M" + (created + 1), "material " + (created + 1), ProductionNode.NodeType.MATERIAL, 1 + random.nextInt(4));
+                operation.addChild(input);
+                material.addChild(operation);
+                open.add(input);
+            }
+        }
+        ProductionTree tree = new ProductionTree();
+        tree.setRoot(root);
+        return tree;
+    }
+
+    /**
+     * Creates a PERT/CPM project of {@code count} activities. Each activity gets every one of the
+     * previous {@code window} activities as a predecessor with probability {@code density}.
+     */
+    static Project project(int count, int window, double density, long seed) {
+        Random random = new Random(seed);
+        Graph<String, String> graph = new MapGraph<>(true);
+        List<Activity> activities = new ArrayList<>(count);
+        for (int a = 0; a < count; a++) {
+            String id = "A" + a;
+            List<String> predecessors = new ArrayList<>();
+            for (int p = Math.max(0, a - window); p < a; p++) {
+                if (random.nextDouble() < density) {
+                    predecessors.add("A" + p);
+                }
+            }
+            graph.addVertex(id);
+            for (String predecessor : predecessors) {
+                graph.addEdge(predecessor, id, "Dependency");
+            }
+            activities.add(new Activity(id, "activity " + a, 1 + random.nextInt(20), "week", 1000, "euro", predecessors));
+        }
+        return new Project(graph, activities);
+    }
+
+    static void deleteRecursively(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (var paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    static final class Project {
+        final Graph<String, String> graph;
+        final List<Activity> activities;
+
+        Project(Graph<String, String> graph, List<Activity> activities) {
+            this.graph = graph;
+            this.activities = activities;
+        }
+    }
+}
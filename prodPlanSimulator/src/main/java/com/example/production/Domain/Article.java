@@ -16,7 +16,9 @@ public class Article {
 
     private final int articleId;
     private final String priority;
+    private final byte priorityLevel;
     private final List<String> nameOperations;
+    private final int dueDate;
     private int currentOperationIndex;
 
     /**
@@ -28,9 +30,23 @@ public class Article {
      * @param nameOperations The list of operation names that need to be performed on the article
      */
     public Article(int articleId, String priority, List<String> nameOperations) {
+        this(articleId, priority, nameOperations, -1);
+    }
+
+    /**
+     * Constructs an Article with the specified ID, priority, list of operations and due date.
+     *
+     * @param articleId      The unique identifier of the article
+     * @param priority       The priority level of the article (high, normal, or low)
+     * @param nameOperations The list of operation names that need to be performed on the article
+     * @param dueDate        The simulation time by which the article should be finished, or -1 if none
+     */
+    public Article(int articleId, String priority, List<String> nameOperations, int dueDate) {
         this.articleId = articleId;
         this.priority = priority;
+        this.priorityLevel = parsePriorityLevel(priority);
         this.nameOperations = new CopyOnWriteArrayList<>(nameOperations);
+        this.dueDate = dueDate;
         this.currentOperationIndex = 0;
         logger.debug("Article {} created with priority '{}'. Operations: {}", articleId, priority, nameOperations);
     }
@@ -62,6 +78,15 @@ public class Article {
         return nameOperations;
     }
 
+    /**
+     * Returns the due date of the article, used by due-date dispatching rules.
+     *
+     * @return The due date, or -1 if the article has none
+     */
+    public int getDueDate() {
+        return dueDate;
+    }
+
     public synchronized boolean moveToNextOperation() {
         if (currentOperationIndex < nameOperations.size() - 1) {
             currentOperationIndex++;
@@ -83,7 +108,7 @@ public class Article {
     
 
     /**
-     * Converts the priority string to a numeric priority level.
+     * Returns the numeric priority level, parsed once from the priority string.
      * Higher numbers indicate higher priority.
      * Priority levels are:
      * - High: 3
@@ -93,14 +118,22 @@ public class Article {
      * @return The numeric priority level
      */
     public int getPriorityLevel() {
-        switch (priority.toLowerCase()) {
-            case "high":
-                return 3; // High priority
-            case "normal":
-                return 2; // Normal priority
-            case "low":
-            default:
-                return 1; // Low priority
+        return priorityLevel;
+    }
+
+    /**
+     * Converts a priority string to a numeric priority level (case-insensitive).
+     *
+     * @param priority The priority (high, normal, or low)
+     * @return 3 for high, 2 for normal and 1 for low or any other value
+     */
+    public static byte parsePriorityLevel(String priority) {
+        if ("high".equalsIgnoreCase(priority)) {
+            return 3; // High priority
+        }
+        if ("normal".equalsIgnoreCase(priority)) {
+            return 2; // Normal priority
         }
+        return 1; // Low priority
     }
 }
@@ -0,0 +1,187 @@
+package com.example.production.Domain;
+
+import com.example.production.Utils.SymbolTable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact, read-only view of a list of articles for the simulation kernel. Operation names are
+ * interned to dense int IDs in a {@link SymbolTable} and all routings are stored back to back in
+ * one shared int array, so following an article through its routing is array indexing instead
+ * of string hashing. Priorities are kept as bytes. Articles with the same routing form a product
+ * family, numbered in order of first appearance; families drive the setups of {@link Workstation}s.
+ * <p>
+ * A table is immutable once built and can be shared by any number of kernels, e.g. by the
+ * replications of a {@link ReplicationRunner}.
+ */
+public final class ArticleTable {
+
+    private final SymbolTable operations;
+    private final int[] articleIds;
+    private final byte[] priorityLevels;
+    private final int[] dueDates;
+    private final int[] routeOffsets;
+    private final int[] routes;
+    private final int[] families;
+    private final Map<String, Integer> familyIds;
+    private final String[] familyKeys;
+
+    private ArticleTable(SymbolTable operations, int[] articleIds, byte[] priorityLevels, int[] dueDates,
+                         int[] routeOffsets, int[] routes, int[] families, Map<String, Integer> familyIds) {
+        this.operations = operations;
+        this.articleIds = articleIds;
+        this.priorityLevels = priorityLevels;
+        this.dueDates = dueDates;
+        this.routeOffsets = routeOffsets;
+        this.routes = routes;
+        this.families = families;
+        this.familyIds = familyIds;
+        this.familyKeys = new String[familyIds.size()];
+        familyIds.forEach((key, id) -> familyKeys[id] = key);
+    }
+
+    /**
+     * Builds a table with its own symbol table.
+     *
+     * @param articles The articles, in load order.
+     * @return The article table.
+     */
+    public static ArticleTable of(List<Article> articles) {
+        return of(articles, new SymbolTable());
+    }
+
+    /**
+     * Builds a table, interning the operation names into the given symbol table.
+     * The symbol table must not be changed while the table is in use by other threads.
+     *
+     * @param articles   The articles, in load order.
+     * @param operations The symbol table of operation names.
+     * @return The article table.
+     */
+    public static ArticleTable of(List<Article> articles, SymbolTable operations) {
+        int count = articles.size();
+        int[] articleIds = new int[count];
+        byte[] priorityLevels = new byte[count];
+        int[] dueDates = new int[count];
+        int[] routeOffsets = new int[count + 1];
+        int[] routes = new int[Math.max(16, count * 4)];
+        int[] families = new int[count];
+        Map<String, Integer> familyIds = new HashMap<>();
+        int length = 0;
+        for (int a = 0; a < count; a++) {
+            Article article = articles.get(a);
+            articleIds[a] = article.getArticleId();
+            priorityLevels[a] = (byte) article.getPriorityLevel();
+            dueDates[a] = article.getDueDate();
+            families[a] = familyIds.computeIfAbsent(familyKey(article.getNameOperations()), k -> familyIds.size());
+            routeOffsets[a] = length;
+            for (String operation : article.getNameOperations()) {
+                if (length == routes.length) {
+                    routes = Arrays.copyOf(routes, length * 2);
+                }
+                routes[length++] = operations.intern(operation);
+            }
+        }
+        routeOffsets[count] = length;
+        return new ArticleTable(operations, articleIds, priorityLevels, dueDates, routeOffsets,
+                Arrays.copyOf(routes, length), families, familyIds);
+    }
+
+    /**
+     * Builds the key that identifies the product family of a routing.
+     *
+     * @param routing The operation names of the routing.
+     * @return The family key; equal routings give equal keys.
+     */
+    static String familyKey(List<String> routing) {
+        return String.join("\u001F", routing);
+    }
+
+    public int size() {
+        return articleIds.length;
+    }
+
+    public SymbolTable getOperations() {
+        return operations;
+    }
+
+    public int articleId(int article) {
+        return articleIds[article];
+    }
+
+    public int priorityLevel(int article) {
+        return priorityLevels[article];
+    }
+
+    /**
+     * Gets the due date of an article.
+     *
+     * @param article Index of the article.
+     * @return The due date, or -1 if the article has none.
+     */
+    public int dueDate(int article) {
+        return dueDates[article];
+    }
+
+    /**
+     * Gets the product family of an article.
+     *
+     * @param article Index of the article.
+     * @return The family ID, shared by all articles with the same routing.
+     */
+    public int family(int article) {
+        return families[article];
+    }
+
+    /**
+     * Gets the ID of the product family with a given key.
+     *
+     * @param key The family key, as built by {@link #familyKey(List)}.
+     * @return The family ID, or -1 if no article of the table has that routing.
+     */
+    int familyId(String key) {
+        return familyIds.getOrDefault(key, -1);
+    }
+
+    /**
+     * Gets the key of a product family.
+     *
+     * @param family The family ID.
+     * @return The family key.
+     */
+    String familyKey(int family) {
+        return familyKeys[family];
+    }
+
+    public int routeLength(int article) {
+        return routeOffsets[article + 1] - routeOffsets[article];
+    }
+
+    /**
+     * Gets the operation ID of a step of an article's routing.
+     *
+     * @param article Index of the article.
+     * @param step    Index of the step in the routing.
+     * @return The interned operation ID.
+     */
+    public int operation(int article, int step) {
+        return routes[routeOffsets[article] + step];
+    }
+
+    /**
+     * Index in {@link #routes()} of the first step of an article's routing.
+     */
+    int routeStart(int article) {
+        return routeOffsets[article];
+    }
+
+    /**
+     * The shared routing array; the kernel reads it directly and never changes it.
+     */
+    int[] routes() {
+        return routes;
+    }
+}
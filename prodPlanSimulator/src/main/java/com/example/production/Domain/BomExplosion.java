@@ -0,0 +1,432 @@
+package com.example.production.Domain;
+
+import com.example.production.Utils.SymbolTable;
+
+import java.util.*;
+
+/**
+ * Customer orders exploded through the {@link ProductionTree} of their products into jobs, one
+ * per OPERATION node, in compact arrays for the {@link BomSimulationKernel}.
+ * <p>
+ * The operations of a job's subtree that are closest to it (material nodes in between are
+ * skipped) are its children: the job can only start once all of them are done. Operations with
+ * no operation above them are the final operations of the product, and an order is complete when
+ * all of them are. Each product tree is flattened once into a template shared by all its orders;
+ * per order only the start of its job range is stored, and per job the index of its order.
+ * <p>
+ * Quantities are per unit of the parent, as read from the BOO, and are multiplied through the
+ * levels of the tree: an operation node runs its quantity times per run of the operation above it,
+ * divided by the quantity of the material that operation produces (the MATERIAL node in between,
+ * if any). The top operations are scaled by the order quantity over the quantity of the product.
+ * The cumulative quantity is computed once per template node, and a job processes
+ * {@code ceil(cumulative quantity * order quantity)} units, each taking the time of the
+ * workstation. Operation nodes are matched to the workstations by operation name, trimmed and
+ * ignoring case, or else by node ID.
+ * <p>
+ * The MATERIAL leaves of a job's subtree that are closest to it are the purchased materials it
+ * consumes when it starts, scaled in the same way. Their item IDs are interned in
+ * {@link #getMaterials()}, and the requirements of each template node are stored as a range of two
+ * parallel arrays.
+ */
+public final class BomExplosion {
+
+    private final SymbolTable operations;
+
+    // Templates, one range of nodes per product
+    private final int[] templateStarts;
+    private final int[] rootCounts;
+    private final int[] nodeOperations;
+    private final double[] nodeQuantities;
+    private final int[] nodeParents;
+    private final int[] nodeChildCounts;
+    private final String[] nodeIds;
+    private final String[] nodeNames;
+
+    // Material requirements, one range per template node
+    private final SymbolTable materials;
+    private final int[] requirementStarts;
+    private final int[] requirementItems;
+    private final double[] requirementQuantities;
+
+    // Orders and jobs
+    private final String[] orderIds;
+    private final int[] orderProducts;
+    private final int[] orderQuantities;
+    private final byte[] orderPriorities;
+    private final int[] orderDueDates;
+    private final int[] jobStarts;
+    private final int[] jobOrders;
+
+    private BomExplosion(SymbolTable operations, int[] templateStarts, int[] rootCounts, int[] nodeOperations,
+                         double[] nodeQuantities, int[] nodeParents, int[] nodeChildCounts, String[] nodeIds,
+                         String[] nodeNames, SymbolTable materials, int[] requirementStarts, int[] requirementItems,
+                         double[] requirementQuantities, List<CustomerOrder> orders, int[] orderProducts) {
+        this.operations = operations;
+        this.templateStarts = templateStarts;
+        this.rootCounts = rootCounts;
+        this.nodeOperations = nodeOperations;
+        this.nodeQuantities = nodeQuantities;
+        this.nodeParents = nodeParents;
+        this.nodeChildCounts = nodeChildCounts;
+        this.nodeIds = nodeIds;
+        this.nodeNames = nodeNames;
+        this.materials = materials;
+        this.requirementStarts = requirementStarts;
+        this.requirementItems = requirementItems;
+        this.requirementQuantities = requirementQuantities;
+
+        int count = orders.size();
+        this.orderIds = new String[count];
+        this.orderProducts = orderProducts;
+        this.orderQuantities = new int[count];
+        this.orderPriorities = new byte[count];
+        this.orderDueDates = new int[count];
+        this.jobStarts = new int[count + 1];
+        long jobs = 0;
+        for (int o = 0; o < count; o++) {
+            CustomerOrder order = orders.get(o);
+            orderIds[o] = order.getOrderId();
+            orderQuantities[o] = order.getQuantity();
+            orderPriorities[o] = (byte) order.getPriorityLevel();
+            orderDueDates[o] = order.getDueDate();
+            jobStarts[o] = (int) jobs;
+            jobs += templateStarts[orderProducts[o] + 1] - templateStarts[orderProducts[o]];
+            if (jobs > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Order book explodes into too many jobs.");
+            }
+        }
+        jobStarts[count] = (int) jobs;
+        this.jobOrders = new int[(int) jobs];
+        for (int o = 0; o < count; o++) {
+            Arrays.fill(jobOrders, jobStarts[o], jobStarts[o + 1], o);
+        }
+    }
+
+    /**
+     * Explodes an order book.
+     *
+     * @param productionTrees The production trees, keyed by product item ID.
+     * @param orders          The customer orders, in release order.
+     * @param workstations    The workstations that will process the jobs.
+     * @return The explosion.
+     * @throws IllegalArgumentException If an order refers to an unknown product, or no workstation
+     *                                  performs an operation of an ordered product.
+     */
+    public static BomExplosion of(Map<String, ProductionTree> productionTrees, List<CustomerOrder> orders,
+                                  List<Workstation> workstations) {
+        SymbolTable operations = new SymbolTable();
+        Map<String, Integer> operationsByKey = new HashMap<>();
+        for (Workstation workstation : workstations) {
+            int id = operations.intern(workstation.getOperationName());
+            operationsByKey.putIfAbsent(key(workstation.getOperationName()), id);
+        }
+
+        Map<String, Integer> products = new HashMap<>();
+        int[] orderProducts = new int[orders.size()];
+        IntList templateStarts = new IntList();
+        IntList rootCounts = new IntList();
+        IntList nodeOperations = new IntList();
+        List<Double> nodeQuantities = new ArrayList<>();
+        IntList nodeParents = new IntList();
+        IntList nodeChildCounts = new IntList();
+        List<String> nodeIds = new ArrayList<>();
+        List<String> nodeNames = new ArrayList<>();
+        SymbolTable materials = new SymbolTable();
+        IntList requirementNodes = new IntList();
+        IntList requirementItems = new IntList();
+        List<Double> requirementQuantities = new ArrayList<>();
+
+        for (int o = 0; o < orders.size(); o++) {
+            String productId = orders.get(o).getProductId();
+            Integer product = products.get(productId);
+            if (product == null) {
+                ProductionTree tree = productionTrees.get(productId);
+                if (tree == null || tree.getRoot() == null) {
+                    throw new IllegalArgumentException("No production tree for product " + productId
+                            + " of order " + orders.get(o).getOrderId() + ".");
+                }
+                product = products.size();
+                products.put(productId, product);
+                int start = nodeOperations.size();
+                templateStarts.add(start);
+                int roots = 0;
+
+                // Depth-first, without recursion, so deep trees do not overflow the stack; each node
+                // carries the runs of its closest operation per unit ordered
+                Deque<ProductionNode> nodes = new ArrayDeque<>();
+                Deque<Integer> parents = new ArrayDeque<>();
+                Deque<Double> multipliers = new ArrayDeque<>();
+                nodes.push(tree.getRoot());
+                parents.push(-1);
+                multipliers.push(1.0);
+                while (!nodes.isEmpty()) {
+                    ProductionNode node = nodes.pop();
+                    int parent = parents.pop();
+                    double multiplier = multipliers.pop();
+                    if (node.getType() == ProductionNode.NodeType.OPERATION) {
+                        Integer operation = operationsByKey.get(key(node.getName()));
+                        if (operation == null) {
+                            operation = operationsByKey.get(key(node.getId()));
+                        }
+                        if (operation == null) {
+                            throw new IllegalArgumentException("No workstation performs operation '" + node.getName()
+                                    + "' (" + node.getId() + ") of product " + productId + ".");
+                        }
+                        int local = nodeOperations.size() - start;
+                        nodeOperations.add(operation);
+                        multiplier *= node.getQuantity();
+                        nodeQuantities.add(multiplier);
+                        nodeParents.add(parent);
+                        nodeChildCounts.add(0);
+                        nodeIds.add(node.getId());
+                        nodeNames.add(node.getName());
+                        if (parent >= 0) {
+                            nodeChildCounts.increment(start + parent);
+                        } else {
+                            roots++;
+                        }
+                        parent = local;
+                    } else if (parent >= 0 && node.getChildren().isEmpty()) {
+                        requirementNodes.add(start + parent);
+                        requirementItems.add(materials.intern(node.getId()));
+                        requirementQuantities.add(multiplier * node.getQuantity());
+                    } else if (node.getQuantity() > 0) {
+                        // Output of the operation above: its inputs are given per run, not per unit
+                        multiplier /= node.getQuantity();
+                    }
+                    for (ProductionNode child : node.getChildren()) {
+                        nodes.push(child);
+                        parents.push(parent);
+                        multipliers.push(multiplier);
+                    }
+                }
+                rootCounts.add(roots);
+            }
+            orderProducts[o] = product;
+        }
+        templateStarts.add(nodeOperations.size());
+
+        double[] quantities = new double[nodeQuantities.size()];
+        for (int i = 0; i < quantities.length; i++) {
+            quantities[i] = nodeQuantities.get(i);
+        }
+
+        // Group the requirements by node (counting sort, stable)
+        int[] starts = new int[quantities.length + 1];
+        for (int r = 0; r < requirementNodes.size(); r++) {
+            starts[requirementNodes.get(r) + 1]++;
+        }
+        for (int node = 0; node < quantities.length; node++) {
+            starts[node + 1] += starts[node];
+        }
+        int[] items = new int[requirementNodes.size()];
+        double[] amounts = new double[items.length];
+        int[] next = Arrays.copyOf(starts, quantities.length);
+        for (int r = 0; r < items.length; r++) {
+            int slot = next[requirementNodes.get(r)]++;
+            items[slot] = requirementItems.get(r);
+            amounts[slot] = requirementQuantities.get(r);
+        }
+
+        return new BomExplosion(operations, templateStarts.toArray(), rootCounts.toArray(), nodeOperations.toArray(),
+                quantities, nodeParents.toArray(), nodeChildCounts.toArray(), nodeIds.toArray(new String[0]),
+                nodeNames.toArray(new String[0]), materials, starts, items, amounts, orders, orderProducts);
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Gets the symbol table of the workstation operation names; job operations are IDs of this table.
+     *
+     * @return The operation symbol table.
+     */
+    public SymbolTable getOperations() {
+        return operations;
+    }
+
+    /**
+     * Gets the symbol table of the purchased material item IDs; requirement items are IDs of this table.
+     *
+     * @return The material symbol table.
+     */
+    public SymbolTable getMaterials() {
+        return materials;
+    }
+
+    public int orderCount() {
+        return orderIds.length;
+    }
+
+    public int jobCount() {
+        return jobOrders.length;
+    }
+
+    public String orderId(int order) {
+        return orderIds[order];
+    }
+
+    public int orderPriorityLevel(int order) {
+        return orderPriorities[order];
+    }
+
+    /**
+     * Gets the due date of an order.
+     *
+     * @param order Index of the order.
+     * @return The due date, or -1 if the order has none.
+     */
+    public int orderDueDate(int order) {
+        return orderDueDates[order];
+    }
+
+    /**
+     * Gets the number of final operations of an order, which must all be done to complete it.
+     *
+     * @param order Index of the order.
+     * @return The number of jobs without a parent; 0 if the product has no operations.
+     */
+    public int finalJobCount(int order) {
+        return rootCounts[orderProducts[order]];
+    }
+
+    /**
+     * Index of the first job of an order; the jobs of an order are contiguous.
+     */
+    public int firstJob(int order) {
+        return jobStarts[order];
+    }
+
+    public int order(int job) {
+        return jobOrders[job];
+    }
+
+    /**
+     * Gets the operation of a job.
+     *
+     * @param job Index of the job.
+     * @return The operation ID in {@link #getOperations()}.
+     */
+    public int operation(int job) {
+        return nodeOperations[node(job)];
+    }
+
+    /**
+     * Gets the number of units a job processes.
+     *
+     * @param job Index of the job.
+     * @return The cumulative node quantity times the order quantity, rounded up, and at least 1.
+     */
+    public int units(int job) {
+        double units = Math.ceil(nodeQuantities[node(job)] * orderQuantities[jobOrders[job]]);
+        return units < 1 ? 1 : (int) Math.min(Integer.MAX_VALUE, units);
+    }
+
+    /**
+     * Gets the job that waits for a job.
+     *
+     * @param job Index of the job.
+     * @return The index of the parent job, or -1 for a final operation of its order.
+     */
+    public int parent(int job) {
+        int parent = nodeParents[node(job)];
+        return parent < 0 ? -1 : jobStarts[jobOrders[job]] + parent;
+    }
+
+    /**
+     * Gets the number of jobs a job waits for.
+     *
+     * @param job Index of the job.
+     * @return The number of child jobs.
+     */
+    public int childCount(int job) {
+        return nodeChildCounts[node(job)];
+    }
+
+    /**
+     * Gets the ID of the operation node of a job.
+     */
+    public String nodeId(int job) {
+        return nodeIds[node(job)];
+    }
+
+    /**
+     * Gets the name of the operation node of a job.
+     */
+    public String nodeName(int job) {
+        return nodeNames[node(job)];
+    }
+
+    /**
+     * Index of the first material requirement of a job; the requirements of a job are the range
+     * {@code [firstRequirement(job), endRequirement(job))}.
+     */
+    public int firstRequirement(int job) {
+        return requirementStarts[node(job)];
+    }
+
+    /**
+     * Index after the last material requirement of a job.
+     */
+    public int endRequirement(int job) {
+        return requirementStarts[node(job) + 1];
+    }
+
+    /**
+     * Gets the material of a requirement.
+     *
+     * @param requirement Index of the requirement.
+     * @return The item ID in {@link #getMaterials()}.
+     */
+    public int requirementItem(int requirement) {
+        return requirementItems[requirement];
+    }
+
+    /**
+     * Gets the amount of material a job consumes for one of its requirements.
+     *
+     * @param job         Index of the job.
+     * @param requirement Index of the requirement, within the range of the job.
+     * @return The cumulative material quantity times the order quantity.
+     */
+    public double requirementQuantity(int job, int requirement) {
+        return requirementQuantities[requirement] * orderQuantities[jobOrders[job]];
+    }
+
+    private int node(int job) {
+        int order = jobOrders[job];
+        return templateStarts[orderProducts[order]] + job - jobStarts[order];
+    }
+
+    /**
+     * Growable int array used while flattening the trees.
+     */
+    private static final class IntList {
+        private int[] values = new int[64];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        void increment(int index) {
+            values[index]++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
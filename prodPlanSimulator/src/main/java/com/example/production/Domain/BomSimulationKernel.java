@@ -0,0 +1,499 @@
+package com.example.production.Domain;
+
+import com.example.production.Utils.EventCalendar;
+import com.example.production.Utils.IndexedPriorityQueue;
+import com.example.production.Utils.Printer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
+
+/**
+ * Single-threaded discrete-event kernel that produces customer orders from their bills of
+ * materials. The orders are exploded by a {@link BomExplosion} into one job per operation node;
+ * a job is queued at its operation once all its child jobs are done (assembly join), and an
+ * order is complete when its final operations are. All jobs without children are released at
+ * time 0.
+ * <p>
+ * Apart from the joins the kernel works like the {@link SimulationKernel}: queues are ordered by a
+ * {@link DispatchRule}, idle workstations are kept in a {@link WorkstationPool} per operation and
+ * completions in an {@link EventCalendar}, so every run gives the same result. The per-job state
+ * is a handful of int arrays indexed by job.
+ * <p>
+ * With an {@link Inventory} ({@link #setInventory(Inventory)}) a job also needs its purchased
+ * materials: they are consumed when it starts, and a job whose materials are short leaves its
+ * queue and waits, in a list per item, until a replenishment of that item arrives. Other jobs of
+ * the same operation may start in the meantime. Stock levels are a double array indexed by the
+ * inventory item ID, and the material IDs of the explosion are mapped to it once per run.
+ */
+public class BomSimulationKernel implements DispatchRule.Context {
+
+    private static final Logger logger = LogManager.getLogger(BomSimulationKernel.class);
+
+    private static final int COMPLETION = 0;
+    private static final int REPLENISHMENT = 1;
+    private static final double STOCK_TOLERANCE = 1e-9;
+
+    private final BomExplosion explosion;
+    private final int[] pendingChildren;
+    private final int[] remainingWork;
+    private final int[] queuePositions;
+    private final int[] openFinalJobs;
+    private final int[] orderWork;
+    private final int[] orderCompletions;
+    private final Workstation[] workstations;
+    private final int[] workstationLanes;
+    private final long[] workstationBusyTime;
+    private final OperationLane[] lanes;
+    private final EventCalendar eventCalendar;
+    private final DispatchRule dispatchRule;
+    private final Printer printer;
+
+    // Inventory, null if materials are unlimited
+    private Inventory inventory;
+    private int[] materialItems;
+    private double[] stock;
+    private int[] blockedHeads;
+    private int[] blockedTails;
+    private int[] nextBlocked;
+    private int[] blockedSince;
+    private long materialWaitTime;
+    private int blockedJobs;
+
+    private int clock;
+    private int makespan;
+    private long processedEvents;
+    private long arrivalSequence;
+    private int completedOrders;
+    private boolean executed;
+
+    /**
+     * Constructs a kernel for an order book.
+     *
+     * @param productionTrees The production trees, keyed by product item ID.
+     * @param orders          The customer orders.
+     * @param workstations    Available workstations.
+     * @param dispatchRule    Rule used to order the waiting jobs of each operation.
+     * @param printer         Printer that receives every processing event, or null to run silently.
+     * @throws IllegalArgumentException If the orders cannot be exploded onto the workstations.
+     */
+    public BomSimulationKernel(Map<String, ProductionTree> productionTrees, List<CustomerOrder> orders,
+                               List<Workstation> workstations, DispatchRule dispatchRule, Printer printer) {
+        this(BomExplosion.of(productionTrees, orders, workstations), workstations, dispatchRule, printer);
+    }
+
+    /**
+     * Constructs a kernel for an exploded order book.
+     *
+     * @param explosion    The orders exploded on the same workstations.
+     * @param workstations Available workstations.
+     * @param dispatchRule Rule used to order the waiting jobs of each operation.
+     * @param printer      Printer that receives every processing event, or null to run silently.
+     */
+    public BomSimulationKernel(BomExplosion explosion, List<Workstation> workstations, DispatchRule dispatchRule,
+                               Printer printer) {
+        this.explosion = explosion;
+        int jobs = explosion.jobCount();
+        this.pendingChildren = new int[jobs];
+        this.remainingWork = new int[jobs];
+        this.queuePositions = new int[jobs];
+        this.openFinalJobs = new int[explosion.orderCount()];
+        this.orderWork = new int[explosion.orderCount()];
+        this.orderCompletions = new int[explosion.orderCount()];
+        this.workstations = workstations.toArray(new Workstation[0]);
+        this.workstationLanes = new int[this.workstations.length];
+        this.workstationBusyTime = new long[this.workstations.length];
+        this.lanes = new OperationLane[explosion.getOperations().size()];
+        this.eventCalendar = new EventCalendar(Math.max(16, this.workstations.length));
+        this.dispatchRule = dispatchRule;
+        this.printer = printer;
+
+        for (int w = 0; w < this.workstations.length; w++) {
+            if (this.workstations[w].hasSetupOrBatching()) {
+                throw new IllegalArgumentException("BOM simulation does not support setup times or batches (workstation "
+                        + this.workstations[w].getWorkstationId() + ").");
+            }
+            int operation = explosion.getOperations().idOf(this.workstations[w].getOperationName());
+            if (operation < 0) {
+                throw new IllegalArgumentException("Workstation " + this.workstations[w].getWorkstationId()
+                        + " was not part of the explosion.");
+            }
+            workstationLanes[w] = operation;
+            if (lanes[operation] == null) {
+                lanes[operation] = new OperationLane(explosion.getOperations().name(operation));
+            }
+            lanes[operation].idle.register(w, this.workstations[w].getTime());
+            lanes[operation].fastestTime = Math.min(lanes[operation].fastestTime, this.workstations[w].getTime());
+        }
+        for (int operation = 0; operation < lanes.length; operation++) {
+            if (lanes[operation] == null) {
+                throw new IllegalArgumentException("No workstation performs operation '"
+                        + explosion.getOperations().name(operation) + "' of the explosion.");
+            }
+        }
+    }
+
+    /**
+     * Makes the materials of the jobs finite. Must be called before {@link #run()}.
+     *
+     * @param inventory The initial stock and replenishments, or null for unlimited materials.
+     * @throws IllegalStateException If the kernel has already been executed.
+     */
+    public void setInventory(Inventory inventory) {
+        if (executed) {
+            throw new IllegalStateException("Inventory must be set before the simulation runs.");
+        }
+        this.inventory = inventory;
+    }
+
+    /**
+     * Runs the event loop until every order is complete, or no event is left because jobs wait
+     * for materials that never arrive.
+     *
+     * @throws IllegalStateException If the kernel has already been executed.
+     */
+    public void run() {
+        if (executed) {
+            throw new IllegalStateException("Simulation kernel already executed; create a new instance for each run.");
+        }
+        executed = true;
+        if (inventory != null) {
+            initInventory();
+        }
+
+        for (int order = 0; order < explosion.orderCount(); order++) {
+            openFinalJobs[order] = explosion.finalJobCount(order);
+            orderCompletions[order] = openFinalJobs[order] == 0 ? 0 : -1;
+            if (openFinalJobs[order] == 0) {
+                completedOrders++;
+            }
+            long work = 0;
+            for (int job = explosion.firstJob(order); job < explosion.firstJob(order + 1); job++) {
+                work += imminentProcessingTime(job);
+            }
+            orderWork[order] = (int) Math.min(Integer.MAX_VALUE, work);
+        }
+        for (int job = 0; job < explosion.jobCount(); job++) {
+            pendingChildren[job] = explosion.childCount(job);
+            if (pendingChildren[job] == 0) {
+                enqueue(job);
+            }
+        }
+        for (OperationLane lane : lanes) {
+            dispatch(lane);
+        }
+
+        while (!eventCalendar.isEmpty()) {
+            eventCalendar.poll();
+            clock = eventCalendar.time();
+            if (eventCalendar.type() == REPLENISHMENT) {
+                replenish(eventCalendar.article());
+            } else {
+                processedEvents++;
+                complete(eventCalendar.article(), eventCalendar.workstation());
+            }
+        }
+
+        logger.info("BOM kernel finished ({} rule): {} of {} orders, {} jobs, makespan {}.",
+                dispatchRule.getName(), completedOrders, explosion.orderCount(), processedEvents, makespan);
+        if (blockedJobs > 0) {
+            logger.warn("{} jobs are still waiting for materials.", blockedJobs);
+        }
+    }
+
+    private void initInventory() {
+        int jobs = explosion.jobCount();
+        materialItems = new int[explosion.getMaterials().size()];
+        for (int material = 0; material < materialItems.length; material++) {
+            materialItems[material] = inventory.itemId(explosion.getMaterials().name(material));
+        }
+        int items = inventory.itemCount();
+        stock = new double[items];
+        for (int item = 0; item < items; item++) {
+            stock[item] = inventory.initialStock(item);
+        }
+        blockedHeads = new int[items];
+        blockedTails = new int[items];
+        Arrays.fill(blockedHeads, -1);
+        nextBlocked = new int[jobs];
+        blockedSince = new int[jobs];
+        for (int r = 0; r < inventory.replenishmentCount(); r++) {
+            eventCalendar.schedule(inventory.replenishmentTime(r), REPLENISHMENT, r, -1);
+        }
+    }
+
+    /**
+     * Adds a delivery to the stock and puts the jobs waiting for the item back in their queues.
+     */
+    private void replenish(int replenishment) {
+        int item = inventory.replenishmentItem(replenishment);
+        stock[item] += inventory.replenishmentQuantity(replenishment);
+
+        int job = blockedHeads[item];
+        blockedHeads[item] = -1;
+        while (job >= 0) {
+            int next = nextBlocked[job];
+            blockedJobs--;
+            materialWaitTime += clock - blockedSince[job];
+            OperationLane lane = lanes[explosion.operation(job)];
+            lane.waiting.offer(job, dispatchRule.priorityKey(this, job), arrivalSequence++);
+            job = next;
+        }
+        for (OperationLane lane : lanes) {
+            dispatch(lane);
+        }
+    }
+
+    /**
+     * Finds a material a job cannot get enough of.
+     *
+     * @return The inventory item ID of the first short material, or -1 if all are available.
+     */
+    private int shortItem(int job) {
+        for (int r = explosion.firstRequirement(job), end = explosion.endRequirement(job); r < end; r++) {
+            int item = materialItems[explosion.requirementItem(r)];
+            if (item >= 0 && stock[item] + STOCK_TOLERANCE < explosion.requirementQuantity(job, r)) {
+                return item;
+            }
+        }
+        return -1;
+    }
+
+    private void consume(int job) {
+        for (int r = explosion.firstRequirement(job), end = explosion.endRequirement(job); r < end; r++) {
+            int item = materialItems[explosion.requirementItem(r)];
+            if (item >= 0) {
+                stock[item] = Math.max(0, stock[item] - explosion.requirementQuantity(job, r));
+            }
+        }
+    }
+
+    private void block(int job, int item) {
+        nextBlocked[job] = -1;
+        if (blockedHeads[item] < 0) {
+            blockedHeads[item] = job;
+        } else {
+            nextBlocked[blockedTails[item]] = job;
+        }
+        blockedTails[item] = job;
+        blockedSince[job] = clock;
+        blockedJobs++;
+    }
+
+    /**
+     * Handles the completion of a job: releases the workstation and either moves the parent job
+     * one child closer to its start, or completes the order.
+     */
+    private void complete(int job, int workstation) {
+        OperationLane finishedLane = lanes[workstationLanes[workstation]];
+        finishedLane.idle.release(workstation, workstations[workstation].getTime(), clock);
+
+        int parent = explosion.parent(job);
+        if (parent >= 0) {
+            if (--pendingChildren[parent] == 0) {
+                OperationLane parentLane = enqueue(parent);
+                dispatch(parentLane);
+            }
+        } else {
+            int order = explosion.order(job);
+            if (--openFinalJobs[order] == 0) {
+                orderCompletions[order] = clock;
+                completedOrders++;
+                logger.debug("Order {} completed (t={}).", explosion.orderId(order), clock);
+            }
+        }
+        dispatch(finishedLane);
+    }
+
+    private OperationLane enqueue(int job) {
+        long work = 0;
+        for (int step = job; step >= 0; step = explosion.parent(step)) {
+            work += imminentProcessingTime(step);
+        }
+        remainingWork[job] = (int) Math.min(Integer.MAX_VALUE, work);
+        OperationLane lane = lanes[explosion.operation(job)];
+        lane.waiting.offer(job, dispatchRule.priorityKey(this, job), arrivalSequence++);
+        return lane;
+    }
+
+    private void dispatch(OperationLane lane) {
+        if (lane.waiting.isEmpty() || !lane.idle.hasIdle()) {
+            return;
+        }
+        if (dispatchRule.isTimeDependent() && lane.keyedAt != clock) {
+            lane.waiting.rekeyAll(job -> dispatchRule.priorityKey(this, job));
+            lane.keyedAt = clock;
+        }
+        while (!lane.waiting.isEmpty() && lane.idle.hasIdle()) {
+            int job = lane.waiting.poll();
+            if (stock != null) {
+                int item = shortItem(job);
+                if (item >= 0) {
+                    block(job, item);
+                    continue;
+                }
+                consume(job);
+            }
+            start(job, lane.idle.acquire(), lane.operation);
+        }
+    }
+
+    private void start(int job, int workstation, String operation) {
+        Workstation ws = workstations[workstation];
+        long processingTime = (long) ws.getTime() * explosion.units(job);
+        int finishTime = (int) Math.min(Integer.MAX_VALUE, clock + processingTime);
+
+        workstationBusyTime[workstation] += processingTime;
+        makespan = Math.max(makespan, finishTime);
+        eventCalendar.schedule(finishTime, COMPLETION, job, workstation);
+
+        if (printer != null) {
+            printer.printProcessingEvent(explosion.orderId(explosion.order(job)) + "/" + explosion.nodeId(job),
+                    explosion.nodeName(job), ws.getWorkstationId(), operation, clock, finishTime);
+        }
+    }
+
+    // DispatchRule.Context
+
+    @Override
+    public int now() {
+        return clock;
+    }
+
+    @Override
+    public int priorityLevel(int job) {
+        return explosion.orderPriorityLevel(explosion.order(job));
+    }
+
+    @Override
+    public int imminentProcessingTime(int job) {
+        OperationLane lane = lanes[explosion.operation(job)];
+        return (int) Math.min(Integer.MAX_VALUE, (long) lane.fastestTime * explosion.units(job));
+    }
+
+    @Override
+    public int remainingWork(int job) {
+        return remainingWork[job];
+    }
+
+    @Override
+    public int dueDate(int job) {
+        int order = explosion.order(job);
+        int dueDate = explosion.orderDueDate(order);
+        return dueDate >= 0 ? dueDate : (int) Math.min(Integer.MAX_VALUE, Math.round(SimulationKernel.DUE_DATE_ALLOWANCE * orderWork[order]));
+    }
+
+    /**
+     * Gets the makespan of the run (finish time of the last job).
+     *
+     * @return The makespan in seconds.
+     */
+    public int getMakespan() {
+        return makespan;
+    }
+
+    /**
+     * Gets the number of jobs processed by the run.
+     *
+     * @return The processed event count.
+     */
+    public long getProcessedEvents() {
+        return processedEvents;
+    }
+
+    /**
+     * Gets the number of orders whose final operations are all done.
+     *
+     * @return The completed order count.
+     */
+    public int getCompletedOrders() {
+        return completedOrders;
+    }
+
+    /**
+     * Gets the completion time of every order.
+     *
+     * @return A map with order IDs as keys and completion times as values, in order-book order;
+     * orders with nothing to produce complete at time 0.
+     */
+    public Map<String, Integer> getOrderCompletionTimes() {
+        Map<String, Integer> completions = new LinkedHashMap<>();
+        for (int order = 0; order < orderCompletions.length; order++) {
+            completions.put(explosion.orderId(order), orderCompletions[order]);
+        }
+        return completions;
+    }
+
+    /**
+     * Gets the number of jobs still waiting for materials after the run; their orders are not complete.
+     *
+     * @return The blocked job count.
+     */
+    public int getBlockedJobs() {
+        return blockedJobs;
+    }
+
+    /**
+     * Gets the total time jobs spent waiting for materials, summed over the jobs that got them.
+     *
+     * @return The material wait time in seconds.
+     */
+    public long getMaterialWaitTime() {
+        return materialWaitTime;
+    }
+
+    /**
+     * Gets the stock level of every inventory item after the run.
+     *
+     * @return A map with item IDs as keys and quantities as values; empty without an inventory.
+     */
+    public Map<String, Double> getStockLevels() {
+        Map<String, Double> levels = new LinkedHashMap<>();
+        if (stock != null) {
+            for (int item = 0; item < stock.length; item++) {
+                levels.put(inventory.itemName(item), stock[item]);
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * Gets the busy time of a workstation.
+     *
+     * @param workstation Index of the workstation in the list given to the constructor.
+     * @return The accumulated processing time of the workstation.
+     */
+    public long getWorkstationBusyTime(int workstation) {
+        return workstationBusyTime[workstation];
+    }
+
+    /**
+     * Gets the busy time of every workstation that processed at least one job.
+     *
+     * @return A map with workstation IDs as keys and usage times as values.
+     */
+    public Map<String, Integer> getWorkstationUsage() {
+        Map<String, Integer> usage = new LinkedHashMap<>();
+        for (int w = 0; w < workstations.length; w++) {
+            if (workstationBusyTime[w] > 0) {
+                usage.merge(workstations[w].getWorkstationId(), (int) workstationBusyTime[w], Integer::sum);
+            }
+        }
+        return usage;
+    }
+
+    /**
+     * Waiting jobs and idle workstations of a single operation.
+     */
+    private final class OperationLane {
+        private final String operation;
+        private final IndexedPriorityQueue waiting = new IndexedPriorityQueue(queuePositions);
+        private final WorkstationPool idle = new WorkstationPool();
+        private int fastestTime = Integer.MAX_VALUE;
+        private int keyedAt = -1;
+
+        private OperationLane(String operation) {
+            this.operation = operation;
+        }
+    }
+}
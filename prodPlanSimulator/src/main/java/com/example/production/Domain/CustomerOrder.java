@@ -0,0 +1,83 @@
+package com.example.production.Domain;
+
+import java.util.Objects;
+
+/**
+ * A customer order for a quantity of a product, to be produced by exploding the product's
+ * {@link ProductionTree} into sub-assembly jobs (see {@link BomExplosion}).
+ */
+public class CustomerOrder {
+
+    private final String orderId;
+    private final String productId;
+    private final int quantity;
+    private final byte priorityLevel;
+    private final int dueDate;
+
+    /**
+     * Constructs an order without a due date.
+     *
+     * @param orderId   The unique identifier of the order.
+     * @param productId The item ID of the product, i.e. the key of its production tree.
+     * @param quantity  The number of units ordered.
+     * @param priority  The priority of the order (high, normal, or low).
+     */
+    public CustomerOrder(String orderId, String productId, int quantity, String priority) {
+        this(orderId, productId, quantity, priority, -1);
+    }
+
+    /**
+     * Constructs an order.
+     *
+     * @param orderId   The unique identifier of the order.
+     * @param productId The item ID of the product, i.e. the key of its production tree.
+     * @param quantity  The number of units ordered.
+     * @param priority  The priority of the order (high, normal, or low).
+     * @param dueDate   The simulation time by which the order should be finished, or -1 if none.
+     */
+    public CustomerOrder(String orderId, String productId, int quantity, String priority, int dueDate) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("Order quantity must be at least 1.");
+        }
+        this.orderId = Objects.requireNonNull(orderId);
+        this.productId = Objects.requireNonNull(productId);
+        this.quantity = quantity;
+        this.priorityLevel = Article.parsePriorityLevel(priority);
+        this.dueDate = dueDate;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Gets the numeric priority of the order.
+     *
+     * @return 3 for high, 2 for normal and 1 for low priority.
+     */
+    public int getPriorityLevel() {
+        return priorityLevel;
+    }
+
+    /**
+     * Gets the due date of the order.
+     *
+     * @return The due date, or -1 if the order has none.
+     */
+    public int getDueDate() {
+        return dueDate;
+    }
+
+    @Override
+    public String toString() {
+        return "CustomerOrder{" + orderId + ": " + quantity + " x " + productId + "}";
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.production.Domain;
+
+/**
+ * Dispatching rule consulted by the {@link SimulationKernel} to decide which waiting article an
+ * operation processes next. The rule maps an article to a priority key; the article with the
+ * lowest key is dispatched first and equal keys are served in arrival order.
+ * <p>
+ * Keys are cached in the operation queue when the article arrives. Rules whose key depends on the
+ * current time must return true from {@link #isTimeDependent()}, so the kernel re-keys the queue
+ * whenever the clock has moved before dispatching from it.
+ *
+ * @see StandardDispatchRule
+ */
+public interface DispatchRule {
+
+    /**
+     * Computes the priority key of a waiting article.
+     *
+     * @param context Read access to the state of the articles.
+     * @param article Index of the article in the simulation.
+     * @return The key; lower keys are dispatched first.
+     */
+    long priorityKey(Context context, int article);
+
+    /**
+     * Tells whether the key of an article changes with the simulation time. Re-keying recomputes
+     * the key of every waiting article, O(queue length) per dispatch at a new time, so a rule
+     * should only return true if the order of the articles, not just their keys, can change.
+     *
+     * @return true if queues must be re-keyed when the clock advances.
+     */
+    default boolean isTimeDependent() {
+        return false;
+    }
+
+    /**
+     * Gets the name of the rule, used in logs and reports.
+     *
+     * @return The rule name.
+     */
+    String getName();
+
+    /**
+     * Article data available to dispatching rules.
+     */
+    interface Context {
+
+        /**
+         * @return The current simulation time.
+         */
+        int now();
+
+        /**
+         * @param article Index of the article.
+         * @return The numeric priority of the article (3 high, 2 normal, 1 low).
+         */
+        int priorityLevel(int article);
+
+        /**
+         * @param article Index of the article.
+         * @return The processing time of the article's current operation on its fastest workstation.
+         */
+        int imminentProcessingTime(int article);
+
+        /**
+         * @param article Index of the article.
+         * @return The processing time still needed by the article, current operation included,
+         * using the fastest workstation of each operation.
+         */
+        int remainingWork(int article);
+
+        /**
+         * @param article Index of the article.
+         * @return The due date of the article.
+         */
+        int dueDate(int article);
+    }
+}
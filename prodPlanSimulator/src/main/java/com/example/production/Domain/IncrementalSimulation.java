@@ -0,0 +1,327 @@
+package com.example.production.Domain;
+
+import com.example.production.Utils.NullPrinter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * Re-simulates a baseline run after a small change of its input ({@link SimulationDelta}) without
+ * starting from scratch. The baseline is run once on a {@link SimulationKernel}, keeping an
+ * in-memory snapshot of the kernel every {@code checkpointInterval} seconds of simulation time
+ * and a record of every processing event. For a delta, the earliest time at which the baseline
+ * could diverge is derived from that record; the kernel is restored from the last snapshot
+ * before that time and only the rest of the run is simulated again.
+ * <p>
+ * The result is the same as a full run on the changed input. The earliest affected time is:
+ * <ul>
+ *     <li>for an added workstation, the first time an article was queued for its operation;</li>
+ *     <li>for a removed workstation, the first time it started an article;</li>
+ *     <li>for a changed article, the first time it was queued for an operation together with
+ *     another article, if its queue keys change under the dispatching rule, or the time it
+ *     reached the first step of its routing that changed.</li>
+ * </ul>
+ * A change of the fastest processing time of an operation alters the remaining work and derived
+ * due dates of every article from time 0, so it is simulated from the start, as is a routing
+ * change when a workstation has a setup time, since the product family of the article changes.
+ * <p>
+ * Each snapshot holds the state of every article, so memory grows with the number of articles
+ * times the number of snapshots; a coarser interval trades re-simulated time for memory.
+ */
+public class IncrementalSimulation {
+
+    private static final Logger logger = LogManager.getLogger(IncrementalSimulation.class);
+
+    private final List<Article> articles;
+    private final List<Workstation> workstations;
+    private final DispatchRule dispatchRule;
+    private final Map<Integer, Integer> articleIndexes = new HashMap<>();
+    private final Map<String, Integer> workstationIndexes = new HashMap<>();
+    private final SimulationKernel baseline;
+
+    private final List<byte[]> snapshots = new ArrayList<>();
+    private int[] snapshotTimes = new int[16];
+
+    private int[] eventArticles = new int[1024];
+    private int[] eventWorkstations = new int[1024];
+    private int[] eventStarts = new int[1024];
+    private int[] eventFinishes = new int[1024];
+    private int[] eventEnqueues;
+    private int eventCount;
+    private int lastResumeTime = -1;
+
+    /**
+     * Runs the baseline simulation.
+     *
+     * @param articles           The articles of the baseline; IDs must be unique.
+     * @param workstations       The workstations of the baseline; IDs must be unique.
+     * @param dispatchRule       Rule used to order the operation queues.
+     * @param checkpointInterval Simulation time between snapshots of the baseline.
+     */
+    public IncrementalSimulation(List<Article> articles, List<Workstation> workstations,
+                                 DispatchRule dispatchRule, int checkpointInterval) {
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be at least 1.");
+        }
+        this.articles = List.copyOf(articles);
+        this.workstations = List.copyOf(workstations);
+        this.dispatchRule = dispatchRule;
+        for (int i = 0; i < this.articles.size(); i++) {
+            if (articleIndexes.putIfAbsent(this.articles.get(i).getArticleId(), i) != null) {
+                throw new IllegalArgumentException("Duplicate article ID: " + this.articles.get(i).getArticleId());
+            }
+        }
+        for (int w = 0; w < this.workstations.size(); w++) {
+            if (workstationIndexes.putIfAbsent(this.workstations.get(w).getWorkstationId(), w) != null) {
+                throw new IllegalArgumentException("Duplicate workstation ID: " + this.workstations.get(w).getWorkstationId());
+            }
+        }
+
+        baseline = new SimulationKernel(this.articles, this.workstations, dispatchRule, new EventRecorder(), null);
+        long processed = -1;
+        for (int time = 0; baseline.runUntil(time); time += checkpointInterval) {
+            if (baseline.getProcessedEvents() != processed) {
+                processed = baseline.getProcessedEvents();
+                if (snapshots.size() == snapshotTimes.length) {
+                    snapshotTimes = Arrays.copyOf(snapshotTimes, snapshotTimes.length * 2);
+                }
+                snapshotTimes[snapshots.size()] = time;
+                snapshots.add(baseline.snapshot());
+            }
+            if (time > Integer.MAX_VALUE - checkpointInterval) {
+                baseline.run();
+                break;
+            }
+        }
+        computeEnqueueTimes();
+        logger.info("Baseline simulated: makespan {}, {} events, {} snapshots.", baseline.getMakespan(), eventCount, snapshots.size());
+    }
+
+    /**
+     * Simulates the baseline input with a delta applied, reusing the baseline up to the last
+     * snapshot before the earliest affected time. The baseline itself is not changed, so several
+     * deltas can be evaluated one after the other.
+     *
+     * @param delta The change to apply.
+     * @return A completed kernel with the results of the changed run.
+     * @throws IllegalArgumentException If the delta refers to an unknown article or workstation.
+     */
+    public SimulationKernel apply(SimulationDelta delta) {
+        List<Workstation> changedWorkstations = new ArrayList<>();
+        int affected = Integer.MAX_VALUE;
+        for (String workstationId : delta.getRemovedWorkstations()) {
+            Integer w = workstationIndexes.get(workstationId);
+            if (w == null) {
+                throw new IllegalArgumentException("Unknown workstation: " + workstationId);
+            }
+            affected = Math.min(affected, firstStart(w));
+        }
+        for (Workstation workstation : workstations) {
+            if (!delta.getRemovedWorkstations().contains(workstation.getWorkstationId())) {
+                changedWorkstations.add(workstation);
+            }
+        }
+        for (Workstation workstation : delta.getAddedWorkstations()) {
+            changedWorkstations.add(workstation);
+            affected = Math.min(affected, firstEnqueue(workstation.getOperationName()));
+        }
+        if (!fastestTimes(workstations).equals(fastestTimes(changedWorkstations))) {
+            affected = -1;
+        }
+
+        List<Article> changedArticles = new ArrayList<>(articles);
+        List<Integer> refreshed = new ArrayList<>();
+        for (Article article : delta.getChangedArticles().values()) {
+            Integer index = articleIndexes.get(article.getArticleId());
+            if (index == null) {
+                throw new IllegalArgumentException("Unknown article: " + article.getArticleId());
+            }
+            changedArticles.set(index, article);
+            refreshed.add(index);
+            affected = Math.min(affected, firstAffected(index, article));
+        }
+
+        int snapshot = -1;
+        for (int i = 0; i < snapshots.size() && snapshotTimes[i] < affected; i++) {
+            snapshot = i;
+        }
+        SimulationKernel kernel;
+        if (snapshot < 0) {
+            lastResumeTime = -1;
+            kernel = new SimulationKernel(changedArticles, changedWorkstations, dispatchRule, null, null);
+        } else {
+            lastResumeTime = snapshotTimes[snapshot];
+            try {
+                kernel = SimulationKernel.resume(snapshots.get(snapshot), changedArticles, changedWorkstations,
+                        dispatchRule, null, null);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            for (int index : refreshed) {
+                kernel.refreshArticle(index);
+            }
+        }
+        logger.info("Delta affects the baseline from t={}; re-simulating from t={}.",
+                affected == Integer.MAX_VALUE ? "never" : affected, lastResumeTime < 0 ? "start" : lastResumeTime);
+        kernel.run();
+        return kernel;
+    }
+
+    /**
+     * Gets the simulation time of the snapshot used by the last {@link #apply(SimulationDelta)}.
+     *
+     * @return The snapshot time, or -1 if the last delta was simulated from the start.
+     */
+    public int getLastResumeTime() {
+        return lastResumeTime;
+    }
+
+    /**
+     * Gets the baseline run.
+     *
+     * @return The completed baseline kernel.
+     */
+    public SimulationKernel getBaseline() {
+        return baseline;
+    }
+
+    private boolean hasSetups() {
+        for (Workstation workstation : workstations) {
+            if (workstation.getSetupTime() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, Integer> fastestTimes(List<Workstation> workstations) {
+        Map<String, Integer> fastest = new HashMap<>();
+        for (Workstation workstation : workstations) {
+            fastest.merge(workstation.getOperationName(), workstation.getTime(), Math::min);
+        }
+        return fastest;
+    }
+
+    private void computeEnqueueTimes() {
+        // Articles are all released at time 0 and each step is queued when the previous one finishes
+        int[] lastFinish = new int[articles.size()];
+        eventEnqueues = new int[eventCount];
+        for (int i = 0; i < eventCount; i++) {
+            eventEnqueues[i] = lastFinish[eventArticles[i]];
+            lastFinish[eventArticles[i]] = eventFinishes[i];
+        }
+    }
+
+    private String operationOf(int event) {
+        return workstations.get(eventWorkstations[event]).getOperationName();
+    }
+
+    private int firstStart(int workstation) {
+        for (int i = 0; i < eventCount; i++) {
+            if (eventWorkstations[i] == workstation) {
+                return eventStarts[i];
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private int firstEnqueue(String operation) {
+        int first = Integer.MAX_VALUE;
+        for (int i = 0; i < eventCount; i++) {
+            if (operationOf(i).equals(operation)) {
+                first = Math.min(first, eventEnqueues[i]);
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Gets the earliest time at which a changed article can make the run diverge: its queue keys
+     * only matter when another article is a candidate of the same operation at the same time, and
+     * a new routing matters from the first changed step.
+     */
+    private int firstAffected(int article, Article changed) {
+        List<String> routing = articles.get(article).getNameOperations();
+        List<String> changedRouting = changed.getNameOperations();
+        int firstChangedStep = 0;
+        while (firstChangedStep < routing.size() && firstChangedStep < changedRouting.size()
+                && routing.get(firstChangedStep).equals(changedRouting.get(firstChangedStep))) {
+            firstChangedStep++;
+        }
+        boolean routingChanged = firstChangedStep < Math.max(routing.size(), changedRouting.size());
+        if (routingChanged && (firstChangedStep == 0 || hasSetups())) {
+            return -1;
+        }
+
+        boolean keysChange = keysChange(articles.get(article), changed, routingChanged);
+        int affected = Integer.MAX_VALUE;
+        int step = 0;
+        int lastFinish = 0;
+        for (int i = 0; i < eventCount; i++) {
+            if (eventArticles[i] != article) {
+                continue;
+            }
+            if (routingChanged && step == firstChangedStep) {
+                affected = Math.min(affected, eventEnqueues[i]);
+            }
+            step++;
+            lastFinish = eventFinishes[i];
+            String operation = operationOf(i);
+            for (int j = 0; keysChange && j < eventCount; j++) {
+                if (eventArticles[j] != article && eventEnqueues[j] <= eventStarts[i] && eventStarts[j] >= eventEnqueues[i]
+                        && operationOf(j).equals(operation)) {
+                    affected = Math.min(affected, Math.max(eventEnqueues[i], eventEnqueues[j]));
+                }
+            }
+        }
+        if (routingChanged && step == firstChangedStep) {
+            // The routing was extended after the last step done in the baseline
+            affected = Math.min(affected, lastFinish);
+        }
+        return affected;
+    }
+
+    /**
+     * Tells whether the queue keys of an article may change before the first changed step of its
+     * routing. Only the standard rules are known; any other rule is assumed to use every attribute.
+     */
+    private boolean keysChange(Article article, Article changed, boolean routingChanged) {
+        boolean priorityChanged = article.getPriorityLevel() != changed.getPriorityLevel();
+        boolean dueDateChanged = article.getDueDate() != changed.getDueDate() || (changed.getDueDate() < 0 && routingChanged);
+        if (!(dispatchRule instanceof StandardDispatchRule rule)) {
+            return priorityChanged || dueDateChanged || routingChanged;
+        }
+        return switch (rule) {
+            case FIFO -> false;
+            case PRIORITY -> priorityChanged;
+            case SPT -> routingChanged;
+            case EDD -> dueDateChanged;
+            case CRITICAL_RATIO, LEAST_SLACK -> dueDateChanged || routingChanged;
+        };
+    }
+
+    /**
+     * Records the processing events of the baseline.
+     */
+    private final class EventRecorder extends NullPrinter {
+        @Override
+        public void printProcessingEvent(String articleId, String operation, String workstationId,
+                                         String workstationOperation, int startTime, int finishTime) {
+            if (eventCount == eventStarts.length) {
+                int capacity = eventCount * 2;
+                eventArticles = Arrays.copyOf(eventArticles, capacity);
+                eventWorkstations = Arrays.copyOf(eventWorkstations, capacity);
+                eventStarts = Arrays.copyOf(eventStarts, capacity);
+                eventFinishes = Arrays.copyOf(eventFinishes, capacity);
+            }
+            eventArticles[eventCount] = articleIndexes.get(Integer.parseInt(articleId));
+            eventWorkstations[eventCount] = workstationIndexes.get(workstationId);
+            eventStarts[eventCount] = startTime;
+            eventFinishes[eventCount] = finishTime;
+            eventCount++;
+        }
+    }
+}
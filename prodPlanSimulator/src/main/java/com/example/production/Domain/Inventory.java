@@ -0,0 +1,131 @@
+package com.example.production.Domain;
+
+import com.example.production.Utils.SymbolTable;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Finite stock of purchased materials for the {@link BomSimulationKernel}: an initial level per
+ * item and scheduled replenishments. Items that are not part of the inventory are unlimited.
+ * <p>
+ * Item IDs are interned into dense IDs, and levels and replenishments are kept in primitive
+ * arrays indexed by them, so the kernel can check and consume stock without hashing or boxing.
+ * The inventory only describes the starting situation; every run works on its own copy of the
+ * levels, so one inventory can be shared by several runs.
+ */
+public class Inventory {
+
+    private final SymbolTable items = new SymbolTable();
+    private double[] initialStock = new double[16];
+
+    private int[] replenishmentTimes = new int[16];
+    private int[] replenishmentItems = new int[16];
+    private double[] replenishmentQuantities = new double[16];
+    private int replenishmentCount;
+
+    /**
+     * Sets the stock level of an item at time 0, adding the item to the inventory.
+     *
+     * @param itemId   The item ID of the material.
+     * @param quantity The quantity in stock.
+     * @return This inventory.
+     * @throws IllegalArgumentException If the quantity is negative.
+     */
+    public Inventory setStock(String itemId, double quantity) {
+        if (!(quantity >= 0)) {
+            throw new IllegalArgumentException("Stock of " + itemId + " must not be negative.");
+        }
+        initialStock[item(itemId)] = quantity;
+        return this;
+    }
+
+    /**
+     * Schedules a delivery of an item, adding the item to the inventory with no initial stock if
+     * it is not part of it yet.
+     *
+     * @param time     The simulation time at which the material arrives.
+     * @param itemId   The item ID of the material.
+     * @param quantity The quantity delivered.
+     * @return This inventory.
+     * @throws IllegalArgumentException If the time is negative or the quantity is not positive.
+     */
+    public Inventory addReplenishment(int time, String itemId, double quantity) {
+        if (time < 0) {
+            throw new IllegalArgumentException("Replenishment time must not be negative.");
+        }
+        if (!(quantity > 0)) {
+            throw new IllegalArgumentException("Replenishment of " + itemId + " must be positive.");
+        }
+        if (replenishmentCount == replenishmentTimes.length) {
+            int capacity = replenishmentCount * 2;
+            replenishmentTimes = Arrays.copyOf(replenishmentTimes, capacity);
+            replenishmentItems = Arrays.copyOf(replenishmentItems, capacity);
+            replenishmentQuantities = Arrays.copyOf(replenishmentQuantities, capacity);
+        }
+        replenishmentTimes[replenishmentCount] = time;
+        replenishmentItems[replenishmentCount] = item(itemId);
+        replenishmentQuantities[replenishmentCount] = quantity;
+        replenishmentCount++;
+        return this;
+    }
+
+    /**
+     * Gets the stock level of every item at time 0.
+     *
+     * @return A map with item IDs as keys and quantities as values.
+     */
+    public Map<String, Double> getStock() {
+        Map<String, Double> stock = new LinkedHashMap<>();
+        for (int item = 0; item < items.size(); item++) {
+            stock.put(items.name(item), initialStock[item]);
+        }
+        return stock;
+    }
+
+    private int item(String itemId) {
+        int item = items.intern(itemId);
+        if (item == initialStock.length) {
+            initialStock = Arrays.copyOf(initialStock, item * 2);
+        }
+        return item;
+    }
+
+    /**
+     * Gets the dense ID of an item.
+     *
+     * @return The item ID, or -1 if the item is unlimited.
+     */
+    int itemId(String itemId) {
+        return items.idOf(itemId);
+    }
+
+    String itemName(int item) {
+        return items.name(item);
+    }
+
+    int itemCount() {
+        return items.size();
+    }
+
+    double initialStock(int item) {
+        return initialStock[item];
+    }
+
+    int replenishmentCount() {
+        return replenishmentCount;
+    }
+
+    int replenishmentTime(int replenishment) {
+        return replenishmentTimes[replenishment];
+    }
+
+    int replenishmentItem(int replenishment) {
+        return replenishmentItems[replenishment];
+    }
+
+    double replenishmentQuantity(int replenishment) {
+        return replenishmentQuantities[replenishment];
+    }
+}
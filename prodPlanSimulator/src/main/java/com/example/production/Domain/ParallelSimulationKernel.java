@@ -0,0 +1,682 @@
+package com.example.production.Domain;
+
+import com.example.production.Utils.EventCalendar;
+import com.example.production.Utils.FlowDependency;
+import com.example.production.Utils.IndexedPriorityQueue;
+import com.example.production.Utils.Printer;
+import com.example.production.Utils.SymbolTable;
+import com.example.production.Utils.TraceWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Conservative parallel version of the {@link SimulationKernel}, used by
+ * {@link Simulation.EngineMode#PARALLEL}. The operations are split into groups, each simulated by
+ * its own worker with its own event calendar, and the workers advance in synchronous time windows
+ * (YAWNS). The lookahead is the shortest processing time of any workstation: an article started
+ * at time t completes no earlier than t plus that time, so every completion inside the window
+ * [T, T + lookahead) is already scheduled when the window opens.
+ * <p>
+ * Each window runs in two phases. First every worker takes the completions of its window and
+ * sends the articles that move to another group's operation to that group. Then every worker
+ * replays, in (time, sequence) order, the completions and arrivals of its own operations,
+ * starting articles on its idle workstations. The coordinator finally numbers the new completions
+ * in the order the sequential kernel would have scheduled them and hands them to their groups.
+ * <p>
+ * Because the operations of different groups share no queue or workstation, and every tie is
+ * broken the way the sequential kernel breaks it, the printed events, makespan and workstation
+ * usage are identical to those of the {@link SimulationKernel} for the same input. The speed-up
+ * grows with the number of completions per window, i.e. with many workstations whose processing
+ * times are long compared to the shortest one. Queue and work-in-progress metrics are not
+ * collected, and articles are all released at time 0 as for a list given to the sequential kernel.
+ */
+public class ParallelSimulationKernel {
+
+    private static final Logger logger = LogManager.getLogger(ParallelSimulationKernel.class);
+
+    private final ArticleTable table;
+    private final SymbolTable operations;
+    private final Map<String, Integer> localOperations = new HashMap<>();
+
+    private final byte[] priorityLevels;
+    private final int[] routeCursor;
+    private final int[] routeEnd;
+    private final int[] remainingWork;
+    private final int[] dueDates;
+    private final int[] queuePositions;
+    private final long[] completionSequences;
+    private final int[] routes;
+    private final Workstation[] workstations;
+    private final int[] workstationLanes;
+    private final long[] workstationBusyTime;
+    private OperationLane[] lanes = new OperationLane[16];
+    private final List<OperationLane> laneOrder = new ArrayList<>();
+    private final Partition[] partitions;
+    private final DispatchRule dispatchRule;
+    private final Printer printer;
+    private final FlowDependency flowDependency;
+    private final int lookahead;
+    private TraceWriter traceWriter;
+    private int[] traceOperations;
+    private int[] traceWorkstations;
+
+    private int makespan;
+    private long processedEvents;
+    private long windows;
+    private long nextSequence;
+    private boolean executed;
+
+    /**
+     * Constructs a parallel kernel.
+     *
+     * @param articles       Articles to be processed, in load order.
+     * @param workstations   Available workstations.
+     * @param dispatchRule   Rule used to order the waiting articles of each operation.
+     * @param printer        Printer that receives every processing event, or null to run silently.
+     * @param flowDependency Flow tracker to be updated, or null to skip flow recording.
+     * @param parallelism    Maximum number of operation groups simulated at the same time.
+     */
+    public ParallelSimulationKernel(List<Article> articles, List<Workstation> workstations, DispatchRule dispatchRule,
+                                    Printer printer, FlowDependency flowDependency, int parallelism) {
+        this(ArticleTable.of(articles), workstations, dispatchRule, printer, flowDependency, parallelism);
+    }
+
+    /**
+     * Constructs a parallel kernel over a prebuilt article table, which may be shared with other kernels.
+     *
+     * @see #ParallelSimulationKernel(List, List, DispatchRule, Printer, FlowDependency, int)
+     */
+    public ParallelSimulationKernel(ArticleTable articles, List<Workstation> workstations, DispatchRule dispatchRule,
+                                    Printer printer, FlowDependency flowDependency, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        }
+        int size = articles.size();
+        this.table = articles;
+        this.operations = articles.getOperations();
+        this.priorityLevels = new byte[size];
+        this.routeCursor = new int[size];
+        this.routeEnd = new int[size];
+        this.remainingWork = new int[size];
+        this.dueDates = new int[size];
+        this.queuePositions = new int[size];
+        this.completionSequences = new long[size];
+        this.routes = articles.routes();
+        this.workstations = workstations.toArray(new Workstation[0]);
+        this.workstationLanes = new int[this.workstations.length];
+        this.workstationBusyTime = new long[this.workstations.length];
+        this.dispatchRule = dispatchRule;
+        this.printer = printer;
+        this.flowDependency = flowDependency;
+
+        int shortest = Integer.MAX_VALUE;
+        for (int w = 0; w < this.workstations.length; w++) {
+            if (this.workstations[w].hasSetupOrBatching()) {
+                throw new IllegalArgumentException("Parallel simulation does not support setup times or batches (workstation "
+                        + this.workstations[w].getWorkstationId() + ").");
+            }
+            String operation = this.workstations[w].getOperationName();
+            workstationLanes[w] = operationId(operation);
+            OperationLane lane = lane(workstationLanes[w], operation);
+            lane.idle.register(w, this.workstations[w].getTime());
+            lane.fastestTime = Math.min(lane.fastestTime, this.workstations[w].getTime());
+            shortest = Math.min(shortest, this.workstations[w].getTime());
+        }
+        if (shortest < 1) {
+            throw new IllegalArgumentException("Parallel simulation needs processing times of at least 1 (no lookahead).");
+        }
+        this.lookahead = shortest;
+
+        // Articles are loaded here, so that every operation of the routings has its lane
+        for (int article = 0; article < size; article++) {
+            priorityLevels[article] = (byte) table.priorityLevel(article);
+            routeCursor[article] = table.routeStart(article);
+            routeEnd[article] = routeCursor[article] + table.routeLength(article);
+            long work = 0;
+            for (int i = routeCursor[article]; i < routeEnd[article]; i++) {
+                work += lane(routes[i], null).fastestTime();
+            }
+            remainingWork[article] = (int) Math.min(Integer.MAX_VALUE, work);
+            int dueDate = table.dueDate(article);
+            dueDates[article] = dueDate >= 0 ? dueDate : (int) Math.min(Integer.MAX_VALUE, Math.round(SimulationKernel.DUE_DATE_ALLOWANCE * work));
+        }
+        this.partitions = partition(Math.min(parallelism, Math.max(1, laneOrder.size())));
+    }
+
+    /**
+     * Splits the lanes into groups of similar load (work content of the routings), largest first.
+     */
+    private Partition[] partition(int count) {
+        long[] load = new long[lanes.length];
+        for (int article = 0; article < table.size(); article++) {
+            for (int i = routeCursor[article]; i < routeEnd[article]; i++) {
+                load[routes[i]] += Math.max(1, lanes[routes[i]].fastestTime());
+            }
+        }
+        List<OperationLane> byLoad = new ArrayList<>(laneOrder);
+        byLoad.sort(Comparator.comparingLong((OperationLane lane) -> load[lane.id]).reversed());
+        Partition[] groups = new Partition[count];
+        long[] assigned = new long[count];
+        for (int p = 0; p < count; p++) {
+            groups[p] = new Partition(p, count);
+        }
+        for (OperationLane lane : byLoad) {
+            int lightest = 0;
+            for (int p = 1; p < count; p++) {
+                if (assigned[p] < assigned[lightest]) {
+                    lightest = p;
+                }
+            }
+            lane.owner = groups[lightest];
+            assigned[lightest] += load[lane.id];
+        }
+        return groups;
+    }
+
+    /**
+     * Runs the simulation until no event is left.
+     *
+     * @throws IllegalStateException If the kernel has already been executed.
+     */
+    public void run() {
+        if (executed) {
+            throw new IllegalStateException("Simulation kernel already executed; create a new instance for each run.");
+        }
+        executed = true;
+
+        // Release every article and dispatch the lanes in the order of the sequential kernel
+        for (int article = 0; article < table.size(); article++) {
+            if (routeCursor[article] < routeEnd[article]) {
+                OperationLane lane = lanes[routes[routeCursor[article]]];
+                lane.owner.enqueue(lane, article);
+            }
+        }
+        for (int i = 0; i < laneOrder.size(); i++) {
+            OperationLane lane = laneOrder.get(i);
+            lane.owner.dispatch(lane, -1, i);
+        }
+        scheduleStarted();
+
+        ForkJoinPool pool = partitions.length > 1 ? new ForkJoinPool(partitions.length) : null;
+        List<Callable<Void>> collect = new ArrayList<>(partitions.length);
+        List<Callable<Void>> process = new ArrayList<>(partitions.length);
+        for (Partition partition : partitions) {
+            collect.add(() -> {
+                partition.collect();
+                return null;
+            });
+            process.add(() -> {
+                partition.process();
+                return null;
+            });
+        }
+        try {
+            while (true) {
+                long start = Long.MAX_VALUE;
+                for (Partition partition : partitions) {
+                    if (!partition.calendar.isEmpty()) {
+                        start = Math.min(start, partition.calendar.peekTime());
+                    }
+                }
+                if (start == Long.MAX_VALUE) {
+                    break;
+                }
+                long end = start + lookahead;
+                for (Partition partition : partitions) {
+                    partition.windowEnd = end;
+                }
+                invoke(pool, collect);
+                invoke(pool, process);
+                scheduleStarted();
+                windows++;
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+
+        for (Partition partition : partitions) {
+            processedEvents += partition.processedEvents;
+        }
+        for (OperationLane lane : laneOrder) {
+            if (!lane.waiting.isEmpty()) {
+                logger.warn("{} article(s) left waiting for operation '{}': no workstation available.",
+                        lane.waiting.size(), lane.operation);
+            }
+        }
+        logger.info("Parallel kernel finished ({} rule, {} groups, lookahead {}): {} articles, {} events in {} windows, makespan {}.",
+                dispatchRule.getName(), partitions.length, lookahead, table.size(), processedEvents, windows, makespan);
+    }
+
+    private static void invoke(ForkJoinPool pool, List<Callable<Void>> tasks) {
+        if (pool == null) {
+            try {
+                tasks.get(0).call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return;
+        }
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parallel simulation interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Parallel simulation failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Numbers the articles started by the workers in the order the sequential kernel would have
+     * started them, schedules their completions and reports them. Each worker started its articles
+     * in that order already, so the lists only have to be merged.
+     */
+    private void scheduleStarted() {
+        int[] heads = new int[partitions.length];
+        while (true) {
+            Partition next = null;
+            for (Partition partition : partitions) {
+                if (heads[partition.index] < partition.started.size
+                        && (next == null || partition.started.before(heads[partition.index], next.started, heads[next.index]))) {
+                    next = partition;
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            int i = heads[next.index]++;
+            Starts started = next.started;
+            int article = started.articles[i];
+            int workstation = started.workstations[i];
+            completionSequences[article] = nextSequence++;
+            next.calendar.schedule(started.finishes[i], 0, article, workstation);
+            makespan = Math.max(makespan, started.finishes[i]);
+            report(article, workstation, started.times[i], started.finishes[i]);
+        }
+        for (Partition partition : partitions) {
+            partition.started.size = 0;
+        }
+    }
+
+    private void report(int article, int workstation, int startTime, int finishTime) {
+        Workstation ws = workstations[workstation];
+        int articleId = table.articleId(article);
+        if (flowDependency != null) {
+            flowDependency.recordFlow(articleId, ws.getWorkstationId());
+        }
+        if (traceWriter != null) {
+            traceWriter.record(articleId, traceOperations[workstation], traceWorkstations[workstation], startTime, finishTime);
+        }
+        if (printer != null) {
+            printer.printProcessingEvent(String.valueOf(articleId), lanes[workstationLanes[workstation]].operation,
+                    ws.getWorkstationId(), ws.getOperationName(), startTime, finishTime);
+        }
+    }
+
+    /**
+     * Gets the ID of an operation name. Names unknown to the symbol table of the articles get
+     * kernel-local IDs after the shared ones, so the shared table is never written to.
+     */
+    private int operationId(String operation) {
+        int id = operations.idOf(operation);
+        if (id < 0) {
+            id = localOperations.computeIfAbsent(operation, name -> operations.size() + localOperations.size());
+        }
+        return id;
+    }
+
+    private OperationLane lane(int operationId, String operation) {
+        if (operationId >= lanes.length) {
+            lanes = Arrays.copyOf(lanes, Math.max(lanes.length * 2, operationId + 1));
+        }
+        OperationLane lane = lanes[operationId];
+        if (lane == null) {
+            lane = new OperationLane(operationId, operation != null ? operation : operations.name(operationId));
+            lanes[operationId] = lane;
+            laneOrder.add(lane);
+        }
+        return lane;
+    }
+
+    /**
+     * Sets a trace writer that receives every processing event of the run. The writer is not
+     * closed by the kernel.
+     *
+     * @param traceWriter The trace writer, or null to stop tracing.
+     */
+    public void setTraceWriter(TraceWriter traceWriter) {
+        this.traceWriter = traceWriter;
+        if (traceWriter != null) {
+            traceOperations = new int[workstations.length];
+            traceWorkstations = new int[workstations.length];
+            for (int w = 0; w < workstations.length; w++) {
+                traceOperations[w] = traceWriter.operationId(workstations[w].getOperationName());
+                traceWorkstations[w] = traceWriter.workstationId(workstations[w].getWorkstationId());
+            }
+        }
+    }
+
+    /**
+     * Gets the makespan of the run (finish time of the last operation).
+     *
+     * @return The makespan in seconds.
+     */
+    public int getMakespan() {
+        return makespan;
+    }
+
+    /**
+     * Gets the number of completion events processed by the run.
+     *
+     * @return The processed event count.
+     */
+    public long getProcessedEvents() {
+        return processedEvents;
+    }
+
+    /**
+     * Gets the number of time windows the run took.
+     *
+     * @return The window count.
+     */
+    public long getWindows() {
+        return windows;
+    }
+
+    /**
+     * Gets the number of operation groups simulated in parallel.
+     *
+     * @return The group count.
+     */
+    public int getGroups() {
+        return partitions.length;
+    }
+
+    /**
+     * Gets the busy time of a workstation.
+     *
+     * @param workstation Index of the workstation in the list given to the constructor.
+     * @return The accumulated processing time of the workstation.
+     */
+    public long getWorkstationBusyTime(int workstation) {
+        return workstationBusyTime[workstation];
+    }
+
+    /**
+     * Gets the busy time of every workstation that processed at least one article.
+     *
+     * @return A map with workstation IDs as keys and usage times as values.
+     */
+    public Map<String, Integer> getWorkstationUsage() {
+        Map<String, Integer> usage = new LinkedHashMap<>();
+        for (int w = 0; w < workstations.length; w++) {
+            if (workstationBusyTime[w] > 0) {
+                usage.merge(workstations[w].getWorkstationId(), (int) workstationBusyTime[w], Integer::sum);
+            }
+        }
+        return usage;
+    }
+
+    /**
+     * Waiting articles and idle workstations of a single operation, owned by one partition.
+     */
+    private final class OperationLane {
+        private final int id;
+        private final String operation;
+        private final IndexedPriorityQueue waiting = new IndexedPriorityQueue(queuePositions);
+        private final WorkstationPool idle = new WorkstationPool();
+        private int fastestTime = Integer.MAX_VALUE;
+        private int keyedAt = -1;
+        private long arrivals;
+        private Partition owner;
+
+        private OperationLane(int id, String operation) {
+            this.id = id;
+            this.operation = operation;
+        }
+
+        private int fastestTime() {
+            return fastestTime == Integer.MAX_VALUE ? 0 : fastestTime;
+        }
+    }
+
+    /**
+     * A group of operations with its own event calendar and clock. During a window a partition
+     * only writes the state of its own lanes, of the workstations of those lanes and of the
+     * articles queued or arriving there.
+     */
+    private final class Partition implements DispatchRule.Context {
+        private final int index;
+        private final EventCalendar calendar = new EventCalendar();
+        private final Completions window = new Completions();
+        private final Completions[] outbox;
+        private final Starts started = new Starts();
+        private long windowEnd;
+        private int clock;
+        private long processedEvents;
+
+        private Partition(int index, int count) {
+            this.index = index;
+            this.outbox = new Completions[count];
+            for (int p = 0; p < count; p++) {
+                outbox[p] = new Completions();
+            }
+        }
+
+        /**
+         * Phase 1: takes the completions of the window and sends the articles that continue at
+         * another partition's operation to that partition.
+         */
+        private void collect() {
+            window.size = 0;
+            for (Completions box : outbox) {
+                box.size = 0;
+            }
+            while (!calendar.isEmpty() && calendar.peekTime() < windowEnd) {
+                calendar.poll();
+                int article = calendar.article();
+                int next = routeCursor[article] + 1 < routeEnd[article] ? routes[routeCursor[article] + 1] : -1;
+                window.add(calendar.time(), completionSequences[article], article, calendar.workstation(), next);
+                if (next >= 0 && lanes[next].owner != this) {
+                    outbox[lanes[next].owner.index].add(calendar.time(), completionSequences[article], article,
+                            calendar.workstation(), next);
+                }
+            }
+        }
+
+        /**
+         * Phase 2: replays the completions of the window and the arrivals from other partitions
+         * in (time, sequence) order.
+         */
+        private void process() {
+            int[] heads = new int[partitions.length];
+            Completions[] sources = new Completions[partitions.length];
+            for (Partition partition : partitions) {
+                sources[partition.index] = partition == this ? window : partition.outbox[index];
+            }
+            while (true) {
+                Completions source = null;
+                int sourceIndex = -1;
+                for (int p = 0; p < sources.length; p++) {
+                    if (heads[p] < sources[p].size
+                            && (source == null || sources[p].before(heads[p], source, heads[sourceIndex]))) {
+                        source = sources[p];
+                        sourceIndex = p;
+                    }
+                }
+                if (source == null) {
+                    return;
+                }
+                int i = heads[sourceIndex]++;
+                complete(source.times[i], source.sequences[i], source.articles[i], source.workstations[i], source.next[i]);
+            }
+        }
+
+        /**
+         * Handles the part of a completion that concerns this partition, in the order of
+         * {@code SimulationKernel.complete}: release the workstation, move the article to its next
+         * operation and dispatch it, then dispatch the operation that was finished.
+         */
+        private void complete(int time, long sequence, int article, int workstation, int next) {
+            clock = time;
+            OperationLane finishedLane = lanes[workstationLanes[workstation]];
+            boolean finishedHere = finishedLane.owner == this;
+            if (finishedHere) {
+                processedEvents++;
+                finishedLane.idle.release(workstation, workstations[workstation].getTime(), clock);
+            }
+            if (next >= 0 ? lanes[next].owner == this : finishedHere) {
+                remainingWork[article] = Math.max(0, remainingWork[article] - finishedLane.fastestTime());
+                routeCursor[article]++;
+                if (next >= 0) {
+                    enqueue(lanes[next], article);
+                    dispatch(lanes[next], sequence, 0);
+                }
+            }
+            if (finishedHere) {
+                dispatch(finishedLane, sequence, 1);
+            }
+        }
+
+        private void enqueue(OperationLane lane, int article) {
+            lane.waiting.offer(article, dispatchRule.priorityKey(this, article), lane.arrivals++);
+        }
+
+        /**
+         * Starts waiting articles on idle workstations, fastest workstation first. The started
+         * articles are tagged with the event that caused the dispatch, so the coordinator can
+         * order them.
+         */
+        private void dispatch(OperationLane lane, long sequence, int step) {
+            if (lane.waiting.isEmpty() || !lane.idle.hasIdle()) {
+                return;
+            }
+            if (dispatchRule.isTimeDependent() && lane.keyedAt != clock) {
+                lane.waiting.rekeyAll(article -> dispatchRule.priorityKey(this, article));
+                lane.keyedAt = clock;
+            }
+            while (!lane.waiting.isEmpty() && lane.idle.hasIdle()) {
+                int article = lane.waiting.poll();
+                int workstation = lane.idle.acquire();
+                int processingTime = workstations[workstation].getTime();
+                workstationBusyTime[workstation] += processingTime;
+                started.add(clock, sequence, step, article, workstation, clock + processingTime);
+            }
+        }
+
+        // DispatchRule.Context
+
+        @Override
+        public int now() {
+            return clock;
+        }
+
+        @Override
+        public int priorityLevel(int article) {
+            return priorityLevels[article];
+        }
+
+        @Override
+        public int imminentProcessingTime(int article) {
+            return routeCursor[article] < routeEnd[article] ? lanes[routes[routeCursor[article]]].fastestTime() : 0;
+        }
+
+        @Override
+        public int remainingWork(int article) {
+            return remainingWork[article];
+        }
+
+        @Override
+        public int dueDate(int article) {
+            return dueDates[article];
+        }
+    }
+
+    /**
+     * Growable list of completions, ordered by time and scheduling sequence.
+     */
+    private static final class Completions {
+        private int[] times = new int[64];
+        private long[] sequences = new long[64];
+        private int[] articles = new int[64];
+        private int[] workstations = new int[64];
+        private int[] next = new int[64];
+        private int size;
+
+        private void add(int time, long sequence, int article, int workstation, int nextLane) {
+            if (size == times.length) {
+                int capacity = size * 2;
+                times = Arrays.copyOf(times, capacity);
+                sequences = Arrays.copyOf(sequences, capacity);
+                articles = Arrays.copyOf(articles, capacity);
+                workstations = Arrays.copyOf(workstations, capacity);
+                next = Arrays.copyOf(next, capacity);
+            }
+            times[size] = time;
+            sequences[size] = sequence;
+            articles[size] = article;
+            workstations[size] = workstation;
+            next[size] = nextLane;
+            size++;
+        }
+
+        private boolean before(int i, Completions other, int j) {
+            return times[i] < other.times[j] || (times[i] == other.times[j] && sequences[i] < other.sequences[j]);
+        }
+    }
+
+    /**
+     * Growable list of articles started during a window, tagged with the (time, sequence, step)
+     * of the event whose dispatch started them.
+     */
+    private static final class Starts {
+        private int[] times = new int[64];
+        private long[] sequences = new long[64];
+        private int[] steps = new int[64];
+        private int[] articles = new int[64];
+        private int[] workstations = new int[64];
+        private int[] finishes = new int[64];
+        private int size;
+
+        private void add(int time, long sequence, int step, int article, int workstation, int finish) {
+            if (size == times.length) {
+                int capacity = size * 2;
+                times = Arrays.copyOf(times, capacity);
+                sequences = Arrays.copyOf(sequences, capacity);
+                steps = Arrays.copyOf(steps, capacity);
+                articles = Arrays.copyOf(articles, capacity);
+                workstations = Arrays.copyOf(workstations, capacity);
+                finishes = Arrays.copyOf(finishes, capacity);
+            }
+            times[size] = time;
+            sequences[size] = sequence;
+            steps[size] = step;
+            articles[size] = article;
+            workstations[size] = workstation;
+            finishes[size] = finish;
+            size++;
+        }
+
+        private boolean before(int i, Starts other, int j) {
+            if (times[i] != other.times[j]) {
+                return times[i] < other.times[j];
+            }
+            if (sequences[i] != other.sequences[j]) {
+                return sequences[i] < other.sequences[j];
+            }
+            return steps[i] < other.steps[j];
+        }
+    }
+}
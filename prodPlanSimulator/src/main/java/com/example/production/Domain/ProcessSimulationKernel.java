@@ -0,0 +1,435 @@
+package com.example.production.Domain;
+
+import com.example.production.Utils.EventCalendar;
+import com.example.production.Utils.FlowDependency;
+import com.example.production.Utils.IndexedPriorityQueue;
+import com.example.production.Utils.Printer;
+import com.example.production.Utils.SymbolTable;
+import com.example.production.Utils.TraceWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Process-oriented simulation engine used by {@link Simulation.EngineMode#PROCESS}. Every
+ * workstation is a process running on its own virtual thread: it takes the next article from the
+ * queue of its operation (blocking while the queue is empty), holds it for its processing time
+ * and passes it on to the queue of the next operation.
+ * <p>
+ * The processes share a virtual clock. Exactly one thread runs at a time: a process that blocks
+ * takes the earliest wake-up from an {@link EventCalendar}, sets the clock and hands control
+ * directly to that process, which runs until it blocks in turn. The hand-offs are semaphores, so
+ * no state needs locking and the clock always advances in (time, sequence) order, making every
+ * run identical. Since blocked virtual threads only keep a
+ * small heap-allocated stack, tens of thousands of workstations can be modelled.
+ * <p>
+ * When an article arrives at an operation with idle workstations, it is handed to the fastest
+ * one, the one idle longest first; a workstation that finishes an article takes the head of its
+ * queue itself. Ties between simultaneous events can therefore be resolved differently than in
+ * the {@link SimulationKernel}.
+ */
+public class ProcessSimulationKernel implements DispatchRule.Context {
+
+    private static final Logger logger = LogManager.getLogger(ProcessSimulationKernel.class);
+
+    private static final int RESUME = 0;
+    private static final int STOP = -1;
+
+    private final ArticleTable table;
+    private final SymbolTable operations;
+    private final Map<String, Integer> localOperations = new HashMap<>();
+
+    private final byte[] priorityLevels;
+    private final int[] routeCursor;
+    private final int[] routeEnd;
+    private final int[] remainingWork;
+    private final int[] dueDates;
+    private final int[] queuePositions;
+    private final int[] routes;
+    private final Workstation[] workstations;
+    private final WorkstationProcess[] processes;
+    private final long[] workstationBusyTime;
+    private OperationLane[] lanes = new OperationLane[16];
+    private final List<OperationLane> laneOrder = new ArrayList<>();
+    private final EventCalendar eventCalendar;
+    private final Semaphore finished = new Semaphore(0);
+    private final DispatchRule dispatchRule;
+    private final Printer printer;
+    private final FlowDependency flowDependency;
+    private TraceWriter traceWriter;
+    private int[] traceOperations;
+    private int[] traceWorkstations;
+
+    private int clock;
+    private int makespan;
+    private long processedEvents;
+    private long arrivalSequence;
+    private boolean executed;
+    private Throwable failure;
+
+    /**
+     * Constructs a process-oriented engine.
+     *
+     * @param articles       Articles to be processed, in load order.
+     * @param workstations   Available workstations, one process each.
+     * @param dispatchRule   Rule used to order the waiting articles of each operation.
+     * @param printer        Printer that receives every processing event, or null to run silently.
+     * @param flowDependency Flow tracker to be updated, or null to skip flow recording.
+     */
+    public ProcessSimulationKernel(List<Article> articles, List<Workstation> workstations, DispatchRule dispatchRule,
+                                   Printer printer, FlowDependency flowDependency) {
+        this.table = ArticleTable.of(articles);
+        this.operations = table.getOperations();
+        int size = table.size();
+        this.priorityLevels = new byte[size];
+        this.routeCursor = new int[size];
+        this.routeEnd = new int[size];
+        this.remainingWork = new int[size];
+        this.dueDates = new int[size];
+        this.queuePositions = new int[size];
+        this.routes = table.routes();
+        this.workstations = workstations.toArray(new Workstation[0]);
+        this.processes = new WorkstationProcess[this.workstations.length];
+        this.workstationBusyTime = new long[this.workstations.length];
+        this.eventCalendar = new EventCalendar(Math.max(16, this.workstations.length));
+        this.dispatchRule = dispatchRule;
+        this.printer = printer;
+        this.flowDependency = flowDependency;
+
+        for (int w = 0; w < this.workstations.length; w++) {
+            if (this.workstations[w].hasSetupOrBatching()) {
+                throw new IllegalArgumentException("Process simulation does not support setup times or batches (workstation "
+                        + this.workstations[w].getWorkstationId() + ").");
+            }
+            String operation = this.workstations[w].getOperationName();
+            OperationLane lane = lane(operationId(operation), operation);
+            lane.fastestTime = Math.min(lane.fastestTime, this.workstations[w].getTime());
+            processes[w] = new WorkstationProcess(w, lane);
+        }
+    }
+
+    /**
+     * Runs the simulation until every process is waiting for an article that will not come.
+     *
+     * @throws IllegalStateException If the engine has already been executed, or a process failed.
+     */
+    public void run() {
+        if (executed) {
+            throw new IllegalStateException("Simulation engine already executed; create a new instance for each run.");
+        }
+        executed = true;
+
+        for (int article = 0; article < table.size(); article++) {
+            priorityLevels[article] = (byte) table.priorityLevel(article);
+            routeCursor[article] = table.routeStart(article);
+            routeEnd[article] = routeCursor[article] + table.routeLength(article);
+            long work = 0;
+            for (int i = routeCursor[article]; i < routeEnd[article]; i++) {
+                work += lane(routes[i], null).fastestTime();
+            }
+            remainingWork[article] = (int) Math.min(Integer.MAX_VALUE, work);
+            int dueDate = table.dueDate(article);
+            dueDates[article] = dueDate >= 0 ? dueDate : (int) Math.min(Integer.MAX_VALUE, Math.round(SimulationKernel.DUE_DATE_ALLOWANCE * work));
+            if (routeCursor[article] < routeEnd[article]) {
+                OperationLane lane = lanes[routes[routeCursor[article]]];
+                lane.waiting.offer(article, dispatchRule.priorityKey(this, article), arrivalSequence++);
+            }
+        }
+
+        for (WorkstationProcess process : processes) {
+            process.thread.start();
+            eventCalendar.schedule(0, RESUME, 0, process.index);
+        }
+        advance();
+        finished.acquireUninterruptibly();
+
+        // Every process is now waiting for an article that will not come: let them stop
+        for (WorkstationProcess process : processes) {
+            process.assigned = STOP;
+            if (failure == null) {
+                process.resume.release();
+            } else {
+                process.thread.interrupt();
+            }
+        }
+        for (WorkstationProcess process : processes) {
+            try {
+                process.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while stopping the workstation processes.", e);
+            }
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Workstation process failed: " + failure.getMessage(), failure);
+        }
+
+        for (OperationLane lane : laneOrder) {
+            if (!lane.waiting.isEmpty()) {
+                logger.warn("{} article(s) left waiting for operation '{}': no workstation available.",
+                        lane.waiting.size(), lane.operation);
+            }
+        }
+        logger.info("Process engine finished ({} rule): {} workstation processes, {} events processed, makespan {}.",
+                dispatchRule.getName(), processes.length, processedEvents, makespan);
+    }
+
+    /**
+     * Advances the clock to the earliest wake-up and lets that process run. Called by the thread
+     * that runs, just before it blocks, so control passes directly from process to process.
+     */
+    private void advance() {
+        if (failure != null || eventCalendar.isEmpty()) {
+            finished.release();
+            return;
+        }
+        eventCalendar.poll();
+        clock = eventCalendar.time();
+        processes[eventCalendar.workstation()].resume.release();
+    }
+
+    /**
+     * Queues an article at an operation. If a workstation of the operation is idle, the head of
+     * the queue is handed to it and the workstation is woken up at the current time.
+     */
+    private void put(OperationLane lane, int article) {
+        lane.waiting.offer(article, dispatchRule.priorityKey(this, article), arrivalSequence++);
+        if (lane.idle.hasIdle()) {
+            WorkstationProcess process = processes[lane.idle.acquire()];
+            process.assigned = poll(lane);
+            eventCalendar.schedule(clock, RESUME, 0, process.index);
+        }
+    }
+
+    private int poll(OperationLane lane) {
+        if (dispatchRule.isTimeDependent() && lane.keyedAt != clock) {
+            lane.waiting.rekeyAll(article -> dispatchRule.priorityKey(this, article));
+            lane.keyedAt = clock;
+        }
+        return lane.waiting.poll();
+    }
+
+    /**
+     * Gets the ID of an operation name. Names unknown to the symbol table of the articles get
+     * engine-local IDs after the shared ones.
+     */
+    private int operationId(String operation) {
+        int id = operations.idOf(operation);
+        if (id < 0) {
+            id = localOperations.computeIfAbsent(operation, name -> operations.size() + localOperations.size());
+        }
+        return id;
+    }
+
+    private OperationLane lane(int operationId, String operation) {
+        if (operationId >= lanes.length) {
+            lanes = Arrays.copyOf(lanes, Math.max(lanes.length * 2, operationId + 1));
+        }
+        OperationLane lane = lanes[operationId];
+        if (lane == null) {
+            lane = new OperationLane(operation != null ? operation : operations.name(operationId));
+            lanes[operationId] = lane;
+            laneOrder.add(lane);
+        }
+        return lane;
+    }
+
+    /**
+     * Sets a trace writer that receives every processing event of the run. The writer is not
+     * closed by the engine.
+     *
+     * @param traceWriter The trace writer, or null to stop tracing.
+     */
+    public void setTraceWriter(TraceWriter traceWriter) {
+        this.traceWriter = traceWriter;
+        if (traceWriter != null) {
+            traceOperations = new int[workstations.length];
+            traceWorkstations = new int[workstations.length];
+            for (int w = 0; w < workstations.length; w++) {
+                traceOperations[w] = traceWriter.operationId(workstations[w].getOperationName());
+                traceWorkstations[w] = traceWriter.workstationId(workstations[w].getWorkstationId());
+            }
+        }
+    }
+
+    // DispatchRule.Context
+
+    @Override
+    public int now() {
+        return clock;
+    }
+
+    @Override
+    public int priorityLevel(int article) {
+        return priorityLevels[article];
+    }
+
+    @Override
+    public int imminentProcessingTime(int article) {
+        return routeCursor[article] < routeEnd[article] ? lanes[routes[routeCursor[article]]].fastestTime() : 0;
+    }
+
+    @Override
+    public int remainingWork(int article) {
+        return remainingWork[article];
+    }
+
+    @Override
+    public int dueDate(int article) {
+        return dueDates[article];
+    }
+
+    /**
+     * Gets the makespan of the run (finish time of the last operation).
+     *
+     * @return The makespan in seconds.
+     */
+    public int getMakespan() {
+        return makespan;
+    }
+
+    /**
+     * Gets the number of operations completed by the run.
+     *
+     * @return The processed event count.
+     */
+    public long getProcessedEvents() {
+        return processedEvents;
+    }
+
+    /**
+     * Gets the busy time of a workstation.
+     *
+     * @param workstation Index of the workstation in the list given to the constructor.
+     * @return The accumulated processing time of the workstation.
+     */
+    public long getWorkstationBusyTime(int workstation) {
+        return workstationBusyTime[workstation];
+    }
+
+    /**
+     * Gets the busy time of every workstation that processed at least one article.
+     *
+     * @return A map with workstation IDs as keys and usage times as values.
+     */
+    public Map<String, Integer> getWorkstationUsage() {
+        Map<String, Integer> usage = new LinkedHashMap<>();
+        for (int w = 0; w < workstations.length; w++) {
+            if (workstationBusyTime[w] > 0) {
+                usage.merge(workstations[w].getWorkstationId(), (int) workstationBusyTime[w], Integer::sum);
+            }
+        }
+        return usage;
+    }
+
+    /**
+     * Waiting articles and idle workstation processes of a single operation.
+     */
+    private final class OperationLane {
+        private final String operation;
+        private final IndexedPriorityQueue waiting = new IndexedPriorityQueue(queuePositions);
+        private final WorkstationPool idle = new WorkstationPool();
+        private int fastestTime = Integer.MAX_VALUE;
+        private int keyedAt = -1;
+
+        private OperationLane(String operation) {
+            this.operation = operation;
+        }
+
+        private int fastestTime() {
+            return fastestTime == Integer.MAX_VALUE ? 0 : fastestTime;
+        }
+    }
+
+    /**
+     * The process of one workstation. Its body only runs while every other thread is blocked, so
+     * it reads and writes the engine state without locking.
+     */
+    private final class WorkstationProcess {
+        private final int index;
+        private final OperationLane lane;
+        private final Workstation workstation;
+        private final Semaphore resume = new Semaphore(0);
+        private final Thread thread;
+        private int assigned;
+
+        private WorkstationProcess(int index, OperationLane lane) {
+            this.index = index;
+            this.lane = lane;
+            this.workstation = workstations[index];
+            this.thread = Thread.ofVirtual().name("workstation-" + workstation.getWorkstationId()).unstarted(this::body);
+        }
+
+        private void body() {
+            try {
+                resume.acquire();
+                while (true) {
+                    int article = take();
+                    if (article == STOP) {
+                        break;
+                    }
+                    hold(article);
+                    move(article);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable e) {
+                failure = e;
+                finished.release();
+            }
+        }
+
+        /**
+         * Takes the head of the operation queue, or blocks until an article is handed over.
+         */
+        private int take() throws InterruptedException {
+            if (!lane.waiting.isEmpty()) {
+                return poll(lane);
+            }
+            lane.idle.release(index, workstation.getTime(), clock);
+            block();
+            return assigned;
+        }
+
+        /**
+         * Processes an article: blocks until the clock has advanced by the processing time.
+         */
+        private void hold(int article) throws InterruptedException {
+            int finishTime = clock + workstation.getTime();
+            workstationBusyTime[index] += workstation.getTime();
+            makespan = Math.max(makespan, finishTime);
+            int articleId = table.articleId(article);
+            if (flowDependency != null) {
+                flowDependency.recordFlow(articleId, workstation.getWorkstationId());
+            }
+            if (traceWriter != null) {
+                traceWriter.record(articleId, traceOperations[index], traceWorkstations[index], clock, finishTime);
+            }
+            if (printer != null) {
+                printer.printProcessingEvent(String.valueOf(articleId), lane.operation,
+                        workstation.getWorkstationId(), workstation.getOperationName(), clock, finishTime);
+            }
+            eventCalendar.schedule(finishTime, RESUME, article, index);
+            block();
+            processedEvents++;
+        }
+
+        /**
+         * Passes a processed article on to its next operation.
+         */
+        private void move(int article) {
+            remainingWork[article] = Math.max(0, remainingWork[article] - lane.fastestTime());
+            routeCursor[article]++;
+            if (routeCursor[article] < routeEnd[article]) {
+                put(lanes[routes[routeCursor[article]]], article);
+            }
+        }
+
+        private void block() throws InterruptedException {
+            advance();
+            resume.acquire();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.production.Domain;
+
+import com.example.production.Utils.SummaryStatistics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs many independent simulations of one article/workstation dataset across all cores.
+ * Each scenario is executed by its own {@link SimulationKernel} (the engine behind
+ * {@link Simulation.EngineMode#DETERMINISTIC}) on a fork-join pool; the articles are converted
+ * once into an {@link ArticleTable} and, like the workstation list, shared read-only between the
+ * replications, since the kernel never mutates them.
+ * <p>
+ * With a {@link VariabilityModel}, a scenario can also be replicated many times; replication
+ * {@code r} always draws from the same random streams, so the report does not depend on the
+ * parallelism or on the order in which the replications finish.
+ */
+public class ReplicationRunner {
+
+    private static final Logger logger = LogManager.getLogger(ReplicationRunner.class);
+
+    private final ArticleTable articles;
+    private final List<Workstation> workstations;
+    private final int parallelism;
+
+    /**
+     * Constructs a runner that uses every available processor.
+     *
+     * @param articles     The shared list of articles.
+     * @param workstations The shared list of base workstations.
+     */
+    public ReplicationRunner(List<Article> articles, List<Workstation> workstations) {
+        this(articles, workstations, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a runner with a fixed number of worker threads.
+     *
+     * @param articles     The shared list of articles.
+     * @param workstations The shared list of base workstations.
+     * @param parallelism  Number of replications run at the same time.
+     */
+    public ReplicationRunner(List<Article> articles, List<Workstation> workstations, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        }
+        this.articles = ArticleTable.of(articles);
+        this.workstations = List.copyOf(workstations);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Runs every scenario once and aggregates the results of each scenario.
+     *
+     * @param scenarios The scenarios to run; a scenario listed several times is replicated.
+     * @return The per-scenario results and the statistics of each scenario.
+     */
+    public Report run(List<SimulationScenario> scenarios) {
+        logger.info("Running {} replications with parallelism {}.", scenarios.size(), parallelism);
+
+        List<Callable<ScenarioResult>> tasks = new ArrayList<>(scenarios.size());
+        for (SimulationScenario scenario : scenarios) {
+            tasks.add(() -> runScenario(scenario, null, 0));
+        }
+        return invokeAll(tasks);
+    }
+
+    /**
+     * Runs one scenario many times with stochastic processing times and breakdowns.
+     *
+     * @param scenario     The scenario to replicate.
+     * @param variability  The variability model of the workstations.
+     * @param replications Number of replications, numbered from 0.
+     * @return The per-replication results, in replication order, and the aggregated statistics.
+     */
+    public Report run(SimulationScenario scenario, VariabilityModel variability, int replications) {
+        if (replications < 1) {
+            throw new IllegalArgumentException("Replications must be at least 1.");
+        }
+        logger.info("Running {} stochastic replications of '{}' with parallelism {}.",
+                replications, scenario.getName(), parallelism);
+
+        List<Callable<ScenarioResult>> tasks = new ArrayList<>(replications);
+        for (int replication = 0; replication < replications; replication++) {
+            int number = replication;
+            tasks.add(() -> runScenario(scenario, variability, number));
+        }
+        return invokeAll(tasks);
+    }
+
+    private Report invokeAll(List<Callable<ScenarioResult>> tasks) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ScenarioResult> results = new ArrayList<>(tasks.size());
+            for (Future<ScenarioResult> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return new Report(results);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replications interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Replication failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private ScenarioResult runScenario(SimulationScenario scenario, VariabilityModel variability, int replication) {
+        List<Workstation> scenarioWorkstations = scenario.applyTo(workstations);
+        SimulationKernel kernel = new SimulationKernel(articles, scenarioWorkstations, scenario.getDispatchRule(), null, null);
+        kernel.setVariability(variability, replication);
+        kernel.run();
+
+        int makespan = kernel.getMakespan();
+        Map<String, Double> utilization = new LinkedHashMap<>();
+        for (int w = 0; w < scenarioWorkstations.size(); w++) {
+            double percentage = makespan > 0 ? kernel.getWorkstationBusyTime(w) * 100.0 / makespan : 0;
+            utilization.merge(scenarioWorkstations.get(w).getWorkstationId(), percentage, Double::sum);
+        }
+        logger.debug("Scenario '{}' finished with makespan {}.", scenario.getName(), makespan);
+        return new ScenarioResult(scenario, makespan, kernel.getProcessedEvents(), utilization);
+    }
+
+    /**
+     * Result of a single replication.
+     */
+    public static class ScenarioResult {
+        private final SimulationScenario scenario;
+        private final int makespan;
+        private final long processedEvents;
+        private final Map<String, Double> utilization;
+
+        public ScenarioResult(SimulationScenario scenario, int makespan, long processedEvents, Map<String, Double> utilization) {
+            this.scenario = scenario;
+            this.makespan = makespan;
+            this.processedEvents = processedEvents;
+            this.utilization = Collections.unmodifiableMap(utilization);
+        }
+
+        public SimulationScenario getScenario() {
+            return scenario;
+        }
+
+        public int getMakespan() {
+            return makespan;
+        }
+
+        public long getProcessedEvents() {
+            return processedEvents;
+        }
+
+        /**
+         * Gets the utilization of each workstation of the scenario, as a percentage of the makespan.
+         *
+         * @return A map with workstation IDs as keys and utilization percentages as values.
+         */
+        public Map<String, Double> getUtilization() {
+            return utilization;
+        }
+    }
+
+    /**
+     * Results of all replications, in scenario order, with statistics aggregated per scenario, so
+     * that replications of different configurations are never pooled.
+     */
+    public static class Report {
+        private final List<ScenarioResult> results;
+        private final Map<SimulationScenario, SummaryStatistics> makespans = new LinkedHashMap<>();
+        private final Map<SimulationScenario, Map<String, SummaryStatistics>> utilizations = new LinkedHashMap<>();
+
+        public Report(List<ScenarioResult> results) {
+            this.results = Collections.unmodifiableList(results);
+            for (ScenarioResult result : results) {
+                makespans.computeIfAbsent(result.getScenario(), k -> new SummaryStatistics()).add(result.getMakespan());
+                Map<String, SummaryStatistics> utilization = utilizations.computeIfAbsent(result.getScenario(), k -> new LinkedHashMap<>());
+                result.getUtilization().forEach((workstationId, percentage) ->
+                        utilization.computeIfAbsent(workstationId, k -> new SummaryStatistics()).add(percentage));
+            }
+        }
+
+        public List<ScenarioResult> getResults() {
+            return results;
+        }
+
+        /**
+         * Gets the distinct scenarios of the report.
+         *
+         * @return The scenarios, in order of their first result.
+         */
+        public List<SimulationScenario> getScenarios() {
+            return List.copyOf(makespans.keySet());
+        }
+
+        /**
+         * Gets the makespan statistics across the replications of a scenario.
+         *
+         * @param scenario The scenario.
+         * @return The makespan statistics.
+         * @throws IllegalArgumentException If the scenario was not run.
+         */
+        public SummaryStatistics getMakespan(SimulationScenario scenario) {
+            SummaryStatistics makespan = makespans.get(scenario);
+            if (makespan == null) {
+                throw new IllegalArgumentException("Scenario '" + scenario.getName() + "' is not part of the report.");
+            }
+            return makespan;
+        }
+
+        /**
+         * Gets the utilization statistics of each workstation of a scenario, across its replications.
+         *
+         * @param scenario The scenario.
+         * @return A map with workstation IDs as keys and utilization statistics as values.
+         * @throws IllegalArgumentException If the scenario was not run.
+         */
+        public Map<String, SummaryStatistics> getUtilization(SimulationScenario scenario) {
+            getMakespan(scenario);
+            return Collections.unmodifiableMap(utilizations.get(scenario));
+        }
+
+        /**
+         * Gets the makespan statistics of a report with a single scenario, e.g. one made by
+         * {@link ReplicationRunner#run(SimulationScenario, VariabilityModel, int)}.
+         *
+         * @return The makespan statistics.
+         * @throws IllegalStateException If the report covers several scenarios.
+         */
+        public SummaryStatistics getMakespan() {
+            return getMakespan(singleScenario());
+        }
+
+        /**
+         * Gets the utilization statistics of each workstation of a report with a single scenario.
+         *
+         * @return A map with workstation IDs as keys and utilization statistics as values.
+         * @throws IllegalStateException If the report covers several scenarios.
+         */
+        public Map<String, SummaryStatistics> getUtilization() {
+            return getUtilization(singleScenario());
+        }
+
+        private SimulationScenario singleScenario() {
+            if (makespans.size() != 1) {
+                throw new IllegalStateException("The report covers " + makespans.size()
+                        + " scenarios; get the statistics of each scenario instead.");
+            }
+            return makespans.keySet().iterator().next();
+        }
+    }
+}
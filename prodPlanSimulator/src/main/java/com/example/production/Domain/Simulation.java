@@ -5,13 +5,20 @@ import com.example.production.Utils.FlowDependency;
 import com.example.production.Utils.ConsolePrinter;
 import com.example.production.Domain.*;
 import com.example.production.Utils.Event;
+import com.example.production.Utils.MetricsRegistry;
 import com.example.production.Utils.Printer;
+import com.example.production.Utils.TraceWriter;
+import com.example.production.Utils.UsageStatistics;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntToLongFunction;
 
 /**
  * Class that simulates the production process.
@@ -23,14 +30,30 @@ public class Simulation {
 
     private final Map<String, Queue<Article>> operationQueues = new ConcurrentHashMap<>();
     private final Map<String, List<Workstation>> availableWorkstations = new ConcurrentHashMap<>();
-    private final Map<String, Integer> operationTimeTracker = new ConcurrentHashMap<>();
-    private final Map<String, Integer> workstationUsageTracker = new ConcurrentHashMap<>();
     private final Map<String, Integer> workstationNextAvailableTime = new ConcurrentHashMap<>();
     private final PriorityBlockingQueue<Event> eventQueue = new PriorityBlockingQueue<>();
+    private final List<Article> articles;
+    private final Iterator<Article> articleSource;
+    private final int releaseWindow;
+    private final List<Workstation> workstations;
     private final Printer printer;
     private final ExecutorService executorService;
+    private final UsageStatistics usageStatistics;
+    private volatile SimulationMetrics metrics;
+    private TraceWriter traceWriter;
+    private int checkpointInterval;
+    private Path checkpointFile;
+    private Path resumeCheckpoint;
+    private VariabilityModel variability;
+    private long replication;
+    private boolean setupGrouping;
+    private List<CustomerOrder> customerOrders;
+    private Inventory inventory;
+    private MetricsRegistry metricsRegistry;
+    private Map<String, Integer> orderCompletionTimes = Collections.emptyMap();
+    private int parallelism = Runtime.getRuntime().availableProcessors();
     private final FlowDependency flowDependency = new FlowDependency();
-    private final AverageProductionTimeService averageProductionTimeService = new AverageProductionTimeService();
+    private AverageProductionTimeService averageProductionTimeService;
 
     private final AtomicInteger currentTime = new AtomicInteger(0);
     private final AtomicInteger maxFinishTime = new AtomicInteger(0);
@@ -38,6 +61,8 @@ public class Simulation {
     private int factoryEndTime = 0;
 
     private SimulationStrategy strategy;
+    private DispatchRule dispatchRule;
+    private final EngineMode engineMode;
 
     private Map<String, ProductionTree> productionTrees;
 
@@ -46,6 +71,30 @@ public class Simulation {
         PRIORITY
     }
 
+    /**
+     * Engine used to execute the event loop.
+     */
+    public enum EngineMode {
+        /**
+         * Start events are handed to a thread pool and the event queue is polled until the pool is idle.
+         */
+        CONCURRENT,
+        /**
+         * Single-threaded event loop with a virtual clock; every run produces the same output.
+         */
+        DETERMINISTIC,
+        /**
+         * Operations split into groups simulated by parallel workers in conservative time windows;
+         * produces the same output as DETERMINISTIC.
+         */
+        PARALLEL,
+        /**
+         * Every workstation is a process on its own virtual thread, blocking on its operation queue;
+         * a shared virtual clock makes every run produce the same output.
+         */
+        PROCESS
+    }
+
     /**
      * Constructs a Simulation instance with the specified articles, workstations, printer, and strategy.
      *
@@ -55,14 +104,76 @@ public class Simulation {
      * @param strategy     Strategy for processing (FIFO or PRIORITY).
      */
     public Simulation(List<Article> articles, List<Workstation> workstations, Printer printer, SimulationStrategy strategy) {
+        this(articles, workstations, printer, strategy, EngineMode.CONCURRENT);
+    }
+
+    /**
+     * Constructs a Simulation instance with the specified articles, workstations, printer, strategy and engine.
+     *
+     * @param articles     List of articles to be processed.
+     * @param workstations List of available workstations.
+     * @param printer      Implementation of Printer for console or other outputs.
+     * @param strategy     Strategy for processing (FIFO or PRIORITY).
+     * @param engineMode   Engine used to run the event loop (CONCURRENT, DETERMINISTIC, PARALLEL or PROCESS).
+     */
+    public Simulation(List<Article> articles, List<Workstation> workstations, Printer printer,
+                      SimulationStrategy strategy, EngineMode engineMode) {
+        this.articles = articles;
+        this.articleSource = null;
+        this.releaseWindow = 0;
+        this.workstations = workstations;
         this.printer = printer;
         this.strategy = strategy;
-        this.executorService = Executors.newCachedThreadPool();
+        this.dispatchRule = StandardDispatchRule.forStrategy(strategy);
+        this.engineMode = engineMode;
+        this.usageStatistics = new UsageStatistics(workstations);
 
-        initializeOperationQueues(articles);
-        initializeWorkstations(workstations);
+        if (engineMode == EngineMode.CONCURRENT) {
+            if (workstations.stream().anyMatch(Workstation::hasSetupOrBatching)) {
+                logger.warn("The concurrent engine ignores setup times and batch sizes.");
+            }
+            this.executorService = Executors.newCachedThreadPool();
+            initializeOperationQueues(articles);
+            initializeWorkstations(workstations);
+        } else {
+            this.executorService = null;
+        }
 
-        logger.info("Simulation initialized with {} articles and {} workstations.", articles.size(), workstations.size());
+        logger.info("Simulation initialized with {} articles and {} workstations ({} engine).",
+                articles.size(), workstations.size(), engineMode);
+    }
+
+    /**
+     * Constructs a deterministic Simulation that streams its articles instead of holding them all.
+     * At most {@code releaseWindow} articles are in the factory at once; each finished article
+     * releases the next one from the source (CONWIP), so the source can be read while the
+     * simulation runs. Flow dependencies are not recorded in this mode, since they grow with the
+     * number of articles.
+     *
+     * @param articleSource Articles to be processed, in release order; consumed by {@link #runSimulation()}.
+     * @param releaseWindow Maximum number of articles in the factory at the same time.
+     * @param workstations  List of available workstations.
+     * @param printer       Implementation of Printer for console or other outputs.
+     * @param strategy      Strategy for processing (FIFO or PRIORITY).
+     */
+    public Simulation(Iterator<Article> articleSource, int releaseWindow, List<Workstation> workstations,
+                      Printer printer, SimulationStrategy strategy) {
+        if (releaseWindow < 1) {
+            throw new IllegalArgumentException("Release window must be at least 1.");
+        }
+        this.articles = Collections.emptyList();
+        this.articleSource = articleSource;
+        this.releaseWindow = releaseWindow;
+        this.workstations = workstations;
+        this.printer = printer;
+        this.strategy = strategy;
+        this.dispatchRule = StandardDispatchRule.forStrategy(strategy);
+        this.engineMode = EngineMode.DETERMINISTIC;
+        this.usageStatistics = new UsageStatistics(workstations);
+        this.executorService = null;
+
+        logger.info("Simulation initialized with a streamed article source (window {}) and {} workstations.",
+                releaseWindow, workstations.size());
     }
 
     /**
@@ -78,6 +189,39 @@ public class Simulation {
     }
 
 
+    /**
+     * Gets the engine used to run this simulation.
+     *
+     * @return The engine mode.
+     */
+    public EngineMode getEngineMode() {
+        return engineMode;
+    }
+
+    /**
+     * Gets the rule used to order the operation queues.
+     *
+     * @return The dispatching rule.
+     */
+    public DispatchRule getDispatchRule() {
+        return dispatchRule;
+    }
+
+    /**
+     * Sets the rule used to order the operation queues, replacing the one derived from the strategy.
+     * Rules other than FIFO and PRIORITY are only supported by the DETERMINISTIC engine.
+     *
+     * @param dispatchRule The dispatching rule.
+     * @throws IllegalStateException If the rule is not supported by the CONCURRENT engine.
+     */
+    public void setDispatchRule(DispatchRule dispatchRule) {
+        if (engineMode == EngineMode.CONCURRENT && dispatchRule != StandardDispatchRule.forStrategy(strategy)) {
+            throw new IllegalStateException("Dispatch rule " + dispatchRule.getName() + " requires the DETERMINISTIC engine.");
+        }
+        this.dispatchRule = dispatchRule;
+        logger.info("Dispatch rule set to {}.", dispatchRule.getName());
+    }
+
     public Map<String, ProductionTree> getProductionTrees() {
         return productionTrees;
     }
@@ -92,6 +236,128 @@ public class Simulation {
         logger.info("Production trees associated with the simulation.");
     }
 
+    /**
+     * Sets a trace writer that receives every processing event (article, operation, workstation,
+     * start and finish) as a compact binary record. The writer is not closed by the simulation.
+     *
+     * @param traceWriter The trace writer, or null to disable tracing.
+     */
+    public void setTraceWriter(TraceWriter traceWriter) {
+        this.traceWriter = traceWriter;
+    }
+
+    /**
+     * Makes a deterministic run write a checkpoint of its full state every {@code interval}
+     * seconds of simulation time. The concurrent engine cannot be checkpointed.
+     *
+     * @param interval Simulation time between checkpoints.
+     * @param file     The checkpoint file, replaced atomically each time.
+     */
+    public void setCheckpointInterval(int interval, Path file) {
+        if (engineMode != EngineMode.DETERMINISTIC) {
+            throw new IllegalStateException("Checkpoints are only supported by the deterministic engine.");
+        }
+        this.checkpointInterval = interval;
+        this.checkpointFile = file;
+    }
+
+    /**
+     * Makes the next run continue from a checkpoint instead of starting at time 0. The articles
+     * and workstations of this simulation must be those of the checkpointed run; for a streamed
+     * source, the articles released before the checkpoint are skipped. Flow dependencies and
+     * printed events only cover the part of the run after the checkpoint.
+     *
+     * @param checkpoint The checkpoint file.
+     */
+    public void setResumeCheckpoint(Path checkpoint) {
+        if (engineMode != EngineMode.DETERMINISTIC) {
+            throw new IllegalStateException("Checkpoints are only supported by the deterministic engine.");
+        }
+        this.resumeCheckpoint = checkpoint;
+    }
+
+    /**
+     * Makes a deterministic run draw processing times and breakdowns from a variability model.
+     * Such runs cannot be checkpointed or resumed.
+     *
+     * @param variability The variability model, or null for fixed processing times.
+     * @param replication The replication number, which selects the random streams of the model.
+     */
+    public void setVariability(VariabilityModel variability, long replication) {
+        if (engineMode != EngineMode.DETERMINISTIC) {
+            throw new IllegalStateException("Variability is only supported by the deterministic engine.");
+        }
+        this.variability = variability;
+        this.replication = replication;
+    }
+
+    /**
+     * Makes workstations with a setup time prefer articles of the product family they are set up
+     * for. Only the deterministic engine models setups and batches.
+     *
+     * @param setupGrouping Whether to group articles by family.
+     * @see SimulationKernel#setSetupGrouping(boolean)
+     */
+    public void setSetupGrouping(boolean setupGrouping) {
+        if (engineMode != EngineMode.DETERMINISTIC) {
+            throw new IllegalStateException("Setup grouping is only supported by the deterministic engine.");
+        }
+        this.setupGrouping = setupGrouping;
+    }
+
+    /**
+     * Makes the deterministic engine produce customer orders instead of the articles: each order
+     * is exploded through the production tree of its product (see {@link #setProductionTrees(Map)})
+     * into sub-assembly jobs, and a parent operation starts only when all its components are done.
+     * Flow dependencies are not recorded for orders, and neither the per-event kernel metrics nor
+     * {@link #getMetrics()} are collected. Tracing, variability, setup grouping and checkpoints are
+     * not supported: a run with any of them set fails with an IllegalStateException.
+     *
+     * @param customerOrders The order book, or null to process the articles.
+     * @see BomSimulationKernel
+     */
+    public void setCustomerOrders(List<CustomerOrder> customerOrders) {
+        if (engineMode != EngineMode.DETERMINISTIC) {
+            throw new IllegalStateException("Customer orders are only supported by the deterministic engine.");
+        }
+        this.customerOrders = customerOrders != null ? List.copyOf(customerOrders) : null;
+    }
+
+    /**
+     * Makes the purchased materials of the customer orders finite: a job consumes them when it
+     * starts and waits while they are short. Only used with {@link #setCustomerOrders(List)}.
+     *
+     * @param inventory The initial stock and replenishments, or null for unlimited materials.
+     * @see BomSimulationKernel#setInventory(Inventory)
+     */
+    public void setInventory(Inventory inventory) {
+        if (engineMode != EngineMode.DETERMINISTIC) {
+            throw new IllegalStateException("Material inventory is only supported by the deterministic engine.");
+        }
+        this.inventory = inventory;
+    }
+
+    /**
+     * Gets the completion time of each customer order of the last run.
+     *
+     * @return A map with order IDs as keys and completion times as values; empty if no orders were run.
+     */
+    public Map<String, Integer> getOrderCompletionTimes() {
+        return Collections.unmodifiableMap(orderCompletionTimes);
+    }
+
+    /**
+     * Sets the number of operation groups the parallel engine simulates at the same time.
+     *
+     * @param parallelism Number of worker threads, at least 1; defaults to the available processors.
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        }
+        this.parallelism = parallelism;
+    }
+
     /**
      * Retrieves the production tree for a specific article.
      *
@@ -120,7 +386,7 @@ public class Simulation {
      * @return An unmodifiable map with operation names as keys and their total processing times as values.
      */
     public Map<String, Integer> getOperationTimes() {
-        return Collections.unmodifiableMap(operationTimeTracker);
+        return Collections.unmodifiableMap(usageStatistics.getOperationTimes());
     }
 
     /**
@@ -129,7 +395,36 @@ public class Simulation {
      * @return An unmodifiable map with workstation IDs as keys and their total usage times as values.
      */
     public Map<String, Integer> getWorkstationUsage() {
-        return Collections.unmodifiableMap(workstationUsageTracker);
+        return Collections.unmodifiableMap(usageStatistics.getWorkstationUsage());
+    }
+
+    /**
+     * Sets a registry that receives run-time metrics: the counter {@code simulation.runs}, the
+     * distribution {@code simulation.run.millis} of wall-clock run times and the gauge
+     * {@code simulation.makespan}, for every engine, plus the per-event metrics of the
+     * deterministic engine (see {@link SimulationKernel#setMetricsRegistry(MetricsRegistry)}) when it
+     * processes articles rather than customer orders.
+     * The registry may be shared by several simulations.
+     *
+     * @param metricsRegistry The registry, or null to collect nothing.
+     */
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
+    /**
+     * Gets the queue-length, waiting-time, utilization and work-in-progress metrics of the run.
+     * They are available as soon as a deterministic run starts and are updated while it runs.
+     *
+     * @return The metrics, or null before the run, for customer orders and for the engines other than
+     * DETERMINISTIC, which do not collect them.
+     */
+    public SimulationMetrics getMetrics() {
+        return metrics;
     }
 
     /**
@@ -139,7 +434,7 @@ public class Simulation {
      * @return The usage percentage of the workstation.
      */
     public double getWorkstationUsagePercentage(String workstationId) {
-        int usageTime = workstationUsageTracker.getOrDefault(workstationId, 0);
+        int usageTime = usageStatistics.getWorkstationUsage(workstationId);
         int totalTime = getTotalProductionTime();
         return totalTime > 0 ? (usageTime * 100.0) / totalTime : 0;
     }
@@ -151,7 +446,7 @@ public class Simulation {
      * @return The usage percentage of the operation.
      */
     public double getOperationUsagePercentage(String operationName) {
-        int operationTime = operationTimeTracker.getOrDefault(operationName, 0);
+        int operationTime = usageStatistics.getOperationTime(operationName);
         int totalTime = getTotalProductionTime();
         return totalTime > 0 ? (operationTime * 100.0) / totalTime : 0;
     }
@@ -165,24 +460,27 @@ public class Simulation {
         for (Article article : articles) {
             String firstOperation = article.getCurrentOperation();
             if (firstOperation != null) {
-                // Initialize the operation queue based on the strategy
-                if (strategy == SimulationStrategy.FIFO) {
-                    operationQueues.computeIfAbsent(firstOperation, k -> {
-                        logger.info("Creating FIFO queue for operation '{}'.", firstOperation);
-                        return new ConcurrentLinkedQueue<>();
-                    }).offer(article);
-                } else if (strategy == SimulationStrategy.PRIORITY) {
-                    operationQueues.computeIfAbsent(firstOperation, k -> {
-                        logger.info("Creating Priority queue for operation '{}'.", firstOperation);
-                        return new PriorityBlockingQueue<>(11, Comparator.comparingInt(Article::getPriorityLevel).reversed());
-                    }).offer(article);
-                }
-
+                operationQueues.computeIfAbsent(firstOperation, this::createOperationQueue).offer(article);
                 logger.debug("Article {} added to the queue of operation '{}'.", article.getArticleId(), firstOperation);
             }
         }
     }
 
+    /**
+     * Creates the queue of an operation based on the strategy.
+     *
+     * @param operation The operation name.
+     * @return A FIFO queue or a priority queue, according to the strategy.
+     */
+    private Queue<Article> createOperationQueue(String operation) {
+        if (strategy == SimulationStrategy.PRIORITY) {
+            logger.info("Creating Priority queue for operation '{}'.", operation);
+            return new PriorityBlockingQueue<>(11, Comparator.comparingInt(Article::getPriorityLevel).reversed());
+        }
+        logger.info("Creating FIFO queue for operation '{}'.", operation);
+        return new ConcurrentLinkedQueue<>();
+    }
+
     /**
      * Initializes the workstations and categorizes them by operation type.
      *
@@ -198,23 +496,61 @@ public class Simulation {
             workstationNextAvailableTime.put(workstation.getWorkstationId(), 0);
             logger.debug("Workstation {} registered for operation '{}'.", workstation.getWorkstationId(), operation);
         }
+        // The lists never change after registration, so they are ordered by processing time once here
+        for (List<Workstation> workstationsForOperation : availableWorkstations.values()) {
+            workstationsForOperation.sort(Comparator.comparingInt(Workstation::getTime));
+        }
     }
 
      /**
      * Calcula os tempos médios e atualiza no banco de dados.
+     * The database service (and its configuration) is only created on the first call, so runs
+     * that never store their averages do not touch it.
      */
     public void calculateAndUpdateAverageTimes() {
-        Map<String, Integer> operationTimeTracker = getOperationTimes();
-        averageProductionTimeService.updateAverageProductionTimes(operationTimeTracker);
+        if (averageProductionTimeService == null) {
+            averageProductionTimeService = new AverageProductionTimeService();
+        }
+        averageProductionTimeService.updateAverageProductionTimes(getOperationTimes());
     }
 
     /**
      * Runs the production simulation.
-     * Initializes and processes events in chronological order.
+     * Initializes and processes events in chronological order. The run is recorded as a
+     * "run" phase by the flight recorder (see {@link SimulationEvents}).
      */
     public void runSimulation() {
+        SimulationEvents.Phase phase = SimulationEvents.beginPhase("run", engineMode.name());
+        long begin = System.nanoTime();
+        try {
+            runEngine();
+        } finally {
+            SimulationEvents.endPhase(phase);
+            if (metricsRegistry != null) {
+                metricsRegistry.counter("simulation.runs").increment();
+                metricsRegistry.distribution("simulation.run.millis").record((System.nanoTime() - begin) / 1_000_000);
+                metricsRegistry.gauge("simulation.makespan").set(getTotalProductionTime());
+            }
+        }
+    }
+
+    private void runEngine() {
         logger.info("Starting production simulation.");
         printer.printSimulationHeader();
+
+        if (engineMode == EngineMode.DETERMINISTIC) {
+            runDeterministicSimulation();
+            return;
+        }
+        if (engineMode == EngineMode.PARALLEL) {
+            runParallelSimulation();
+            return;
+        }
+        if (engineMode == EngineMode.PROCESS) {
+            runProcessSimulation();
+            return;
+        }
+
         scheduleInitialEvents();
 
         if (!eventQueue.isEmpty()) {
@@ -256,9 +592,122 @@ public class Simulation {
         factoryEndTime = maxFinishTime.get();
     
         logger.info("Simulation completed. Total production time: {} seconds.", getTotalProductionTime());
-        printer.printSimulationSummary(getTotalProductionTime(), workstationUsageTracker);
+        printer.printSimulationSummary(getTotalProductionTime(), getWorkstationUsage());
     }    
 
+    /**
+     * Runs the simulation on the single-threaded {@link SimulationKernel} and copies its results
+     * into the usage statistics exposed by this class.
+     */
+    private void runDeterministicSimulation() {
+        if (customerOrders != null) {
+            runOrderSimulation();
+            return;
+        }
+        if (inventory != null) {
+            throw new IllegalStateException("Material inventory requires customer orders.");
+        }
+        SimulationKernel kernel = resumeCheckpoint != null ? resumeKernel()
+                : articleSource != null
+                ? new SimulationKernel(articleSource, releaseWindow, workstations, dispatchRule, printer, null)
+                : new SimulationKernel(articles, workstations, dispatchRule, printer, flowDependency);
+        kernel.setTraceWriter(traceWriter);
+        kernel.setMetricsRegistry(metricsRegistry);
+        kernel.setSetupGrouping(setupGrouping);
+        if (variability != null) {
+            kernel.setVariability(variability, replication);
+        }
+        if (checkpointFile != null) {
+            kernel.setCheckpointInterval(checkpointInterval, checkpointFile);
+        }
+        metrics = kernel.getMetrics();
+        kernel.run();
+        completeSimulation(kernel::getWorkstationBusyTime, kernel.getMakespan());
+    }
+
+    /**
+     * Runs the customer orders on the {@link BomSimulationKernel}.
+     */
+    private void runOrderSimulation() {
+        if (productionTrees == null) {
+            throw new IllegalStateException("Production trees must be set to simulate customer orders.");
+        }
+        if (traceWriter != null) {
+            throw new IllegalStateException("Customer orders cannot be traced.");
+        }
+        if (variability != null) {
+            throw new IllegalStateException("Variability is not supported with customer orders.");
+        }
+        if (setupGrouping) {
+            throw new IllegalStateException("Setup grouping is not supported with customer orders.");
+        }
+        if (checkpointFile != null || resumeCheckpoint != null) {
+            throw new IllegalStateException("Checkpoints are not supported with customer orders.");
+        }
+        BomSimulationKernel kernel = new BomSimulationKernel(productionTrees, customerOrders, workstations,
+                dispatchRule, printer);
+        kernel.setInventory(inventory);
+        kernel.run();
+        orderCompletionTimes = kernel.getOrderCompletionTimes();
+        completeSimulation(kernel::getWorkstationBusyTime, kernel.getMakespan());
+    }
+
+    /**
+     * Runs the simulation on the {@link ParallelSimulationKernel}.
+     */
+    private void runParallelSimulation() {
+        ParallelSimulationKernel kernel = new ParallelSimulationKernel(articles, workstations, dispatchRule,
+                printer, flowDependency, parallelism);
+        kernel.setTraceWriter(traceWriter);
+        kernel.run();
+        completeSimulation(kernel::getWorkstationBusyTime, kernel.getMakespan());
+    }
+
+    /**
+     * Runs the simulation on the {@link ProcessSimulationKernel}, one virtual thread per workstation.
+     */
+    private void runProcessSimulation() {
+        ProcessSimulationKernel kernel = new ProcessSimulationKernel(articles, workstations, dispatchRule, printer, flowDependency);
+        kernel.setTraceWriter(traceWriter);
+        kernel.run();
+        completeSimulation(kernel::getWorkstationBusyTime, kernel.getMakespan());
+    }
+
+    /**
+     * Copies the busy times and makespan of a finished kernel run into the usage statistics
+     * exposed by this class and prints the summary.
+     *
+     * @param busyTimes Busy time of each workstation, by index.
+     * @param makespan  Finish time of the last operation.
+     */
+    private void completeSimulation(IntToLongFunction busyTimes, int makespan) {
+        SimulationEvents.Phase phase = SimulationEvents.beginPhase("summary", engineMode.name());
+        for (int w = 0; w < workstations.size(); w++) {
+            long busyTime = busyTimes.applyAsLong(w);
+            if (busyTime > 0) {
+                usageStatistics.record(w, busyTime);
+            }
+            workstations.get(w).addUsageTime((int) busyTime);
+        }
+
+        factoryStartTime = 0;
+        factoryEndTime = makespan;
+
+        logger.info("Simulation completed. Total production time: {} seconds.", getTotalProductionTime());
+        printer.printSimulationSummary(getTotalProductionTime(), getWorkstationUsage());
+        SimulationEvents.endPhase(phase);
+    }
+
+    private SimulationKernel resumeKernel() {
+        try {
+            return articleSource != null
+                    ? SimulationKernel.resume(resumeCheckpoint, articleSource, workstations, dispatchRule, printer, null)
+                    : SimulationKernel.resume(resumeCheckpoint, articles, workstations, dispatchRule, printer, flowDependency);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not resume from checkpoint " + resumeCheckpoint, e);
+        }
+    }
+
     /**
      * Schedules the initial events for all operations.
      */
@@ -269,8 +718,6 @@ public class Simulation {
 
             if (queue == null || queue.isEmpty()) continue;
 
-            workstationsForOperation.sort(Comparator.comparingInt(Workstation::getTime));
-
             for (Workstation workstation : workstationsForOperation) {
                 if (!queue.isEmpty()) {
                     Article article = queue.poll();
@@ -288,32 +735,38 @@ public class Simulation {
 
        /**
      * Processes a single article and updates simulation data.
-     * Sends the article to the specified workstation for the given operation.
+     * Sends the article to the specified workstation for the given operation. Only the workstation
+     * schedule is updated under the workstation lock; the usage counters are lock-free.
      *
      * @param article     The article being processed.
      * @param operation   The operation being performed.
      * @param workstation The workstation processing the article.
      */
     private void processArticle(Article article, String operation, Workstation workstation) {
+        int processingTime = workstation.getTime();
+        int workstationIndex = usageStatistics.indexOf(workstation);
+        if (workstationIndex >= 0) {
+            usageStatistics.record(workstationIndex, processingTime);
+        }
+        workstation.addUsageTime(processingTime);
+        flowDependency.recordFlow(article.getArticleId(), workstation.getWorkstationId());
+
         synchronized (workstation) {
             int currentAvailableTime = workstationNextAvailableTime.get(workstation.getWorkstationId());
-            int processingTime = workstation.getTime();
 
             int startTime = Math.max(currentAvailableTime, currentTime.get());
             int finishTime = startTime + processingTime;
 
             workstationNextAvailableTime.put(workstation.getWorkstationId(), finishTime);
-            
-            // Obter operationName a partir da Workstation
-            String operationName = workstation.getOperationName(); // Usar operationName como chave
-            operationTimeTracker.merge(operationName, processingTime, Integer::sum);
-            workstationUsageTracker.merge(workstation.getWorkstationId(), processingTime, Integer::sum);
-
-            workstation.addUsageTime(processingTime);
 
-            flowDependency.recordFlow(article.getArticleId(), workstation.getWorkstationId());
+            maxFinishTime.accumulateAndGet(finishTime, Math::max);
 
-            maxFinishTime.updateAndGet(currentMax -> Math.max(currentMax, finishTime));
+            if (traceWriter != null) {
+                synchronized (traceWriter) {
+                    traceWriter.record(article.getArticleId(), traceWriter.operationId(operation),
+                            traceWriter.workstationId(workstation.getWorkstationId()), startTime, finishTime);
+                }
+            }
 
             eventQueue.add(new Event(finishTime, workstation, article, operation, false));
 
@@ -343,10 +796,7 @@ public class Simulation {
 
         if (article.moveToNextOperation()) {
             String nextOperation = article.getCurrentOperation();
-            operationQueues.computeIfAbsent(nextOperation, k -> {
-                logger.info("Creating queue for operation '{}'.", nextOperation);
-                return new ConcurrentLinkedQueue<>();
-            }).offer(article);
+            operationQueues.computeIfAbsent(nextOperation, this::createOperationQueue).offer(article);
 
             logger.debug("Article {} moved to next operation '{}'.", article.getArticleId(), nextOperation);
 
@@ -367,10 +817,10 @@ public class Simulation {
     private void scheduleNextOperation(Article article, String nextOperation) {
         List<Workstation> workstationsForNextOperation = availableWorkstations.get(nextOperation);
         if (workstationsForNextOperation != null) {
-            workstationsForNextOperation.sort(Comparator.comparingInt(Workstation::getTime));
             for (Workstation nextWorkstation : workstationsForNextOperation) {
                 int nextAvailableTime = workstationNextAvailableTime.get(nextWorkstation.getWorkstationId());
-                if (nextAvailableTime <= currentTime.get()) {
+                // The article was already queued by finishArticleProcessing; take it out so it is not dispatched twice
+                if (nextAvailableTime <= currentTime.get() && operationQueues.get(nextOperation).remove(article)) {
                     eventQueue.add(new Event(currentTime.get(), nextWorkstation, article, nextOperation, true));
                     logger.debug("Start event scheduled for article {} on operation '{}' at workstation {}.",
                             article.getArticleId(), nextOperation, nextWorkstation.getWorkstationId());
@@ -0,0 +1,70 @@
+package com.example.production.Domain;
+
+import java.util.*;
+
+/**
+ * A change to the input of a simulation, applied to a baseline run by {@link IncrementalSimulation}:
+ * workstations added or removed, and articles whose priority, due date or routing changed.
+ * Changes are collected with the fluent methods, e.g.
+ * {@code new SimulationDelta().addWorkstation(ws).changeArticle(article)}.
+ */
+public class SimulationDelta {
+
+    private final List<Workstation> addedWorkstations = new ArrayList<>();
+    private final Set<String> removedWorkstations = new LinkedHashSet<>();
+    private final Map<Integer, Article> changedArticles = new LinkedHashMap<>();
+
+    /**
+     * Adds a workstation. New workstations are placed after the existing ones.
+     *
+     * @param workstation The workstation to add.
+     * @return This delta.
+     */
+    public SimulationDelta addWorkstation(Workstation workstation) {
+        addedWorkstations.add(Objects.requireNonNull(workstation));
+        return this;
+    }
+
+    /**
+     * Removes a workstation of the baseline.
+     *
+     * @param workstationId The ID of the workstation to remove.
+     * @return This delta.
+     */
+    public SimulationDelta removeWorkstation(String workstationId) {
+        removedWorkstations.add(Objects.requireNonNull(workstationId));
+        return this;
+    }
+
+    /**
+     * Replaces an article of the baseline by one with the same ID and another priority, due date or routing.
+     *
+     * @param article The changed article.
+     * @return This delta.
+     */
+    public SimulationDelta changeArticle(Article article) {
+        changedArticles.put(article.getArticleId(), article);
+        return this;
+    }
+
+    public List<Workstation> getAddedWorkstations() {
+        return Collections.unmodifiableList(addedWorkstations);
+    }
+
+    public Set<String> getRemovedWorkstations() {
+        return Collections.unmodifiableSet(removedWorkstations);
+    }
+
+    /**
+     * Gets the changed articles.
+     *
+     * @return An unmodifiable map keyed by article ID.
+     */
+    public Map<Integer, Article> getChangedArticles() {
+        return Collections.unmodifiableMap(changedArticles);
+    }
+
+    public boolean isEmpty() {
+        return addedWorkstations.isEmpty() && removedWorkstations.isEmpty() && changedArticles.isEmpty();
+    }
+}
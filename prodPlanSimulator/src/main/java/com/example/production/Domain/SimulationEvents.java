@@ -0,0 +1,162 @@
+package com.example.production.Domain;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events of the simulation, shown under "Production Simulator" in JDK Mission
+ * Control. Record them with e.g. {@code -XX:StartFlightRecording:filename=run.jfr}. Only the phases
+ * are enabled by default; the per-event ones produce a record per simulated event and must be
+ * enabled explicitly, e.g. {@code -XX:StartFlightRecording:com.example.production.QueueDepth#enabled=true}
+ * or in a custom {@code .jfc} file.
+ * <p>
+ * The emitting code checks {@code isEnabled()} before creating an event, so when no recording is
+ * running each instrumented point costs a field read. The event types are only looked up once the
+ * flight recorder has been initialized (at startup with {@code -XX:StartFlightRecording}, or later
+ * by {@code jcmd JFR.start}); looking them up earlier would register the events and start up the
+ * recorder infrastructure, which adds a few hundred milliseconds to short batch runs.
+ */
+final class SimulationEvents {
+
+    private static final String CATEGORY = "Production Simulator";
+
+    private SimulationEvents() {
+    }
+
+    static boolean isDispatchEnabled() {
+        return FlightRecorder.isInitialized() && Types.DISPATCH.isEnabled();
+    }
+
+    static boolean isAssignmentEnabled() {
+        return FlightRecorder.isInitialized() && Types.ASSIGNMENT.isEnabled();
+    }
+
+    static boolean isQueueDepthEnabled() {
+        return FlightRecorder.isInitialized() && Types.QUEUE_DEPTH.isEnabled();
+    }
+
+    /**
+     * Starts timing a phase of a run.
+     *
+     * @param phase  The name of the phase.
+     * @param engine The engine running the phase.
+     * @return The started event, or null if phase events are not being recorded.
+     */
+    static Phase beginPhase(String phase, String engine) {
+        if (!FlightRecorder.isInitialized() || !Types.PHASE.isEnabled()) {
+            return null;
+        }
+        Phase event = new Phase();
+        event.phase = phase;
+        event.engine = engine;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends a phase started by {@link #beginPhase(String, String)}.
+     *
+     * @param event The started event, or null.
+     */
+    static void endPhase(Phase event) {
+        if (event != null) {
+            event.commit();
+        }
+    }
+
+    /**
+     * Event types, looked up on first use (initialization-on-demand holder).
+     */
+    private static final class Types {
+        static final EventType DISPATCH = EventType.getEventType(EventDispatched.class);
+        static final EventType ASSIGNMENT = EventType.getEventType(WorkstationAssigned.class);
+        static final EventType QUEUE_DEPTH = EventType.getEventType(QueueDepth.class);
+        static final EventType PHASE = EventType.getEventType(Phase.class);
+    }
+
+    @Name("com.example.production.EventDispatched")
+    @Label("Event Dispatched")
+    @Description("Handling of one completion event by the deterministic kernel, from calendar poll to the next dispatch")
+    @Category({CATEGORY, "Kernel"})
+    @StackTrace(false)
+    @Enabled(false)
+    static final class EventDispatched extends Event {
+        @Label("Simulation Time")
+        int simulationTime;
+
+        @Label("Article ID")
+        int articleId;
+
+        @Label("Workstation")
+        String workstation;
+
+        @Label("Event Queue Size")
+        int pendingEvents;
+    }
+
+    @Name("com.example.production.WorkstationAssigned")
+    @Label("Workstation Assigned")
+    @Description("An article (or batch) started at a workstation")
+    @Category({CATEGORY, "Kernel"})
+    @StackTrace(false)
+    @Enabled(false)
+    static final class WorkstationAssigned extends Event {
+        @Label("Simulation Time")
+        int simulationTime;
+
+        @Label("Article ID")
+        int articleId;
+
+        @Label("Workstation")
+        String workstation;
+
+        @Label("Operation")
+        String operation;
+
+        @Label("Processing Time")
+        int processingTime;
+
+        @Label("Setup Time")
+        int setupTime;
+
+        @Label("Batch Size")
+        int batchSize;
+    }
+
+    @Name("com.example.production.QueueDepth")
+    @Label("Queue Depth")
+    @Description("Number of articles waiting for an operation after it changed")
+    @Category({CATEGORY, "Kernel"})
+    @StackTrace(false)
+    @Enabled(false)
+    static final class QueueDepth extends Event {
+        @Label("Simulation Time")
+        int simulationTime;
+
+        @Label("Operation")
+        String operation;
+
+        @Label("Depth")
+        int depth;
+    }
+
+    @Name("com.example.production.Phase")
+    @Label("Simulation Phase")
+    @Description("A phase of a simulation run: run, release, event loop or summary")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class Phase extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Engine")
+        String engine;
+    }
+}
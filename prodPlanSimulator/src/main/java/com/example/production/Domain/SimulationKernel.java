@@ -0,0 +1,1398 @@
+package com.example.production.Domain;
+
+import com.example.production.Utils.EventCalendar;
+import com.example.production.Utils.FlowDependency;
+import com.example.production.Utils.IndexedPriorityQueue;
+import com.example.production.Utils.MetricsRegistry;
+import com.example.production.Utils.Printer;
+import com.example.production.Utils.SymbolTable;
+import com.example.production.Utils.TraceWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Single-threaded discrete-event kernel used by {@link Simulation.EngineMode#DETERMINISTIC}.
+ * The whole event loop runs on the calling thread against a virtual clock: there is no thread
+ * handoff, no timed polling and no locking, so the same input always produces the same output.
+ * Pending completions live in an {@link EventCalendar}; completions at the same time are handled
+ * in the order they were scheduled.
+ * <p>
+ * The waiting articles of each operation are ordered by a {@link DispatchRule}. The kernel never
+ * mutates the {@link Article} or {@link Workstation} instances it receives; the routing position
+ * of each article is tracked internally, so the input lists can be shared between several kernels.
+ * <p>
+ * Articles can also be streamed from an iterator with a release window: at most that many
+ * articles are in the system at once, and each finished article releases the next one (CONWIP).
+ * The kernel then only holds the articles of the window, so the backlog can be far larger than
+ * the heap. Given a list, the window is the whole list and every article is released at time 0.
+ * <p>
+ * A run can be paused with {@link #runUntil(int)} and its full state written to a binary
+ * checkpoint, on demand or periodically; {@code resume} builds a kernel that continues from a
+ * checkpoint exactly as the original run would have.
+ * <p>
+ * Operations are handled by int ID: a list of articles is first turned into an {@link ArticleTable}
+ * (or a prebuilt one is shared), and streamed articles have their routing interned on release, so
+ * the event loop follows routings and finds operation queues by array indexing.
+ * <p>
+ * Workstations with a setup time remember the product family they are set up for and pay the
+ * setup when they switch family; {@link #setSetupGrouping(boolean)} makes them prefer waiting
+ * articles of their current family. Batch workstations take up to their batch size of waiting
+ * articles at once and complete them with a single event.
+ * <p>
+ * With a {@link VariabilityModel}, processing times are drawn from per-workstation distributions
+ * and workstations break down while busy; the run is then reproducible for a given seed and
+ * replication number. Queues and workstation choice still use the fixed workstation times.
+ */
+public class SimulationKernel implements DispatchRule.Context {
+
+    private static final Logger logger = LogManager.getLogger(SimulationKernel.class);
+
+    private static final int COMPLETION = 0;
+
+    private static final int CHECKPOINT_MAGIC = 0x5050434B;
+    private static final int CHECKPOINT_VERSION = 3;
+
+    /**
+     * Setup state of a workstation that has not processed anything yet; its first article needs no setup.
+     */
+    private static final int NO_FAMILY = -1;
+
+    /**
+     * Setup state of a restored workstation set up for a family no article of the table belongs to.
+     */
+    private static final int UNKNOWN_FAMILY = -2;
+
+    /**
+     * Due date allowance used when an article has no due date: the due date is set to this factor
+     * times the total work content of the article (TWK rule).
+     */
+    public static final double DUE_DATE_ALLOWANCE = 3.0;
+
+    private final ArticleTable table;
+    private final Iterator<Article> source;
+    private final SymbolTable operations;
+    private final boolean ownsOperations;
+    private final Map<String, Integer> localOperations = new HashMap<>();
+
+    private final int[] articleIds;
+    private final int[] sourceIndexes;
+    private final int[] families;
+    private final Map<String, Integer> streamFamilies = new HashMap<>();
+    private final List<String> streamFamilyKeys = new ArrayList<>();
+    private final byte[] priorityLevels;
+    private final int[][] routes;
+    private final int[] routeCursor;
+    private final int[] routeEnd;
+    private final int[] freeSlots;
+    private final int[] remainingWork;
+    private final int[] dueDates;
+    private final int[] queuePositions;
+    private final int[] releaseTimes;
+    private final int[] enqueueTimes;
+    private final Workstation[] workstations;
+    private final int[] workstationLanes;
+    private final long[] workstationBusyTime;
+    private final long[] workstationDownTime;
+    private final long[] workstationSetupTime;
+    private final int[] setupFamilies;
+    private final int[][] batches;
+    private final int[] batchSizes;
+    private final boolean trackFamilies;
+    private OperationLane[] lanes = new OperationLane[16];
+    private final List<OperationLane> laneOrder = new ArrayList<>();
+    private final EventCalendar eventCalendar;
+    private final DispatchRule dispatchRule;
+    private final Printer printer;
+    private final FlowDependency flowDependency;
+    private final SimulationMetrics metrics;
+    private TraceWriter traceWriter;
+    private MetricsRegistry registry;
+    private MetricsRegistry.Counter eventCounter;
+    private MetricsRegistry.Counter assignmentCounter;
+    private MetricsRegistry.Gauge workInProgressGauge;
+    private MetricsRegistry.Distribution eventNanos;
+    private int[] traceOperations;
+    private int[] traceWorkstations;
+    private VariabilityModel.Sampler sampler;
+    private boolean setupGrouping;
+
+    private int clock;
+    private int makespan;
+    private long processedEvents;
+    private long arrivalSequence;
+    private long releasedArticles;
+    private int nextArticle;
+    private int freeCount;
+    private int inProgress;
+    private boolean started;
+    private boolean finished;
+    private int checkpointInterval;
+    private Path checkpointFile;
+    private int nextCheckpoint;
+
+    /**
+     * Constructs a kernel that orders the operation queues by a simulation strategy.
+     *
+     * @param articles       Articles to be processed, in load order.
+     * @param workstations   Available workstations.
+     * @param strategy       Strategy used to order the waiting articles of each operation.
+     * @param printer        Printer that receives every processing event, or null to run silently.
+     * @param flowDependency Flow tracker to be updated, or null to skip flow recording.
+     */
+    public SimulationKernel(List<Article> articles, List<Workstation> workstations,
+                            Simulation.SimulationStrategy strategy, Printer printer, FlowDependency flowDependency) {
+        this(articles, workstations, StandardDispatchRule.forStrategy(strategy), printer, flowDependency);
+    }
+
+    /**
+     * Constructs a kernel that orders the operation queues by a dispatching rule.
+     *
+     * @param articles       Articles to be processed, in load order.
+     * @param workstations   Available workstations.
+     * @param dispatchRule   Rule used to order the waiting articles of each operation.
+     * @param printer        Printer that receives every processing event, or null to run silently.
+     * @param flowDependency Flow tracker to be updated, or null to skip flow recording.
+     */
+    public SimulationKernel(List<Article> articles, List<Workstation> workstations,
+                            DispatchRule dispatchRule, Printer printer, FlowDependency flowDependency) {
+        this(ArticleTable.of(articles), null, articles.size(), true, workstations, dispatchRule, printer, flowDependency);
+    }
+
+    /**
+     * Constructs a kernel over a prebuilt article table, which may be shared with other kernels.
+     * The symbol table of the article table is only read.
+     *
+     * @param articles       Articles to be processed, in load order.
+     * @param workstations   Available workstations.
+     * @param dispatchRule   Rule used to order the waiting articles of each operation.
+     * @param printer        Printer that receives every processing event, or null to run silently.
+     * @param flowDependency Flow tracker to be updated, or null to skip flow recording.
+     */
+    public SimulationKernel(ArticleTable articles, List<Workstation> workstations,
+                            DispatchRule dispatchRule, Printer printer, FlowDependency flowDependency) {
+        this(articles, null, articles.size(), false, workstations, dispatchRule, printer, flowDependency);
+    }
+
+    /**
+     * Constructs a kernel that pulls its articles from an iterator, keeping at most
+     * {@code releaseWindow} of them in the system. The iterator is read lazily during {@link #run()}.
+     *
+     * @param source         Articles to be processed, in release order.
+     * @param releaseWindow  Maximum number of articles in the system at the same time.
+     * @param workstations   Available workstations.
+     * @param dispatchRule   Rule used to order the waiting articles of each operation.
+     * @param printer        Printer that receives every processing event, or null to run silently.
+     * @param flowDependency Flow tracker to be updated, or null to skip flow recording.
+     */
+    public SimulationKernel(Iterator<Article> source, int releaseWindow, List<Workstation> workstations,
+                            DispatchRule dispatchRule, Printer printer, FlowDependency flowDependency) {
+        this(null, source, releaseWindow, true, workstations, dispatchRule, printer, flowDependency);
+        if (releaseWindow < 1) {
+            throw new IllegalArgumentException("Release window must be at least 1.");
+        }
+    }
+
+    private SimulationKernel(ArticleTable table, Iterator<Article> source, int releaseWindow, boolean ownsOperations,
+                             List<Workstation> workstations, DispatchRule dispatchRule, Printer printer,
+                             FlowDependency flowDependency) {
+        int slots = Math.max(1, releaseWindow);
+        this.table = table;
+        this.source = source;
+        this.operations = table != null ? table.getOperations() : new SymbolTable();
+        this.ownsOperations = ownsOperations;
+        this.articleIds = new int[slots];
+        this.sourceIndexes = new int[slots];
+        this.families = new int[slots];
+        this.priorityLevels = new byte[slots];
+        this.routes = new int[slots][];
+        this.routeCursor = new int[slots];
+        this.routeEnd = new int[slots];
+        this.freeSlots = new int[slots];
+        for (int slot = 0; slot < slots; slot++) {
+            freeSlots[slot] = slots - 1 - slot;
+        }
+        this.freeCount = slots;
+        this.remainingWork = new int[slots];
+        this.dueDates = new int[slots];
+        this.queuePositions = new int[slots];
+        this.releaseTimes = new int[slots];
+        this.enqueueTimes = new int[slots];
+        this.workstations = workstations.toArray(new Workstation[0]);
+        this.workstationLanes = new int[this.workstations.length];
+        this.workstationBusyTime = new long[this.workstations.length];
+        this.workstationDownTime = new long[this.workstations.length];
+        this.workstationSetupTime = new long[this.workstations.length];
+        this.setupFamilies = new int[this.workstations.length];
+        Arrays.fill(setupFamilies, NO_FAMILY);
+        this.batches = new int[this.workstations.length][];
+        this.batchSizes = new int[this.workstations.length];
+        boolean setupOrBatching = false;
+        for (int w = 0; w < this.workstations.length; w++) {
+            if (this.workstations[w].getBatchSize() > 1) {
+                batches[w] = new int[this.workstations[w].getBatchSize()];
+            }
+            setupOrBatching |= this.workstations[w].hasSetupOrBatching();
+        }
+        this.trackFamilies = setupOrBatching;
+        this.eventCalendar = new EventCalendar(Math.max(16, this.workstations.length));
+        this.dispatchRule = dispatchRule;
+        this.printer = printer;
+        this.flowDependency = flowDependency;
+        this.metrics = new SimulationMetrics(workstations);
+
+        for (int w = 0; w < this.workstations.length; w++) {
+            String operation = this.workstations[w].getOperationName();
+            workstationLanes[w] = operationId(operation);
+            OperationLane lane = lane(workstationLanes[w], operation);
+            lane.idle.register(w, this.workstations[w].getTime());
+            lane.fastestTime = Math.min(lane.fastestTime, this.workstations[w].getTime());
+        }
+    }
+
+    /**
+     * Runs the event loop until no event is left.
+     *
+     * @throws IllegalStateException If the kernel has already been executed.
+     */
+    public void run() {
+        runUntil(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Runs the event loop until every event up to a given time has been processed. The kernel can
+     * then be checkpointed and the run continued with another call.
+     *
+     * @param time The last simulation time to process.
+     * @return true if events are left after that time, false if the run is complete.
+     * @throws IllegalStateException If the run is already complete.
+     */
+    public boolean runUntil(int time) {
+        if (finished) {
+            throw new IllegalStateException("Simulation kernel already executed; create a new instance for each run.");
+        }
+        if (!started) {
+            started = true;
+            SimulationEvents.Phase releasePhase = SimulationEvents.beginPhase("release", "DETERMINISTIC");
+            while (release() != null) {
+                // fill the release window
+            }
+            for (int i = 0; i < laneOrder.size(); i++) {
+                dispatch(laneOrder.get(i));
+            }
+            SimulationEvents.endPhase(releasePhase);
+        }
+
+        SimulationEvents.Phase loopPhase = SimulationEvents.beginPhase("event loop", "DETERMINISTIC");
+        while (!eventCalendar.isEmpty() && eventCalendar.peekTime() <= time) {
+            eventCalendar.poll();
+            clock = eventCalendar.time();
+            metrics.advance(clock);
+            processedEvents++;
+            if (registry != null || SimulationEvents.isDispatchEnabled()) {
+                completeInstrumented(eventCalendar.article(), eventCalendar.workstation());
+            } else {
+                complete(eventCalendar.article(), eventCalendar.workstation());
+            }
+
+            if (checkpointFile != null && clock >= nextCheckpoint
+                    && (eventCalendar.isEmpty() || eventCalendar.peekTime() > clock)) {
+                writeCheckpoint(checkpointFile);
+                nextCheckpoint = (clock / checkpointInterval + 1) * checkpointInterval;
+            }
+        }
+        SimulationEvents.endPhase(loopPhase);
+        if (!eventCalendar.isEmpty()) {
+            return true;
+        }
+        finished = true;
+
+        for (OperationLane lane : laneOrder) {
+            if (!lane.waiting.isEmpty()) {
+                logger.warn("{} article(s) left waiting for operation '{}': no workstation available.",
+                        lane.waiting.size(), lane.operation);
+            }
+        }
+        if (hasMoreArticles()) {
+            logger.warn("Articles left unreleased: the release window is blocked by articles that cannot finish.");
+        }
+        logger.info("Deterministic kernel finished ({} rule): {} articles, {} events processed, makespan {}.",
+                dispatchRule.getName(), releasedArticles, processedEvents, makespan);
+        return false;
+    }
+
+    /**
+     * Takes articles from the source into free slots until one of them has an operation to do,
+     * and queues it at its first operation.
+     *
+     * @return The lane the article was queued at, or null if no slot is free or the source is exhausted.
+     */
+    private OperationLane release() {
+        while (freeCount > 0 && hasMoreArticles()) {
+            int slot = freeSlots[--freeCount];
+            int dueDate = load(slot);
+            releasedArticles++;
+
+            long work = 0;
+            for (int i = routeCursor[slot]; i < routeEnd[slot]; i++) {
+                work += lane(routes[slot][i]).fastestTime();
+            }
+            remainingWork[slot] = (int) Math.min(Integer.MAX_VALUE, work);
+            dueDates[slot] = dueDate >= 0 ? dueDate : (int) Math.min(Integer.MAX_VALUE, clock + Math.round(DUE_DATE_ALLOWANCE * work));
+
+            if (routeCursor[slot] < routeEnd[slot]) {
+                releaseTimes[slot] = clock;
+                metrics.workInProgress(++inProgress);
+                if (workInProgressGauge != null) {
+                    workInProgressGauge.set(inProgress);
+                }
+                OperationLane lane = lanes[routes[slot][routeCursor[slot]]];
+                enqueue(lane, slot);
+                return lane;
+            }
+            freeSlots[freeCount++] = slot;
+        }
+        return null;
+    }
+
+    private boolean hasMoreArticles() {
+        return table != null ? nextArticle < table.size() : source.hasNext();
+    }
+
+    /**
+     * Loads the next article of the source into a slot.
+     *
+     * @return The due date of the article, or -1 if it has none.
+     */
+    private int load(int slot) {
+        if (table != null) {
+            int article = nextArticle++;
+            sourceIndexes[slot] = article;
+            articleIds[slot] = table.articleId(article);
+            priorityLevels[slot] = (byte) table.priorityLevel(article);
+            routes[slot] = table.routes();
+            routeCursor[slot] = table.routeStart(article);
+            routeEnd[slot] = routeCursor[slot] + table.routeLength(article);
+            families[slot] = table.family(article);
+            return table.dueDate(article);
+        }
+
+        Article article = source.next();
+        List<String> routing = article.getNameOperations();
+        int[] route = routes[slot];
+        if (route == null || route.length < routing.size()) {
+            route = new int[Math.max(8, routing.size())];
+            routes[slot] = route;
+        }
+        for (int i = 0; i < routing.size(); i++) {
+            route[i] = operationId(routing.get(i));
+        }
+        articleIds[slot] = article.getArticleId();
+        priorityLevels[slot] = (byte) article.getPriorityLevel();
+        routeCursor[slot] = 0;
+        routeEnd[slot] = routing.size();
+        if (trackFamilies) {
+            families[slot] = streamFamily(ArticleTable.familyKey(routing));
+        }
+        return article.getDueDate();
+    }
+
+    private int streamFamily(String key) {
+        Integer family = streamFamilies.get(key);
+        if (family == null) {
+            family = streamFamilyKeys.size();
+            streamFamilies.put(key, family);
+            streamFamilyKeys.add(key);
+        }
+        return family;
+    }
+
+    private String familyKey(int family) {
+        return table != null ? table.familyKey(family) : streamFamilyKeys.get(family);
+    }
+
+    /**
+     * Handles the completion of an article, or of a batch, at a workstation: releases the
+     * workstation, moves the articles to their next operation and dispatches the affected
+     * operations. An article that has finished its routing frees its slot for the next article of
+     * the source.
+     */
+    private void complete(int article, int workstation) {
+        OperationLane finishedLane = lanes[workstationLanes[workstation]];
+        int[] batch = batches[workstation];
+        if (batch == null) {
+            finishedLane.idle.release(workstation, workstations[workstation].getTime(), clock);
+            metrics.workstationBusy(workstation, false);
+            advance(finishedLane, article, workstation);
+        } else {
+            // The workstation is released after the whole batch has moved on, so its members are not overwritten
+            for (int i = 0; i < batchSizes[workstation]; i++) {
+                advance(finishedLane, batch[i], workstation);
+            }
+            finishedLane.idle.release(workstation, workstations[workstation].getTime(), clock);
+            metrics.workstationBusy(workstation, false);
+        }
+        dispatch(finishedLane);
+    }
+
+    private void advance(OperationLane finishedLane, int article, int workstation) {
+        logger.debug("Article {} completed operation '{}' at workstation {} (t={}).",
+                articleIds[article], finishedLane.operation, workstations[workstation].getWorkstationId(), clock);
+
+        remainingWork[article] = Math.max(0, remainingWork[article] - finishedLane.fastestTime());
+        routeCursor[article]++;
+        if (routeCursor[article] < routeEnd[article]) {
+            OperationLane nextLane = lanes[routes[article][routeCursor[article]]];
+            enqueue(nextLane, article);
+            dispatch(nextLane);
+        } else {
+            metrics.workInProgress(--inProgress);
+            if (workInProgressGauge != null) {
+                workInProgressGauge.set(inProgress);
+            }
+            metrics.articleFinished(clock - releaseTimes[article]);
+            freeSlots[freeCount++] = article;
+            OperationLane releasedLane = release();
+            if (releasedLane != null) {
+                dispatch(releasedLane);
+            }
+        }
+    }
+
+    /**
+     * Handles a completion like {@link #complete(int, int)}, timing it for the metrics registry and
+     * for the flight recorder.
+     */
+    private void completeInstrumented(int article, int workstation) {
+        SimulationEvents.EventDispatched event = null;
+        if (SimulationEvents.isDispatchEnabled()) {
+            event = new SimulationEvents.EventDispatched();
+            event.simulationTime = clock;
+            event.articleId = articleIds[article];
+            event.workstation = workstations[workstation].getWorkstationId();
+            event.begin();
+        }
+        long begin = eventNanos != null ? System.nanoTime() : 0;
+        complete(article, workstation);
+        if (eventNanos != null) {
+            eventNanos.record(System.nanoTime() - begin);
+            eventCounter.increment();
+        }
+        if (event != null) {
+            event.pendingEvents = eventCalendar.size();
+            event.commit();
+        }
+    }
+
+    private void enqueue(OperationLane lane, int article) {
+        lane.waiting.offer(article, dispatchRule.priorityKey(this, article), arrivalSequence++);
+        enqueueTimes[article] = clock;
+        queueChanged(lane);
+    }
+
+    private void queueChanged(OperationLane lane) {
+        int depth = lane.waiting.size();
+        lane.queueMetrics.queueLength(depth);
+        if (registry != null) {
+            if (lane.depthGauge == null) {
+                lane.depthGauge = registry.gauge("kernel.queue." + lane.operation);
+            }
+            lane.depthGauge.set(depth);
+        }
+        if (SimulationEvents.isQueueDepthEnabled()) {
+            SimulationEvents.QueueDepth event = new SimulationEvents.QueueDepth();
+            event.simulationTime = clock;
+            event.operation = lane.operation;
+            event.depth = depth;
+            event.commit();
+        }
+    }
+
+    /**
+     * Assigns waiting articles of an operation to its idle workstations, fastest workstation first.
+     */
+    private void dispatch(OperationLane lane) {
+        if (lane.waiting.isEmpty() || !lane.idle.hasIdle()) {
+            return;
+        }
+        if (dispatchRule.isTimeDependent() && lane.keyedAt != clock) {
+            lane.waiting.rekeyAll(article -> dispatchRule.priorityKey(this, article));
+            lane.keyedAt = clock;
+        }
+        while (!lane.waiting.isEmpty() && lane.idle.hasIdle()) {
+            int workstation = lane.idle.acquire();
+            boolean grouping = setupGrouping && workstations[workstation].getSetupTime() > 0;
+            int article = grouping ? take(lane, setupFamilies[workstation]) : -1;
+            if (article < 0) {
+                article = lane.waiting.poll();
+            }
+            lane.queueMetrics.waited(clock - enqueueTimes[article]);
+            int[] batch = batches[workstation];
+            if (batch != null) {
+                batch[0] = article;
+                int size = 1;
+                while (size < batch.length && !lane.waiting.isEmpty()) {
+                    int next = grouping ? take(lane, families[article]) : lane.waiting.poll();
+                    if (next < 0) {
+                        break;
+                    }
+                    lane.queueMetrics.waited(clock - enqueueTimes[next]);
+                    batch[size++] = next;
+                }
+                batchSizes[workstation] = size;
+            }
+            start(article, workstation, lane.operation);
+        }
+        queueChanged(lane);
+    }
+
+    /**
+     * Removes from the queue of an operation the first waiting article of a product family, in
+     * dispatching order. Scans the whole queue.
+     *
+     * @return The article, or -1 if none of the family is waiting.
+     */
+    private int take(OperationLane lane, int family) {
+        if (family < 0) {
+            return -1;
+        }
+        int best = -1;
+        long bestKey = 0;
+        long bestSequence = 0;
+        for (int i = 0; i < lane.waiting.size(); i++) {
+            int article = lane.waiting.itemAt(i);
+            if (families[article] != family) {
+                continue;
+            }
+            long key = lane.waiting.keyAt(i);
+            long sequence = lane.waiting.sequenceAt(i);
+            if (best < 0 || key < bestKey || (key == bestKey && sequence < bestSequence)) {
+                best = article;
+                bestKey = key;
+                bestSequence = sequence;
+            }
+        }
+        if (best >= 0) {
+            lane.waiting.remove(best);
+        }
+        return best;
+    }
+
+    /**
+     * Starts an article, or the batch it heads, at a workstation.
+     */
+    private void start(int article, int workstation, String operation) {
+        Workstation ws = workstations[workstation];
+        int processingTime = ws.getTime();
+        int setupTime = 0;
+        if (ws.getSetupTime() > 0) {
+            int family = families[article];
+            if (setupFamilies[workstation] != NO_FAMILY && setupFamilies[workstation] != family) {
+                setupTime = ws.getSetupTime();
+                workstationSetupTime[workstation] += setupTime;
+            }
+            setupFamilies[workstation] = family;
+        }
+        int downTime = 0;
+        if (sampler != null) {
+            processingTime = sampler.processingTime(workstation, processingTime);
+            downTime = sampler.downTime(workstation, setupTime + processingTime);
+            workstationDownTime[workstation] += downTime;
+        }
+        int finishTime = (int) Math.min(Integer.MAX_VALUE, (long) clock + setupTime + processingTime + downTime);
+
+        workstationBusyTime[workstation] += setupTime + processingTime;
+        metrics.workstationBusy(workstation, true);
+        makespan = Math.max(makespan, finishTime);
+        eventCalendar.schedule(finishTime, COMPLETION, article, workstation);
+        if (assignmentCounter != null) {
+            assignmentCounter.increment();
+        }
+        if (SimulationEvents.isAssignmentEnabled()) {
+            SimulationEvents.WorkstationAssigned event = new SimulationEvents.WorkstationAssigned();
+            event.simulationTime = clock;
+            event.articleId = articleIds[article];
+            event.workstation = ws.getWorkstationId();
+            event.operation = operation;
+            event.processingTime = processingTime;
+            event.setupTime = setupTime;
+            event.batchSize = batches[workstation] == null ? 1 : batchSizes[workstation];
+            event.commit();
+        }
+
+        if (batches[workstation] == null) {
+            record(article, workstation, operation, finishTime);
+        } else {
+            for (int i = 0; i < batchSizes[workstation]; i++) {
+                record(batches[workstation][i], workstation, operation, finishTime);
+            }
+        }
+    }
+
+    private void record(int article, int workstation, String operation, int finishTime) {
+        Workstation ws = workstations[workstation];
+        if (flowDependency != null) {
+            flowDependency.recordFlow(articleIds[article], ws.getWorkstationId());
+        }
+        if (traceWriter != null) {
+            traceWriter.record(articleIds[article], traceOperations[workstation], traceWorkstations[workstation],
+                    clock, finishTime);
+        }
+        if (printer != null) {
+            printer.printProcessingEvent(String.valueOf(articleIds[article]), operation,
+                    ws.getWorkstationId(), ws.getOperationName(), clock, finishTime);
+        }
+    }
+
+    /**
+     * Gets the ID of an operation name. Names unknown to a shared symbol table get kernel-local IDs
+     * after the shared ones, so the shared table is never written to.
+     */
+    private int operationId(String operation) {
+        int id = ownsOperations ? operations.intern(operation) : operations.idOf(operation);
+        if (id < 0) {
+            Integer local = localOperations.get(operation);
+            if (local == null) {
+                local = operations.size() + localOperations.size();
+                localOperations.put(operation, local);
+            }
+            id = local;
+        }
+        return id;
+    }
+
+    private OperationLane lane(int operationId) {
+        return lane(operationId, null);
+    }
+
+    private OperationLane lane(int operationId, String operation) {
+        if (operationId >= lanes.length) {
+            lanes = Arrays.copyOf(lanes, Math.max(lanes.length * 2, operationId + 1));
+        }
+        OperationLane lane = lanes[operationId];
+        if (lane == null) {
+            lane = new OperationLane(operationId, operation != null ? operation : operations.name(operationId));
+            lanes[operationId] = lane;
+            laneOrder.add(lane);
+        }
+        return lane;
+    }
+
+    // DispatchRule.Context
+
+    @Override
+    public int now() {
+        return clock;
+    }
+
+    @Override
+    public int priorityLevel(int article) {
+        return priorityLevels[article];
+    }
+
+    @Override
+    public int imminentProcessingTime(int article) {
+        return routeCursor[article] < routeEnd[article] ? lanes[routes[article][routeCursor[article]]].fastestTime() : 0;
+    }
+
+    @Override
+    public int remainingWork(int article) {
+        return remainingWork[article];
+    }
+
+    @Override
+    public int dueDate(int article) {
+        return dueDates[article];
+    }
+
+    /**
+     * Writes a checkpoint every {@code interval} seconds of simulation time. The file is replaced
+     * atomically each time, so after a crash it holds the last complete checkpoint.
+     *
+     * @param interval Simulation time between checkpoints.
+     * @param file     The checkpoint file.
+     */
+    public void setCheckpointInterval(int interval, Path file) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be at least 1.");
+        }
+        if (sampler != null) {
+            throw new IllegalStateException("Runs with a variability model cannot be checkpointed.");
+        }
+        this.checkpointInterval = interval;
+        this.checkpointFile = file;
+        this.nextCheckpoint = (clock / interval + 1) * interval;
+    }
+
+    /**
+     * Writes the full state of the kernel to a checkpoint file, replacing it atomically. Must be
+     * called between runs of {@link #runUntil(int)}, not from a printer callback.
+     *
+     * @param file The checkpoint file.
+     * @throws UncheckedIOException If the checkpoint cannot be written.
+     */
+    public void writeCheckpoint(Path file) {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+                writeState(out);
+            }
+            try {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write checkpoint " + file, e);
+        }
+        logger.info("Checkpoint written at t={} ({} events processed): {}", clock, processedEvents, file);
+    }
+
+    /**
+     * Restores a kernel from a checkpoint taken on a list of articles.
+     *
+     * @param checkpoint     The checkpoint file.
+     * @param articles       The articles of the original run.
+     * @param workstations   The workstations of the original run (IDs and operations must match;
+     *                       processing times may differ for what-if runs).
+     * @param dispatchRule   Rule used from now on; if it differs from the original, queues are re-keyed.
+     * @param printer        Printer for the remaining events, or null to run silently.
+     * @param flowDependency Flow tracker for the remaining events, or null to skip flow recording.
+     * @return A kernel that continues the checkpointed run.
+     * @throws IOException If the checkpoint cannot be read.
+     */
+    public static SimulationKernel resume(Path checkpoint, List<Article> articles, List<Workstation> workstations,
+                                          DispatchRule dispatchRule, Printer printer, FlowDependency flowDependency) throws IOException {
+        return resume(checkpoint, ArticleTable.of(articles), true, null, workstations, dispatchRule, printer, flowDependency);
+    }
+
+    /**
+     * Restores a kernel from an in-memory snapshot taken on a list of articles. Unlike the public
+     * {@code resume}, the workstations may differ from the original run: workstations are matched
+     * by ID, new ones start idle and removed ones must be idle in the snapshot. Articles are also
+     * matched by position, so their routing after the current step may differ.
+     *
+     * @see #snapshot()
+     */
+    static SimulationKernel resume(byte[] snapshot, List<Article> articles, List<Workstation> workstations,
+                                   DispatchRule dispatchRule, Printer printer, FlowDependency flowDependency) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot))) {
+            return resume(in, "snapshot", ArticleTable.of(articles), true, null, workstations, dispatchRule,
+                    printer, flowDependency, true);
+        }
+    }
+
+    /**
+     * Restores a kernel from a checkpoint taken on an article table.
+     *
+     * @see #resume(Path, List, List, DispatchRule, Printer, FlowDependency)
+     */
+    public static SimulationKernel resume(Path checkpoint, ArticleTable articles, List<Workstation> workstations,
+                                          DispatchRule dispatchRule, Printer printer, FlowDependency flowDependency) throws IOException {
+        return resume(checkpoint, articles, false, null, workstations, dispatchRule, printer, flowDependency);
+    }
+
+    /**
+     * Restores a kernel from a checkpoint taken on a streamed source. The source must deliver the
+     * same articles as the original one, from the first: the articles released before the
+     * checkpoint are skipped.
+     *
+     * @see #resume(Path, List, List, DispatchRule, Printer, FlowDependency)
+     */
+    public static SimulationKernel resume(Path checkpoint, Iterator<Article> source, List<Workstation> workstations,
+                                          DispatchRule dispatchRule, Printer printer, FlowDependency flowDependency) throws IOException {
+        return resume(checkpoint, null, true, source, workstations, dispatchRule, printer, flowDependency);
+    }
+
+    private static SimulationKernel resume(Path checkpoint, ArticleTable table, boolean ownsOperations, Iterator<Article> source,
+                                           List<Workstation> workstations, DispatchRule dispatchRule, Printer printer,
+                                           FlowDependency flowDependency) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpoint), 1 << 16))) {
+            return resume(in, checkpoint.toString(), table, ownsOperations, source, workstations, dispatchRule,
+                    printer, flowDependency, false);
+        }
+    }
+
+    private static SimulationKernel resume(DataInputStream in, String name, ArticleTable table, boolean ownsOperations,
+                                           Iterator<Article> source, List<Workstation> workstations, DispatchRule dispatchRule,
+                                           Printer printer, FlowDependency flowDependency,
+                                           boolean workstationChanges) throws IOException {
+        if (in.readInt() != CHECKPOINT_MAGIC) {
+            throw new IOException("Not a simulation checkpoint: " + name);
+        }
+        int version = in.readInt();
+        if (version != CHECKPOINT_VERSION) {
+            throw new IOException("Unsupported checkpoint version " + version + " in " + name);
+        }
+        boolean tableMode = in.readBoolean();
+        if (tableMode != (table != null)) {
+            throw new IllegalArgumentException("Checkpoint was taken on a " + (tableMode ? "list of articles" : "streamed source") + ".");
+        }
+        int slots = in.readInt();
+        SimulationKernel kernel = new SimulationKernel(table, source, slots, ownsOperations, workstations,
+                dispatchRule, printer, flowDependency);
+        kernel.readState(in, workstationChanges);
+        logger.info("Resumed from checkpoint at t={} ({} events processed): {}", kernel.clock, kernel.processedEvents, name);
+        return kernel;
+    }
+
+    /**
+     * Writes the full state of the kernel to memory, in the checkpoint format.
+     *
+     * @return The snapshot.
+     */
+    byte[] snapshot() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 12);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeState(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reloads the priority, due date and routing of an article from the article table, e.g. after
+     * resuming with a changed article. Does nothing if the article is not in the system. The remaining
+     * work and a derived due date are recomputed, and the article is re-keyed if it is waiting.
+     *
+     * @param article Index of the article in the table.
+     */
+    void refreshArticle(int article) {
+        if (table == null) {
+            throw new IllegalStateException("Only articles of a table can be refreshed.");
+        }
+        boolean[] free = new boolean[articleIds.length];
+        for (int i = 0; i < freeCount; i++) {
+            free[freeSlots[i]] = true;
+        }
+        for (int slot = 0; slot < articleIds.length; slot++) {
+            if (free[slot] || article >= nextArticle || sourceIndexes[slot] != article) {
+                continue;
+            }
+            priorityLevels[slot] = (byte) table.priorityLevel(article);
+            families[slot] = table.family(article);
+            long work = 0;
+            long remaining = 0;
+            for (int i = table.routeStart(article); i < routeEnd[slot]; i++) {
+                int time = lane(routes[slot][i]).fastestTime();
+                work += time;
+                if (i >= routeCursor[slot]) {
+                    remaining += time;
+                }
+            }
+            remainingWork[slot] = (int) Math.min(Integer.MAX_VALUE, remaining);
+            int dueDate = table.dueDate(article);
+            dueDates[slot] = dueDate >= 0 ? dueDate
+                    : (int) Math.min(Integer.MAX_VALUE, releaseTimes[slot] + Math.round(DUE_DATE_ALLOWANCE * work));
+            if (routeCursor[slot] < routeEnd[slot]) {
+                OperationLane lane = lanes[routes[slot][routeCursor[slot]]];
+                lane.waiting.update(slot, dispatchRule.priorityKey(this, slot));
+            }
+        }
+    }
+
+    private void writeState(DataOutputStream out) throws IOException {
+        if (sampler != null) {
+            throw new IllegalStateException("Runs with a variability model cannot be checkpointed.");
+        }
+        out.writeInt(CHECKPOINT_MAGIC);
+        out.writeInt(CHECKPOINT_VERSION);
+        out.writeBoolean(table != null);
+        out.writeInt(articleIds.length);
+        out.writeInt(table != null ? table.size() : -1);
+        out.writeInt(workstations.length);
+        for (Workstation workstation : workstations) {
+            out.writeUTF(workstation.getWorkstationId());
+            out.writeUTF(workstation.getOperationName());
+        }
+        out.writeUTF(dispatchRule.getName());
+        out.writeInt(streamFamilyKeys.size());
+        for (String key : streamFamilyKeys) {
+            out.writeUTF(key);
+        }
+
+        out.writeBoolean(started);
+        out.writeInt(clock);
+        out.writeInt(makespan);
+        out.writeLong(processedEvents);
+        out.writeLong(arrivalSequence);
+        out.writeLong(releasedArticles);
+        out.writeInt(nextArticle);
+        out.writeInt(inProgress);
+        out.writeInt(freeCount);
+        for (int i = 0; i < freeCount; i++) {
+            out.writeInt(freeSlots[i]);
+        }
+
+        int[] laneIndexes = new int[lanes.length];
+        out.writeInt(laneOrder.size());
+        for (int i = 0; i < laneOrder.size(); i++) {
+            OperationLane lane = laneOrder.get(i);
+            laneIndexes[lane.id] = i;
+            out.writeUTF(lane.operation);
+            out.writeInt(lane.keyedAt);
+            lane.queueMetrics.writeTo(out);
+        }
+
+        for (int slot = 0; slot < articleIds.length; slot++) {
+            out.writeInt(articleIds[slot]);
+            out.writeByte(priorityLevels[slot]);
+            out.writeInt(remainingWork[slot]);
+            out.writeInt(dueDates[slot]);
+            out.writeInt(releaseTimes[slot]);
+            out.writeInt(enqueueTimes[slot]);
+            if (table != null) {
+                out.writeInt(sourceIndexes[slot]);
+                out.writeInt(routeCursor[slot] - table.routeStart(sourceIndexes[slot]));
+            } else {
+                out.writeInt(families[slot]);
+                int length = routes[slot] != null ? routeEnd[slot] - routeCursor[slot] : 0;
+                out.writeInt(length);
+                for (int i = 0; i < length; i++) {
+                    out.writeInt(laneIndexes[routes[slot][routeCursor[slot] + i]]);
+                }
+            }
+        }
+
+        for (OperationLane lane : laneOrder) {
+            out.writeInt(lane.waiting.size());
+            for (int i = 0; i < lane.waiting.size(); i++) {
+                out.writeInt(lane.waiting.itemAt(i));
+                out.writeLong(lane.waiting.keyAt(i));
+                out.writeLong(lane.waiting.sequenceAt(i));
+            }
+            out.writeInt(lane.idle.idleCount());
+            for (int i = 0; i < lane.idle.idleCount(); i++) {
+                out.writeInt(lane.idle.idleWorkstationAt(i));
+                out.writeInt(lane.idle.idleSinceAt(i));
+            }
+        }
+
+        int pending = eventCalendar.size();
+        int[] times = new int[pending];
+        int[] types = new int[pending];
+        int[] eventArticles = new int[pending];
+        int[] eventWorkstations = new int[pending];
+        eventCalendar.copyPending(times, types, eventArticles, eventWorkstations);
+        out.writeInt(pending);
+        for (int i = 0; i < pending; i++) {
+            out.writeInt(times[i]);
+            out.writeInt(types[i]);
+            out.writeInt(eventArticles[i]);
+            out.writeInt(eventWorkstations[i]);
+        }
+
+        for (long busyTime : workstationBusyTime) {
+            out.writeLong(busyTime);
+        }
+        for (int w = 0; w < workstations.length; w++) {
+            out.writeLong(workstationSetupTime[w]);
+            int family = setupFamilies[w];
+            out.writeBoolean(family >= 0);
+            if (family >= 0) {
+                out.writeUTF(familyKey(family));
+            }
+            int size = batches[w] != null ? batchSizes[w] : 0;
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeInt(batches[w][i]);
+            }
+        }
+        metrics.writeTo(out);
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(DataOutputStream)}.
+     *
+     * @param workstationChanges Whether the workstations may differ from the checkpoint. If so, they
+     *                           are matched by ID; workstations missing from the checkpoint are idle
+     *                           since time 0, and workstations missing from this kernel must be idle.
+     */
+    private void readState(DataInputStream in, boolean workstationChanges) throws IOException {
+        int tableSize = in.readInt();
+        if (table != null && tableSize != table.size()) {
+            throw new IllegalArgumentException("Checkpoint was taken on " + tableSize + " articles, not " + table.size() + ".");
+        }
+        int savedWorkstations = in.readInt();
+        if (!workstationChanges && savedWorkstations != workstations.length) {
+            throw new IllegalArgumentException("Checkpoint was taken with a different number of workstations.");
+        }
+        int[] workstationMapping = new int[savedWorkstations];
+        boolean[] matched = new boolean[workstations.length];
+        for (int saved = 0; saved < savedWorkstations; saved++) {
+            String workstationId = in.readUTF();
+            String operation = in.readUTF();
+            int w = workstationChanges ? unmatchedWorkstation(workstationId, matched) : saved;
+            if (w >= 0 && (!workstationId.equals(workstations[w].getWorkstationId())
+                    || !operation.equals(workstations[w].getOperationName()))) {
+                throw new IllegalArgumentException("Checkpoint workstation " + workstationId + " (" + operation
+                        + ") does not match " + workstations[w].getWorkstationId() + " (" + workstations[w].getOperationName() + ").");
+            }
+            workstationMapping[saved] = w;
+            if (w >= 0) {
+                matched[w] = true;
+            }
+        }
+        boolean sameRule = in.readUTF().equals(dispatchRule.getName());
+        int familyCount = in.readInt();
+        for (int i = 0; i < familyCount; i++) {
+            streamFamily(in.readUTF());
+        }
+
+        started = in.readBoolean();
+        clock = in.readInt();
+        makespan = in.readInt();
+        processedEvents = in.readLong();
+        arrivalSequence = in.readLong();
+        releasedArticles = in.readLong();
+        nextArticle = in.readInt();
+        inProgress = in.readInt();
+        freeCount = in.readInt();
+        for (int i = 0; i < freeCount; i++) {
+            freeSlots[i] = in.readInt();
+        }
+
+        int laneCount = in.readInt();
+        OperationLane[] restoredLanes = new OperationLane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String operation = in.readUTF();
+            OperationLane lane = lane(operationId(operation), operation);
+            lane.restored = true;
+            lane.keyedAt = in.readInt();
+            lane.queueMetrics.readFrom(in);
+            restoredLanes[i] = lane;
+        }
+
+        for (int slot = 0; slot < articleIds.length; slot++) {
+            articleIds[slot] = in.readInt();
+            priorityLevels[slot] = in.readByte();
+            remainingWork[slot] = in.readInt();
+            dueDates[slot] = in.readInt();
+            releaseTimes[slot] = in.readInt();
+            enqueueTimes[slot] = in.readInt();
+            if (table != null) {
+                int article = in.readInt();
+                if (article < 0 || article >= table.size()) {
+                    throw new IOException("Invalid article index in checkpoint: " + article);
+                }
+                sourceIndexes[slot] = article;
+                routes[slot] = table.routes();
+                routeCursor[slot] = table.routeStart(article) + in.readInt();
+                routeEnd[slot] = table.routeStart(article) + table.routeLength(article);
+                families[slot] = table.family(article);
+            } else {
+                families[slot] = in.readInt();
+                int length = in.readInt();
+                routes[slot] = new int[Math.max(8, length)];
+                for (int i = 0; i < length; i++) {
+                    routes[slot][i] = restoredLanes[in.readInt()].id;
+                }
+                routeCursor[slot] = 0;
+                routeEnd[slot] = length;
+            }
+        }
+
+        for (OperationLane lane : restoredLanes) {
+            int waiting = in.readInt();
+            for (int i = 0; i < waiting; i++) {
+                int article = in.readInt();
+                long key = in.readLong();
+                lane.waiting.offer(article, key, in.readLong());
+            }
+            lane.idle.clearIdle();
+            int idle = in.readInt();
+            for (int i = 0; i < idle; i++) {
+                int workstation = workstationMapping[in.readInt()];
+                int idleSince = in.readInt();
+                if (workstation >= 0) {
+                    lane.idle.release(workstation, workstations[workstation].getTime(), idleSince);
+                }
+            }
+            if (!sameRule) {
+                lane.waiting.rekeyAll(article -> dispatchRule.priorityKey(this, article));
+                lane.keyedAt = clock;
+            }
+        }
+
+        for (int w = 0; w < workstations.length; w++) {
+            OperationLane lane = lanes[workstationLanes[w]];
+            if (!matched[w] && lane.restored) {
+                lane.idle.release(w, workstations[w].getTime(), 0);
+            }
+        }
+
+        int pending = in.readInt();
+        for (int i = 0; i < pending; i++) {
+            int time = in.readInt();
+            int type = in.readInt();
+            int article = in.readInt();
+            int workstation = workstationMapping[in.readInt()];
+            if (workstation < 0) {
+                throw new IllegalArgumentException("A removed workstation is busy at the checkpoint (t=" + clock + ").");
+            }
+            eventCalendar.schedule(time, type, article, workstation);
+        }
+
+        for (int saved = 0; saved < savedWorkstations; saved++) {
+            long busyTime = in.readLong();
+            if (workstationMapping[saved] >= 0) {
+                workstationBusyTime[workstationMapping[saved]] = busyTime;
+            }
+        }
+        for (int saved = 0; saved < savedWorkstations; saved++) {
+            int w = workstationMapping[saved];
+            long setupTime = in.readLong();
+            int family = NO_FAMILY;
+            if (in.readBoolean()) {
+                String key = in.readUTF();
+                family = table != null ? table.familyId(key) : streamFamily(key);
+                if (family < 0) {
+                    family = UNKNOWN_FAMILY;
+                }
+            }
+            int size = in.readInt();
+            if (w < 0) {
+                in.skipBytes(size * Integer.BYTES);
+                continue;
+            }
+            workstationSetupTime[w] = setupTime;
+            setupFamilies[w] = family;
+            if (size > 1 && (batches[w] == null || batches[w].length < size)) {
+                throw new IllegalArgumentException("Workstation " + workstations[w].getWorkstationId()
+                        + " holds a batch of " + size + " articles at the checkpoint, more than its batch size.");
+            }
+            for (int i = 0; i < size; i++) {
+                int article = in.readInt();
+                if (batches[w] != null) {
+                    batches[w][i] = article;
+                }
+            }
+            if (batches[w] != null) {
+                batchSizes[w] = size;
+            }
+        }
+        metrics.readFrom(in, workstationMapping);
+
+        if (source != null) {
+            for (long skipped = 0; skipped < releasedArticles; skipped++) {
+                if (!source.hasNext()) {
+                    throw new IllegalArgumentException("Source has fewer articles than were released before the checkpoint.");
+                }
+                source.next();
+            }
+        }
+    }
+
+    private int unmatchedWorkstation(String workstationId, boolean[] matched) {
+        for (int w = 0; w < workstations.length; w++) {
+            if (!matched[w] && workstations[w].getWorkstationId().equals(workstationId)) {
+                return w;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Draws processing times and breakdowns from a variability model. Must be called before the
+     * run starts; each replication number gives an independent, reproducible run.
+     *
+     * @param model       The variability model, or null for fixed processing times.
+     * @param replication The replication number, which selects the random streams.
+     * @throws IllegalStateException If the run has already started or checkpoints are enabled.
+     */
+    public void setVariability(VariabilityModel model, long replication) {
+        if (started) {
+            throw new IllegalStateException("Variability must be set before the run starts.");
+        }
+        if (model != null && checkpointFile != null) {
+            throw new IllegalStateException("Runs with a variability model cannot be checkpointed.");
+        }
+        this.sampler = model != null ? model.sampler(Arrays.asList(workstations), replication) : null;
+    }
+
+    /**
+     * Sets a trace writer that receives every processing event of the run. The writer is not
+     * closed by the kernel.
+     *
+     * @param traceWriter The trace writer, or null to stop tracing.
+     */
+    public void setTraceWriter(TraceWriter traceWriter) {
+        this.traceWriter = traceWriter;
+        if (traceWriter != null) {
+            traceOperations = new int[workstations.length];
+            traceWorkstations = new int[workstations.length];
+            for (int w = 0; w < workstations.length; w++) {
+                traceOperations[w] = traceWriter.operationId(workstations[w].getOperationName());
+                traceWorkstations[w] = traceWriter.workstationId(workstations[w].getWorkstationId());
+            }
+        }
+    }
+
+    /**
+     * Sets a registry that receives run-time metrics of the kernel: counters {@code kernel.events}
+     * and {@code kernel.assignments}, gauges {@code kernel.work-in-progress} and
+     * {@code kernel.queue.<operation>}, and the distribution {@code kernel.event.nanos} of the wall
+     * time spent handling each event. Without a registry none of these are collected.
+     *
+     * @param registry The registry, or null to stop collecting.
+     */
+    public void setMetricsRegistry(MetricsRegistry registry) {
+        this.registry = registry;
+        eventCounter = registry != null ? registry.counter("kernel.events") : null;
+        assignmentCounter = registry != null ? registry.counter("kernel.assignments") : null;
+        workInProgressGauge = registry != null ? registry.gauge("kernel.work-in-progress") : null;
+        eventNanos = registry != null ? registry.distribution("kernel.event.nanos") : null;
+        for (OperationLane lane : laneOrder) {
+            lane.depthGauge = null;
+        }
+    }
+
+    /**
+     * Gets the rule used to order the operation queues.
+     *
+     * @return The dispatching rule.
+     */
+    public DispatchRule getDispatchRule() {
+        return dispatchRule;
+    }
+
+    /**
+     * Gets the makespan of the last run (finish time of the last operation).
+     *
+     * @return The makespan in seconds.
+     */
+    public int getMakespan() {
+        return makespan;
+    }
+
+    /**
+     * Gets the number of articles taken from the source by the last run.
+     *
+     * @return The released article count.
+     */
+    public long getReleasedArticles() {
+        return releasedArticles;
+    }
+
+    /**
+     * Gets the number of events processed by the last run.
+     *
+     * @return The processed event count.
+     */
+    public long getProcessedEvents() {
+        return processedEvents;
+    }
+
+    /**
+     * Gets the queue, utilization and work-in-progress metrics, which are updated while the kernel runs.
+     *
+     * @return The metrics of this kernel.
+     */
+    public SimulationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Gets the busy time of a workstation.
+     *
+     * @param workstation Index of the workstation in the list given to the constructor.
+     * @return The accumulated processing and setup time of the workstation.
+     */
+    public long getWorkstationBusyTime(int workstation) {
+        return workstationBusyTime[workstation];
+    }
+
+    /**
+     * Gets the time a workstation spent broken down while holding an article.
+     *
+     * @param workstation Index of the workstation in the list given to the constructor.
+     * @return The accumulated repair time of the workstation; 0 without a variability model.
+     */
+    public long getWorkstationDownTime(int workstation) {
+        return workstationDownTime[workstation];
+    }
+
+    /**
+     * Gets the time a workstation spent on setups. Setups are also part of the busy time.
+     *
+     * @param workstation Index of the workstation in the list given to the constructor.
+     * @return The accumulated setup time of the workstation.
+     */
+    public long getWorkstationSetupTime(int workstation) {
+        return workstationSetupTime[workstation];
+    }
+
+    /**
+     * Makes workstations with a setup time prefer waiting articles of the product family they are
+     * set up for, and fill batches with articles of the family of the first one. Within a family
+     * the dispatching rule still decides. Articles of other families are only taken when no
+     * article of the current family is waiting, so grouping trades fairness for fewer setups.
+     *
+     * @param setupGrouping Whether to group articles by family.
+     */
+    public void setSetupGrouping(boolean setupGrouping) {
+        this.setupGrouping = setupGrouping;
+    }
+
+    /**
+     * Gets the total processing time per operation, keyed by the workstation operation name.
+     *
+     * @return A map with operation names as keys and total processing times as values.
+     */
+    public Map<String, Integer> getOperationTimes() {
+        Map<String, Integer> operationTimes = new LinkedHashMap<>();
+        for (int w = 0; w < workstations.length; w++) {
+            if (workstationBusyTime[w] > 0) {
+                operationTimes.merge(workstations[w].getOperationName(), (int) workstationBusyTime[w], Integer::sum);
+            }
+        }
+        return operationTimes;
+    }
+
+    /**
+     * Gets the busy time of every workstation that processed at least one article.
+     *
+     * @return A map with workstation IDs as keys and usage times as values.
+     */
+    public Map<String, Integer> getWorkstationUsage() {
+        Map<String, Integer> usage = new LinkedHashMap<>();
+        for (int w = 0; w < workstations.length; w++) {
+            if (workstationBusyTime[w] > 0) {
+                usage.merge(workstations[w].getWorkstationId(), (int) workstationBusyTime[w], Integer::sum);
+            }
+        }
+        return usage;
+    }
+
+    /**
+     * Waiting articles and idle workstations of a single operation.
+     */
+    private final class OperationLane {
+        private final int id;
+        private final String operation;
+        private final IndexedPriorityQueue waiting = new IndexedPriorityQueue(queuePositions);
+        private final WorkstationPool idle = new WorkstationPool();
+        private final SimulationMetrics.OperationMetrics queueMetrics;
+        private MetricsRegistry.Gauge depthGauge;
+        private int fastestTime = Integer.MAX_VALUE;
+        private int keyedAt = -1;
+        private boolean restored;
+
+        private OperationLane(int id, String operation) {
+            this.id = id;
+            this.operation = operation;
+            this.queueMetrics = metrics.operation(operation);
+        }
+
+        private int fastestTime() {
+            return fastestTime == Integer.MAX_VALUE ? 0 : fastestTime;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.production.Domain;
+
+import com.example.production.Utils.Histogram;
+import com.example.production.Utils.TimeWeightedStatistic;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Metrics collected by the {@link SimulationKernel} while its event loop runs: queue length and
+ * waiting times per operation, time-weighted utilization per workstation, and work in progress
+ * and flow times of the articles. Every quantity is updated incrementally when it changes, so
+ * the cost per event is a few array writes.
+ * <p>
+ * The kernel is single-threaded; the values can be read at any point of a run from the kernel
+ * thread (e.g. from the printer) and are approximate when read from another thread meanwhile.
+ * The map of operations is replaced by a copy whenever an operation is added, so another thread
+ * can look operations up and iterate over them without locking while the run goes on.
+ * Time-weighted averages are taken over [0, {@link #getTime()}].
+ */
+public class SimulationMetrics {
+
+    private volatile Map<String, OperationMetrics> operations = Map.of();
+    private final String[] workstationIds;
+    private final TimeWeightedStatistic[] workstationBusy;
+    private final TimeWeightedStatistic workInProgress = new TimeWeightedStatistic();
+    private final Histogram flowTimes = new Histogram();
+    private long time;
+
+    /**
+     * Constructs the metrics of a set of workstations.
+     *
+     * @param workstations The workstations, in the order used by the kernel.
+     */
+    public SimulationMetrics(List<Workstation> workstations) {
+        workstationIds = new String[workstations.size()];
+        workstationBusy = new TimeWeightedStatistic[workstations.size()];
+        for (int w = 0; w < workstationIds.length; w++) {
+            workstationIds[w] = workstations.get(w).getWorkstationId();
+            workstationBusy[w] = new TimeWeightedStatistic();
+        }
+    }
+
+    // Recording, called by the kernel
+
+    OperationMetrics operation(String operation) {
+        OperationMetrics metrics = operations.get(operation);
+        if (metrics == null) {
+            // Copy on write: operations are added once per lane, readers keep a consistent snapshot
+            Map<String, OperationMetrics> copy = new LinkedHashMap<>(operations);
+            metrics = new OperationMetrics(operation);
+            copy.put(operation, metrics);
+            operations = Collections.unmodifiableMap(copy);
+        }
+        return metrics;
+    }
+
+    void advance(long now) {
+        time = now;
+    }
+
+    void workstationBusy(int workstation, boolean busy) {
+        workstationBusy[workstation].update(time, busy ? 1 : 0);
+    }
+
+    void workInProgress(int articles) {
+        workInProgress.update(time, articles);
+    }
+
+    void articleFinished(long flowTime) {
+        flowTimes.record(flowTime);
+    }
+
+    /**
+     * Writes the collected values into a checkpoint. Operation metrics are written by the kernel
+     * together with their lanes.
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(time);
+        out.writeInt(workstationBusy.length);
+        for (TimeWeightedStatistic busy : workstationBusy) {
+            busy.writeTo(out);
+        }
+        workInProgress.writeTo(out);
+        flowTimes.writeTo(out);
+    }
+
+    /**
+     * Restores the collected values of a checkpoint.
+     *
+     * @param workstationMapping Index of each checkpointed workstation in this kernel, or -1 if it
+     *                           was removed; workstations not in the mapping keep empty statistics.
+     */
+    void readFrom(DataInput in, int[] workstationMapping) throws IOException {
+        time = in.readLong();
+        if (in.readInt() != workstationMapping.length) {
+            throw new IOException("Checkpoint metrics have a different number of workstations.");
+        }
+        TimeWeightedStatistic removed = new TimeWeightedStatistic();
+        for (int w : workstationMapping) {
+            (w >= 0 ? workstationBusy[w] : removed).readFrom(in);
+        }
+        workInProgress.readFrom(in);
+        flowTimes.readFrom(in);
+    }
+
+    // Reading
+
+    /**
+     * Gets the simulation time up to which the metrics have been collected.
+     *
+     * @return The time of the last processed event.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Gets the metrics of every operation that had a queue, in order of first appearance.
+     *
+     * @return An unmodifiable map keyed by operation name.
+     */
+    public Map<String, OperationMetrics> getOperations() {
+        return operations;
+    }
+
+    /**
+     * Gets the metrics of an operation.
+     *
+     * @param operation The operation name.
+     * @return The metrics, or null if no article was ever queued for the operation.
+     */
+    public OperationMetrics getOperation(String operation) {
+        return operations.get(operation);
+    }
+
+    /**
+     * Gets the time-weighted utilization of every workstation.
+     *
+     * @return A map of workstation ID to the fraction of time it was busy (0 to 1), in workstation order.
+     */
+    public Map<String, Double> getWorkstationUtilization() {
+        Map<String, Double> utilization = new LinkedHashMap<>();
+        for (int w = 0; w < workstationIds.length; w++) {
+            utilization.merge(workstationIds[w], workstationBusy[w].getMean(time), Double::sum);
+        }
+        return utilization;
+    }
+
+    /**
+     * Gets the time-weighted average number of articles released and not yet finished.
+     *
+     * @return The average work in progress.
+     */
+    public double getAverageWorkInProgress() {
+        return workInProgress.getMean(time);
+    }
+
+    public long getMaxWorkInProgress() {
+        return workInProgress.getMax();
+    }
+
+    /**
+     * Gets the distribution of flow times (finish time minus release time) of the finished articles.
+     *
+     * @return The flow time histogram.
+     */
+    public Histogram getFlowTimes() {
+        return flowTimes;
+    }
+
+    /**
+     * Queue metrics of a single operation.
+     */
+    public class OperationMetrics {
+        private final String operation;
+        private final TimeWeightedStatistic queueLength = new TimeWeightedStatistic();
+        private final Histogram waitingTimes = new Histogram();
+
+        private OperationMetrics(String operation) {
+            this.operation = operation;
+        }
+
+        void queueLength(int length) {
+            queueLength.update(time, length);
+        }
+
+        void waited(long waitingTime) {
+            waitingTimes.record(waitingTime);
+        }
+
+        void writeTo(DataOutput out) throws IOException {
+            queueLength.writeTo(out);
+            waitingTimes.writeTo(out);
+        }
+
+        void readFrom(DataInput in) throws IOException {
+            queueLength.readFrom(in);
+            waitingTimes.readFrom(in);
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        /**
+         * Gets the time-weighted average number of articles waiting for the operation.
+         *
+         * @return The average queue length.
+         */
+        public double getAverageQueueLength() {
+            return queueLength.getMean(time);
+        }
+
+        public long getMaxQueueLength() {
+            return queueLength.getMax();
+        }
+
+        public long getCurrentQueueLength() {
+            return queueLength.getCurrent();
+        }
+
+        /**
+         * Gets the distribution of the time articles waited in the queue before being started.
+         *
+         * @return The waiting time histogram.
+         */
+        public Histogram getWaitingTimes() {
+            return waitingTimes;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.production.Domain;
+
+import java.util.*;
+
+/**
+ * A what-if configuration to be replicated by the {@link ReplicationRunner}: a dispatching rule
+ * plus changes to the number of workstations per operation.
+ */
+public class SimulationScenario {
+
+    private final String name;
+    private final DispatchRule dispatchRule;
+    private final Map<String, Integer> workstationDelta;
+
+    /**
+     * Constructs a scenario that uses the base workstations unchanged.
+     *
+     * @param name     The scenario name, used in reports.
+     * @param strategy Strategy for processing (FIFO or PRIORITY).
+     */
+    public SimulationScenario(String name, Simulation.SimulationStrategy strategy) {
+        this(name, strategy, Collections.emptyMap());
+    }
+
+    /**
+     * Constructs a scenario that changes the number of workstations per operation.
+     * A positive delta adds copies of the fastest workstation of the operation; a negative delta
+     * removes the slowest ones.
+     *
+     * @param name             The scenario name, used in reports.
+     * @param strategy         Strategy for processing (FIFO or PRIORITY).
+     * @param workstationDelta Map of operation name to the number of workstations to add or remove.
+     */
+    public SimulationScenario(String name, Simulation.SimulationStrategy strategy, Map<String, Integer> workstationDelta) {
+        this(name, StandardDispatchRule.forStrategy(strategy), workstationDelta);
+    }
+
+    /**
+     * Constructs a scenario with a dispatching rule and changes to the number of workstations per operation.
+     *
+     * @param name             The scenario name, used in reports.
+     * @param dispatchRule     Rule used to order the operation queues.
+     * @param workstationDelta Map of operation name to the number of workstations to add or remove.
+     */
+    public SimulationScenario(String name, DispatchRule dispatchRule, Map<String, Integer> workstationDelta) {
+        this.name = name;
+        this.dispatchRule = dispatchRule;
+        this.workstationDelta = Collections.unmodifiableMap(new LinkedHashMap<>(workstationDelta));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DispatchRule getDispatchRule() {
+        return dispatchRule;
+    }
+
+    public Map<String, Integer> getWorkstationDelta() {
+        return workstationDelta;
+    }
+
+    /**
+     * Builds the workstation list of this scenario from the base list.
+     * The base list and its workstations are left untouched.
+     *
+     * @param baseWorkstations The workstations of the shared dataset.
+     * @return A new list with the workstations of this scenario.
+     */
+    public List<Workstation> applyTo(List<Workstation> baseWorkstations) {
+        if (workstationDelta.isEmpty()) {
+            return baseWorkstations;
+        }
+        List<Workstation> result = new ArrayList<>(baseWorkstations);
+        for (Map.Entry<String, Integer> entry : workstationDelta.entrySet()) {
+            String operation = entry.getKey();
+            int delta = entry.getValue();
+            List<Workstation> forOperation = new ArrayList<>();
+            for (Workstation workstation : result) {
+                if (workstation.getOperationName().equals(operation)) {
+                    forOperation.add(workstation);
+                }
+            }
+            forOperation.sort(Comparator.comparingInt(Workstation::getTime));
+
+            if (delta > 0) {
+                if (forOperation.isEmpty()) {
+                    throw new IllegalArgumentException("Scenario '" + name + "' adds workstations to unknown operation '" + operation + "'.");
+                }
+                Workstation template = forOperation.get(0);
+                for (int i = 1; i <= delta; i++) {
+                    result.add(new Workstation(template.getWorkstationId() + "+" + i, operation, template.getTime(),
+                            template.getSetupTime(), template.getBatchSize()));
+                }
+            } else {
+                for (int i = 0; i < -delta && i < forOperation.size(); i++) {
+                    result.remove(forOperation.get(forOperation.size() - 1 - i));
+                }
+            }
+        }
+        return result;
+    }
+}
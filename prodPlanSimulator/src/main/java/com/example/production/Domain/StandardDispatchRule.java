@@ -0,0 +1,96 @@
+package com.example.production.Domain;
+
+/**
+ * Built-in dispatching rules.
+ */
+public enum StandardDispatchRule implements DispatchRule {
+
+    /**
+     * First in, first out: every article has the same key, so arrival order decides.
+     */
+    FIFO {
+        @Override
+        public long priorityKey(Context context, int article) {
+            return 0;
+        }
+    },
+
+    /**
+     * Highest article priority first (high, normal, low).
+     */
+    PRIORITY {
+        @Override
+        public long priorityKey(Context context, int article) {
+            return -context.priorityLevel(article);
+        }
+    },
+
+    /**
+     * Shortest processing time of the current operation first; ties go to the article with the
+     * least remaining work.
+     */
+    SPT {
+        @Override
+        public long priorityKey(Context context, int article) {
+            return ((long) context.imminentProcessingTime(article) << 32) | context.remainingWork(article);
+        }
+    },
+
+    /**
+     * Earliest due date first.
+     */
+    EDD {
+        @Override
+        public long priorityKey(Context context, int article) {
+            return context.dueDate(article);
+        }
+    },
+
+    /**
+     * Lowest critical ratio first: time left until the due date divided by the remaining work.
+     * <p>
+     * The ratio of two articles can swap order as the clock advances, so the rule is
+     * time-dependent: each dispatch at a new time re-keys the whole queue of the operation, which
+     * costs O(queue length). With long queues the run time grows quadratically; {@link #LEAST_SLACK}
+     * orders by a similar urgency with keys fixed on arrival.
+     */
+    CRITICAL_RATIO {
+        @Override
+        public long priorityKey(Context context, int article) {
+            double ratio = (double) (context.dueDate(article) - context.now()) / Math.max(1, context.remainingWork(article));
+            return Math.round(ratio * 1_000_000);
+        }
+
+        @Override
+        public boolean isTimeDependent() {
+            return true;
+        }
+    },
+
+    /**
+     * Least slack first: due date minus current time minus remaining work. The current time is the
+     * same for every article of a queue, so it does not take part in the key, and the queue is
+     * never re-keyed.
+     */
+    LEAST_SLACK {
+        @Override
+        public long priorityKey(Context context, int article) {
+            return (long) context.dueDate(article) - context.remainingWork(article);
+        }
+    };
+
+    @Override
+    public String getName() {
+        return name();
+    }
+
+    /**
+     * Gets the rule equivalent to a simulation strategy.
+     *
+     * @param strategy The strategy (FIFO or PRIORITY).
+     * @return The matching dispatching rule.
+     */
+    public static StandardDispatchRule forStrategy(Simulation.SimulationStrategy strategy) {
+        return strategy == Simulation.SimulationStrategy.PRIORITY ? PRIORITY : FIFO;
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.production.Domain;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Distribution of a duration in whole seconds, such as the processing time of a workstation or
+ * the repair time after a breakdown. Samples are drawn from a random stream supplied by the
+ * caller and never allocate, so a distribution can be shared between kernels and sampled inside
+ * the event loop. Negative draws are truncated to 0.
+ *
+ * @see VariabilityModel
+ */
+public abstract class TimeDistribution {
+
+    private TimeDistribution() {
+    }
+
+    /**
+     * Draws a duration.
+     *
+     * @param random The random stream to draw from.
+     * @return The duration, in seconds; never negative.
+     */
+    public abstract int sample(SplittableRandom random);
+
+    /**
+     * Gets the mean of the distribution before rounding and truncation.
+     *
+     * @return The mean duration, in seconds.
+     */
+    public abstract double getMean();
+
+    /**
+     * A duration that never varies.
+     *
+     * @param time The duration, in seconds.
+     * @return The distribution.
+     */
+    public static TimeDistribution constant(int time) {
+        if (time < 0) {
+            throw new IllegalArgumentException("Time cannot be negative.");
+        }
+        return new TimeDistribution() {
+            @Override
+            public int sample(SplittableRandom random) {
+                return time;
+            }
+
+            @Override
+            public double getMean() {
+                return time;
+            }
+
+            @Override
+            public String toString() {
+                return "constant(" + time + ")";
+            }
+        };
+    }
+
+    /**
+     * A normal distribution.
+     *
+     * @param mean              The mean, in seconds.
+     * @param standardDeviation The standard deviation, in seconds.
+     * @return The distribution.
+     */
+    public static TimeDistribution normal(double mean, double standardDeviation) {
+        requireNonNegative(standardDeviation, "Standard deviation");
+        return new TimeDistribution() {
+            @Override
+            public int sample(SplittableRandom random) {
+                return round(mean + standardDeviation * random.nextGaussian());
+            }
+
+            @Override
+            public double getMean() {
+                return mean;
+            }
+
+            @Override
+            public String toString() {
+                return "normal(" + mean + ", " + standardDeviation + ")";
+            }
+        };
+    }
+
+    /**
+     * A lognormal distribution, given by the mean and standard deviation of the durations
+     * themselves rather than of their logarithm.
+     *
+     * @param mean              The mean, in seconds.
+     * @param standardDeviation The standard deviation, in seconds.
+     * @return The distribution.
+     */
+    public static TimeDistribution lognormal(double mean, double standardDeviation) {
+        if (mean <= 0) {
+            throw new IllegalArgumentException("Lognormal mean must be positive.");
+        }
+        requireNonNegative(standardDeviation, "Standard deviation");
+        double sigmaSquared = Math.log(1 + (standardDeviation * standardDeviation) / (mean * mean));
+        double mu = Math.log(mean) - sigmaSquared / 2;
+        double sigma = Math.sqrt(sigmaSquared);
+        return new TimeDistribution() {
+            @Override
+            public int sample(SplittableRandom random) {
+                return round(Math.exp(mu + sigma * random.nextGaussian()));
+            }
+
+            @Override
+            public double getMean() {
+                return mean;
+            }
+
+            @Override
+            public String toString() {
+                return "lognormal(" + mean + ", " + standardDeviation + ")";
+            }
+        };
+    }
+
+    /**
+     * A triangular distribution, sampled by inverting its distribution function.
+     *
+     * @param min  The smallest duration, in seconds.
+     * @param mode The most likely duration, in seconds.
+     * @param max  The largest duration, in seconds.
+     * @return The distribution.
+     */
+    public static TimeDistribution triangular(double min, double mode, double max) {
+        if (min > mode || mode > max || min == max) {
+            throw new IllegalArgumentException("Triangular distribution needs min <= mode <= max and min < max.");
+        }
+        double range = max - min;
+        double split = (mode - min) / range;
+        return new TimeDistribution() {
+            @Override
+            public int sample(SplittableRandom random) {
+                double u = random.nextDouble();
+                return round(u < split
+                        ? min + Math.sqrt(u * range * (mode - min))
+                        : max - Math.sqrt((1 - u) * range * (max - mode)));
+            }
+
+            @Override
+            public double getMean() {
+                return (min + mode + max) / 3;
+            }
+
+            @Override
+            public String toString() {
+                return "triangular(" + min + ", " + mode + ", " + max + ")";
+            }
+        };
+    }
+
+    /**
+     * An exponential distribution, as used for times between failures and repair times.
+     *
+     * @param mean The mean, in seconds.
+     * @return The distribution.
+     */
+    public static TimeDistribution exponential(double mean) {
+        if (mean <= 0) {
+            throw new IllegalArgumentException("Exponential mean must be positive.");
+        }
+        return new TimeDistribution() {
+            @Override
+            public int sample(SplittableRandom random) {
+                return round(exponential(random, mean));
+            }
+
+            @Override
+            public double getMean() {
+                return mean;
+            }
+
+            @Override
+            public String toString() {
+                return "exponential(" + mean + ")";
+            }
+        };
+    }
+
+    /**
+     * An empirical distribution that draws one of the observed durations, each with the same
+     * probability (bootstrap resampling).
+     *
+     * @param observations The observed durations, in seconds.
+     * @return The distribution.
+     */
+    public static TimeDistribution empirical(int... observations) {
+        if (observations.length == 0) {
+            throw new IllegalArgumentException("Empirical distribution needs at least one observation.");
+        }
+        int[] values = observations.clone();
+        for (int value : values) {
+            if (value < 0) {
+                throw new IllegalArgumentException("Time cannot be negative.");
+            }
+        }
+        double mean = Arrays.stream(values).average().orElse(0);
+        return new TimeDistribution() {
+            @Override
+            public int sample(SplittableRandom random) {
+                return values[random.nextInt(values.length)];
+            }
+
+            @Override
+            public double getMean() {
+                return mean;
+            }
+
+            @Override
+            public String toString() {
+                return "empirical(" + values.length + " observations)";
+            }
+        };
+    }
+
+    /**
+     * Draws an exponential value without rounding it.
+     */
+    static double exponential(SplittableRandom random, double mean) {
+        // 1 - u is in (0, 1], so the logarithm is finite
+        return -mean * Math.log(1 - random.nextDouble());
+    }
+
+    private static int round(double time) {
+        if (time <= 0) {
+            return 0;
+        }
+        return time >= Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) Math.round(time);
+    }
+
+    private static void requireNonNegative(double value, String name) {
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " cannot be negative.");
+        }
+    }
+}
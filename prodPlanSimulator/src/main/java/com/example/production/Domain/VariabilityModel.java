@@ -0,0 +1,219 @@
+package com.example.production.Domain;
+
+import java.util.*;
+
+/**
+ * Stochastic behaviour of the workstations: processing-time distributions and breakdowns, keyed
+ * by workstation ID. Workstations without a distribution keep their fixed {@link Workstation#getTime()}.
+ * Settings are collected with the fluent methods, e.g.
+ * {@code new VariabilityModel(42).setProcessingTime("ws1", TimeDistribution.normal(6, 1)).setBreakdowns("ws1", 3600, 300)}.
+ * <p>
+ * Every replication of a model draws from its own random streams, derived from the seed and the
+ * replication number only, and each workstation has separate streams for processing times and
+ * failures. A replication therefore gives the same result whichever thread runs it and in
+ * whatever order, and the same workstation sees the same draws under different dispatching rules
+ * (common random numbers).
+ * <p>
+ * Breakdowns follow the busy-time model: a workstation fails after an exponentially distributed
+ * amount of processing with mean MTBF, the article in progress waits for the repair and then
+ * resumes where it stopped.
+ */
+public class VariabilityModel {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private final Map<String, TimeDistribution> processingTimes = new LinkedHashMap<>();
+    private final Map<String, Breakdowns> breakdowns = new LinkedHashMap<>();
+
+    /**
+     * Constructs a model with no variability yet.
+     *
+     * @param seed The seed all random streams are derived from.
+     */
+    public VariabilityModel(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the processing-time distribution of a workstation.
+     *
+     * @param workstationId The ID of the workstation.
+     * @param distribution  The distribution of its processing time.
+     * @return This model.
+     */
+    public VariabilityModel setProcessingTime(String workstationId, TimeDistribution distribution) {
+        processingTimes.put(Objects.requireNonNull(workstationId), Objects.requireNonNull(distribution));
+        return this;
+    }
+
+    /**
+     * Lets a workstation break down, with exponential times between failures and repair times.
+     *
+     * @param workstationId The ID of the workstation.
+     * @param mtbf          Mean processing time between failures, in seconds.
+     * @param mttr          Mean time to repair, in seconds.
+     * @return This model.
+     */
+    public VariabilityModel setBreakdowns(String workstationId, double mtbf, double mttr) {
+        return setBreakdowns(workstationId, mtbf, TimeDistribution.exponential(mttr));
+    }
+
+    /**
+     * Lets a workstation break down, with exponential times between failures and any repair-time distribution.
+     *
+     * @param workstationId The ID of the workstation.
+     * @param mtbf          Mean processing time between failures, in seconds.
+     * @param repairTime    The distribution of the repair time.
+     * @return This model.
+     */
+    public VariabilityModel setBreakdowns(String workstationId, double mtbf, TimeDistribution repairTime) {
+        if (mtbf <= 0) {
+            throw new IllegalArgumentException("MTBF must be positive.");
+        }
+        breakdowns.put(Objects.requireNonNull(workstationId), new Breakdowns(mtbf, Objects.requireNonNull(repairTime)));
+        return this;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the processing-time distributions.
+     *
+     * @return An unmodifiable map keyed by workstation ID.
+     */
+    public Map<String, TimeDistribution> getProcessingTimes() {
+        return Collections.unmodifiableMap(processingTimes);
+    }
+
+    /**
+     * Gets the breakdown settings.
+     *
+     * @return An unmodifiable map keyed by workstation ID.
+     */
+    public Map<String, Breakdowns> getBreakdowns() {
+        return Collections.unmodifiableMap(breakdowns);
+    }
+
+    /**
+     * Creates the samplers of one replication for a list of workstations.
+     *
+     * @param workstations The workstations of the run, in kernel order.
+     * @param replication  The replication number.
+     * @return The sampler of the replication.
+     */
+    Sampler sampler(List<Workstation> workstations, long replication) {
+        return new Sampler(workstations, replication);
+    }
+
+    /**
+     * Breakdown settings of one workstation.
+     */
+    public static class Breakdowns {
+        private final double mtbf;
+        private final TimeDistribution repairTime;
+
+        public Breakdowns(double mtbf, TimeDistribution repairTime) {
+            this.mtbf = mtbf;
+            this.repairTime = repairTime;
+        }
+
+        public double getMtbf() {
+            return mtbf;
+        }
+
+        public TimeDistribution getRepairTime() {
+            return repairTime;
+        }
+
+        /**
+         * Gets the long-run fraction of time the workstation is not broken down.
+         *
+         * @return The availability, between 0 and 1.
+         */
+        public double getAvailability() {
+            return mtbf / (mtbf + repairTime.getMean());
+        }
+    }
+
+    /**
+     * The random streams and per-workstation state of one replication, indexed like the kernel's
+     * workstations. Not thread-safe: each kernel has its own.
+     */
+    final class Sampler {
+        private final TimeDistribution[] times;
+        private final double[] mtbf;
+        private final TimeDistribution[] repairTimes;
+        private final SplittableRandom[] timeStreams;
+        private final SplittableRandom[] failureStreams;
+        private final double[] uptimeLeft;
+
+        private Sampler(List<Workstation> workstations, long replication) {
+            int count = workstations.size();
+            times = new TimeDistribution[count];
+            mtbf = new double[count];
+            repairTimes = new TimeDistribution[count];
+            timeStreams = new SplittableRandom[count];
+            failureStreams = new SplittableRandom[count];
+            uptimeLeft = new double[count];
+
+            SplittableRandom root = new SplittableRandom(mix64(seed + GOLDEN_GAMMA * (replication + 1)));
+            for (int w = 0; w < count; w++) {
+                // Split for every workstation, used or not, so each stream depends on the position only
+                timeStreams[w] = root.split();
+                failureStreams[w] = root.split();
+                String id = workstations.get(w).getWorkstationId();
+                times[w] = processingTimes.get(id);
+                Breakdowns settings = breakdowns.get(id);
+                if (settings != null) {
+                    mtbf[w] = settings.getMtbf();
+                    repairTimes[w] = settings.getRepairTime();
+                    uptimeLeft[w] = TimeDistribution.exponential(failureStreams[w], mtbf[w]);
+                }
+            }
+        }
+
+        /**
+         * Draws the processing time of the next article at a workstation.
+         *
+         * @param workstation The workstation index.
+         * @param nominal     The fixed time of the workstation, used when it has no distribution.
+         * @return The processing time.
+         */
+        int processingTime(int workstation, int nominal) {
+            TimeDistribution distribution = times[workstation];
+            return distribution == null ? nominal : distribution.sample(timeStreams[workstation]);
+        }
+
+        /**
+         * Advances the busy time of a workstation by a processing time and draws the repairs of
+         * the breakdowns that happen meanwhile.
+         *
+         * @param workstation    The workstation index.
+         * @param processingTime The processing time of the article.
+         * @return The total repair time spent while processing the article.
+         */
+        int downTime(int workstation, int processingTime) {
+            if (repairTimes[workstation] == null) {
+                return 0;
+            }
+            SplittableRandom random = failureStreams[workstation];
+            long downTime = 0;
+            double left = uptimeLeft[workstation] - processingTime;
+            while (left < 0) {
+                downTime += repairTimes[workstation].sample(random);
+                left += TimeDistribution.exponential(random, mtbf[workstation]);
+            }
+            uptimeLeft[workstation] = left;
+            return (int) Math.min(Integer.MAX_VALUE, downTime);
+        }
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
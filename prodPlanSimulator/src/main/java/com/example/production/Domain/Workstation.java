@@ -3,10 +3,14 @@ package com.example.production.Domain;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Represents a workstation in the production process.
+ * <p>
+ * A workstation may also have a setup time, spent whenever it switches to another product family
+ * (articles with the same routing), and a batch size: a batch workstation processes up to that
+ * many waiting articles together in one cycle of {@link #getTime()} seconds, like an oven.
  */
 public class Workstation {
     private static final Logger logger = LogManager.getLogger(Workstation.class);
@@ -14,7 +18,9 @@ public class Workstation {
     private final String workstationId;
     private final String operationName;
     private final int time;
-    private final AtomicInteger totalUsageTime;
+    private final int setupTime;
+    private final int batchSize;
+    private final LongAdder totalUsageTime;
 
     /**
      * Constructs a Workstation with the specified ID, operation name, and processing time.
@@ -24,10 +30,31 @@ public class Workstation {
      * @param time           The time required to complete the operation.
      */
     public Workstation(String workstationId, String operationName, int time) {
+        this(workstationId, operationName, time, 0, 1);
+    }
+
+    /**
+     * Constructs a Workstation with setup and batching.
+     *
+     * @param workstationId  The unique identifier of the workstation.
+     * @param operationName  The name of the operation performed by the workstation.
+     * @param time           The time required to complete the operation on one batch.
+     * @param setupTime      The time needed to switch to another product family.
+     * @param batchSize      The maximum number of articles processed together, at least 1.
+     */
+    public Workstation(String workstationId, String operationName, int time, int setupTime, int batchSize) {
+        if (setupTime < 0) {
+            throw new IllegalArgumentException("Setup time cannot be negative.");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1.");
+        }
         this.workstationId = workstationId;
         this.operationName = operationName;
         this.time = time;
-        this.totalUsageTime = new AtomicInteger(0);
+        this.setupTime = setupTime;
+        this.batchSize = batchSize;
+        this.totalUsageTime = new LongAdder();
         logger.debug("Workstation {} created for operation '{}', processing time: {} seconds.", workstationId, operationName, time);
     }
 
@@ -44,17 +71,35 @@ public class Workstation {
         return time;
     }
 
+    public int getSetupTime() {
+        return setupTime;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Tells whether the workstation has a setup time or processes batches.
+     *
+     * @return true if the workstation is not a plain one-article-at-a-time workstation.
+     */
+    public boolean hasSetupOrBatching() {
+        return setupTime > 0 || batchSize > 1;
+    }
+
     public int getTotalUsageTime() {
-        return totalUsageTime.get();
+        return totalUsageTime.intValue();
     }
 
     /**
-     * Adds to the total usage time of the workstation.
+     * Adds to the total usage time of the workstation. Concurrent callers do not contend on a
+     * single counter.
      *
      * @param time The time to be added to the total usage.
      */
     public void addUsageTime(int time) {
-        int newTotal = totalUsageTime.addAndGet(time);
-        logger.debug("Workstation {} increased usage time by {} seconds. Total usage time: {} seconds.", workstationId, time, newTotal);
+        totalUsageTime.add(time);
+        logger.debug("Workstation {} increased usage time by {} seconds.", workstationId, time);
     }
 }
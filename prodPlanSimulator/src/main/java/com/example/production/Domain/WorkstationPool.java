@@ -0,0 +1,214 @@
+package com.example.production.Domain;
+
+import java.util.Arrays;
+
+/**
+ * Idle workstations of a single operation, kept in a binary min-heap.
+ * The preferred workstation is the one with the shortest processing time; among equally fast
+ * workstations the one that has been idle the longest (earliest free-at time) wins, and then the
+ * one registered first. Taking and returning a workstation costs O(log n), so operations with
+ * hundreds of machines do not need a sort or a linear scan per scheduling decision.
+ * <p>
+ * Workstations are identified by the index the caller uses for them. The pool is not thread-safe.
+ */
+public class WorkstationPool {
+
+    private int[] workstations;
+    private int[] processingTimes;
+    private int[] freeAt;
+    private int size;
+    private int registered;
+
+    public WorkstationPool() {
+        this(4);
+    }
+
+    /**
+     * Constructs an empty pool.
+     *
+     * @param initialCapacity Expected number of workstations of the operation.
+     */
+    public WorkstationPool(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        workstations = new int[capacity];
+        processingTimes = new int[capacity];
+        freeAt = new int[capacity];
+    }
+
+    /**
+     * Registers a workstation as idle since time 0.
+     *
+     * @param workstation    The workstation index.
+     * @param processingTime The processing time of the workstation.
+     */
+    public void register(int workstation, int processingTime) {
+        registered++;
+        release(workstation, processingTime, 0);
+    }
+
+    /**
+     * Returns a workstation to the pool.
+     *
+     * @param workstation    The workstation index.
+     * @param processingTime The processing time of the workstation.
+     * @param time           The time from which the workstation is idle.
+     */
+    public void release(int workstation, int processingTime, int time) {
+        if (size == workstations.length) {
+            int capacity = size * 2;
+            workstations = Arrays.copyOf(workstations, capacity);
+            processingTimes = Arrays.copyOf(processingTimes, capacity);
+            freeAt = Arrays.copyOf(freeAt, capacity);
+        }
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(workstation, processingTime, time, parent)) {
+                break;
+            }
+            move(parent, index);
+            index = parent;
+        }
+        set(index, workstation, processingTime, time);
+    }
+
+    /**
+     * Takes the preferred idle workstation out of the pool.
+     *
+     * @return The workstation index, or -1 if no workstation is idle.
+     */
+    public int acquire() {
+        if (size == 0) {
+            return -1;
+        }
+        int result = workstations[0];
+        size--;
+        if (size > 0) {
+            siftDown(workstations[size], processingTimes[size], freeAt[size]);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the preferred idle workstation without taking it.
+     *
+     * @return The workstation index, or -1 if no workstation is idle.
+     */
+    public int peek() {
+        return size > 0 ? workstations[0] : -1;
+    }
+
+    /**
+     * Removes a specific workstation from the idle set, if it is there. Costs O(n); meant for
+     * rare changes such as taking a machine out of service.
+     *
+     * @param workstation The workstation index.
+     * @return true if the workstation was idle and has been removed.
+     */
+    public boolean remove(int workstation) {
+        for (int i = 0; i < size; i++) {
+            if (workstations[i] == workstation) {
+                int[] keptWorkstations = workstations.clone();
+                int[] keptTimes = processingTimes.clone();
+                int[] keptFreeAt = freeAt.clone();
+                int keptSize = size;
+                size = 0;
+                for (int j = 0; j < keptSize; j++) {
+                    if (j != i) {
+                        release(keptWorkstations[j], keptTimes[j], keptFreeAt[j]);
+                    }
+                }
+                registered--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the idle workstation stored at a heap position, for iterating over the pool in no
+     * particular order.
+     *
+     * @param index Heap position, below {@link #idleCount()}.
+     * @return The workstation index.
+     */
+    public int idleWorkstationAt(int index) {
+        return workstations[index];
+    }
+
+    /**
+     * Gets the time the workstation stored at a heap position has been idle since.
+     *
+     * @param index Heap position, below {@link #idleCount()}.
+     * @return The free-at time.
+     */
+    public int idleSinceAt(int index) {
+        return freeAt[index];
+    }
+
+    /**
+     * Marks every registered workstation as busy; they are returned with {@link #release}.
+     */
+    public void clearIdle() {
+        size = 0;
+    }
+
+    public int idleCount() {
+        return size;
+    }
+
+    public boolean hasIdle() {
+        return size > 0;
+    }
+
+    /**
+     * Gets the number of workstations registered in the pool, idle or busy.
+     *
+     * @return The registered workstation count.
+     */
+    public int registeredCount() {
+        return registered;
+    }
+
+    private void siftDown(int workstation, int processingTime, int time) {
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && before(workstations[right], processingTimes[right], freeAt[right], child)) {
+                child = right;
+            }
+            if (!before(workstations[child], processingTimes[child], freeAt[child], workstation, processingTime, time)) {
+                break;
+            }
+            move(child, index);
+            index = child;
+        }
+        set(index, workstation, processingTime, time);
+    }
+
+    private boolean before(int workstation, int processingTime, int time, int heapIndex) {
+        return before(workstation, processingTime, time, workstations[heapIndex], processingTimes[heapIndex], freeAt[heapIndex]);
+    }
+
+    private static boolean before(int wsA, int timeA, int freeA, int wsB, int timeB, int freeB) {
+        if (timeA != timeB) {
+            return timeA < timeB;
+        }
+        if (freeA != freeB) {
+            return freeA < freeB;
+        }
+        return wsA < wsB;
+    }
+
+    private void move(int from, int to) {
+        set(to, workstations[from], processingTimes[from], freeAt[from]);
+    }
+
+    private void set(int index, int workstation, int processingTime, int time) {
+        workstations[index] = workstation;
+        processingTimes[index] = processingTime;
+        freeAt[index] = time;
+    }
+}
@@ -7,6 +7,7 @@ import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -112,7 +113,7 @@ public class PertCmpImporter {
                 System.out.println("Erro de parse no custo: " + parts[4]);
             }
 
-            String predecessorsStr = parts[5].trim();
+            String predecessorsStr = predecessorsColumn(parts);
             // Divide se tiver múltiplos predecessores separados por vírgula
             List<String> predecessors = new ArrayList<>();
             if (!predecessorsStr.isEmpty()) {
@@ -153,7 +154,7 @@ public class PertCmpImporter {
     private void addEdges(List<String[]> csvLines) {
         for (String[] parts : csvLines) {
             String actId = parts[0].trim();
-            String predecessorsStr = parts[5].trim();
+            String predecessorsStr = predecessorsColumn(parts);
 
             if (!predecessorsStr.isEmpty()) {
                 predecessorsStr = predecessorsStr.replaceAll("\"", "");
@@ -179,6 +180,14 @@ public class PertCmpImporter {
         }
     }
 
+    /**
+     * Junta as colunas a partir da sexta: uma lista de predecessores entre aspas ("A1,A2")
+     * também é dividida pelo split por vírgulas.
+     */
+    private static String predecessorsColumn(String[] parts) {
+        return String.join(",", Arrays.copyOfRange(parts, 5, parts.length)).trim();
+    }
+
     /**
      * Retorna o grafo PERT/CPM construído.
      */
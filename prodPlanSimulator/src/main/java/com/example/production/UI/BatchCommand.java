@@ -0,0 +1,326 @@
+package com.example.production.UI;
+
+import com.example.production.Domain.*;
+import com.example.production.Graphs.PertCmpImporter;
+import com.example.production.Utils.MappedCSVReader;
+import com.example.production.Utils.NullPrinter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Non-interactive entry point for scripted runs, e.g. nightly planning jobs. Each invocation runs
+ * one pipeline in a single pass and writes one report:
+ * <ul>
+ *     <li>{@code simulate}: load articles and workstations, run the simulation, report the
+ *     makespan, workstation usage and operation times;</li>
+ *     <li>{@code schedule}: import a PERT/CPM project, compute ES, EF, LS, LF and slack, export
+ *     them.</li>
+ * </ul>
+ * Options are {@code key=value} pairs, like those of {@link com.example.production.Utils.DatasetGenerator}.
+ * Paths are used as given (relative to the working directory); nothing is resolved against the
+ * repository, and nothing is read from the terminal or written to the database. The PERT/CPM
+ * importer prints its own diagnostics to the console, so machine-read schedule reports should go
+ * to an {@code output} file.
+ */
+public class BatchCommand {
+
+    private static final Logger logger = LogManager.getLogger(BatchCommand.class);
+
+    static final int OK = 0;
+    static final int FAILED = 1;
+    static final int USAGE_ERROR = 2;
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage:",
+            "  simulate articles=<csv> workstations=<csv> [strategy=FIFO|PRIORITY|SPT|EDD|CRITICAL_RATIO|LEAST_SLACK]",
+            "           [engine=DETERMINISTIC|PARALLEL|PROCESS|CONCURRENT] [threads=<n>] [format=text|csv|json] [output=<file>]",
+            "  schedule project=<csv> [format=text|csv|json] [output=<file>]",
+            "CONCURRENT only supports the FIFO and PRIORITY strategies; threads only applies to PARALLEL.",
+            "The report goes to standard output unless output is given.");
+
+    private enum Format {
+        TEXT, CSV, JSON
+    }
+
+    private final PrintStream out;
+    private final PrintStream err;
+
+    /**
+     * Constructs a command writing to the given streams.
+     *
+     * @param out Stream that receives the report when no output file is given.
+     * @param err Stream that receives usage and error messages.
+     */
+    public BatchCommand(PrintStream out, PrintStream err) {
+        this.out = out;
+        this.err = err;
+    }
+
+    public BatchCommand() {
+        this(System.out, System.err);
+    }
+
+    /**
+     * Runs a pipeline.
+     *
+     * @param args The pipeline name followed by its options.
+     * @return The exit status: 0 on success, 1 if the pipeline failed (including data rejected by the
+     * simulation), 2 for invalid arguments.
+     */
+    public int run(String... args) {
+        if (args.length == 0) {
+            err.println(USAGE);
+            return USAGE_ERROR;
+        }
+        try {
+            Map<String, String> options = parseOptions(args);
+            switch (args[0]) {
+                case "simulate":
+                    simulate(options);
+                    return OK;
+                case "schedule":
+                    schedule(options);
+                    return OK;
+                default:
+                    throw new UsageException("Unknown pipeline: " + args[0]);
+            }
+        } catch (UsageException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return USAGE_ERROR;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Batch {} failed: ", args[0], e);
+            err.println("Batch " + args[0] + " failed: " + e.getMessage());
+            return FAILED;
+        }
+    }
+
+    /**
+     * Load, simulate and report.
+     */
+    private void simulate(Map<String, String> options) throws IOException {
+        Path articlesFile = Paths.get(required(options, "articles"));
+        Path workstationsFile = Paths.get(required(options, "workstations"));
+        StandardDispatchRule rule = parseEnum(StandardDispatchRule.class, options.getOrDefault("strategy", "FIFO"), "strategy");
+        Simulation.EngineMode engine = parseEnum(Simulation.EngineMode.class,
+                options.getOrDefault("engine", "DETERMINISTIC"), "engine");
+        Format format = parseEnum(Format.class, options.getOrDefault("format", "TEXT"), "format");
+        Integer threads = options.containsKey("threads") ? parseInt(options.get("threads"), "threads") : null;
+        if (threads != null && threads < 1) {
+            throw new UsageException("Invalid threads: " + threads);
+        }
+        checkKnown(options, "articles", "workstations", "strategy", "engine", "threads", "format", "output");
+        Simulation.SimulationStrategy strategy = rule == StandardDispatchRule.PRIORITY
+                ? Simulation.SimulationStrategy.PRIORITY : Simulation.SimulationStrategy.FIFO;
+        if (engine == Simulation.EngineMode.CONCURRENT && rule != StandardDispatchRule.forStrategy(strategy)) {
+            throw new UsageException("Strategy " + rule.getName() + " is not supported by the CONCURRENT engine.");
+        }
+        if (threads != null && engine != Simulation.EngineMode.PARALLEL) {
+            throw new UsageException("Option threads only applies to the PARALLEL engine.");
+        }
+
+        List<Article> articles = new ArrayList<>();
+        List<Workstation> workstations = new ArrayList<>();
+        MappedCSVReader reader = new MappedCSVReader();
+        reader.readArticles(articlesFile, articles);
+        reader.readWorkstations(workstationsFile, workstations);
+
+        Simulation simulation = new Simulation(articles, workstations, new NullPrinter(), strategy, engine);
+        if (rule != StandardDispatchRule.forStrategy(strategy)) {
+            simulation.setDispatchRule(rule);
+        }
+        if (threads != null) {
+            simulation.setParallelism(threads);
+        }
+        simulation.runSimulation();
+        logger.info("Batch simulation of {} articles on {} workstations finished: makespan {}.",
+                articles.size(), workstations.size(), simulation.getTotalProductionTime());
+
+        try (PrintWriter report = openReport(options.get("output"))) {
+            writeSimulationReport(report, format, simulation, rule);
+        }
+    }
+
+    /**
+     * Import, schedule and export.
+     */
+    private void schedule(Map<String, String> options) throws IOException {
+        String projectFile = required(options, "project");
+        Format format = parseEnum(Format.class, options.getOrDefault("format", "TEXT"), "format");
+        checkKnown(options, "project", "format", "output");
+        if (!Files.isRegularFile(Paths.get(projectFile))) {
+            throw new FileNotFoundException(projectFile);
+        }
+
+        PertCmpImporter importer = new PertCmpImporter(projectFile);
+        importer.importAndBuildGraph();
+        List<Activity> activities = importer.getActivitiesList();
+        ScheduleCalculator.calculateSchedule(importer.getPertCpmGraph(), activities);
+        logger.info("Batch schedule of {} activities finished.", activities.size());
+
+        try (PrintWriter report = openReport(options.get("output"))) {
+            writeScheduleReport(report, format, activities);
+        }
+    }
+
+    private void writeSimulationReport(PrintWriter report, Format format, Simulation simulation, DispatchRule rule) {
+        int makespan = simulation.getTotalProductionTime();
+        Map<String, Integer> workstationUsage = new TreeMap<>(simulation.getWorkstationUsage());
+        Map<String, Integer> operationTimes = new TreeMap<>(simulation.getOperationTimes());
+        switch (format) {
+            case CSV:
+                report.println("section;key;value");
+                report.println("summary;makespan;" + makespan);
+                report.println("summary;rule;" + rule.getName());
+                workstationUsage.forEach((id, time) -> report.println("workstation;" + id + ";" + time));
+                operationTimes.forEach((operation, time) -> report.println("operation;" + operation + ";" + time));
+                break;
+            case JSON:
+                report.print("{\"makespan\":" + makespan + ",\"rule\":" + quote(rule.getName()));
+                report.print(",\"workstations\":" + jsonObject(workstationUsage));
+                report.println(",\"operations\":" + jsonObject(operationTimes) + "}");
+                break;
+            default:
+                report.println("Total production time: " + makespan);
+                report.println("Dispatch rule: " + rule.getName());
+                report.println("Workstation usage:");
+                workstationUsage.forEach((id, time) -> report.printf(Locale.ROOT, "  %-12s %10d %7.2f%%%n",
+                        id, time, simulation.getWorkstationUsagePercentage(id)));
+                report.println("Operation times:");
+                operationTimes.forEach((operation, time) -> report.printf(Locale.ROOT, "  %-12s %10d%n", operation, time));
+        }
+    }
+
+    private void writeScheduleReport(PrintWriter report, Format format, List<Activity> activities) {
+        switch (format) {
+            case CSV:
+                report.println("id;es;ef;ls;lf;slack");
+                for (Activity a : activities) {
+                    report.println(String.join(";", a.getId(), number(a.getEarliestStart()), number(a.getEarliestFinish()),
+                            number(a.getLatestStart()), number(a.getLatestFinish()), number(a.getSlack())));
+                }
+                break;
+            case JSON:
+                report.print("[");
+                for (int i = 0; i < activities.size(); i++) {
+                    Activity a = activities.get(i);
+                    report.print((i > 0 ? "," : "") + "{\"id\":" + quote(a.getId())
+                            + ",\"es\":" + number(a.getEarliestStart()) + ",\"ef\":" + number(a.getEarliestFinish())
+                            + ",\"ls\":" + number(a.getLatestStart()) + ",\"lf\":" + number(a.getLatestFinish())
+                            + ",\"slack\":" + number(a.getSlack()) + "}");
+                }
+                report.println("]");
+                break;
+            default:
+                report.printf(Locale.ROOT, "%-8s %10s %10s %10s %10s %10s%n", "ID", "ES", "EF", "LS", "LF", "Slack");
+                for (Activity a : activities) {
+                    report.printf(Locale.ROOT, "%-8s %10.2f %10.2f %10.2f %10.2f %10.2f%n", a.getId(), a.getEarliestStart(),
+                            a.getEarliestFinish(), a.getLatestStart(), a.getLatestFinish(), a.getSlack());
+                }
+        }
+    }
+
+    /**
+     * Opens the report destination: the output file, or the output stream (left open) if none.
+     */
+    private PrintWriter openReport(String output) throws IOException {
+        if (output == null || output.equals("-")) {
+            return new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+                @Override
+                public void close() {
+                    flush();
+                }
+            };
+        }
+        return new PrintWriter(Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            String[] pair = args[i].split("=", 2);
+            if (pair.length != 2 || pair[0].isEmpty()) {
+                throw new UsageException("Expected key=value, got: " + args[i]);
+            }
+            options.put(pair[0], pair[1]);
+        }
+        return options;
+    }
+
+    private static void checkKnown(Map<String, String> options, String... keys) {
+        Set<String> unknown = new TreeSet<>(options.keySet());
+        unknown.removeAll(Arrays.asList(keys));
+        if (!unknown.isEmpty()) {
+            throw new UsageException("Unknown option(s): " + String.join(", ", unknown));
+        }
+    }
+
+    private static String required(Map<String, String> options, String key) {
+        String value = options.get(key);
+        if (value == null || value.isEmpty()) {
+            throw new UsageException("Missing option: " + key + "=...");
+        }
+        return value;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String key) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new UsageException("Invalid " + key + ": " + value);
+        }
+    }
+
+    private static int parseInt(String value, String key) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new UsageException("Invalid " + key + ": " + value);
+        }
+    }
+
+    private static String number(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+    }
+
+    private static String jsonObject(Map<String, Integer> values) {
+        StringBuilder json = new StringBuilder("{");
+        for (Map.Entry<String, Integer> entry : values.entrySet()) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append(quote(entry.getKey())).append(':').append(entry.getValue());
+        }
+        return json.append('}').toString();
+    }
+
+    private static String quote(String value) {
+        StringBuilder json = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    /**
+     * Invalid command line: reported with the usage text and exit status 2.
+     */
+    private static final class UsageException extends RuntimeException {
+        private UsageException(String message) {
+            super(message);
+        }
+    }
+}
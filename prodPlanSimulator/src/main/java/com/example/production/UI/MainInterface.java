@@ -8,6 +8,7 @@ import com.example.production.Graphs.USLP04GraphsGene;
 import com.example.production.Service.DataImportService;
 import com.example.production.Utils.CSVReader;
 import com.example.production.Utils.ConsolePrinter;
+import com.example.production.Utils.MappedCSVReader;
 import com.example.production.Utils.Printer;
 import com.example.production.Utils.RepPathUtils;
 import org.apache.logging.log4j.LogManager;
@@ -23,6 +24,8 @@ import org.jline.terminal.TerminalBuilder;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 import java.util.*;
 
 /**
@@ -83,19 +86,12 @@ public class MainInterface {
 
     /**
      * Constructor that allows injection of Printer dependencies.
+     * The terminal is only built when the first line is read, after the welcome message is shown.
      *
      * @param printer Implementation of Printer.
-     * @throws Exception If an error occurs while initializing the terminal.
+     * @throws Exception If an error occurs while initializing the interface.
      */
     public MainInterface(Printer printer) throws Exception {
-        Terminal terminal = TerminalBuilder.builder()
-                .system(true)
-                .build();
-        Parser parser = new DefaultParser();
-        reader = LineReaderBuilder.builder()
-                .terminal(terminal)
-                .parser(parser)
-                .build();
         this.printer = printer;
     }
 
@@ -108,16 +104,41 @@ public class MainInterface {
         this(new ConsolePrinter());
     }
 
+    /**
+     * Gets the line reader, building the system terminal on first use.
+     *
+     * @return The line reader.
+     * @throws UncheckedIOException If the terminal cannot be initialized.
+     */
+    private LineReader reader() {
+        if (reader == null) {
+            try {
+                Terminal terminal = TerminalBuilder.builder()
+                        .system(true)
+                        .build();
+                Parser parser = new DefaultParser();
+                reader = LineReaderBuilder.builder()
+                        .terminal(terminal)
+                        .parser(parser)
+                        .build();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to initialize the terminal.", e);
+            }
+        }
+        return reader;
+    }
+
     /**
      * Starts the text-based interface.
      */
     public void start() {
         printer.printWelcomeMessage();
+        LineReader lineReader = reader();
         while (true) {
             displayMainMenu();
             String input;
             try {
-                input = reader.readLine("Select an option: ").trim();
+                input = lineReader.readLine("Select an option: ").trim();
                 handleCommand(input);
             } catch (UserInterruptException | EndOfFileException e) {
                 printer.printSimulationExitedMessage();
@@ -271,14 +292,15 @@ private void updateAverageProductionTimes() {
             String articlesFile = RepPathUtils.getAbsolutePath(ARTICLES_CSV_PATH);
             String workstationsFile = RepPathUtils.getAbsolutePath(WORKSTATIONS_CSV_PATH);
 
-            CSVReader.readCSVFile(articlesFile, "article", articles, workstations, null);
-            CSVReader.readCSVFile(workstationsFile, "workstation", articles, workstations, null);
+            MappedCSVReader csvReader = new MappedCSVReader();
+            csvReader.readArticles(Paths.get(articlesFile), articles);
+            csvReader.readWorkstations(Paths.get(workstationsFile), workstations);
 
             System.out.println("\nChoose the simulation strategy:");
             System.out.println("1. FIFO (First In, First Out)");
             System.out.println("2. Priority (Based on article priority)");
 
-            String input = reader.readLine("Choose the strategy (1 for FIFO, 2 for Priority): ").trim();
+            String input = reader().readLine("Choose the strategy (1 for FIFO, 2 for Priority): ").trim();
 
             Simulation.SimulationStrategy strategy;
 
@@ -367,7 +389,7 @@ private void updateAverageProductionTimes() {
                 System.out.println((i + 1) + ". " + productName + " (ID: " + productId + ")");
             }
 
-            String input = reader.readLine("Select a product to display its production tree (enter number): ").trim();
+            String input = reader().readLine("Select a product to display its production tree (enter number): ").trim();
             int selection;
             try {
                 selection = Integer.parseInt(input);
@@ -455,7 +477,7 @@ private void updateAverageProductionTimes() {
                 System.out.println((i + 1) + ". " + productName + " (ID: " + productId + ")");
             }
 
-            String input = reader.readLine("Select a product to view its critical path (enter number): ").trim();
+            String input = reader().readLine("Select a product to view its critical path (enter number): ").trim();
             int selection;
             try {
                 selection = Integer.parseInt(input);
@@ -523,7 +545,7 @@ private void updateAverageProductionTimes() {
                 System.out.println((i + 1) + ". " + productName + " (ID: " + productId + ")");
             }
 
-            String input = reader.readLine("Select a product to update its materials (enter number): ").trim();
+            String input = reader().readLine("Select a product to update its materials (enter number): ").trim();
             int selection;
             try {
                 selection = Integer.parseInt(input);
@@ -554,7 +576,7 @@ private void updateAverageProductionTimes() {
                         + ", Current Quantity: " + material.getQuantity() + ")");
             }
 
-            String materialInput = reader.readLine("Select a material to update (enter number): ").trim();
+            String materialInput = reader().readLine("Select a material to update (enter number): ").trim();
             int materialSelection;
             try {
                 materialSelection = Integer.parseInt(materialInput);
@@ -569,7 +591,7 @@ private void updateAverageProductionTimes() {
 
             ProductionNode selectedMaterial = materials.get(materialSelection - 1);
 
-            String newQuantityInput = reader.readLine("Enter the new quantity for "
+            String newQuantityInput = reader().readLine("Enter the new quantity for "
                     + selectedMaterial.getName() + ": ").trim();
             int newQuantity;
             try {
@@ -709,7 +731,7 @@ private void updateAverageProductionTimes() {
                 System.out.println((i + 1) + ". " + productName + " (ID: " + productId + ")");
             }
 
-            String input = reader.readLine("Select a product to generate its graph (enter number): ").trim();
+            String input = reader().readLine("Select a product to generate its graph (enter number): ").trim();
             int selection;
             try {
                 selection = Integer.parseInt(input);
@@ -826,7 +848,7 @@ private void updateAverageProductionTimes() {
         System.out.println("\n=== Importar PERT/CPM de CSV ===");
 
         // Lê o caminho do ficheiro a partir do utilizador
-        String csvPath = reader.readLine("Digite o caminho do CSV (ex: /home/user/pert_data.csv): ").trim();
+        String csvPath = reader().readLine("Digite o caminho do CSV (ex: /home/user/pert_data.csv): ").trim();
 
         if (csvPath.isEmpty()) {
             System.out.println("Caminho inválido. Operação cancelada.");
@@ -975,7 +997,7 @@ private void updateAverageProductionTimes() {
         try {
             System.out.println("\n=== Put Components into Production ===");
             System.out.print("Enter the Product ID to extract BOO and prepare components for production: ");
-            String productId = reader.readLine().trim();
+            String productId = reader().readLine().trim();
 
             ProductionTree booTree = extractBooTree(productId);
             if (booTree == null) {
@@ -1038,7 +1060,7 @@ private void updateAverageProductionTimes() {
 
             // Confirm with the user before proceeding
             System.out.print("This process will overwrite existing CSV files. Do you wish to continue? (y/n): ");
-            String confirmation = reader.readLine().trim().toLowerCase();
+            String confirmation = reader().readLine().trim().toLowerCase();
             if (!confirmation.equals("y")) {
                 System.out.println("Operation canceled by the user.");
                 return;
@@ -0,0 +1,382 @@
+package com.example.production.Utils;
+
+import com.example.production.Domain.ProductionTree;
+import com.example.production.Domain.Simulation;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Printer that takes processing events off the simulation thread. Events are copied into a
+ * bounded ring buffer and a background writer formats them in batches (same layout as
+ * {@link ConsolePrinter}) and writes each batch to the output in one chunk.
+ * <p>
+ * When the buffer is full the {@link OverflowPolicy} decides whether the simulation waits for the
+ * writer or events are dropped. Every other Printer call first waits until the buffered events
+ * have been written and is then handed to the delegate printer, so headers and summaries stay in
+ * order with the events.
+ */
+public class AsyncPrinter implements Printer, Closeable {
+
+    private static final Logger logger = LogManager.getLogger(AsyncPrinter.class);
+
+    static final int DEFAULT_CAPACITY = 1 << 16;
+    private static final int BATCH_SIZE = 1024;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    /**
+     * What to do with a new event when the ring buffer is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The simulation thread waits until the writer frees a slot (back-pressure); no event is lost.
+         */
+        BLOCK,
+        /**
+         * The new event is discarded.
+         */
+        DROP_NEWEST,
+        /**
+         * The oldest buffered event is discarded to make room for the new one.
+         */
+        DROP_OLDEST
+    }
+
+    private final Printer delegate;
+    private final Writer output;
+    private final OverflowPolicy policy;
+    private final int capacity;
+
+    private final String[] articleIds;
+    private final String[] operations;
+    private final String[] workstationIds;
+    private final String[] workstationOperations;
+    private final int[] startTimes;
+    private final int[] finishTimes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition written = lock.newCondition();
+    private long head;
+    private long tail;
+    private long writtenEvents;
+    private long droppedEvents;
+    private boolean closed;
+    private IOException failure;
+
+    private final Thread writer;
+
+    /**
+     * Constructs an asynchronous printer for the console that blocks when its buffer is full.
+     *
+     * @param delegate Printer for everything except processing events, e.g. a {@link ConsolePrinter}.
+     */
+    public AsyncPrinter(Printer delegate) {
+        this(delegate, new PrintWriter(System.out), DEFAULT_CAPACITY, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Constructs an asynchronous printer.
+     *
+     * @param delegate Printer for everything except processing events.
+     * @param output   Destination of the processing events; flushed but not closed by {@link #close()}.
+     * @param capacity Number of events the ring buffer holds.
+     * @param policy   What to do when the ring buffer is full.
+     */
+    public AsyncPrinter(Printer delegate, Writer output, int capacity, OverflowPolicy policy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1.");
+        }
+        this.delegate = delegate;
+        this.output = output;
+        this.policy = policy;
+        this.capacity = capacity;
+        this.articleIds = new String[capacity];
+        this.operations = new String[capacity];
+        this.workstationIds = new String[capacity];
+        this.workstationOperations = new String[capacity];
+        this.startTimes = new int[capacity];
+        this.finishTimes = new int[capacity];
+
+        this.writer = new Thread(this::drain, "async-printer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void printProcessingEvent(String articleId, String operation, String workstationId, String workstationOperation, int startTime, int finishTime) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Printer already closed.");
+            }
+            if (tail - head == capacity) {
+                switch (policy) {
+                    case BLOCK:
+                        while (tail - head == capacity && !closed) {
+                            notFull.awaitUninterruptibly();
+                        }
+                        if (closed) {
+                            throw new IllegalStateException("Printer closed while waiting for space.");
+                        }
+                        break;
+                    case DROP_NEWEST:
+                        droppedEvents++;
+                        return;
+                    case DROP_OLDEST:
+                        head++;
+                        droppedEvents++;
+                        break;
+                }
+            }
+            int slot = (int) (tail % capacity);
+            articleIds[slot] = articleId;
+            operations[slot] = operation;
+            workstationIds[slot] = workstationId;
+            workstationOperations[slot] = workstationOperation;
+            startTimes[slot] = startTime;
+            finishTimes[slot] = finishTime;
+            tail++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Background loop: takes up to {@link #BATCH_SIZE} events at a time, formats them outside the
+     * lock and writes them as one chunk.
+     */
+    private void drain() {
+        String[] batchArticles = new String[BATCH_SIZE];
+        String[] batchOperations = new String[BATCH_SIZE];
+        String[] batchWorkstations = new String[BATCH_SIZE];
+        String[] batchWorkstationOperations = new String[BATCH_SIZE];
+        int[] batchStarts = new int[BATCH_SIZE];
+        int[] batchFinishes = new int[BATCH_SIZE];
+        StringBuilder chunk = new StringBuilder(BATCH_SIZE * 96);
+
+        while (true) {
+            int count = 0;
+            long taken;
+            lock.lock();
+            try {
+                while (head == tail && !closed) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                if (head == tail) {
+                    return;
+                }
+                while (head < tail && count < BATCH_SIZE) {
+                    int slot = (int) (head % capacity);
+                    batchArticles[count] = articleIds[slot];
+                    batchOperations[count] = operations[slot];
+                    batchWorkstations[count] = workstationIds[slot];
+                    batchWorkstationOperations[count] = workstationOperations[slot];
+                    batchStarts[count] = startTimes[slot];
+                    batchFinishes[count] = finishTimes[slot];
+                    articleIds[slot] = operations[slot] = workstationIds[slot] = workstationOperations[slot] = null;
+                    head++;
+                    count++;
+                }
+                taken = head;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            chunk.setLength(0);
+            for (int i = 0; i < count; i++) {
+                pad(chunk, batchArticles[i], 10).append(" | ");
+                pad(chunk, batchOperations[i], 15).append(" | ");
+                pad(chunk, batchWorkstations[i], 15).append(" | ");
+                pad(chunk, batchWorkstationOperations[i], 20).append(" | ");
+                pad(chunk, Integer.toString(batchStarts[i]), 10).append(" | ");
+                pad(chunk, Integer.toString(batchFinishes[i]), 10).append(LINE_SEPARATOR);
+            }
+            IOException error = null;
+            try {
+                output.append(chunk);
+                output.flush();
+            } catch (IOException e) {
+                error = e;
+            }
+
+            lock.lock();
+            try {
+                if (error != null && failure == null) {
+                    failure = error;
+                    logger.error("Async printer failed to write events: {}", error.getMessage(), error);
+                }
+                writtenEvents = taken;
+                written.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static StringBuilder pad(StringBuilder chunk, String value, int width) {
+        chunk.append(value);
+        for (int i = value == null ? 4 : value.length(); i < width; i++) {
+            chunk.append(' ');
+        }
+        return chunk;
+    }
+
+    /**
+     * Waits until every event handed over so far has been written.
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            long target = tail;
+            while (writtenEvents < target && writer.isAlive()) {
+                written.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of events discarded because the ring buffer was full.
+     *
+     * @return The dropped event count (always 0 with {@link OverflowPolicy#BLOCK}).
+     */
+    public long getDroppedEvents() {
+        lock.lock();
+        try {
+            return droppedEvents;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the remaining events and stops the background writer. The output is flushed, not closed.
+     *
+     * @throws IOException If writing an event failed.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(60));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (droppedEvents > 0) {
+            logger.warn("Async printer dropped {} processing event(s) ({} policy).", droppedEvents, policy);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public void printSimulationHeader() {
+        flush();
+        delegate.printSimulationHeader();
+    }
+
+    @Override
+    public void printSimulationSummary(int totalProductionTime, Map<String, Integer> workstationUsageTracker) {
+        flush();
+        delegate.printSimulationSummary(totalProductionTime, workstationUsageTracker);
+    }
+
+    @Override
+    public void printTotalProductionTime(int totalTime) {
+        flush();
+        delegate.printTotalProductionTime(totalTime);
+    }
+
+    @Override
+    public void printOperationTimes(Map<String, Integer> operationTimes, Simulation simulation) {
+        flush();
+        delegate.printOperationTimes(operationTimes, simulation);
+    }
+
+    @Override
+    public void printWorkstationUsage(Map<String, Integer> workstationUsage, Simulation simulation) {
+        flush();
+        delegate.printWorkstationUsage(workstationUsage, simulation);
+    }
+
+    @Override
+    public void printWelcomeMessage() {
+        flush();
+        delegate.printWelcomeMessage();
+    }
+
+    @Override
+    public void printHelp() {
+        flush();
+        delegate.printHelp();
+    }
+
+    @Override
+    public void printLoadDataSuccess(int numberOfArticles, int numberOfWorkstations) {
+        flush();
+        delegate.printLoadDataSuccess(numberOfArticles, numberOfWorkstations);
+    }
+
+    @Override
+    public void printLoadDataFailure(String errorMessage) {
+        flush();
+        delegate.printLoadDataFailure(errorMessage);
+    }
+
+    @Override
+    public void printUnknownCommandMessage() {
+        flush();
+        delegate.printUnknownCommandMessage();
+    }
+
+    @Override
+    public void printSimulationNotExecutedMessage() {
+        flush();
+        delegate.printSimulationNotExecutedMessage();
+    }
+
+    @Override
+    public void printSimulationExecutedMessage() {
+        flush();
+        delegate.printSimulationExecutedMessage();
+    }
+
+    @Override
+    public void printSimulationExitedMessage() {
+        flush();
+        delegate.printSimulationExitedMessage();
+    }
+
+    @Override
+    public void printProductionTree(ProductionTree productionTree) {
+        flush();
+        delegate.printProductionTree(productionTree);
+    }
+
+    @Override
+    public void clearScreen() {
+        flush();
+        delegate.clearScreen();
+    }
+}
@@ -285,7 +285,8 @@ return rootNode;
     }
 
     /**
-     * Processes a line from workstations.csv and adds a Workstation to the list.
+     * Processes a line from workstations.csv and adds a Workstation to the list. Optional fourth
+     * and fifth columns give the setup time and the batch size.
      *
      * @param tokens       The split line data from the CSV file.
      * @param workstations The list to which the created Workstation object will be added.
@@ -302,7 +303,17 @@ return rootNode;
         } catch (NumberFormatException e) {
             time = 1;
         }
-        Workstation workstation = new Workstation(workstationId, operationName, time);
+        int setupTime = tokens.length > 3 ? parseOrDefault(tokens[3], 0) : 0;
+        int batchSize = tokens.length > 4 ? Math.max(1, parseOrDefault(tokens[4], 1)) : 1;
+        Workstation workstation = new Workstation(workstationId, operationName, time, Math.max(0, setupTime), batchSize);
         workstations.add(workstation);
     }
+
+    private static int parseOrDefault(String token, int defaultValue) {
+        try {
+            return Integer.parseInt(token.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
 }
@@ -0,0 +1,288 @@
+package com.example.production.Utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Generates synthetic input files of any size in the formats read by {@link CSVReader} and
+ * {@link com.example.production.Graphs.PertCmpImporter}: articles.csv, workstations.csv, the
+ * boo_v2.csv/items.csv/operations.csv triple and a PERT/CPM project CSV.
+ * <p>
+ * All output is derived from a single seed, so the same parameters always produce the same files.
+ * Operation names are {@code OP1..OPn}; the BOO operations reuse these names so that a generated BOO
+ * can be matched with the generated workstations.
+ */
+public class DatasetGenerator {
+
+    private static final String[] PRIORITIES = {"HIGH", "NORMAL", "LOW"};
+
+    /**
+     * Upper bound on the number of BOO operations, to catch depth/fan-out combinations that would
+     * not fit in memory when read back.
+     */
+    public static final long MAX_BOO_OPERATIONS = 50_000_000L;
+
+    private final Random random;
+
+    /**
+     * Constructs a generator.
+     *
+     * @param seed Seed of the random number generator.
+     */
+    public DatasetGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Gets the name of the n-th generated operation.
+     *
+     * @param operation The operation index, starting at 0.
+     * @return The operation name ({@code OP1} for index 0).
+     */
+    public static String operationName(int operation) {
+        return "OP" + (operation + 1);
+    }
+
+    /**
+     * Writes an articles file ({@code article;priority;name_oper1;...}).
+     * Each article gets a random priority and a routing of {@code routingLength} operations without
+     * the same operation twice in a row.
+     *
+     * @param file           The file to write.
+     * @param articleCount   Number of articles.
+     * @param operationCount Number of distinct operations to choose from.
+     * @param routingLength  Number of operations of each article.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writeArticles(Path file, int articleCount, int operationCount, int routingLength) throws IOException {
+        requirePositive(operationCount, "operationCount");
+        requirePositive(routingLength, "routingLength");
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            StringBuilder header = new StringBuilder("article;priority");
+            for (int i = 1; i <= routingLength; i++) {
+                header.append(";name_oper").append(i);
+            }
+            out.write(header.append('\n').toString());
+
+            StringBuilder line = new StringBuilder();
+            for (int a = 1; a <= articleCount; a++) {
+                line.setLength(0);
+                line.append(a).append(';').append(PRIORITIES[random.nextInt(PRIORITIES.length)]);
+                int previous = -1;
+                for (int i = 0; i < routingLength; i++) {
+                    int operation = random.nextInt(operationCount);
+                    if (operation == previous && operationCount > 1) {
+                        operation = (operation + 1 + random.nextInt(operationCount - 1)) % operationCount;
+                    }
+                    line.append(';').append(operationName(operation));
+                    previous = operation;
+                }
+                out.write(line.append('\n').toString());
+            }
+        }
+    }
+
+    /**
+     * Writes a workstations file ({@code workstation;name_oper;time}) with the same number of
+     * workstations for every operation.
+     *
+     * @param file                     The file to write.
+     * @param operationCount           Number of distinct operations.
+     * @param workstationsPerOperation Number of workstations of each operation.
+     * @param maxTime                  Maximum processing time; times are drawn from 1 to maxTime.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writeWorkstations(Path file, int operationCount, int workstationsPerOperation, int maxTime) throws IOException {
+        requirePositive(maxTime, "maxTime");
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("workstation;name_oper;time\n");
+            for (int o = 0; o < operationCount; o++) {
+                for (int w = 1; w <= workstationsPerOperation; w++) {
+                    out.write("ws" + (o + 1) + "_" + w + ";" + operationName(o) + ";" + (1 + random.nextInt(maxTime)) + "\n");
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a bill of operations as a complete tree: the final operation sits at depth 0 and every
+     * operation above {@code depth} has {@code fanOut} sub-operations. Operations at the maximum
+     * depth consume one or two raw materials instead. The BOO uses the parenthesized layout of
+     * boo_v2.csv ({@code op_id;item_id;item_qtd;(;op1;op_qtd1;...;);(;item_id1;item_qtd1;...;)}).
+     * <p>
+     * Operation IDs are 1..n in breadth-first order, so operation {@code i} has the sub-operations
+     * {@code (i-1)*fanOut+2 .. (i-1)*fanOut+fanOut+1}. Item IDs start above every operation ID so
+     * the two never collide in a production tree; the raw materials are numbered after the products
+     * of the operations, so every item ID is unique.
+     *
+     * @param booFile        The BOO file to write.
+     * @param itemsFile      The items file to write ({@code id_item;item_name}).
+     * @param operationsFile The operations file to write ({@code op_id;op_name}).
+     * @param depth          Depth of the operation tree (0 writes a single operation).
+     * @param fanOut         Number of sub-operations of each non-leaf operation.
+     * @param operationCount Number of distinct operation names, matching {@link #writeWorkstations}.
+     * @return The number of operations written.
+     * @throws IOException If a file cannot be written.
+     */
+    public int writeBoo(Path booFile, Path itemsFile, Path operationsFile, int depth, int fanOut, int operationCount) throws IOException {
+        if (depth < 0) {
+            throw new IllegalArgumentException("depth must not be negative.");
+        }
+        requirePositive(fanOut, "fanOut");
+        requirePositive(operationCount, "operationCount");
+
+        long total = 0;
+        long level = 1;
+        for (int d = 0; d <= depth; d++) {
+            total += level;
+            level *= fanOut;
+            if (total > MAX_BOO_OPERATIONS) {
+                throw new IllegalArgumentException("BOO with depth " + depth + " and fan-out " + fanOut
+                        + " exceeds " + MAX_BOO_OPERATIONS + " operations.");
+            }
+        }
+        int operations = (int) total;
+        int internal = (int) (total - level / fanOut);
+        int itemBase = 1;
+        while (itemBase <= operations) {
+            itemBase *= 10;
+        }
+        int rawBase = itemBase + operations + 1;
+
+        try (BufferedWriter boo = Files.newBufferedWriter(booFile, StandardCharsets.UTF_8);
+             BufferedWriter items = Files.newBufferedWriter(itemsFile, StandardCharsets.UTF_8);
+             BufferedWriter ops = Files.newBufferedWriter(operationsFile, StandardCharsets.UTF_8)) {
+            boo.write("op_id;item_id;item_qtd;(;op1;op_qtd1;op2;op_qtd2;opN;op_qtdN;);(;item_id1;item_qtd1;item_id1;item_qtd1;item_id1;item_qtd1;)\n");
+            items.write("id_item;item_name\n");
+            ops.write("op_id;op_name\n");
+
+            StringBuilder line = new StringBuilder();
+            int rawCount = 0;
+            for (int op = 1; op <= operations; op++) {
+                int product = itemBase + op;
+                items.write(product + ";" + (op == 1 ? "product" : "part " + op) + "\n");
+                ops.write(op + ";" + operationName((op - 1) % operationCount) + "\n");
+
+                line.setLength(0);
+                line.append(op).append(';').append(product).append(";1;(;");
+                if (op <= internal) {
+                    for (int c = 0; c < fanOut; c++) {
+                        line.append((long) (op - 1) * fanOut + c + 2).append(';').append(1 + random.nextInt(2)).append(';');
+                    }
+                    line.append(");(;)\n");
+                } else {
+                    line.append(");(;");
+                    int materials = 1 + random.nextInt(2);
+                    for (int m = 0; m < materials; m++) {
+                        int raw = rawBase + rawCount++;
+                        items.write(raw + ";raw material " + raw + "\n");
+                        line.append(raw).append(';').append(1 + random.nextInt(4)).append(';');
+                    }
+                    line.append(")\n");
+                }
+                boo.write(line.toString());
+            }
+        }
+        return operations;
+    }
+
+    /**
+     * Writes a PERT/CPM project ({@code ActivKey,descr,duration,duration-unit,tot-cost,predecessors}).
+     * Activities are numbered A1..An; each one depends on each of the previous {@code window}
+     * activities with probability {@code density}, so the graph is always acyclic and holds about
+     * {@code n * window * density} edges. Multiple predecessors are quoted, as in large_project.csv.
+     *
+     * @param file          The file to write.
+     * @param activityCount Number of activities.
+     * @param density       Probability of each candidate dependency, from 0 to 1.
+     * @param window        Number of preceding activities that are candidate predecessors.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writePertProject(Path file, int activityCount, double density, int window) throws IOException {
+        if (density < 0 || density > 1) {
+            throw new IllegalArgumentException("density must be between 0 and 1.");
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("ActivKey,descr,duration,duration-unit,tot-cost,predecessors\n");
+            StringBuilder line = new StringBuilder();
+            List<String> predecessors = new ArrayList<>();
+            for (int a = 1; a <= activityCount; a++) {
+                predecessors.clear();
+                for (int p = Math.max(1, a - window); p < a; p++) {
+                    if (random.nextDouble() < density) {
+                        predecessors.add("A" + p);
+                    }
+                }
+                line.setLength(0);
+                line.append('A').append(a).append(',').append(a == 1 ? "Start project" : "Task A" + a).append(',')
+                        .append(1 + random.nextInt(10)).append(",days,")
+                        .append(a == 1 ? 0 : 100 + random.nextInt(9900)).append(',');
+                if (predecessors.size() == 1) {
+                    line.append(predecessors.get(0));
+                } else if (!predecessors.isEmpty()) {
+                    line.append('"').append(String.join(",", predecessors)).append('"');
+                }
+                out.write(line.append('\n').toString());
+            }
+        }
+    }
+
+    private static void requirePositive(int value, String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " must be at least 1.");
+        }
+    }
+
+    /**
+     * Writes a full dataset to a directory: articles.csv, workstations.csv, boo_v2.csv, items.csv,
+     * operations.csv and project.csv.
+     * <p>
+     * Usage: {@code DatasetGenerator <outputDir> [key=value ...]} with the keys seed, articles,
+     * operations, routing, workstations, maxTime, depth, fanOut, activities, density and window.
+     *
+     * @param args The output directory followed by optional parameters.
+     * @throws IOException If a file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: DatasetGenerator <outputDir> [seed=42] [articles=1000] [operations=10] [routing=5]"
+                    + " [workstations=3] [maxTime=100] [depth=4] [fanOut=3] [activities=1000] [density=0.3] [window=10]");
+            System.exit(1);
+        }
+        Path directory = Paths.get(args[0]);
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            String[] pair = args[i].split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected key=value, got: " + args[i]);
+            }
+            options.put(pair[0], pair[1]);
+        }
+
+        int operations = Integer.parseInt(options.getOrDefault("operations", "10"));
+        DatasetGenerator generator = new DatasetGenerator(Long.parseLong(options.getOrDefault("seed", "42")));
+        Files.createDirectories(directory);
+
+        generator.writeArticles(directory.resolve("articles.csv"),
+                Integer.parseInt(options.getOrDefault("articles", "1000")), operations,
+                Integer.parseInt(options.getOrDefault("routing", "5")));
+        generator.writeWorkstations(directory.resolve("workstations.csv"), operations,
+                Integer.parseInt(options.getOrDefault("workstations", "3")),
+                Integer.parseInt(options.getOrDefault("maxTime", "100")));
+        int booOperations = generator.writeBoo(directory.resolve("boo_v2.csv"), directory.resolve("items.csv"),
+                directory.resolve("operations.csv"),
+                Integer.parseInt(options.getOrDefault("depth", "4")),
+                Integer.parseInt(options.getOrDefault("fanOut", "3")), operations);
+        generator.writePertProject(directory.resolve("project.csv"),
+                Integer.parseInt(options.getOrDefault("activities", "1000")),
+                Double.parseDouble(options.getOrDefault("density", "0.3")),
+                Integer.parseInt(options.getOrDefault("window", "10")));
+
+        System.out.println("Dataset written to " + directory.toAbsolutePath() + " (" + booOperations + " BOO operations).");
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.production.Utils;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Event calendar for the simulation kernel.
+ * A binary min-heap of slot indices over parallel primitive arrays, ordered by event time and,
+ * for events at the same time, by insertion order. Slots are recycled through a free list, so once
+ * the arrays have grown to the peak number of pending events no further allocation happens.
+ * <p>
+ * The calendar is not thread-safe; it is meant to be owned by a single event loop.
+ * Events are read through a cursor: {@link #poll()} moves the earliest event into the current
+ * position, which is then read with {@link #time()}, {@link #type()}, {@link #article()} and
+ * {@link #workstation()}.
+ */
+public final class EventCalendar {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    // Slot storage
+    private int[] times;
+    private long[] sequences;
+    private int[] types;
+    private int[] articles;
+    private int[] workstations;
+    private int[] freeSlots;
+    private int freeCount;
+    private int allocatedSlots;
+
+    // Heap of slot indices
+    private int[] heap;
+    private int size;
+    private long nextSequence;
+
+    // Current event (last polled)
+    private int currentTime;
+    private int currentType;
+    private int currentArticle;
+    private int currentWorkstation;
+
+    public EventCalendar() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty calendar.
+     *
+     * @param initialCapacity Number of pending events the calendar can hold before growing.
+     */
+    public EventCalendar(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        times = new int[capacity];
+        sequences = new long[capacity];
+        types = new int[capacity];
+        articles = new int[capacity];
+        workstations = new int[capacity];
+        freeSlots = new int[capacity];
+        heap = new int[capacity];
+    }
+
+    /**
+     * Schedules an event.
+     *
+     * @param time        The simulation time of the event.
+     * @param type        Caller-defined event type.
+     * @param article     Index of the article involved.
+     * @param workstation Index of the workstation involved.
+     */
+    public void schedule(int time, int type, int article, int workstation) {
+        int slot = allocateSlot();
+        times[slot] = time;
+        sequences[slot] = nextSequence++;
+        types[slot] = type;
+        articles[slot] = article;
+        workstations[slot] = workstation;
+
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        heap[size] = slot;
+        siftUp(size++);
+    }
+
+    /**
+     * Removes the earliest event and makes it the current event.
+     *
+     * @return true if an event was polled, false if the calendar is empty.
+     */
+    public boolean poll() {
+        if (size == 0) {
+            return false;
+        }
+        int slot = heap[0];
+        currentTime = times[slot];
+        currentType = types[slot];
+        currentArticle = articles[slot];
+        currentWorkstation = workstations[slot];
+
+        heap[0] = heap[--size];
+        if (size > 0) {
+            siftDown(0);
+        }
+        freeSlots[freeCount++] = slot;
+        return true;
+    }
+
+    /**
+     * Gets the time of the earliest pending event without removing it.
+     *
+     * @return The time of the next event.
+     * @throws NoSuchElementException If the calendar is empty.
+     */
+    public int peekTime() {
+        if (size == 0) {
+            throw new NoSuchElementException("Event calendar is empty.");
+        }
+        return times[heap[0]];
+    }
+
+    public int time() {
+        return currentTime;
+    }
+
+    public int type() {
+        return currentType;
+    }
+
+    public int article() {
+        return currentArticle;
+    }
+
+    public int workstation() {
+        return currentWorkstation;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copies the pending events into arrays, in the order they were scheduled. Scheduling them
+     * again in that order reproduces the calendar, e.g. when a simulation is restored.
+     *
+     * @param times        Receives the event times; at least {@link #size()} long.
+     * @param types        Receives the event types.
+     * @param articles     Receives the article indexes.
+     * @param workstations Receives the workstation indexes.
+     */
+    public void copyPending(int[] times, int[] types, int[] articles, int[] workstations) {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = heap[i];
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(sequences[a], sequences[b]));
+        for (int i = 0; i < size; i++) {
+            int slot = order[i];
+            times[i] = this.times[slot];
+            types[i] = this.types[slot];
+            articles[i] = this.articles[slot];
+            workstations[i] = this.workstations[slot];
+        }
+    }
+
+    /**
+     * Removes every pending event. Allocated storage is kept for reuse.
+     */
+    public void clear() {
+        size = 0;
+        freeCount = 0;
+        allocatedSlots = 0;
+        nextSequence = 0;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (allocatedSlots == times.length) {
+            int capacity = times.length * 2;
+            times = Arrays.copyOf(times, capacity);
+            sequences = Arrays.copyOf(sequences, capacity);
+            types = Arrays.copyOf(types, capacity);
+            articles = Arrays.copyOf(articles, capacity);
+            workstations = Arrays.copyOf(workstations, capacity);
+            freeSlots = Arrays.copyOf(freeSlots, capacity);
+        }
+        return allocatedSlots++;
+    }
+
+    private boolean before(int slotA, int slotB) {
+        int timeA = times[slotA];
+        int timeB = times[slotB];
+        return timeA < timeB || (timeA == timeB && sequences[slotA] < sequences[slotB]);
+    }
+
+    private void siftUp(int index) {
+        int slot = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            int parentSlot = heap[parent];
+            if (!before(slot, parentSlot)) {
+                break;
+            }
+            heap[index] = parentSlot;
+            index = parent;
+        }
+        heap[index] = slot;
+    }
+
+    private void siftDown(int index) {
+        int slot = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && before(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!before(heap[child], slot)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = slot;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.production.Utils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Histogram of non-negative long values with log-linear buckets: values below 32 are counted
+ * exactly and larger values fall into 32 buckets per power of two, so any percentile is reported
+ * within about 3% of the true value. Recording is an index computation and an array increment;
+ * the bucket array only grows up to the largest value seen.
+ */
+public class Histogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    private long[] counts = new long[SUB_BUCKETS * 2];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    /**
+     * Records a value. Negative values are recorded as 0.
+     *
+     * @param value The value.
+     */
+    public void record(long value) {
+        value = Math.max(0, value);
+        int index = bucketOf(value);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(counts.length * 2, index + 1));
+        }
+        counts[index]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the smallest recorded value.
+     *
+     * @return The minimum, or 0 if nothing was recorded.
+     */
+    public long getMin() {
+        return count > 0 ? min : 0;
+    }
+
+    /**
+     * Gets the exact mean of the recorded values.
+     *
+     * @return The mean, or 0 if nothing was recorded.
+     */
+    public double getMean() {
+        return count > 0 ? (double) sum / count : 0;
+    }
+
+    /**
+     * Gets a percentile of the recorded values.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The largest value of the bucket holding the percentile (never above the maximum),
+     *         or 0 if nothing was recorded.
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int index = 0; index < counts.length; index++) {
+            seen += counts[index];
+            if (seen >= rank) {
+                return Math.max(getMin(), Math.min(max, lowerBound(index + 1) - 1));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Writes the state of the histogram, e.g. into a simulation checkpoint.
+     *
+     * @param out The output.
+     * @throws IOException If the state cannot be written.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeLong(sum);
+        out.writeLong(min);
+        out.writeLong(max);
+        int used = counts.length;
+        while (used > 0 && counts[used - 1] == 0) {
+            used--;
+        }
+        out.writeInt(used);
+        for (int i = 0; i < used; i++) {
+            out.writeLong(counts[i]);
+        }
+    }
+
+    /**
+     * Replaces the state of the histogram with one written by {@link #writeTo(DataOutput)}.
+     *
+     * @param in The input.
+     * @throws IOException If the state cannot be read.
+     */
+    public void readFrom(DataInput in) throws IOException {
+        count = in.readLong();
+        sum = in.readLong();
+        min = in.readLong();
+        max = in.readLong();
+        int used = in.readInt();
+        if (used < 0 || used > bucketOf(Long.MAX_VALUE) + 1) {
+            throw new IOException("Invalid histogram bucket count: " + used);
+        }
+        counts = new long[Math.max(SUB_BUCKETS * 2, used)];
+        for (int i = 0; i < used; i++) {
+            counts[i] = in.readLong();
+        }
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BITS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        long mantissa = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return (SUB_BUCKETS + mantissa) << shift;
+    }
+}
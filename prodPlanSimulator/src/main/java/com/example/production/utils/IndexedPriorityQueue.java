@@ -0,0 +1,238 @@
+package com.example.production.Utils;
+
+import java.util.Arrays;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Indexed binary min-heap of int items keyed by a long priority, with ties resolved by a
+ * caller-supplied sequence number (lower first). Items can be removed or re-keyed in O(log n),
+ * and the whole queue can be re-keyed in O(n).
+ * <p>
+ * The heap position of each item is stored in a position array supplied by the caller. Several
+ * queues may share the same position array as long as an item is in at most one of them at a
+ * time, which is the case for articles waiting in operation queues. The queue is not thread-safe.
+ */
+public final class IndexedPriorityQueue {
+
+    private final int[] positions;
+    private int[] items;
+    private long[] keys;
+    private long[] sequences;
+    private int size;
+
+    /**
+     * Constructs an empty queue.
+     *
+     * @param positions Position array indexed by item; must be large enough for every item offered.
+     */
+    public IndexedPriorityQueue(int[] positions) {
+        this.positions = positions;
+        this.items = new int[8];
+        this.keys = new long[8];
+        this.sequences = new long[8];
+    }
+
+    /**
+     * Adds an item to the queue.
+     *
+     * @param item     The item (index into the position array).
+     * @param key      The priority key; lower keys are polled first.
+     * @param sequence Tie-breaker for equal keys; lower sequences are polled first.
+     */
+    public void offer(int item, long key, long sequence) {
+        if (size == items.length) {
+            int capacity = size * 2;
+            items = Arrays.copyOf(items, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+            sequences = Arrays.copyOf(sequences, capacity);
+        }
+        set(size, item, key, sequence);
+        siftUp(size++);
+    }
+
+    /**
+     * Removes the item with the lowest key.
+     *
+     * @return The item, or -1 if the queue is empty.
+     */
+    public int poll() {
+        if (size == 0) {
+            return -1;
+        }
+        int result = items[0];
+        removeAt(0);
+        return result;
+    }
+
+    /**
+     * Gets the item with the lowest key without removing it.
+     *
+     * @return The item, or -1 if the queue is empty.
+     */
+    public int peek() {
+        return size > 0 ? items[0] : -1;
+    }
+
+    /**
+     * Checks whether an item is in this queue.
+     *
+     * @param item The item.
+     * @return true if the item is queued here.
+     */
+    public boolean contains(int item) {
+        int position = positions[item];
+        return position >= 0 && position < size && items[position] == item;
+    }
+
+    /**
+     * Removes an item from the queue.
+     *
+     * @param item The item.
+     * @return true if the item was queued and has been removed.
+     */
+    public boolean remove(int item) {
+        if (!contains(item)) {
+            return false;
+        }
+        removeAt(positions[item]);
+        return true;
+    }
+
+    /**
+     * Changes the key of a queued item, keeping its sequence number.
+     *
+     * @param item The item.
+     * @param key  The new key.
+     * @return true if the item was queued and has been re-keyed.
+     */
+    public boolean update(int item, long key) {
+        if (!contains(item)) {
+            return false;
+        }
+        int position = positions[item];
+        long previous = keys[position];
+        keys[position] = key;
+        if (key < previous) {
+            siftUp(position);
+        } else {
+            siftDown(position);
+        }
+        return true;
+    }
+
+    /**
+     * Recomputes the key of every queued item and restores the heap order.
+     *
+     * @param keyFunction Function that gives the new key of an item.
+     */
+    public void rekeyAll(IntToLongFunction keyFunction) {
+        for (int i = 0; i < size; i++) {
+            keys[i] = keyFunction.applyAsLong(items[i]);
+        }
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Copies the queued items, in no particular order.
+     *
+     * @return A new array with the queued items.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(items, size);
+    }
+
+    /**
+     * Gets the item stored at a heap position, for iterating over the queue in no particular order.
+     *
+     * @param index Heap position, below {@link #size()}.
+     * @return The item.
+     */
+    public int itemAt(int index) {
+        return items[index];
+    }
+
+    /**
+     * Gets the key of the item stored at a heap position.
+     *
+     * @param index Heap position, below {@link #size()}.
+     * @return The key.
+     */
+    public long keyAt(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Gets the sequence number of the item stored at a heap position.
+     *
+     * @param index Heap position, below {@link #size()}.
+     * @return The sequence number.
+     */
+    public long sequenceAt(int index) {
+        return sequences[index];
+    }
+
+    private void removeAt(int index) {
+        size--;
+        if (index != size) {
+            set(index, items[size], keys[size], sequences[size]);
+            siftDown(index);
+            siftUp(index);
+        }
+    }
+
+    private boolean before(int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && sequences[a] < sequences[b]);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(index, parent)) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && before(right, child)) {
+                child = right;
+            }
+            if (!before(child, index)) {
+                break;
+            }
+            swap(index, child);
+            index = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int item = items[a];
+        long key = keys[a];
+        long sequence = sequences[a];
+        set(a, items[b], keys[b], sequences[b]);
+        set(b, item, key, sequence);
+    }
+
+    private void set(int index, int item, long key, long sequence) {
+        items[index] = item;
+        keys[index] = key;
+        sequences[index] = sequence;
+        positions[item] = index;
+    }
+}
@@ -0,0 +1,372 @@
+package com.example.production.Utils;
+
+import com.example.production.Domain.Article;
+import com.example.production.Domain.ProductionTree;
+import com.example.production.Domain.Workstation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Reads articles.csv and workstations.csv through a memory-mapped file instead of a
+ * {@code BufferedReader}. Lines are scanned byte by byte for ';' and '\n', numbers are parsed
+ * straight from the mapped bytes and operation names and priorities are interned in a
+ * {@link SymbolTable}, so each distinct name is decoded only once.
+ * <p>
+ * The result is the same as {@link CSVReader#readCSVFile}: the header line is skipped, trailing
+ * empty columns are ignored, lines with fewer than three columns are skipped, and IDs and times
+ * that are not integers fall back to 0 (article ID) and 1 (workstation time).
+ * Files larger than 2 GB are mapped in consecutive windows. Articles can also be streamed with
+ * {@link #openArticles(Path)} instead of being collected into a list.
+ */
+public class MappedCSVReader {
+
+    static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+
+    private final SymbolTable symbols;
+    private final int windowSize;
+
+    /**
+     * Constructs a reader with its own symbol table.
+     */
+    public MappedCSVReader() {
+        this(new SymbolTable());
+    }
+
+    /**
+     * Constructs a reader that interns names into the given symbol table.
+     *
+     * @param symbols The symbol table shared with other readers.
+     */
+    public MappedCSVReader(SymbolTable symbols) {
+        this(symbols, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedCSVReader(SymbolTable symbols, int windowSize) {
+        this.symbols = symbols;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Drop-in replacement for {@link CSVReader#readCSVFile} for the "article" and "workstation" types.
+     *
+     * @param filePath        The path of the CSV file to be read.
+     * @param dataType        The type of data contained in the file ("article", "workstation", or "production").
+     * @param articles        The list to store Article objects if data type is "article".
+     * @param workstations    The list to store Workstation objects if data type is "workstation".
+     * @param productionTrees Not used; production trees are read by {@link CSVReader#readProductionTrees}.
+     * @throws IOException If an error occurs while reading the file.
+     */
+    public static void readCSVFile(String filePath, String dataType, List<Article> articles, List<Workstation> workstations, List<ProductionTree> productionTrees) throws IOException {
+        MappedCSVReader reader = new MappedCSVReader();
+        if (dataType.equalsIgnoreCase("article")) {
+            reader.readArticles(Paths.get(filePath), articles);
+        } else if (dataType.equalsIgnoreCase("workstation")) {
+            reader.readWorkstations(Paths.get(filePath), workstations);
+        } else if (!dataType.equalsIgnoreCase("production")) {
+            System.err.println("Unknown data type: " + dataType);
+        }
+    }
+
+    /**
+     * Reads an articles file ({@code article;priority;name_oper1;...}).
+     *
+     * @param file     The file to read.
+     * @param articles The list to which the articles are added.
+     * @throws IOException If an error occurs while reading the file.
+     */
+    public void readArticles(Path file, List<Article> articles) throws IOException {
+        try (ArticleStream stream = openArticles(file)) {
+            while (stream.hasNext()) {
+                articles.add(stream.next());
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Opens an articles file for streaming: each article is parsed only when it is requested, so
+     * only the articles still referenced by the caller are on the heap.
+     *
+     * @param file The file to read.
+     * @return An iterator over the articles of the file, to be closed after use.
+     * @throws IOException If the file cannot be opened.
+     */
+    public ArticleStream openArticles(Path file) throws IOException {
+        return new ArticleStream(new LineCursor(file));
+    }
+
+    /**
+     * Reads a workstations file ({@code workstation;name_oper;time[;setup_time[;batch_size]]}), with
+     * the same defaults as {@link CSVReader}: no setup and batches of one.
+     *
+     * @param file         The file to read.
+     * @param workstations The list to which the workstations are added.
+     * @throws IOException If an error occurs while reading the file.
+     */
+    public void readWorkstations(Path file, List<Workstation> workstations) throws IOException {
+        try (LineCursor cursor = new LineCursor(file)) {
+            while (cursor.next()) {
+                String workstationId = cursor.decode(0);
+                String operation = symbols.name(cursor.intern(1));
+                int time = cursor.parseInt(2, 1);
+                int setupTime = cursor.columns() > 3 ? cursor.parseTrimmedInt(3, 0) : 0;
+                int batchSize = cursor.columns() > 4 ? Math.max(1, cursor.parseTrimmedInt(4, 1)) : 1;
+                workstations.add(new Workstation(workstationId, operation, time, Math.max(0, setupTime), batchSize));
+            }
+        }
+    }
+
+    /**
+     * Gets the symbol table holding the operation names and priorities read so far.
+     *
+     * @return The symbol table.
+     */
+    public SymbolTable getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * Iterator over the articles of a memory-mapped file.
+     */
+    public class ArticleStream implements Iterator<Article>, Closeable {
+        private final LineCursor cursor;
+        private boolean ready;
+
+        private ArticleStream(LineCursor cursor) {
+            this.cursor = cursor;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @throws UncheckedIOException If the next window of the file cannot be mapped.
+         */
+        @Override
+        public boolean hasNext() {
+            if (!ready) {
+                try {
+                    ready = cursor.next();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return ready;
+        }
+
+        @Override
+        public Article next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ready = false;
+            int articleId = cursor.parseInt(0, 0);
+            String priority = symbols.name(cursor.intern(1));
+            List<String> operations = new ArrayList<>(cursor.count - 2);
+            for (int i = 2; i < cursor.count; i++) {
+                if (cursor.ends[i] > cursor.starts[i]) {
+                    operations.add(symbols.name(cursor.intern(i)));
+                }
+            }
+            return new Article(articleId, priority, operations);
+        }
+
+        @Override
+        public void close() throws IOException {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Walks the data lines of a file, mapping it window by window. After {@link #next()} the bounds
+     * of the columns of the current line are in {@link #starts} and {@link #ends}.
+     */
+    private final class LineCursor implements Closeable {
+        private final Path file;
+        private final FileChannel channel;
+        private final long size;
+        private long windowStart;
+        private MappedByteBuffer buffer;
+        private int length;
+        private int position;
+        private boolean header = true;
+
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private int count;
+
+        private LineCursor(Path file) throws IOException {
+            this.file = file;
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.size = channel.size();
+        }
+
+        /**
+         * Moves to the next line with at least three columns, skipping the header.
+         *
+         * @return false at the end of the file.
+         */
+        private boolean next() throws IOException {
+            while (true) {
+                if (buffer == null || position >= length) {
+                    if (!map(windowStart + length)) {
+                        return false;
+                    }
+                }
+                int lineStart = position;
+                int lineEnd = -1;
+                for (int i = position; i < length; i++) {
+                    if (buffer.get(i) == '\n') {
+                        lineEnd = i;
+                        break;
+                    }
+                }
+                if (lineEnd < 0) {
+                    if (windowStart + length < size) {
+                        if (lineStart == 0) {
+                            throw new IOException("Line longer than " + windowSize + " bytes in " + file);
+                        }
+                        map(windowStart + lineStart);
+                        continue;
+                    }
+                    lineEnd = length;
+                }
+                position = lineEnd + 1;
+                if (header) {
+                    header = false;
+                    continue;
+                }
+                if (split(lineStart, lineEnd) >= 3) {
+                    return true;
+                }
+            }
+        }
+
+        private boolean map(long start) throws IOException {
+            if (start >= size) {
+                windowStart = size;
+                buffer = null;
+                length = 0;
+                return false;
+            }
+            windowStart = start;
+            length = (int) Math.min(windowSize, size - start);
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            position = 0;
+            return true;
+        }
+
+        private int split(int start, int end) {
+            if (end > start && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            count = 0;
+            int columnStart = start;
+            for (int i = start; i <= end; i++) {
+                if (i == end || buffer.get(i) == ';') {
+                    if (count == starts.length) {
+                        starts = Arrays.copyOf(starts, count * 2);
+                        ends = Arrays.copyOf(ends, count * 2);
+                    }
+                    starts[count] = columnStart;
+                    ends[count] = i;
+                    count++;
+                    columnStart = i + 1;
+                }
+            }
+            // Like String.split, trailing empty columns do not count
+            while (count > 0 && ends[count - 1] == starts[count - 1]) {
+                count--;
+            }
+            return count;
+        }
+
+        private int columns() {
+            return count;
+        }
+
+        private int intern(int column) {
+            return symbols.intern(buffer, starts[column], ends[column]);
+        }
+
+        private int parseInt(int column, int fallback) {
+            return MappedCSVReader.parseInt(buffer, starts[column], ends[column], fallback);
+        }
+
+        private int parseTrimmedInt(int column, int fallback) {
+            return MappedCSVReader.parseTrimmedInt(buffer, starts[column], ends[column], fallback);
+        }
+
+        private String decode(int column) {
+            byte[] bytes = new byte[ends[column] - starts[column]];
+            buffer.get(starts[column], bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Parses a decimal int like {@link #parseInt(ByteBuffer, int, int, int)} after skipping leading
+     * and trailing blanks, like {@code Integer.parseInt(token.trim())}.
+     *
+     * @return The parsed value, or {@code fallback} if the bytes are not a valid int.
+     */
+    static int parseTrimmedInt(ByteBuffer buffer, int start, int end, int fallback) {
+        while (start < end && buffer.get(start) <= ' ') {
+            start++;
+        }
+        while (end > start && buffer.get(end - 1) <= ' ') {
+            end--;
+        }
+        return parseInt(buffer, start, end, fallback);
+    }
+
+    /**
+     * Parses a decimal int from {@code buffer[start, end)}, with the same rules as Integer.parseInt.
+     *
+     * @return The parsed value, or {@code fallback} if the bytes are not a valid int.
+     */
+    static int parseInt(ByteBuffer buffer, int start, int end, int fallback) {
+        if (start >= end) {
+            return fallback;
+        }
+        boolean negative = false;
+        int i = start;
+        byte first = buffer.get(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++i == end) {
+                return fallback;
+            }
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return fallback;
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return fallback;
+            }
+        }
+        if (negative) {
+            value = -value;
+        }
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? fallback : (int) value;
+    }
+}
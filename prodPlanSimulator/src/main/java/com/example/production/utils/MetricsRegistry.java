@@ -0,0 +1,169 @@
+package com.example.production.Utils;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of named run-time metrics: counters, gauges and distributions.
+ * Looking a metric up by name is a map access, so code on a hot path looks its metrics up once
+ * and keeps the returned objects; updating them afterwards costs an add, a volatile write or a
+ * {@link Histogram} record. All metrics can be updated and read from any thread.
+ */
+public class MetricsRegistry {
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private final Map<String, Distribution> distributions = new ConcurrentHashMap<>();
+
+    /**
+     * Gets a counter, creating it on first use.
+     *
+     * @param name The name of the counter.
+     * @return The counter; the same instance for every call with the same name.
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    /**
+     * Gets a gauge, creating it on first use with the value 0.
+     *
+     * @param name The name of the gauge.
+     * @return The gauge; the same instance for every call with the same name.
+     */
+    public Gauge gauge(String name) {
+        return gauges.computeIfAbsent(name, key -> new Gauge());
+    }
+
+    /**
+     * Gets a distribution, creating it on first use.
+     *
+     * @param name The name of the distribution.
+     * @return The distribution; the same instance for every call with the same name.
+     */
+    public Distribution distribution(String name) {
+        return distributions.computeIfAbsent(name, key -> new Distribution());
+    }
+
+    /**
+     * Gets the current value of every counter.
+     *
+     * @return A map of counter names to values, sorted by name.
+     */
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.get()));
+        return values;
+    }
+
+    /**
+     * Gets the current value of every gauge.
+     *
+     * @return A map of gauge names to values, sorted by name.
+     */
+    public Map<String, Long> getGauges() {
+        Map<String, Long> values = new TreeMap<>();
+        gauges.forEach((name, gauge) -> values.put(name, gauge.get()));
+        return values;
+    }
+
+    /**
+     * Gets every distribution.
+     *
+     * @return A map of distribution names to the live distributions, sorted by name.
+     */
+    public Map<String, Distribution> getDistributions() {
+        return new TreeMap<>(distributions);
+    }
+
+    /**
+     * Monotonic count, e.g. of processed events.
+     */
+    public static final class Counter {
+        private final LongAdder value = new LongAdder();
+
+        private Counter() {
+        }
+
+        public void increment() {
+            value.increment();
+        }
+
+        public void add(long amount) {
+            value.add(amount);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+    }
+
+    /**
+     * Last value of a quantity that goes up and down, e.g. a queue depth, and the largest value it had.
+     */
+    public static final class Gauge {
+        private volatile long value;
+        private volatile long max;
+
+        private Gauge() {
+        }
+
+        /**
+         * Sets the value. The maximum is only exact if a single thread sets the gauge.
+         *
+         * @param value The new value.
+         */
+        public void set(long value) {
+            this.value = value;
+            if (value > max) {
+                max = value;
+            }
+        }
+
+        public long get() {
+            return value;
+        }
+
+        public long getMax() {
+            return max;
+        }
+    }
+
+    /**
+     * Distribution of recorded values, e.g. durations in nanoseconds, kept in a {@link Histogram}.
+     */
+    public static final class Distribution {
+        private final Histogram histogram = new Histogram();
+
+        private Distribution() {
+        }
+
+        public synchronized void record(long value) {
+            histogram.record(value);
+        }
+
+        public synchronized long getCount() {
+            return histogram.getCount();
+        }
+
+        public synchronized double getMean() {
+            return histogram.getMean();
+        }
+
+        public synchronized long getMax() {
+            return histogram.getMax();
+        }
+
+        /**
+         * Gets a percentile of the recorded values.
+         *
+         * @param percentile The percentile, between 0 and 100.
+         * @return The percentile, within the precision of {@link Histogram}.
+         */
+        public synchronized long getPercentile(double percentile) {
+            return histogram.getPercentile(percentile);
+        }
+    }
+}
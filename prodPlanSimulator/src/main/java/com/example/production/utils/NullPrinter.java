@@ -0,0 +1,77 @@
+package com.example.production.Utils;
+
+import com.example.production.Domain.ProductionTree;
+import com.example.production.Domain.Simulation;
+
+import java.util.Map;
+
+/**
+ * Implementation of the Printer interface that discards all output.
+ * Used for benchmarks, replications and batch runs where per-event console output is not wanted.
+ */
+public class NullPrinter implements Printer {
+
+    @Override
+    public void printSimulationHeader() {
+    }
+
+    @Override
+    public void printProcessingEvent(String articleId, String operation, String workstationId, String workstationOperation, int startTime, int finishTime) {
+    }
+
+    @Override
+    public void printSimulationSummary(int totalProductionTime, Map<String, Integer> workstationUsageTracker) {
+    }
+
+    @Override
+    public void printTotalProductionTime(int totalTime) {
+    }
+
+    @Override
+    public void printOperationTimes(Map<String, Integer> operationTimes, Simulation simulation) {
+    }
+
+    @Override
+    public void printWorkstationUsage(Map<String, Integer> workstationUsage, Simulation simulation) {
+    }
+
+    @Override
+    public void printWelcomeMessage() {
+    }
+
+    @Override
+    public void printHelp() {
+    }
+
+    @Override
+    public void printLoadDataSuccess(int numberOfArticles, int numberOfWorkstations) {
+    }
+
+    @Override
+    public void printLoadDataFailure(String errorMessage) {
+    }
+
+    @Override
+    public void printUnknownCommandMessage() {
+    }
+
+    @Override
+    public void printSimulationNotExecutedMessage() {
+    }
+
+    @Override
+    public void printSimulationExecutedMessage() {
+    }
+
+    @Override
+    public void printSimulationExitedMessage() {
+    }
+
+    @Override
+    public void printProductionTree(ProductionTree productionTree) {
+    }
+
+    @Override
+    public void clearScreen() {
+    }
+}
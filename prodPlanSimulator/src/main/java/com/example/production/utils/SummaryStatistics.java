@@ -0,0 +1,91 @@
+package com.example.production.Utils;
+
+/**
+ * Accumulates observations of a sample and reports mean, standard deviation, extremes and a
+ * 95% confidence interval for the mean. Uses Welford's online algorithm, so values do not have
+ * to be kept in memory.
+ */
+public class SummaryStatistics {
+
+    // Two-sided 95% Student t quantiles for 1..30 degrees of freedom
+    private static final double[] T_95 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+    private static final double Z_95 = 1.960;
+
+    private long count;
+    private double mean;
+    private double sumSquaredDeviations;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    /**
+     * Adds an observation to the sample.
+     *
+     * @param value The observed value.
+     */
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        sumSquaredDeviations += delta * (value - mean);
+        min = count == 1 ? value : Math.min(min, value);
+        max = count == 1 ? value : Math.max(max, value);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return count > 0 ? mean : Double.NaN;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the sample standard deviation.
+     *
+     * @return The standard deviation, or 0 when fewer than two observations were added.
+     */
+    public double getStandardDeviation() {
+        return count > 1 ? Math.sqrt(sumSquaredDeviations / (count - 1)) : 0;
+    }
+
+    /**
+     * Gets the half-width of the 95% confidence interval for the mean, using the Student t
+     * distribution for small samples.
+     *
+     * @return The half-width, or 0 when fewer than two observations were added.
+     */
+    public double getConfidenceHalfWidth() {
+        if (count < 2) {
+            return 0;
+        }
+        long degreesOfFreedom = count - 1;
+        double quantile = degreesOfFreedom <= T_95.length ? T_95[(int) degreesOfFreedom - 1] : Z_95;
+        return quantile * getStandardDeviation() / Math.sqrt(count);
+    }
+
+    public double getConfidenceLower() {
+        return getMean() - getConfidenceHalfWidth();
+    }
+
+    public double getConfidenceUpper() {
+        return getMean() + getConfidenceHalfWidth();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("mean=%.2f sd=%.2f 95%%CI=[%.2f, %.2f] min=%.2f max=%.2f n=%d",
+                getMean(), getStandardDeviation(), getConfidenceLower(), getConfidenceUpper(), min, max, count);
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.production.Utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Interns names (operation names, priorities) into dense int IDs 0..n-1.
+ * Names can be looked up straight from UTF-8 bytes in a buffer, so a name that is already known
+ * costs no allocation; only the first occurrence of each name creates a String.
+ */
+public class SymbolTable {
+
+    private static final int EMPTY = -1;
+
+    private int[] table;
+    private byte[][] bytes;
+    private int[] hashes;
+    private String[] names;
+    private int size;
+
+    public SymbolTable() {
+        this(16);
+    }
+
+    /**
+     * Constructs a symbol table.
+     *
+     * @param expectedSymbols Number of symbols expected, used to size the table.
+     */
+    public SymbolTable(int expectedSymbols) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSymbols) * 2 - 1) << 1;
+        table = new int[capacity];
+        Arrays.fill(table, EMPTY);
+        bytes = new byte[Math.max(4, expectedSymbols)][];
+        hashes = new int[bytes.length];
+        names = new String[bytes.length];
+    }
+
+    /**
+     * Interns the UTF-8 name stored in {@code buffer[start, end)}. The buffer position is not changed.
+     *
+     * @param buffer The buffer holding the name.
+     * @param start  Index of the first byte of the name.
+     * @param end    Index after the last byte of the name.
+     * @return The ID of the name.
+     */
+    public int intern(ByteBuffer buffer, int start, int end) {
+        int hash = 1;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + buffer.get(i);
+        }
+        int mask = table.length - 1;
+        for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+            int id = table[slot];
+            if (id == EMPTY) {
+                byte[] name = new byte[end - start];
+                buffer.get(start, name);
+                return add(slot, name, hash);
+            }
+            if (hashes[id] == hash && matches(bytes[id], buffer, start, end)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Interns a name.
+     *
+     * @param name The name.
+     * @return The ID of the name.
+     */
+    public int intern(String name) {
+        byte[] utf8 = name.getBytes(StandardCharsets.UTF_8);
+        return intern(ByteBuffer.wrap(utf8), 0, utf8.length);
+    }
+
+    /**
+     * Gets the ID of a name without interning it.
+     *
+     * @param name The name.
+     * @return The ID of the name, or -1 if it has not been interned.
+     */
+    public int idOf(String name) {
+        byte[] utf8 = name.getBytes(StandardCharsets.UTF_8);
+        int hash = 1;
+        for (byte b : utf8) {
+            hash = 31 * hash + b;
+        }
+        int mask = table.length - 1;
+        for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+            int id = table[slot];
+            if (id == EMPTY) {
+                return -1;
+            }
+            if (hashes[id] == hash && Arrays.equals(bytes[id], utf8)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Gets the name of an ID. The same String instance is returned for every call.
+     *
+     * @param id The ID.
+     * @return The interned name.
+     */
+    public String name(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Unknown symbol: " + id);
+        }
+        return names[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int add(int slot, byte[] name, int hash) {
+        if (size == bytes.length) {
+            int capacity = size * 2;
+            bytes = Arrays.copyOf(bytes, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+            names = Arrays.copyOf(names, capacity);
+        }
+        int id = size++;
+        bytes[id] = name;
+        hashes[id] = hash;
+        names[id] = new String(name, StandardCharsets.UTF_8);
+        table[slot] = id;
+        if (size * 2 > table.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    private void rehash() {
+        int[] newTable = new int[table.length * 2];
+        Arrays.fill(newTable, EMPTY);
+        int mask = newTable.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = mix(hashes[id]) & mask;
+            while (newTable[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            newTable[slot] = id;
+        }
+        table = newTable;
+    }
+
+    private static boolean matches(byte[] name, ByteBuffer buffer, int start, int end) {
+        if (name.length != end - start) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            if (name[i] != buffer.get(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.production.Utils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Time-weighted average of a piecewise-constant quantity, such as a queue length or the number
+ * of busy workstations. Each change adds the area under the previous value since the last change,
+ * so the average is kept in constant time and memory per update.
+ */
+public class TimeWeightedStatistic {
+
+    private long area;
+    private long lastTime;
+    private long current;
+    private long max;
+
+    /**
+     * Sets a new value from a given time on. Times must not decrease between calls.
+     *
+     * @param time  The simulation time of the change.
+     * @param value The new value.
+     */
+    public void update(long time, long value) {
+        area += current * (time - lastTime);
+        lastTime = time;
+        current = value;
+        max = Math.max(max, value);
+    }
+
+    public long getCurrent() {
+        return current;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the average value over [0, now].
+     *
+     * @param now The current simulation time, not earlier than the last update.
+     * @return The time-weighted average, or the current value if no time has passed.
+     */
+    public double getMean(long now) {
+        if (now <= 0) {
+            return current;
+        }
+        return (area + current * Math.max(0, now - lastTime)) / (double) now;
+    }
+
+    /**
+     * Writes the state of the statistic, e.g. into a simulation checkpoint.
+     *
+     * @param out The output.
+     * @throws IOException If the state cannot be written.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(area);
+        out.writeLong(lastTime);
+        out.writeLong(current);
+        out.writeLong(max);
+    }
+
+    /**
+     * Replaces the state of the statistic with one written by {@link #writeTo(DataOutput)}.
+     *
+     * @param in The input.
+     * @throws IOException If the state cannot be read.
+     */
+    public void readFrom(DataInput in) throws IOException {
+        area = in.readLong();
+        lastTime = in.readLong();
+        current = in.readLong();
+        max = in.readLong();
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.production.Utils;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Reads a trace written by {@link TraceWriter}. The name dictionaries are loaded when the trace
+ * is opened; events are then read block by block, either column-wise through {@link #nextBlock()}
+ * or one at a time through {@link #forEach(EventVisitor)} and {@link #replay(Printer)}.
+ */
+public class TraceReader implements Closeable {
+
+    /**
+     * Receives the events of a trace without allocating an object per event.
+     */
+    public interface EventVisitor {
+        void event(int article, int operation, int workstation, int start, int finish);
+    }
+
+    private final FileChannel channel;
+    private final long footer;
+    private final long eventCount;
+    private final List<String> operations;
+    private final List<String> workstations;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(4096).order(ByteOrder.LITTLE_ENDIAN);
+    private long position;
+
+    private int blockSize;
+    private int[] articleColumn = new int[0];
+    private int[] operationColumn = new int[0];
+    private int[] workstationColumn = new int[0];
+    private int[] startColumn = new int[0];
+    private int[] finishColumn = new int[0];
+
+    /**
+     * Opens a trace file.
+     *
+     * @param file The trace file.
+     * @throws IOException If the file cannot be read or is not a complete trace.
+     */
+    public TraceReader(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < 2 * Integer.BYTES + Long.BYTES) {
+                throw new IOException("Not a trace file: " + file);
+            }
+            ByteBuffer header = read(0, 2 * Integer.BYTES);
+            if (header.getInt() != TraceWriter.MAGIC) {
+                throw new IOException("Not a trace file: " + file);
+            }
+            int version = header.getInt();
+            if (version != TraceWriter.VERSION) {
+                throw new IOException("Unsupported trace version " + version + " in " + file);
+            }
+            footer = read(size - Long.BYTES, Long.BYTES).getLong();
+            if (footer < 2 * Integer.BYTES || footer >= size) {
+                throw new IOException("Incomplete trace (writer not closed?): " + file);
+            }
+
+            ByteBuffer dictionary = read(footer, (int) (size - Long.BYTES - footer));
+            if (dictionary.getInt() != -1) {
+                throw new IOException("Corrupted trace footer in " + file);
+            }
+            eventCount = dictionary.getLong();
+            operations = readNames(dictionary);
+            workstations = readNames(dictionary);
+            position = 2 * Integer.BYTES;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Gets the operation names; the operation column holds indexes into this list.
+     *
+     * @return An unmodifiable list of operation names.
+     */
+    public List<String> getOperations() {
+        return operations;
+    }
+
+    /**
+     * Gets the workstation IDs; the workstation column holds indexes into this list.
+     *
+     * @return An unmodifiable list of workstation IDs.
+     */
+    public List<String> getWorkstations() {
+        return workstations;
+    }
+
+    /**
+     * Reads the next block of events into the column arrays.
+     *
+     * @return false when every block has been read.
+     * @throws IOException If the block cannot be read.
+     */
+    public boolean nextBlock() throws IOException {
+        if (position >= footer) {
+            blockSize = 0;
+            return false;
+        }
+        int count = read(position, Integer.BYTES).getInt();
+        if (count <= 0 || position + Integer.BYTES + (long) count * TraceWriter.COLUMNS * Integer.BYTES > footer) {
+            throw new IOException("Corrupted trace block at position " + position);
+        }
+        ByteBuffer block = read(position + Integer.BYTES, count * TraceWriter.COLUMNS * Integer.BYTES);
+        if (articleColumn.length < count) {
+            articleColumn = new int[count];
+            operationColumn = new int[count];
+            workstationColumn = new int[count];
+            startColumn = new int[count];
+            finishColumn = new int[count];
+        }
+        getColumn(block, articleColumn, count);
+        getColumn(block, operationColumn, count);
+        getColumn(block, workstationColumn, count);
+        getColumn(block, startColumn, count);
+        getColumn(block, finishColumn, count);
+        blockSize = count;
+        position += Integer.BYTES + (long) count * TraceWriter.COLUMNS * Integer.BYTES;
+        return true;
+    }
+
+    /**
+     * Gets the number of events in the current block; the column arrays may be longer.
+     *
+     * @return The size of the block read by the last {@link #nextBlock()}.
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public int[] getArticleColumn() {
+        return articleColumn;
+    }
+
+    public int[] getOperationColumn() {
+        return operationColumn;
+    }
+
+    public int[] getWorkstationColumn() {
+        return workstationColumn;
+    }
+
+    public int[] getStartColumn() {
+        return startColumn;
+    }
+
+    public int[] getFinishColumn() {
+        return finishColumn;
+    }
+
+    /**
+     * Visits every remaining event of the trace, in recording order.
+     *
+     * @param visitor The visitor.
+     * @throws IOException If a block cannot be read.
+     */
+    public void forEach(EventVisitor visitor) throws IOException {
+        while (nextBlock()) {
+            for (int i = 0; i < blockSize; i++) {
+                visitor.event(articleColumn[i], operationColumn[i], workstationColumn[i], startColumn[i], finishColumn[i]);
+            }
+        }
+    }
+
+    /**
+     * Sends every remaining event of the trace to a printer, as the simulation would have.
+     * The workstation operation is printed as the operation of the event.
+     *
+     * @param printer The printer.
+     * @throws IOException If a block cannot be read.
+     */
+    public void replay(Printer printer) throws IOException {
+        forEach((article, operation, workstation, start, finish) -> printer.printProcessingEvent(
+                String.valueOf(article), operations.get(operation), workstations.get(workstation),
+                operations.get(operation), start, finish));
+    }
+
+    private ByteBuffer read(long offset, int length) throws IOException {
+        if (buffer.capacity() < length) {
+            buffer = ByteBuffer.allocateDirect(Math.max(length, buffer.capacity() * 2)).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        buffer.clear().limit(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of trace at position " + (offset + buffer.position()));
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void getColumn(ByteBuffer block, int[] column, int count) {
+        block.asIntBuffer().get(column, 0, count);
+        block.position(block.position() + count * Integer.BYTES);
+    }
+
+    private static List<String> readNames(ByteBuffer dictionary) {
+        int count = dictionary.getInt();
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[dictionary.getInt()];
+            dictionary.get(name);
+            names.add(new String(name, StandardCharsets.UTF_8));
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
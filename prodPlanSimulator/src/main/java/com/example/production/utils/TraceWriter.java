@@ -0,0 +1,190 @@
+package com.example.production.Utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes processing events to an append-only columnar binary trace. Events are kept in int
+ * columns (article, operation, workstation, start, finish) and written a block at a time through
+ * a direct buffer, so recording an event is five array stores; names are interned and written
+ * once, in a dictionary at the end of the file. Traces are read back by {@link TraceReader}.
+ * <p>
+ * File layout (little-endian): {@code MAGIC, VERSION}, then blocks of
+ * {@code count, article[count], operation[count], workstation[count], start[count], finish[count]},
+ * then the footer {@code -1, eventCount (long), operation names, workstation names} and finally
+ * the position of the footer as a long. A writer is not thread-safe.
+ */
+public class TraceWriter implements Closeable {
+
+    static final int MAGIC = 0x50505452;
+    static final int VERSION = 1;
+    static final int COLUMNS = 5;
+    static final int DEFAULT_BLOCK_SIZE = 8192;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final SymbolTable operations = new SymbolTable();
+    private final SymbolTable workstations = new SymbolTable();
+    private final int[] articleColumn;
+    private final int[] operationColumn;
+    private final int[] workstationColumn;
+    private final int[] startColumn;
+    private final int[] finishColumn;
+    private int count;
+    private long eventCount;
+    private boolean closed;
+
+    /**
+     * Creates (or truncates) a trace file.
+     *
+     * @param file The trace file.
+     * @throws IOException If the file cannot be created.
+     */
+    public TraceWriter(Path file) throws IOException {
+        this(file, DEFAULT_BLOCK_SIZE);
+    }
+
+    TraceWriter(Path file, int blockSize) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer = ByteBuffer.allocateDirect(Math.max(4096, Integer.BYTES * (1 + COLUMNS * blockSize)))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        articleColumn = new int[blockSize];
+        operationColumn = new int[blockSize];
+        workstationColumn = new int[blockSize];
+        startColumn = new int[blockSize];
+        finishColumn = new int[blockSize];
+
+        buffer.putInt(MAGIC).putInt(VERSION);
+        write();
+    }
+
+    /**
+     * Gets the trace ID of an operation name, to be passed to {@link #record}.
+     *
+     * @param operation The operation name.
+     * @return The operation ID in this trace.
+     */
+    public int operationId(String operation) {
+        return operations.intern(operation);
+    }
+
+    /**
+     * Gets the trace ID of a workstation, to be passed to {@link #record}.
+     *
+     * @param workstationId The workstation ID.
+     * @return The workstation ID in this trace.
+     */
+    public int workstationId(String workstationId) {
+        return workstations.intern(workstationId);
+    }
+
+    /**
+     * Appends a processing event.
+     *
+     * @param article     The article ID.
+     * @param operation   Operation ID from {@link #operationId(String)}.
+     * @param workstation Workstation ID from {@link #workstationId(String)}.
+     * @param start       Start time.
+     * @param finish      Finish time.
+     * @throws UncheckedIOException If a full block cannot be written.
+     */
+    public void record(int article, int operation, int workstation, int start, int finish) {
+        articleColumn[count] = article;
+        operationColumn[count] = operation;
+        workstationColumn[count] = workstation;
+        startColumn[count] = start;
+        finishColumn[count] = finish;
+        eventCount++;
+        if (++count == articleColumn.length) {
+            try {
+                flushBlock();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of events recorded so far.
+     *
+     * @return The event count.
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    private void flushBlock() throws IOException {
+        if (count == 0) {
+            return;
+        }
+        buffer.putInt(count);
+        putColumn(articleColumn);
+        putColumn(operationColumn);
+        putColumn(workstationColumn);
+        putColumn(startColumn);
+        putColumn(finishColumn);
+        write();
+        count = 0;
+    }
+
+    private void putColumn(int[] column) {
+        buffer.asIntBuffer().put(column, 0, count);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+    }
+
+    private void write() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes the last block and the name dictionaries and closes the file.
+     *
+     * @throws IOException If the trace cannot be completed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flushBlock();
+            long footer = channel.position();
+            buffer.putInt(-1).putLong(eventCount);
+            write();
+            writeNames(operations);
+            writeNames(workstations);
+            buffer.putLong(footer);
+            write();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeNames(SymbolTable names) throws IOException {
+        buffer.putInt(names.size());
+        for (int id = 0; id < names.size(); id++) {
+            byte[] name = names.name(id).getBytes(StandardCharsets.UTF_8);
+            if (buffer.remaining() < Integer.BYTES + name.length) {
+                write();
+            }
+            if (buffer.remaining() < Integer.BYTES + name.length) {
+                throw new IOException("Name too long for the trace buffer: " + names.name(id));
+            }
+            buffer.putInt(name.length).put(name);
+        }
+        write();
+    }
+}
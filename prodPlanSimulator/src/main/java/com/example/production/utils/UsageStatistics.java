@@ -0,0 +1,171 @@
+package com.example.production.Utils;
+
+import com.example.production.Domain.Workstation;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the busy time of workstations and operations without locks. Workstations are
+ * identified by their index in the list given to the constructor and operations by a dense ID
+ * assigned in order of first appearance, so recording an event is two array reads and two
+ * {@link LongAdder} increments; concurrent writers land on separate cells instead of contending
+ * on a shared map entry. The per-ID totals are only summed when a snapshot is requested, or
+ * for a single workstation or operation by an indexed lookup.
+ */
+public class UsageStatistics {
+
+    private final String[] workstationIds;
+    private final int[] workstationOperations;
+    private final SymbolTable operations = new SymbolTable();
+    private final Map<Workstation, Integer> workstationIndexes = new IdentityHashMap<>();
+    private final Map<String, int[]> workstationsById = new HashMap<>();
+    private final LongAdder[] workstationTimes;
+    private final LongAdder[] operationTimes;
+    private final LongAdder events = new LongAdder();
+
+    /**
+     * Constructs the statistics for a fixed set of workstations.
+     *
+     * @param workstations The workstations; their list index is their ID.
+     */
+    public UsageStatistics(List<Workstation> workstations) {
+        int count = workstations.size();
+        workstationIds = new String[count];
+        workstationOperations = new int[count];
+        workstationTimes = new LongAdder[count];
+        for (int w = 0; w < count; w++) {
+            Workstation workstation = workstations.get(w);
+            workstationIds[w] = workstation.getWorkstationId();
+            workstationOperations[w] = operations.intern(workstation.getOperationName());
+            workstationTimes[w] = new LongAdder();
+            workstationIndexes.putIfAbsent(workstation, w);
+            int[] shared = workstationsById.get(workstationIds[w]);
+            if (shared == null) {
+                workstationsById.put(workstationIds[w], new int[]{w});
+            } else {
+                int[] indexes = Arrays.copyOf(shared, shared.length + 1);
+                indexes[shared.length] = w;
+                workstationsById.put(workstationIds[w], indexes);
+            }
+        }
+        operationTimes = new LongAdder[operations.size()];
+        for (int o = 0; o < operationTimes.length; o++) {
+            operationTimes[o] = new LongAdder();
+        }
+    }
+
+    /**
+     * Gets the ID of a workstation.
+     *
+     * @param workstation The workstation instance given to the constructor.
+     * @return Its index, or -1 if it is not one of the registered workstations.
+     */
+    public int indexOf(Workstation workstation) {
+        return workstationIndexes.getOrDefault(workstation, -1);
+    }
+
+    /**
+     * Records processing time on a workstation and on its operation. Safe to call from any thread.
+     *
+     * @param workstation Index of the workstation.
+     * @param time        The processing time.
+     */
+    public void record(int workstation, long time) {
+        workstationTimes[workstation].add(time);
+        operationTimes[workstationOperations[workstation]].add(time);
+        events.increment();
+    }
+
+    /**
+     * Gets the total busy time of a workstation.
+     *
+     * @param workstation Index of the workstation.
+     * @return The sum of the recorded times.
+     */
+    public long getWorkstationTime(int workstation) {
+        return workstationTimes[workstation].sum();
+    }
+
+    /**
+     * Gets the busy time of a workstation ID without building a snapshot: the value
+     * {@link #getWorkstationUsage()} has for it.
+     *
+     * @param workstationId The workstation ID.
+     * @return The sum of the recorded times of the workstations with that ID, or 0 if there are none.
+     */
+    public int getWorkstationUsage(String workstationId) {
+        int[] indexes = workstationsById.get(workstationId);
+        if (indexes == null) {
+            return 0;
+        }
+        long time = 0;
+        for (int w : indexes) {
+            time += workstationTimes[w].sum();
+        }
+        return saturate(time);
+    }
+
+    /**
+     * Gets the processing time of an operation without building a snapshot: the value
+     * {@link #getOperationTimes()} has for it.
+     *
+     * @param operationName The operation name.
+     * @return The sum of the recorded times of the operation, or 0 if it is unknown.
+     */
+    public int getOperationTime(String operationName) {
+        int operation = operations.idOf(operationName);
+        return operation < 0 ? 0 : saturate(operationTimes[operation].sum());
+    }
+
+    /**
+     * Gets the number of {@link #record} calls.
+     *
+     * @return The recorded event count.
+     */
+    public long getRecordedEvents() {
+        return events.sum();
+    }
+
+    /**
+     * Merges the counters into a map of workstation ID to busy time. Workstations that have not
+     * been used are left out; workstations that share an ID are added together.
+     *
+     * @return A new map, in workstation order.
+     */
+    public Map<String, Integer> getWorkstationUsage() {
+        Map<String, Integer> usage = new LinkedHashMap<>();
+        for (int w = 0; w < workstationIds.length; w++) {
+            long time = workstationTimes[w].sum();
+            if (time > 0) {
+                usage.merge(workstationIds[w], saturate(time), UsageStatistics::add);
+            }
+        }
+        return usage;
+    }
+
+    /**
+     * Merges the counters into a map of operation name to total processing time. Operations that
+     * have not been used are left out.
+     *
+     * @return A new map, in order of first appearance of each operation.
+     */
+    public Map<String, Integer> getOperationTimes() {
+        Map<String, Integer> times = new LinkedHashMap<>();
+        for (int o = 0; o < operationTimes.length; o++) {
+            long time = operationTimes[o].sum();
+            if (time > 0) {
+                times.put(operations.name(o), saturate(time));
+            }
+        }
+        return times;
+    }
+
+    private static int add(int a, int b) {
+        return saturate((long) a + b);
+    }
+
+    private static int saturate(long value) {
+        return (int) Math.min(Integer.MAX_VALUE, value);
+    }
+}
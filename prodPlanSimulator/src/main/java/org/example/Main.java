@@ -2,10 +2,18 @@ package org.example;
 
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
+import com.example.production.UI.BatchCommand;
 import com.example.production.UI.MainInterface;
 
 public class Main {
+    /**
+     * Starts the interactive menu, or with arguments runs a batch pipeline (see {@link BatchCommand})
+     * and exits with its status.
+     */
     public static void main(String[] args) {
+        if (args.length > 0) {
+            System.exit(new BatchCommand().run(args));
+        }
         System.setOut(new PrintStream(System.out, true, StandardCharsets.UTF_8));
 
         try {
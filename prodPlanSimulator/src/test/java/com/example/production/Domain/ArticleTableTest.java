@@ -0,0 +1,81 @@
+package com.example.production.Domain;
+
+import com.example.production.Utils.Printer;
+import com.example.production.Utils.SymbolTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ArticleTableTest {
+
+    @Test
+    void testRoutingsAreInternedToSharedIds() {
+        List<Article> articles = List.of(
+                new Article(1, "HIGH", List.of("CUT", "POLISH")),
+                new Article(2, "low", List.of("POLISH")),
+                new Article(3, "NORMAL", List.of(), 50));
+
+        ArticleTable table = ArticleTable.of(articles);
+
+        assertEquals(3, table.size());
+        assertEquals(2, table.getOperations().size());
+        assertEquals(2, table.routeLength(0));
+        assertEquals(0, table.routeLength(2));
+        // A mesma operação tem sempre o mesmo ID
+        assertEquals(table.operation(0, 1), table.operation(1, 0));
+        assertEquals("CUT", table.getOperations().name(table.operation(0, 0)));
+        assertEquals(3, table.priorityLevel(0));
+        assertEquals(1, table.priorityLevel(1));
+        assertEquals(2, table.priorityLevel(2));
+        assertEquals(-1, table.dueDate(0));
+        assertEquals(50, table.dueDate(2));
+        assertEquals(3, table.articleId(2));
+    }
+
+    @Test
+    void testSharedTableIsNotChangedByKernel() {
+        SymbolTable operations = new SymbolTable();
+        ArticleTable table = ArticleTable.of(List.of(new Article(1, "HIGH", List.of("CUT"))), operations);
+        List<Workstation> workstations = List.of(new Workstation("ws1", "CUT", 10), new Workstation("ws2", "DRILL", 5));
+
+        Printer printer = mock(Printer.class);
+        SimulationKernel kernel = new SimulationKernel(table, workstations, StandardDispatchRule.FIFO, printer, null);
+        kernel.run();
+
+        assertEquals(1, operations.size(), "A operação DRILL não deve ser adicionada à tabela partilhada");
+        assertEquals(-1, operations.idOf("DRILL"));
+        assertEquals(10, kernel.getMakespan());
+        verify(printer).printProcessingEvent(eq("1"), eq("CUT"), eq("ws1"), eq("CUT"), anyInt(), anyInt());
+        verify(printer, never()).printProcessingEvent(anyString(), eq("DRILL"), anyString(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testTableKernelMatchesListKernel() {
+        List<Article> articles = new ArrayList<>();
+        Random random = new Random(5);
+        String[] names = {"CUT", "POLISH", "DRILL"};
+        for (int i = 0; i < 40; i++) {
+            List<String> routing = new ArrayList<>();
+            for (int step = 0; step < 3; step++) {
+                routing.add(names[random.nextInt(names.length)]);
+            }
+            articles.add(new Article(i, i % 2 == 0 ? "HIGH" : "LOW", routing));
+        }
+        List<Workstation> workstations = List.of(new Workstation("ws1", "CUT", 7), new Workstation("ws2", "POLISH", 4),
+                new Workstation("ws3", "DRILL", 9), new Workstation("ws4", "CUT", 11));
+
+        SimulationKernel fromList = new SimulationKernel(articles, workstations, StandardDispatchRule.SPT, null, null);
+        fromList.run();
+        SimulationKernel fromTable = new SimulationKernel(ArticleTable.of(articles), workstations, StandardDispatchRule.SPT, null, null);
+        fromTable.run();
+
+        assertEquals(fromList.getMakespan(), fromTable.getMakespan());
+        assertEquals(fromList.getWorkstationUsage(), fromTable.getWorkstationUsage());
+    }
+}
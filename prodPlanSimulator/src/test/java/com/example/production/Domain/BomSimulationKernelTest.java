@@ -0,0 +1,231 @@
+package com.example.production.Domain;
+
+import com.example.production.Utils.CSVReader;
+import com.example.production.Utils.DatasetGenerator;
+import com.example.production.Utils.Printer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class BomSimulationKernelTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<Workstation> workstations = List.of(
+            new Workstation("ws1", "CUT", 5), new Workstation("ws2", "Paint ", 3), new Workstation("ws3", "ASSEMBLE", 10));
+
+    /**
+     * Produto P: ASSEMBLE espera por CUT (2 unidades) e por PAINT, que por sua vez espera por outro CUT.
+     * Os CUT consomem a matéria-prima M1 (1,5 por unidade, 3 no total, e 1) e o PAINT consome M2 (0,5).
+     */
+    private Map<String, ProductionTree> trees() {
+        ProductionNode product = new ProductionNode("P", "product", ProductionNode.NodeType.MATERIAL, 1);
+        ProductionNode assemble = new ProductionNode("o1", "assemble", ProductionNode.NodeType.OPERATION, 1);
+        ProductionNode a = new ProductionNode("A", "part A", ProductionNode.NodeType.MATERIAL, 1);
+        ProductionNode cutA = new ProductionNode("o2", "CUT", ProductionNode.NodeType.OPERATION, 2);
+        ProductionNode b = new ProductionNode("B", "part B", ProductionNode.NodeType.MATERIAL, 1);
+        ProductionNode paint = new ProductionNode("o3", "PAINT", ProductionNode.NodeType.OPERATION, 1);
+        ProductionNode c = new ProductionNode("C", "part C", ProductionNode.NodeType.MATERIAL, 1);
+        ProductionNode cutC = new ProductionNode("o4", "CUT", ProductionNode.NodeType.OPERATION, 1);
+        product.addChild(assemble);
+        assemble.addChild(a);
+        a.addChild(cutA);
+        assemble.addChild(b);
+        b.addChild(paint);
+        paint.addChild(c);
+        c.addChild(cutC);
+        cutA.addChild(new ProductionNode("M1", "steel", ProductionNode.NodeType.MATERIAL, 1.5));
+        cutC.addChild(new ProductionNode("M1", "steel", ProductionNode.NodeType.MATERIAL, 1));
+        paint.addChild(new ProductionNode("M2", "paint", ProductionNode.NodeType.MATERIAL, 0.5));
+
+        ProductionTree tree = new ProductionTree();
+        tree.setRoot(product);
+        return Map.of("P", tree);
+    }
+
+    @Test
+    void testParentStartsAfterAllChildren() {
+        BomSimulationKernel kernel = new BomSimulationKernel(trees(), List.of(new CustomerOrder("c1", "P", 1, "NORMAL")),
+                workstations, StandardDispatchRule.FIFO, null);
+        kernel.run();
+
+        // CUT o4 0-5, CUT o2 (2 unidades) 5-15, PAINT 5-8, ASSEMBLE 15-25
+        assertEquals(4, kernel.getProcessedEvents());
+        assertEquals(25, kernel.getMakespan());
+        assertEquals(Map.of("c1", 25), kernel.getOrderCompletionTimes());
+        assertEquals(Map.of("ws1", 15, "ws2", 3, "ws3", 10), kernel.getWorkstationUsage());
+    }
+
+    @Test
+    void testOrderQuantityScalesUnits() {
+        List<CustomerOrder> orders = List.of(new CustomerOrder("c1", "P", 3, "LOW"), new CustomerOrder("c2", "P", 1, "HIGH"));
+        BomExplosion explosion = BomExplosion.of(trees(), orders, workstations);
+        assertEquals(8, explosion.jobCount());
+        assertEquals(1, explosion.finalJobCount(0));
+
+        int cutJobs = 0;
+        for (int job = 0; job < explosion.jobCount(); job++) {
+            if (explosion.nodeId(job).equals("o2")) {
+                assertEquals(explosion.order(job) == 0 ? 6 : 2, explosion.units(job));
+                cutJobs++;
+            }
+        }
+        assertEquals(2, cutJobs);
+
+        BomSimulationKernel kernel = new BomSimulationKernel(explosion, workstations, StandardDispatchRule.PRIORITY, null);
+        kernel.run();
+        assertEquals(2, kernel.getCompletedOrders());
+        // A encomenda prioritária termina primeiro
+        assertTrue(kernel.getOrderCompletionTimes().get("c2") < kernel.getOrderCompletionTimes().get("c1"));
+    }
+
+    @Test
+    void testQuantitiesMultiplyThroughTheLevels() {
+        // ASSEMBLE precisa de 4 CUT e cada CUT de 2 PAINT; o PAINT produz Z em lotes de 2
+        // e consome 0,5 de M2 por lote
+        ProductionNode product = new ProductionNode("P", "product", ProductionNode.NodeType.MATERIAL, 1);
+        ProductionNode assemble = new ProductionNode("o1", "assemble", ProductionNode.NodeType.OPERATION, 1);
+        ProductionNode x = new ProductionNode("X", "part X", ProductionNode.NodeType.MATERIAL, 1);
+        ProductionNode cut = new ProductionNode("o2", "CUT", ProductionNode.NodeType.OPERATION, 4);
+        ProductionNode y = new ProductionNode("Y", "part Y", ProductionNode.NodeType.MATERIAL, 1);
+        ProductionNode paint = new ProductionNode("o3", "PAINT", ProductionNode.NodeType.OPERATION, 2);
+        ProductionNode z = new ProductionNode("Z", "part Z", ProductionNode.NodeType.MATERIAL, 2);
+        product.addChild(assemble);
+        assemble.addChild(x);
+        x.addChild(cut);
+        cut.addChild(y);
+        y.addChild(paint);
+        paint.addChild(z);
+        z.addChild(new ProductionNode("M2", "paint", ProductionNode.NodeType.MATERIAL, 0.5));
+        ProductionTree tree = new ProductionTree();
+        tree.setRoot(product);
+
+        BomExplosion explosion = BomExplosion.of(Map.of("P", tree),
+                List.of(new CustomerOrder("c1", "P", 3, "NORMAL")), workstations);
+        Map<String, Integer> units = new HashMap<>();
+        for (int job = 0; job < explosion.jobCount(); job++) {
+            units.put(explosion.nodeId(job), explosion.units(job));
+            if (explosion.nodeId(job).equals("o3")) {
+                assertEquals(1, explosion.endRequirement(job) - explosion.firstRequirement(job));
+                assertEquals(6.0, explosion.requirementQuantity(job, explosion.firstRequirement(job)), 1e-9);
+            }
+        }
+        assertEquals(Map.of("o1", 3, "o2", 12, "o3", 24), units);
+
+        BomSimulationKernel kernel = new BomSimulationKernel(explosion, workstations, StandardDispatchRule.FIFO, null);
+        kernel.run();
+        // PAINT 24 * 3, CUT 12 * 5, ASSEMBLE 3 * 10
+        assertEquals(72 + 60 + 30, kernel.getMakespan());
+    }
+
+    @Test
+    void testUnknownProductsAndOperationsAreRejected() {
+        List<CustomerOrder> unknown = List.of(new CustomerOrder("c1", "Q", 1, "NORMAL"));
+        assertThrows(IllegalArgumentException.class, () -> BomExplosion.of(trees(), unknown, workstations));
+
+        List<Workstation> noPaint = List.of(new Workstation("ws1", "CUT", 5), new Workstation("ws3", "ASSEMBLE", 10));
+        List<CustomerOrder> orders = List.of(new CustomerOrder("c1", "P", 1, "NORMAL"));
+        assertThrows(IllegalArgumentException.class, () -> BomExplosion.of(trees(), orders, noPaint));
+    }
+
+    @Test
+    void testGeneratedOrderBook() throws Exception {
+        DatasetGenerator generator = new DatasetGenerator(4);
+        int operations = generator.writeBoo(directory.resolve("boo.csv"), directory.resolve("items.csv"),
+                directory.resolve("operations.csv"), 3, 3, 5);
+        Map<String, ProductionTree> trees = CSVReader.readProductionTrees(directory.resolve("boo.csv").toString(),
+                directory.resolve("items.csv").toString(), directory.resolve("operations.csv").toString());
+        List<Workstation> plant = new ArrayList<>();
+        for (int o = 0; o < 5; o++) {
+            for (int w = 0; w < 3; w++) {
+                plant.add(new Workstation("ws" + o + "_" + w, DatasetGenerator.operationName(o), 2 + o + w));
+            }
+        }
+
+        List<CustomerOrder> orders = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            orders.add(new CustomerOrder("c" + i, "101", 1 + i % 3, i % 5 == 0 ? "HIGH" : "NORMAL"));
+        }
+        BomSimulationKernel kernel = new BomSimulationKernel(trees, orders, plant, StandardDispatchRule.EDD, null);
+        kernel.run();
+
+        // A árvore lida do BOO não inclui a operação final, só as suas sub-operações
+        long jobsPerOrder = trees.get("101").getNodeMap().values().stream()
+                .filter(node -> node.getType() == ProductionNode.NodeType.OPERATION).count();
+        assertEquals(operations - 1, jobsPerOrder);
+        assertEquals(2_000 * jobsPerOrder, kernel.getProcessedEvents());
+        assertEquals(2_000, kernel.getCompletedOrders());
+        assertFalse(kernel.getOrderCompletionTimes().containsValue(-1));
+    }
+
+    @Test
+    void testShortMaterialWaitsForReplenishment() {
+        BomSimulationKernel kernel = new BomSimulationKernel(trees(), List.of(new CustomerOrder("c1", "P", 1, "NORMAL")),
+                workstations, StandardDispatchRule.FIFO, null);
+        kernel.setInventory(new Inventory().setStock("M1", 3).addReplenishment(20, "M1", 5));
+        kernel.run();
+
+        // CUT o4 0-5 (stock 2), CUT o2 precisa de 3 e espera de 5 até 20, 20-30, ASSEMBLE 30-40
+        assertEquals(40, kernel.getMakespan());
+        assertEquals(15, kernel.getMaterialWaitTime());
+        assertEquals(0, kernel.getBlockedJobs());
+        assertEquals(Map.of("M1", 4.0), kernel.getStockLevels());
+        assertEquals(Map.of("c1", 40), kernel.getOrderCompletionTimes());
+    }
+
+    @Test
+    void testStockOutBlocksOrder() {
+        List<CustomerOrder> orders = List.of(new CustomerOrder("c1", "P", 1, "NORMAL"), new CustomerOrder("c2", "P", 2, "NORMAL"));
+        BomSimulationKernel kernel = new BomSimulationKernel(trees(), orders, workstations, StandardDispatchRule.FIFO, null);
+        // Só há tinta para a primeira encomenda
+        kernel.setInventory(new Inventory().setStock("M2", 0.6));
+        kernel.run();
+
+        assertEquals(1, kernel.getCompletedOrders());
+        assertEquals(1, kernel.getBlockedJobs());
+        assertEquals(-1, kernel.getOrderCompletionTimes().get("c2"));
+        assertEquals(0.1, kernel.getStockLevels().get("M2"), 1e-9);
+        assertThrows(IllegalStateException.class, () -> kernel.setInventory(null));
+        assertThrows(IllegalArgumentException.class, () -> new Inventory().setStock("M1", -1));
+        assertThrows(IllegalArgumentException.class, () -> new Inventory().addReplenishment(5, "M1", 0));
+    }
+
+    @Test
+    void testOrdersThroughSimulation() {
+        Simulation simulation = new Simulation(List.of(), workstations, mock(Printer.class),
+                Simulation.SimulationStrategy.FIFO, Simulation.EngineMode.DETERMINISTIC);
+        simulation.setCustomerOrders(List.of(new CustomerOrder("c1", "P", 1, "NORMAL")));
+        assertThrows(IllegalStateException.class, simulation::runSimulation);
+
+        simulation.setProductionTrees(trees());
+        simulation.runSimulation();
+        assertEquals(25, simulation.getTotalProductionTime());
+        assertEquals(Map.of("c1", 25), simulation.getOrderCompletionTimes());
+
+        // Opções que só se aplicam aos artigos são rejeitadas em vez de ignoradas
+        Simulation grouped = new Simulation(List.of(), workstations, mock(Printer.class),
+                Simulation.SimulationStrategy.FIFO, Simulation.EngineMode.DETERMINISTIC);
+        grouped.setProductionTrees(trees());
+        grouped.setCustomerOrders(List.of(new CustomerOrder("c1", "P", 1, "NORMAL")));
+        grouped.setSetupGrouping(true);
+        assertThrows(IllegalStateException.class, grouped::runSimulation);
+        grouped.setSetupGrouping(false);
+        grouped.setCheckpointInterval(10, directory.resolve("orders.ckpt"));
+        assertThrows(IllegalStateException.class, grouped::runSimulation);
+
+        Simulation articlesOnly = new Simulation(List.of(), workstations, mock(Printer.class),
+                Simulation.SimulationStrategy.FIFO, Simulation.EngineMode.DETERMINISTIC);
+        articlesOnly.setInventory(new Inventory());
+        assertThrows(IllegalStateException.class, articlesOnly::runSimulation);
+
+        Simulation concurrent = new Simulation(List.of(), workstations, mock(Printer.class),
+                Simulation.SimulationStrategy.FIFO, Simulation.EngineMode.PARALLEL);
+        assertThrows(IllegalStateException.class, () -> concurrent.setCustomerOrders(List.of()));
+    }
+}
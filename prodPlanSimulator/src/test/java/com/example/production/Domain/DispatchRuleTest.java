@@ -0,0 +1,94 @@
+package com.example.production.Domain;
+
+import com.example.production.Utils.Printer;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DispatchRuleTest {
+
+    private final List<Workstation> workstations = List.of(
+            new Workstation("ws1", "CUT", 10), new Workstation("ws2", "POLISH", 5));
+
+    private Printer run(List<Article> articles, DispatchRule rule) {
+        Printer printer = mock(Printer.class);
+        new SimulationKernel(articles, workstations, rule, printer, null).run();
+        return printer;
+    }
+
+    private void verifyCutOrder(Printer printer, String... articleIds) {
+        InOrder order = inOrder(printer);
+        for (String articleId : articleIds) {
+            order.verify(printer).printProcessingEvent(eq(articleId), eq("CUT"), anyString(), anyString(), anyInt(), anyInt());
+        }
+    }
+
+    @Test
+    void testEarliestDueDateFirst() {
+        List<Article> articles = List.of(
+                new Article(1, "HIGH", List.of("CUT"), 300),
+                new Article(2, "LOW", List.of("CUT"), 100),
+                new Article(3, "NORMAL", List.of("CUT"), 200));
+        verifyCutOrder(run(articles, StandardDispatchRule.EDD), "2", "3", "1");
+    }
+
+    @Test
+    void testShortestProcessingTimeUsesRemainingWork() {
+        List<Article> articles = List.of(
+                new Article(1, "NORMAL", List.of("CUT", "POLISH")),
+                new Article(2, "NORMAL", List.of("CUT")),
+                new Article(3, "NORMAL", List.of("CUT", "POLISH", "POLISH")));
+        verifyCutOrder(run(articles, StandardDispatchRule.SPT), "2", "1", "3");
+    }
+
+    @Test
+    void testLeastSlackAndCriticalRatio() {
+        // Artigo 1: folga 60 - 15 = 45; artigo 2: folga 50 - 10 = 40
+        List<Article> articles = List.of(
+                new Article(1, "NORMAL", List.of("CUT", "POLISH"), 60),
+                new Article(2, "NORMAL", List.of("CUT"), 50),
+                new Article(3, "NORMAL", List.of("CUT"), 1000));
+
+        verifyCutOrder(run(articles, StandardDispatchRule.LEAST_SLACK), "2", "1", "3");
+
+        // Rácio crítico em t=0: artigo 1 = 60/15 = 4, artigo 2 = 50/10 = 5
+        verifyCutOrder(run(articles, StandardDispatchRule.CRITICAL_RATIO), "1", "2", "3");
+        assertTrue(StandardDispatchRule.CRITICAL_RATIO.isTimeDependent());
+    }
+
+    @Test
+    void testSimulationAcceptsCustomRuleOnlyInDeterministicEngine() {
+        List<Article> articles = List.of(new Article(1, "LOW", List.of("CUT")), new Article(2, "LOW", List.of("CUT")));
+        DispatchRule lastInFirstOut = new DispatchRule() {
+            private long counter;
+
+            @Override
+            public long priorityKey(Context context, int article) {
+                return -(counter++);
+            }
+
+            @Override
+            public String getName() {
+                return "LIFO";
+            }
+        };
+
+        Printer printer = mock(Printer.class);
+        Simulation simulation = new Simulation(articles, workstations, printer,
+                Simulation.SimulationStrategy.FIFO, Simulation.EngineMode.DETERMINISTIC);
+        simulation.setDispatchRule(lastInFirstOut);
+        simulation.runSimulation();
+        verifyCutOrder(printer, "2", "1");
+
+        Simulation concurrent = new Simulation(articles, workstations, mock(Printer.class), Simulation.SimulationStrategy.FIFO);
+        assertThrows(IllegalStateException.class, () -> concurrent.setDispatchRule(StandardDispatchRule.EDD));
+        assertEquals(StandardDispatchRule.PRIORITY, StandardDispatchRule.forStrategy(Simulation.SimulationStrategy.PRIORITY));
+    }
+}
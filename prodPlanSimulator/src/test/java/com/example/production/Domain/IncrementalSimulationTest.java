@@ -0,0 +1,138 @@
+package com.example.production.Domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalSimulationTest {
+
+    private final List<Workstation> workstations = List.of(
+            new Workstation("ws1", "CUT", 7), new Workstation("ws2", "CUT", 9), new Workstation("ws3", "POLISH", 4),
+            new Workstation("ws4", "DRILL", 11), new Workstation("ws5", "PAINT", 6), new Workstation("ws6", "PACK", 5));
+
+    /**
+     * Artigos com 1 a 4 operações aleatórias, todos terminados em PACK.
+     */
+    private List<Article> articles(int count) {
+        String[] operations = {"CUT", "POLISH", "DRILL", "PAINT"};
+        String[] priorities = {"HIGH", "NORMAL", "LOW"};
+        Random random = new Random(5);
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<String> routing = new ArrayList<>();
+            for (int step = 0; step < 1 + random.nextInt(4); step++) {
+                routing.add(operations[random.nextInt(operations.length)]);
+            }
+            routing.add("PACK");
+            articles.add(new Article(i + 1, priorities[random.nextInt(3)], routing, i % 3 == 0 ? -1 : 50 + random.nextInt(400)));
+        }
+        return articles;
+    }
+
+    private static void assertSameRun(SimulationKernel expected, SimulationKernel actual) {
+        assertEquals(expected.getMakespan(), actual.getMakespan());
+        assertEquals(expected.getProcessedEvents(), actual.getProcessedEvents());
+        assertEquals(expected.getWorkstationUsage(), actual.getWorkstationUsage());
+        assertEquals(expected.getMetrics().getFlowTimes().getMean(), actual.getMetrics().getFlowTimes().getMean(), 1e-9);
+        assertEquals(expected.getMetrics().getAverageWorkInProgress(), actual.getMetrics().getAverageWorkInProgress(), 1e-9);
+    }
+
+    private static SimulationKernel fullRun(List<Article> articles, List<Workstation> workstations, DispatchRule rule) {
+        SimulationKernel kernel = new SimulationKernel(articles, workstations, rule, null, null);
+        kernel.run();
+        return kernel;
+    }
+
+    @Test
+    void testAddedWorkstationResumesFromSnapshot() {
+        List<Article> articles = articles(150);
+        IncrementalSimulation incremental = new IncrementalSimulation(articles, workstations, StandardDispatchRule.CRITICAL_RATIO, 20);
+        Workstation added = new Workstation("ws7", "PACK", 5);
+
+        SimulationKernel result = incremental.apply(new SimulationDelta().addWorkstation(added));
+
+        List<Workstation> changed = new ArrayList<>(workstations);
+        changed.add(added);
+        assertSameRun(fullRun(articles, changed, StandardDispatchRule.CRITICAL_RATIO), result);
+        // PACK é sempre a última operação, por isso o início da execução é reaproveitado
+        assertTrue(incremental.getLastResumeTime() >= 0);
+    }
+
+    @Test
+    void testRemovedWorkstationMatchesFullRun() {
+        List<Article> articles = articles(150);
+        IncrementalSimulation incremental = new IncrementalSimulation(articles, workstations, StandardDispatchRule.SPT, 15);
+
+        SimulationKernel result = incremental.apply(new SimulationDelta().removeWorkstation("ws2"));
+
+        List<Workstation> changed = new ArrayList<>(workstations);
+        changed.remove(1);
+        assertSameRun(fullRun(articles, changed, StandardDispatchRule.SPT), result);
+    }
+
+    @Test
+    void testChangedArticlesMatchFullRun() {
+        List<Article> articles = articles(150);
+        IncrementalSimulation incremental = new IncrementalSimulation(articles, workstations, StandardDispatchRule.LEAST_SLACK, 10);
+
+        List<Article> changed = new ArrayList<>(articles);
+        for (int index : new int[]{40, 97, 149}) {
+            Article article = articles.get(index);
+            List<String> routing = new ArrayList<>(article.getNameOperations());
+            routing.add(routing.size() - 1, "POLISH");
+            changed.set(index, new Article(article.getArticleId(), "HIGH", routing, article.getDueDate()));
+        }
+        SimulationDelta delta = new SimulationDelta()
+                .changeArticle(changed.get(40)).changeArticle(changed.get(97)).changeArticle(changed.get(149));
+
+        assertSameRun(fullRun(changed, workstations, StandardDispatchRule.LEAST_SLACK), incremental.apply(delta));
+        // A execução base não é alterada por um delta
+        assertSameRun(fullRun(articles, workstations, StandardDispatchRule.LEAST_SLACK), incremental.getBaseline());
+    }
+
+    @Test
+    void testChangedRoutingResumesFromSnapshot() {
+        List<Article> articles = articles(150);
+        IncrementalSimulation incremental = new IncrementalSimulation(articles, workstations, StandardDispatchRule.PRIORITY, 10);
+
+        // Com a regra PRIORITY uma mudança de roteiro só conta a partir do passo alterado
+        List<Article> rerouted = new ArrayList<>(articles);
+        Article article = articles.get(120);
+        List<String> routing = new ArrayList<>(article.getNameOperations());
+        routing.add(routing.size() - 1, "DRILL");
+        rerouted.set(120, new Article(article.getArticleId(), article.getPriority(), routing, article.getDueDate()));
+
+        SimulationKernel result = incremental.apply(new SimulationDelta().changeArticle(rerouted.get(120)));
+        assertSameRun(fullRun(rerouted, workstations, StandardDispatchRule.PRIORITY), result);
+        assertTrue(incremental.getLastResumeTime() >= 0);
+
+        List<Article> reprioritized = new ArrayList<>(articles);
+        reprioritized.set(7, new Article(articles.get(7).getArticleId(), "LOW", articles.get(7).getNameOperations()));
+        assertSameRun(fullRun(reprioritized, workstations, StandardDispatchRule.PRIORITY),
+                incremental.apply(new SimulationDelta().changeArticle(reprioritized.get(7))));
+    }
+
+    @Test
+    void testFasterWorkstationSimulatesFromStart() {
+        List<Article> articles = articles(80);
+        IncrementalSimulation incremental = new IncrementalSimulation(articles, workstations, StandardDispatchRule.EDD, 10);
+        Workstation faster = new Workstation("ws8", "PACK", 2);
+
+        SimulationKernel result = incremental.apply(new SimulationDelta().addWorkstation(faster));
+
+        List<Workstation> changed = new ArrayList<>(workstations);
+        changed.add(faster);
+        assertSameRun(fullRun(articles, changed, StandardDispatchRule.EDD), result);
+        assertEquals(-1, incremental.getLastResumeTime());
+    }
+
+    @Test
+    void testUnknownArticleOrWorkstationIsRejected() {
+        IncrementalSimulation incremental = new IncrementalSimulation(articles(10), workstations, StandardDispatchRule.FIFO, 10);
+        assertThrows(IllegalArgumentException.class,
+                () -> incremental.apply(new SimulationDelta().changeArticle(new Article(999, "HIGH", List.of("CUT")))));
+        assertThrows(IllegalArgumentException.class, () -> incremental.apply(new SimulationDelta().removeWorkstation("ws99")));
+    }
+}
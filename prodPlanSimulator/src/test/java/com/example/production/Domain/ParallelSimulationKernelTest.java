@@ -0,0 +1,116 @@
+package com.example.production.Domain;
+
+import com.example.production.Utils.FlowDependency;
+import com.example.production.Utils.Printer;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ParallelSimulationKernelTest {
+
+    /**
+     * Postos com tempos múltiplos de 2 e 3, para haver muitos eventos no mesmo instante.
+     */
+    private final List<Workstation> workstations = List.of(
+            new Workstation("ws1", "CUT", 6), new Workstation("ws2", "CUT", 6), new Workstation("ws3", "CUT", 9),
+            new Workstation("ws4", "POLISH", 4), new Workstation("ws5", "DRILL", 12), new Workstation("ws6", "DRILL", 12),
+            new Workstation("ws7", "PAINT", 6), new Workstation("ws8", "PACK", 3), new Workstation("ws9", "SAND", 8));
+
+    private List<Article> articles(int count) {
+        String[] operations = {"CUT", "POLISH", "DRILL", "PAINT", "PACK", "SAND", "GLUE"};
+        String[] priorities = {"HIGH", "NORMAL", "LOW"};
+        Random random = new Random(23);
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<String> routing = new ArrayList<>();
+            for (int step = 0; step < random.nextInt(6); step++) {
+                // GLUE não tem posto: alguns artigos ficam à espera até ao fim
+                routing.add(operations[random.nextInt(random.nextInt(50) == 0 ? 7 : 6)]);
+            }
+            articles.add(new Article(i + 1, priorities[random.nextInt(3)], routing, i % 4 == 0 ? -1 : 20 + random.nextInt(600)));
+        }
+        return articles;
+    }
+
+    private static Printer recorder(List<String> events) {
+        Printer printer = mock(Printer.class);
+        doAnswer(invocation -> events.add(Arrays.toString(invocation.getArguments())))
+                .when(printer).printProcessingEvent(anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt());
+        return printer;
+    }
+
+    @Test
+    void testSameEventsAsSequentialKernelForEveryRule() {
+        List<Article> articles = articles(400);
+        for (StandardDispatchRule rule : StandardDispatchRule.values()) {
+            List<String> expected = new ArrayList<>();
+            SimulationKernel sequential = new SimulationKernel(articles, workstations, rule, recorder(expected), null);
+            sequential.run();
+
+            for (int parallelism : new int[]{1, 3, 8}) {
+                List<String> events = new ArrayList<>();
+                ParallelSimulationKernel parallel = new ParallelSimulationKernel(articles, workstations, rule,
+                        recorder(events), null, parallelism);
+                parallel.run();
+
+                assertEquals(expected, events, rule + " com " + parallelism + " grupos");
+                assertEquals(sequential.getMakespan(), parallel.getMakespan());
+                assertEquals(sequential.getProcessedEvents(), parallel.getProcessedEvents());
+                assertEquals(sequential.getWorkstationUsage(), parallel.getWorkstationUsage());
+            }
+        }
+    }
+
+    @Test
+    void testFlowDependenciesMatchSequentialKernel() {
+        List<Article> articles = articles(150);
+        FlowDependency expected = new FlowDependency();
+        new SimulationKernel(articles, workstations, StandardDispatchRule.SPT, null, expected).run();
+        FlowDependency actual = new FlowDependency();
+        ParallelSimulationKernel parallel = new ParallelSimulationKernel(articles, workstations, StandardDispatchRule.SPT,
+                null, actual, 4);
+        parallel.run();
+
+        assertEquals(expected.getWorkstationDependencies(), actual.getWorkstationDependencies());
+        assertEquals(4, parallel.getGroups());
+        assertTrue(parallel.getWindows() > 0);
+    }
+
+    @Test
+    void testParallelEngineThroughSimulation() {
+        List<Article> articles = articles(200);
+        Simulation deterministic = new Simulation(articles, workstations, mock(Printer.class),
+                Simulation.SimulationStrategy.PRIORITY, Simulation.EngineMode.DETERMINISTIC);
+        deterministic.runSimulation();
+
+        List<Workstation> copies = new ArrayList<>();
+        for (Workstation workstation : workstations) {
+            copies.add(new Workstation(workstation.getWorkstationId(), workstation.getOperationName(), workstation.getTime()));
+        }
+        Simulation parallel = new Simulation(articles, copies, mock(Printer.class),
+                Simulation.SimulationStrategy.PRIORITY, Simulation.EngineMode.PARALLEL);
+        parallel.setParallelism(3);
+        parallel.runSimulation();
+
+        assertEquals(deterministic.getTotalProductionTime(), parallel.getTotalProductionTime());
+        assertEquals(deterministic.getWorkstationUsage(), parallel.getWorkstationUsage());
+        assertEquals(deterministic.getOperationTimes(), parallel.getOperationTimes());
+        assertNull(parallel.getMetrics());
+    }
+
+    @Test
+    void testRunTwiceAndZeroLookaheadAreRejected() {
+        ParallelSimulationKernel kernel = new ParallelSimulationKernel(articles(5), workstations, StandardDispatchRule.FIFO, null, null, 2);
+        kernel.run();
+        assertThrows(IllegalStateException.class, kernel::run);
+
+        List<Workstation> instant = List.of(new Workstation("ws0", "CUT", 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParallelSimulationKernel(articles(5), instant, StandardDispatchRule.FIFO, null, null, 2));
+    }
+}
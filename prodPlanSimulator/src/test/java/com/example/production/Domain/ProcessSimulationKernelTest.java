@@ -0,0 +1,113 @@
+package com.example.production.Domain;
+
+import com.example.production.Utils.Printer;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ProcessSimulationKernelTest {
+
+    private final List<Workstation> workstations = List.of(
+            new Workstation("ws1", "CUT", 6), new Workstation("ws2", "CUT", 6), new Workstation("ws3", "CUT", 9),
+            new Workstation("ws4", "POLISH", 4), new Workstation("ws5", "DRILL", 12), new Workstation("ws6", "PAINT", 6));
+
+    private List<Article> articles(int count, String... operations) {
+        String[] priorities = {"HIGH", "NORMAL", "LOW"};
+        Random random = new Random(31);
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<String> routing = new ArrayList<>();
+            for (int step = 0; step < 1 + random.nextInt(4); step++) {
+                routing.add(operations[random.nextInt(operations.length)]);
+            }
+            articles.add(new Article(i + 1, priorities[random.nextInt(3)], routing, i % 3 == 0 ? -1 : 30 + random.nextInt(300)));
+        }
+        return articles;
+    }
+
+    private static Printer recorder(List<String> events) {
+        Printer printer = mock(Printer.class);
+        doAnswer(invocation -> events.add(Arrays.toString(invocation.getArguments())))
+                .when(printer).printProcessingEvent(anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt());
+        return printer;
+    }
+
+    @Test
+    void testRunsAreIdentical() {
+        List<Article> articles = articles(150, "CUT", "POLISH", "DRILL", "PAINT");
+        for (StandardDispatchRule rule : StandardDispatchRule.values()) {
+            List<String> first = new ArrayList<>();
+            List<String> second = new ArrayList<>();
+            new ProcessSimulationKernel(articles, workstations, rule, recorder(first), null).run();
+            new ProcessSimulationKernel(articles, workstations, rule, recorder(second), null).run();
+            assertEquals(first, second, rule.getName());
+        }
+    }
+
+    @Test
+    void testEveryOperationIsProcessed() {
+        // GLUE não tem posto: essas operações ficam por fazer
+        List<Article> articles = articles(200, "CUT", "POLISH", "DRILL", "PAINT", "GLUE");
+        List<String> events = new ArrayList<>();
+        ProcessSimulationKernel kernel = new ProcessSimulationKernel(articles, workstations, StandardDispatchRule.SPT,
+                recorder(events), null);
+        kernel.run();
+
+        int expected = 0;
+        for (Article article : articles) {
+            int glue = article.getNameOperations().indexOf("GLUE");
+            expected += glue >= 0 ? glue : article.getNameOperations().size();
+        }
+        assertEquals(expected, kernel.getProcessedEvents());
+        assertEquals(expected, events.size());
+
+        long busy = 0;
+        for (int w = 0; w < workstations.size(); w++) {
+            busy += kernel.getWorkstationBusyTime(w);
+        }
+        assertEquals(busy, kernel.getWorkstationUsage().values().stream().mapToLong(Integer::longValue).sum());
+        // Sem esperas, a duração não pode ser inferior ao roteiro mais longo
+        assertTrue(kernel.getMakespan() >= 12);
+    }
+
+    @Test
+    void testManyWorkstationProcesses() {
+        List<Workstation> plant = new ArrayList<>();
+        for (int w = 0; w < 20_000; w++) {
+            plant.add(new Workstation("ws" + w, "OP" + (w % 500), 5 + w % 7));
+        }
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            articles.add(new Article(i, "NORMAL", List.of("OP" + (i % 500), "OP" + ((i * 7) % 500))));
+        }
+        ProcessSimulationKernel kernel = new ProcessSimulationKernel(articles, plant, StandardDispatchRule.FIFO, null, null);
+        kernel.run();
+
+        assertEquals(40_000, kernel.getProcessedEvents());
+        assertTrue(kernel.getMakespan() > 0);
+    }
+
+    @Test
+    void testProcessEngineThroughSimulation() {
+        List<Article> articles = articles(100, "CUT", "POLISH", "DRILL", "PAINT");
+        Simulation simulation = new Simulation(articles, workstations, mock(Printer.class),
+                Simulation.SimulationStrategy.FIFO, Simulation.EngineMode.PROCESS);
+        simulation.runSimulation();
+
+        assertTrue(simulation.getTotalProductionTime() > 0);
+        assertFalse(simulation.getWorkstationUsage().isEmpty());
+        assertThrows(IllegalStateException.class, () -> simulation.setCheckpointInterval(10, null));
+    }
+
+    @Test
+    void testRunTwiceIsRejected() {
+        ProcessSimulationKernel kernel = new ProcessSimulationKernel(articles(5, "CUT"), workstations, StandardDispatchRule.FIFO, null, null);
+        kernel.run();
+        assertThrows(IllegalStateException.class, kernel::run);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.production.Domain;
+
+import com.example.production.Utils.SummaryStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicationRunnerTest {
+
+    private List<Article> createArticles() {
+        List<Article> articles = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            articles.add(new Article(i, i % 2 == 0 ? "HIGH" : "NORMAL", Arrays.asList("CUT", "POLISH")));
+        }
+        return articles;
+    }
+
+    private List<Workstation> createWorkstations() {
+        return List.of(new Workstation("ws1", "CUT", 10), new Workstation("ws2", "POLISH", 5));
+    }
+
+    @Test
+    void testRunAggregatesScenarios() {
+        ReplicationRunner runner = new ReplicationRunner(createArticles(), createWorkstations(), 4);
+        List<SimulationScenario> scenarios = List.of(
+                new SimulationScenario("base", Simulation.SimulationStrategy.FIFO),
+                new SimulationScenario("priority", Simulation.SimulationStrategy.PRIORITY),
+                new SimulationScenario("extra-cut", Simulation.SimulationStrategy.FIFO, Map.of("CUT", 1)));
+
+        ReplicationRunner.Report report = runner.run(scenarios);
+
+        assertEquals(3, report.getResults().size());
+        assertEquals("base", report.getResults().get(0).getScenario().getName());
+        assertEquals(205, report.getResults().get(0).getMakespan());
+        assertEquals(205, report.getResults().get(1).getMakespan());
+        assertEquals(110, report.getResults().get(2).getMakespan(), "Uma segunda CUT deve reduzir o makespan para quase metade.");
+
+        // Cada cenário tem as suas estatísticas; cenários diferentes não são misturados
+        assertThrows(IllegalStateException.class, report::getMakespan);
+        assertEquals(scenarios, report.getScenarios());
+        SummaryStatistics base = report.getMakespan(scenarios.get(0));
+        assertEquals(1, base.getCount());
+        assertEquals(205, base.getMean(), 1e-9);
+        assertEquals(110, report.getMakespan(scenarios.get(2)).getMean(), 1e-9);
+        assertEquals(1, report.getUtilization(scenarios.get(0)).get("ws1").getCount());
+        assertFalse(report.getUtilization(scenarios.get(0)).containsKey("ws1+1"));
+        assertEquals(1, report.getUtilization(scenarios.get(2)).get("ws1+1").getCount());
+        assertThrows(IllegalArgumentException.class,
+                () -> report.getMakespan(new SimulationScenario("other", Simulation.SimulationStrategy.FIFO)));
+
+        // O mesmo cenário repetido é replicado
+        SimulationScenario repeated = scenarios.get(2);
+        ReplicationRunner.Report replicated = runner.run(List.of(repeated, repeated, repeated));
+        assertEquals(3, replicated.getMakespan().getCount());
+        assertEquals(3, replicated.getUtilization().get("ws1").getCount());
+        assertEquals(200.0 * 100 / 205, report.getResults().get(0).getUtilization().get("ws1"), 1e-9);
+    }
+
+    @Test
+    void testScenarioRemovesSlowestWorkstation() {
+        List<Workstation> base = List.of(new Workstation("fast", "CUT", 5), new Workstation("slow", "CUT", 9));
+        SimulationScenario scenario = new SimulationScenario("less-cut", Simulation.SimulationStrategy.FIFO, Map.of("CUT", -1));
+
+        List<Workstation> result = scenario.applyTo(base);
+
+        assertEquals(1, result.size());
+        assertEquals("fast", result.get(0).getWorkstationId());
+        assertEquals(2, base.size());
+    }
+
+    @Test
+    void testAddedWorkstationKeepsSetupAndBatch() {
+        List<Article> articles = new ArrayList<>();
+        for (int i = 1; i <= 16; i++) {
+            articles.add(new Article(i, "NORMAL", List.of("BAKE")));
+        }
+        List<Workstation> base = List.of(new Workstation("oven", "BAKE", 30, 2, 4));
+        SimulationScenario scenario = new SimulationScenario("two-ovens", Simulation.SimulationStrategy.FIFO, Map.of("BAKE", 1));
+
+        Workstation added = scenario.applyTo(base).get(1);
+        assertEquals("oven+1", added.getWorkstationId());
+        assertEquals(2, added.getSetupTime());
+        assertEquals(4, added.getBatchSize());
+
+        // 4 fornadas de 4 artigos, duas em cada forno
+        ReplicationRunner.Report report = new ReplicationRunner(articles, base, 1).run(List.of(scenario));
+        assertEquals(2 * 30, report.getResults().get(0).getMakespan());
+    }
+
+    @Test
+    void testSummaryStatistics() {
+        SummaryStatistics statistics = new SummaryStatistics();
+        for (double value : new double[]{2, 4, 4, 4, 5, 5, 7, 9}) {
+            statistics.add(value);
+        }
+        assertEquals(5.0, statistics.getMean(), 1e-9);
+        assertEquals(Math.sqrt(32.0 / 7), statistics.getStandardDeviation(), 1e-9);
+        assertEquals(2.365 * statistics.getStandardDeviation() / Math.sqrt(8), statistics.getConfidenceHalfWidth(), 1e-9);
+    }
+}
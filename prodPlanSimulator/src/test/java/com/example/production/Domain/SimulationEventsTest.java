@@ -0,0 +1,94 @@
+package com.example.production.Domain;
+
+import com.example.production.Utils.MetricsRegistry;
+import com.example.production.Utils.Printer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class SimulationEventsTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<Workstation> workstations = List.of(
+            new Workstation("ws1", "CUT", 5), new Workstation("ws2", "CUT", 7), new Workstation("ws3", "PAINT", 4));
+
+    private List<Article> articles() {
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            articles.add(new Article(i + 1, "NORMAL", i % 2 == 0 ? List.of("CUT", "PAINT") : List.of("CUT")));
+        }
+        return articles;
+    }
+
+    @Test
+    void testRegistryThroughSimulation() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Simulation simulation = new Simulation(articles(), workstations, mock(Printer.class),
+                Simulation.SimulationStrategy.FIFO, Simulation.EngineMode.DETERMINISTIC);
+        simulation.setMetricsRegistry(registry);
+        simulation.runSimulation();
+
+        // 20 CUT + 10 PAINT
+        assertEquals(30, registry.counter("kernel.events").get());
+        assertEquals(30, registry.counter("kernel.assignments").get());
+        assertEquals(30, registry.distribution("kernel.event.nanos").getCount());
+        assertEquals(1, registry.counter("simulation.runs").get());
+        assertEquals(simulation.getTotalProductionTime(), registry.gauge("simulation.makespan").get());
+        assertEquals(0, registry.gauge("kernel.work-in-progress").get());
+        assertEquals(20, registry.gauge("kernel.queue.CUT").getMax());
+        assertEquals(0, registry.gauge("kernel.queue.CUT").get());
+    }
+
+    @Test
+    void testFlightRecorderEvents() throws Exception {
+        Path file = directory.resolve("run.jfr");
+        try (Recording recording = new Recording()) {
+            for (String event : List.of("EventDispatched", "WorkstationAssigned", "QueueDepth", "Phase")) {
+                recording.enable("com.example.production." + event);
+            }
+            recording.start();
+            SimulationKernel kernel = new SimulationKernel(articles(), workstations, StandardDispatchRule.FIFO, null, null);
+            kernel.run();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Map<String, Integer> counts = new HashMap<>();
+        Set<String> phases = new HashSet<>();
+        Set<Integer> dispatched = new HashSet<>();
+        Set<Integer> assigned = new HashSet<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            String name = event.getEventType().getName();
+            counts.merge(name, 1, Integer::sum);
+            if (name.equals("com.example.production.Phase")) {
+                phases.add(event.getString("phase"));
+            }
+            if (name.equals("com.example.production.WorkstationAssigned")) {
+                assertTrue(event.getString("workstation").startsWith("ws"));
+                assigned.add(event.getInt("articleId"));
+            }
+            if (name.equals("com.example.production.EventDispatched")) {
+                dispatched.add(event.getInt("articleId"));
+            }
+        }
+        assertEquals(30, counts.get("com.example.production.EventDispatched"));
+        assertEquals(30, counts.get("com.example.production.WorkstationAssigned"));
+        assertTrue(counts.get("com.example.production.QueueDepth") > 0);
+        assertEquals(Set.of("release", "event loop"), phases);
+        // Os dois eventos identificam o artigo pelo mesmo ID
+        Set<Integer> articleIds = new HashSet<>();
+        articles().forEach(article -> articleIds.add(article.getArticleId()));
+        assertEquals(articleIds, dispatched);
+        assertEquals(articleIds, assigned);
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.production.Domain;
+
+import com.example.production.Utils.Printer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SimulationKernelTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<Workstation> workstations = List.of(
+            new Workstation("ws1", "CUT", 7), new Workstation("ws2", "CUT", 9),
+            new Workstation("ws3", "POLISH", 4), new Workstation("ws4", "DRILL", 11), new Workstation("ws5", "PAINT", 6));
+
+    private List<Article> articles(int count) {
+        String[] operations = {"CUT", "POLISH", "DRILL", "PAINT"};
+        String[] priorities = {"HIGH", "NORMAL", "LOW"};
+        Random random = new Random(11);
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<String> routing = new ArrayList<>();
+            for (int step = 0; step < 1 + random.nextInt(4); step++) {
+                routing.add(operations[random.nextInt(operations.length)]);
+            }
+            articles.add(new Article(i + 1, priorities[random.nextInt(3)], routing, i % 3 == 0 ? -1 : 50 + random.nextInt(400)));
+        }
+        return articles;
+    }
+
+    /**
+     * Printer que regista cada evento como texto, para comparar execuções.
+     */
+    private static Printer recorder(List<String> events) {
+        Printer printer = mock(Printer.class);
+        doAnswer(invocation -> events.add(Arrays.toString(invocation.getArguments())))
+                .when(printer).printProcessingEvent(anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt());
+        return printer;
+    }
+
+    @Test
+    void testResumedRunMatchesUninterruptedRun() throws Exception {
+        List<Article> articles = articles(200);
+        List<String> expected = new ArrayList<>();
+        SimulationKernel full = new SimulationKernel(articles, workstations, StandardDispatchRule.CRITICAL_RATIO, recorder(expected), null);
+        full.run();
+
+        List<String> resumedEvents = new ArrayList<>();
+        SimulationKernel first = new SimulationKernel(articles, workstations, StandardDispatchRule.CRITICAL_RATIO, recorder(resumedEvents), null);
+        assertTrue(first.runUntil(full.getMakespan() / 2));
+        Path checkpoint = directory.resolve("run.ckpt");
+        first.writeCheckpoint(checkpoint);
+
+        SimulationKernel resumed = SimulationKernel.resume(checkpoint, articles, workstations,
+                StandardDispatchRule.CRITICAL_RATIO, recorder(resumedEvents), null);
+        resumed.run();
+
+        assertEquals(expected, resumedEvents);
+        assertEquals(full.getMakespan(), resumed.getMakespan());
+        assertEquals(full.getProcessedEvents(), resumed.getProcessedEvents());
+        assertEquals(full.getWorkstationUsage(), resumed.getWorkstationUsage());
+        assertEquals(full.getMetrics().getAverageWorkInProgress(), resumed.getMetrics().getAverageWorkInProgress(), 1e-9);
+        assertEquals(full.getMetrics().getOperation("CUT").getWaitingTimes().getMean(),
+                resumed.getMetrics().getOperation("CUT").getWaitingTimes().getMean(), 1e-9);
+    }
+
+    @Test
+    void testResumedStreamSkipsReleasedArticles() throws Exception {
+        List<Article> articles = articles(120);
+        List<String> expected = new ArrayList<>();
+        SimulationKernel full = new SimulationKernel(articles.iterator(), 5, workstations, StandardDispatchRule.SPT, recorder(expected), null);
+        full.run();
+
+        List<String> resumedEvents = new ArrayList<>();
+        SimulationKernel first = new SimulationKernel(articles.iterator(), 5, workstations, StandardDispatchRule.SPT, recorder(resumedEvents), null);
+        first.runUntil(full.getMakespan() / 3);
+        Path checkpoint = directory.resolve("stream.ckpt");
+        first.writeCheckpoint(checkpoint);
+
+        SimulationKernel resumed = SimulationKernel.resume(checkpoint, articles.iterator(), workstations,
+                StandardDispatchRule.SPT, recorder(resumedEvents), null);
+        resumed.run();
+
+        assertEquals(expected, resumedEvents);
+        assertEquals(120, resumed.getReleasedArticles());
+    }
+
+    @Test
+    void testPeriodicCheckpointsThroughSimulation() throws Exception {
+        List<Article> articles = articles(100);
+        Path checkpoint = directory.resolve("periodic.ckpt");
+        Simulation original = new Simulation(articles, workstations, mock(Printer.class),
+                Simulation.SimulationStrategy.PRIORITY, Simulation.EngineMode.DETERMINISTIC);
+        original.setCheckpointInterval(50, checkpoint);
+        original.runSimulation();
+        assertTrue(Files.exists(checkpoint));
+
+        // Um ramo "what-if" a partir do último checkpoint termina no mesmo instante
+        Simulation branch = new Simulation(articles, workstations, mock(Printer.class),
+                Simulation.SimulationStrategy.PRIORITY, Simulation.EngineMode.DETERMINISTIC);
+        branch.setResumeCheckpoint(checkpoint);
+        branch.runSimulation();
+        assertEquals(original.getTotalProductionTime(), branch.getTotalProductionTime());
+        assertEquals(original.getWorkstationUsage(), branch.getWorkstationUsage());
+    }
+
+    @Test
+    void testResumeRejectsDifferentWorkstations() throws Exception {
+        List<Article> articles = articles(20);
+        SimulationKernel kernel = new SimulationKernel(articles, workstations, StandardDispatchRule.FIFO, null, null);
+        kernel.runUntil(10);
+        Path checkpoint = directory.resolve("other.ckpt");
+        kernel.writeCheckpoint(checkpoint);
+
+        List<Workstation> other = List.of(new Workstation("ws9", "CUT", 7));
+        assertThrows(IllegalArgumentException.class, () -> SimulationKernel.resume(checkpoint, articles, other,
+                StandardDispatchRule.FIFO, null, null));
+        assertThrows(IllegalArgumentException.class, () -> SimulationKernel.resume(checkpoint, articles.iterator(), workstations,
+                StandardDispatchRule.FIFO, null, null));
+    }
+
+    @Test
+    void testMetricsOperationsCanBeIteratedDuringRun() {
+        SimulationMetrics metrics = new SimulationMetrics(workstations);
+        metrics.operation("CUT");
+        Iterator<SimulationMetrics.OperationMetrics> reading = metrics.getOperations().values().iterator();
+
+        // O kernel acrescenta uma operação enquanto outra thread percorre o mapa
+        metrics.operation("PAINT");
+        assertEquals("CUT", reading.next().getOperation());
+        assertFalse(reading.hasNext());
+        assertEquals(List.of("CUT", "PAINT"), new ArrayList<>(metrics.getOperations().keySet()));
+        assertSame(metrics.getOperation("CUT"), metrics.operation("CUT"));
+    }
+
+    @Test
+    void testRunAfterCompletionIsRejected() {
+        SimulationKernel kernel = new SimulationKernel(articles(5), workstations, StandardDispatchRule.FIFO, null, null);
+        assertFalse(kernel.runUntil(Integer.MAX_VALUE));
+        assertThrows(IllegalStateException.class, kernel::run);
+    }
+
+    @Test
+    void testSetupsArePaidOnFamilyChange() {
+        // Duas famílias alternadas num único posto: cada troca custa 5
+        List<Workstation> plant = List.of(new Workstation("ws1", "PAINT", 10, 5, 1));
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            articles.add(new Article(i + 1, "NORMAL", i % 2 == 0 ? List.of("PAINT") : List.of("PAINT", "PACK")));
+        }
+        SimulationKernel fifo = new SimulationKernel(articles, plant, StandardDispatchRule.FIFO, null, null);
+        fifo.run();
+        assertEquals(6 * 10 + 5 * 5, fifo.getMakespan());
+        assertEquals(25, fifo.getWorkstationSetupTime(0));
+
+        SimulationKernel grouped = new SimulationKernel(articles, plant, StandardDispatchRule.FIFO, null, null);
+        grouped.setSetupGrouping(true);
+        grouped.run();
+        assertEquals(6 * 10 + 5, grouped.getMakespan());
+        assertEquals(grouped.getMakespan(), grouped.getWorkstationBusyTime(0));
+    }
+
+    @Test
+    void testBatchesCompleteWithOneEvent() {
+        List<Workstation> plant = List.of(new Workstation("oven", "BAKE", 30, 0, 4), new Workstation("ws2", "PACK", 2));
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            articles.add(new Article(i + 1, "NORMAL", List.of("BAKE", "PACK")));
+        }
+        List<String> events = new ArrayList<>();
+        SimulationKernel kernel = new SimulationKernel(articles, plant, StandardDispatchRule.FIFO, recorder(events), null);
+        kernel.run();
+
+        // 3 fornadas (4 + 4 + 2) e 10 embalagens
+        assertEquals(3 + 10, kernel.getProcessedEvents());
+        assertEquals(20, events.size());
+        assertEquals(90, kernel.getWorkstationBusyTime(0));
+        // A última fornada tem 2 artigos, embalados um após o outro
+        assertEquals(90 + 2 * 2, kernel.getMakespan());
+    }
+
+    @Test
+    void testGroupingOnlyLimitsBatchesWithSetup() {
+        // Duas famílias (2 e 6 artigos): sem tempo de setup as fornadas misturam-nas
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            articles.add(new Article(i + 1, "NORMAL", i % 4 == 0 ? List.of("BAKE") : List.of("BAKE", "PACK")));
+        }
+        List<Workstation> noSetup = List.of(new Workstation("oven", "BAKE", 30, 0, 4), new Workstation("ws2", "PACK", 2));
+        SimulationKernel mixed = new SimulationKernel(articles, noSetup, StandardDispatchRule.FIFO, null, null);
+        mixed.setSetupGrouping(true);
+        mixed.run();
+        assertEquals(2 * 30, mixed.getWorkstationBusyTime(0));
+
+        // Com setup cada fornada fica numa família: 2, 4 e 2 artigos
+        List<Workstation> withSetup = List.of(new Workstation("oven", "BAKE", 30, 5, 4), new Workstation("ws2", "PACK", 2));
+        SimulationKernel grouped = new SimulationKernel(articles, withSetup, StandardDispatchRule.FIFO, null, null);
+        grouped.setSetupGrouping(true);
+        grouped.run();
+        assertEquals(3 * 30, grouped.getWorkstationBusyTime(0) - grouped.getWorkstationSetupTime(0));
+    }
+
+    @Test
+    void testResumeWithSetupsAndBatches() throws Exception {
+        List<Workstation> plant = List.of(
+                new Workstation("ws1", "CUT", 7, 3, 1), new Workstation("ws2", "CUT", 9),
+                new Workstation("ws3", "POLISH", 4, 2, 3), new Workstation("ws4", "DRILL", 11, 0, 2), new Workstation("ws5", "PAINT", 6, 4, 1));
+        List<Article> articles = articles(150);
+        for (boolean stream : new boolean[]{false, true}) {
+            List<String> expected = new ArrayList<>();
+            SimulationKernel full = stream
+                    ? new SimulationKernel(articles.iterator(), 20, plant, StandardDispatchRule.EDD, recorder(expected), null)
+                    : new SimulationKernel(articles, plant, StandardDispatchRule.EDD, recorder(expected), null);
+            full.setSetupGrouping(true);
+            full.run();
+
+            List<String> resumedEvents = new ArrayList<>();
+            SimulationKernel first = stream
+                    ? new SimulationKernel(articles.iterator(), 20, plant, StandardDispatchRule.EDD, recorder(resumedEvents), null)
+                    : new SimulationKernel(articles, plant, StandardDispatchRule.EDD, recorder(resumedEvents), null);
+            first.setSetupGrouping(true);
+            first.runUntil(full.getMakespan() / 2);
+            Path checkpoint = directory.resolve("setup.ckpt");
+            first.writeCheckpoint(checkpoint);
+
+            SimulationKernel resumed = stream
+                    ? SimulationKernel.resume(checkpoint, articles.iterator(), plant, StandardDispatchRule.EDD, recorder(resumedEvents), null)
+                    : SimulationKernel.resume(checkpoint, articles, plant, StandardDispatchRule.EDD, recorder(resumedEvents), null);
+            resumed.setSetupGrouping(true);
+            resumed.run();
+
+            assertEquals(expected, resumedEvents);
+            assertEquals(full.getWorkstationSetupTime(0), resumed.getWorkstationSetupTime(0));
+            assertEquals(full.getWorkstationUsage(), resumed.getWorkstationUsage());
+        }
+    }
+}
@@ -3,8 +3,13 @@ package com.example.production.Domain;
 import com.example.production.Utils.ConsolePrinter;
 import com.example.production.Utils.Printer;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 class SimulationTest {
 
@@ -54,4 +59,146 @@ class SimulationTest {
         assertEquals(10, workstationUsage.get("ws1"), "Uso da workstation ws1 deve ser 10 segundos.");
         assertEquals(15, workstationUsage.get("ws2"), "Uso da workstation ws2 deve ser 15 segundos.");
     }
+
+    @Test
+    void testDeterministicEngineRunSimple() {
+        List<Article> articles = List.of(new Article(1, "NORMAL", Arrays.asList("CUT", "POLISH")));
+        List<Workstation> workstations = List.of(new Workstation("ws1", "CUT", 10), new Workstation("ws2", "POLISH", 15));
+
+        Simulation simulation = new Simulation(articles, workstations, mock(Printer.class),
+                Simulation.SimulationStrategy.FIFO, Simulation.EngineMode.DETERMINISTIC);
+        simulation.runSimulation();
+
+        assertEquals(Simulation.EngineMode.DETERMINISTIC, simulation.getEngineMode());
+        assertEquals(25, simulation.getTotalProductionTime());
+        assertEquals(10, simulation.getOperationTimes().get("CUT"));
+        assertEquals(15, simulation.getOperationTimes().get("POLISH"));
+        assertEquals(10, simulation.getWorkstationUsage().get("ws1"));
+        assertEquals(15, workstations.get(1).getTotalUsageTime());
+    }
+
+    @Test
+    void testDeterministicEngineIsReproducible() {
+        List<Workstation> workstations = List.of(
+                new Workstation("ws1", "CUT", 7), new Workstation("ws2", "CUT", 7),
+                new Workstation("ws3", "POLISH", 5), new Workstation("ws4", "PACK", 3));
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            articles.add(new Article(i, i % 3 == 0 ? "HIGH" : "LOW",
+                    i % 2 == 0 ? Arrays.asList("CUT", "POLISH", "PACK") : Arrays.asList("POLISH", "CUT")));
+        }
+
+        Simulation first = new Simulation(articles, workstations, mock(Printer.class),
+                Simulation.SimulationStrategy.PRIORITY, Simulation.EngineMode.DETERMINISTIC);
+        first.runSimulation();
+        Simulation second = new Simulation(articles, workstations, mock(Printer.class),
+                Simulation.SimulationStrategy.PRIORITY, Simulation.EngineMode.DETERMINISTIC);
+        second.runSimulation();
+
+        assertEquals(first.getTotalProductionTime(), second.getTotalProductionTime());
+        assertEquals(first.getWorkstationUsage(), second.getWorkstationUsage());
+        assertEquals("CUT", articles.get(0).getCurrentOperation(), "O kernel não deve alterar os artigos de entrada.");
+    }
+
+    @Test
+    void testDeterministicEnginePriorityOrder() {
+        List<Article> articles = List.of(
+                new Article(1, "LOW", List.of("CUT")),
+                new Article(2, "HIGH", List.of("CUT")),
+                new Article(3, "NORMAL", List.of("CUT")));
+        Printer printer = mock(Printer.class);
+
+        Simulation simulation = new Simulation(articles, List.of(new Workstation("ws1", "CUT", 10)), printer,
+                Simulation.SimulationStrategy.PRIORITY, Simulation.EngineMode.DETERMINISTIC);
+        simulation.runSimulation();
+
+        InOrder order = inOrder(printer);
+        order.verify(printer).printProcessingEvent(eq("2"), anyString(), anyString(), anyString(), eq(0), eq(10));
+        order.verify(printer).printProcessingEvent(eq("3"), anyString(), anyString(), anyString(), eq(10), eq(20));
+        order.verify(printer).printProcessingEvent(eq("1"), anyString(), anyString(), anyString(), eq(20), eq(30));
+        assertEquals(30, simulation.getTotalProductionTime());
+    }
+
+    @Test
+    void testStreamedArticlesWithFullWindowMatchList() {
+        List<Workstation> workstations = List.of(
+                new Workstation("ws1", "CUT", 7), new Workstation("ws2", "CUT", 9),
+                new Workstation("ws3", "POLISH", 5), new Workstation("ws4", "PACK", 3));
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            articles.add(new Article(i, i % 3 == 0 ? "HIGH" : "LOW",
+                    i % 2 == 0 ? Arrays.asList("CUT", "POLISH", "PACK") : Arrays.asList("POLISH", "CUT")));
+        }
+
+        Simulation fromList = new Simulation(articles, workstations, mock(Printer.class),
+                Simulation.SimulationStrategy.PRIORITY, Simulation.EngineMode.DETERMINISTIC);
+        fromList.runSimulation();
+        Simulation streamed = new Simulation(articles.iterator(), articles.size(), workstations, mock(Printer.class),
+                Simulation.SimulationStrategy.PRIORITY);
+        streamed.runSimulation();
+
+        assertEquals(fromList.getTotalProductionTime(), streamed.getTotalProductionTime());
+        assertEquals(fromList.getWorkstationUsage(), streamed.getWorkstationUsage());
+    }
+
+    @Test
+    void testStreamedArticlesRespectReleaseWindow() {
+        // Fonte preguiçosa: regista quantos artigos já foram lidos em cada evento impresso
+        int[] pulled = {0};
+        Iterator<Article> source = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return pulled[0] < 6;
+            }
+
+            @Override
+            public Article next() {
+                pulled[0]++;
+                return new Article(pulled[0], "NORMAL", List.of("CUT", "POLISH"));
+            }
+        };
+        List<Integer> pulledAtStart = new ArrayList<>();
+        Printer printer = mock(Printer.class);
+        doAnswer(invocation -> pulledAtStart.add(pulled[0]))
+                .when(printer).printProcessingEvent(anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt());
+
+        Simulation simulation = new Simulation(source, 2, List.of(new Workstation("ws1", "CUT", 10),
+                new Workstation("ws2", "CUT", 10), new Workstation("ws3", "POLISH", 10)), printer,
+                Simulation.SimulationStrategy.FIFO);
+        simulation.runSimulation();
+
+        // Com janela 2 nunca há mais de dois artigos lidos do que terminados
+        assertEquals(12, pulledAtStart.size());
+        assertEquals(2, pulledAtStart.get(0));
+        InOrder order = inOrder(printer);
+        order.verify(printer).printProcessingEvent(eq("1"), eq("POLISH"), anyString(), anyString(), eq(10), eq(20));
+        order.verify(printer).printProcessingEvent(eq("3"), eq("CUT"), anyString(), anyString(), eq(20), eq(30));
+        order.verify(printer).printProcessingEvent(eq("2"), eq("POLISH"), anyString(), anyString(), eq(20), eq(30));
+        assertEquals(6, pulled[0]);
+        assertEquals(70, simulation.getTotalProductionTime());
+    }
+
+    @Test
+    void testDeterministicEngineCollectsMetrics() {
+        List<Article> articles = List.of(new Article(1, "NORMAL", List.of("CUT")),
+                new Article(2, "NORMAL", List.of("CUT")), new Article(3, "NORMAL", List.of("CUT")));
+        Simulation simulation = new Simulation(articles, List.of(new Workstation("ws1", "CUT", 10)), mock(Printer.class),
+                Simulation.SimulationStrategy.FIFO, Simulation.EngineMode.DETERMINISTIC);
+        assertNull(simulation.getMetrics());
+        simulation.runSimulation();
+
+        // Uma só estação: os artigos esperam 0, 10 e 20 segundos e terminam aos 10, 20 e 30
+        SimulationMetrics metrics = simulation.getMetrics();
+        assertEquals(30, metrics.getTime());
+        SimulationMetrics.OperationMetrics cut = metrics.getOperation("CUT");
+        assertEquals(1.0, cut.getAverageQueueLength(), 1e-9);
+        assertEquals(3, cut.getMaxQueueLength());
+        assertEquals(0, cut.getCurrentQueueLength());
+        assertEquals(10.0, cut.getWaitingTimes().getMean(), 1e-9);
+        assertEquals(20, cut.getWaitingTimes().getPercentile(100));
+        assertEquals(2.0, metrics.getAverageWorkInProgress(), 1e-9);
+        assertEquals(3, metrics.getMaxWorkInProgress());
+        assertEquals(20.0, metrics.getFlowTimes().getMean(), 1e-9);
+        assertEquals(Map.of("ws1", 1.0), metrics.getWorkstationUtilization());
+    }
 }
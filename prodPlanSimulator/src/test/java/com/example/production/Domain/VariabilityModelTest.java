@@ -0,0 +1,134 @@
+package com.example.production.Domain;
+
+import com.example.production.Utils.Printer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class VariabilityModelTest {
+
+    private final List<Workstation> workstations = List.of(
+            new Workstation("ws1", "CUT", 6), new Workstation("ws2", "CUT", 8),
+            new Workstation("ws3", "POLISH", 4), new Workstation("ws4", "PAINT", 10));
+
+    private List<Article> articles(int count) {
+        String[] operations = {"CUT", "POLISH", "PAINT"};
+        Random random = new Random(5);
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<String> routing = new ArrayList<>();
+            for (int step = 0; step < 1 + random.nextInt(3); step++) {
+                routing.add(operations[random.nextInt(operations.length)]);
+            }
+            articles.add(new Article(i + 1, "NORMAL", routing));
+        }
+        return articles;
+    }
+
+    private VariabilityModel model() {
+        return new VariabilityModel(2024)
+                .setProcessingTime("ws1", TimeDistribution.normal(6, 1.5))
+                .setProcessingTime("ws2", TimeDistribution.lognormal(8, 3))
+                .setProcessingTime("ws3", TimeDistribution.triangular(2, 4, 9))
+                .setProcessingTime("ws4", TimeDistribution.empirical(8, 9, 10, 12, 15))
+                .setBreakdowns("ws4", 200, 30);
+    }
+
+    @Test
+    void testSampleMeans() {
+        SplittableRandom random = new SplittableRandom(1);
+        TimeDistribution[] distributions = {
+                TimeDistribution.constant(7), TimeDistribution.normal(50, 5), TimeDistribution.lognormal(40, 10),
+                TimeDistribution.triangular(10, 20, 60), TimeDistribution.exponential(25), TimeDistribution.empirical(3, 5, 10)
+        };
+        for (TimeDistribution distribution : distributions) {
+            long sum = 0;
+            int n = 200_000;
+            for (int i = 0; i < n; i++) {
+                int sample = distribution.sample(random);
+                assertTrue(sample >= 0);
+                sum += sample;
+            }
+            // O arredondamento ao segundo desloca a média no máximo 0,5
+            assertEquals(distribution.getMean(), (double) sum / n, 0.6, distribution.toString());
+        }
+    }
+
+    @Test
+    void testInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> TimeDistribution.triangular(5, 2, 9));
+        assertThrows(IllegalArgumentException.class, () -> TimeDistribution.normal(5, -1));
+        assertThrows(IllegalArgumentException.class, () -> TimeDistribution.empirical());
+        assertThrows(IllegalArgumentException.class, () -> new VariabilityModel(1).setBreakdowns("ws1", 0, 10));
+    }
+
+    @Test
+    void testReplicationsAreReproducible() {
+        List<Article> articles = articles(300);
+        int[] makespans = new int[4];
+        for (int replication = 0; replication < makespans.length; replication++) {
+            SimulationKernel first = new SimulationKernel(articles, workstations, StandardDispatchRule.FIFO, null, null);
+            first.setVariability(model(), replication);
+            first.run();
+            SimulationKernel second = new SimulationKernel(articles, workstations, StandardDispatchRule.FIFO, null, null);
+            second.setVariability(model(), replication);
+            second.run();
+
+            assertEquals(first.getMakespan(), second.getMakespan());
+            assertEquals(first.getWorkstationUsage(), second.getWorkstationUsage());
+            assertEquals(first.getWorkstationDownTime(3), second.getWorkstationDownTime(3));
+            makespans[replication] = first.getMakespan();
+        }
+        assertTrue(Arrays.stream(makespans).distinct().count() > 1, "Réplicas diferentes devem variar");
+    }
+
+    @Test
+    void testBreakdownsDelayOnlyTheirWorkstation() {
+        List<Article> articles = articles(300);
+        VariabilityModel model = new VariabilityModel(7).setBreakdowns("ws4", 100, 50);
+        SimulationKernel kernel = new SimulationKernel(articles, workstations, StandardDispatchRule.FIFO, null, null);
+        kernel.setVariability(model, 0);
+        kernel.run();
+        SimulationKernel fixed = new SimulationKernel(articles, workstations, StandardDispatchRule.FIFO, null, null);
+        fixed.run();
+
+        // Os tempos de processamento não mudam; só o posto ws4 tem avarias
+        assertEquals(fixed.getProcessedEvents(), kernel.getProcessedEvents());
+        assertEquals(fixed.getWorkstationBusyTime(3), kernel.getWorkstationBusyTime(3));
+        assertEquals(0, kernel.getWorkstationDownTime(0));
+        assertTrue(kernel.getWorkstationDownTime(3) > 0);
+        assertTrue(kernel.getMakespan() > fixed.getMakespan());
+        assertEquals(100.0 / 150, model.getBreakdowns().get("ws4").getAvailability(), 1e-9);
+    }
+
+    @Test
+    void testReplicationRunnerIgnoresParallelism() {
+        List<Article> articles = articles(200);
+        SimulationScenario scenario = new SimulationScenario("base", StandardDispatchRule.SPT, Map.of());
+        ReplicationRunner.Report sequential = new ReplicationRunner(articles, workstations, 1).run(scenario, model(), 8);
+        ReplicationRunner.Report parallel = new ReplicationRunner(articles, workstations, 4).run(scenario, model(), 8);
+
+        assertEquals(8, parallel.getResults().size());
+        for (int r = 0; r < 8; r++) {
+            assertEquals(sequential.getResults().get(r).getMakespan(), parallel.getResults().get(r).getMakespan());
+        }
+        assertTrue(parallel.getMakespan().getStandardDeviation() > 0);
+    }
+
+    @Test
+    void testCheckpointsAreRejected() {
+        SimulationKernel kernel = new SimulationKernel(articles(10), workstations, StandardDispatchRule.FIFO, null, null);
+        kernel.setVariability(model(), 0);
+        assertThrows(IllegalStateException.class, () -> kernel.setCheckpointInterval(10, Path.of("unused.ckpt")));
+        kernel.run();
+        assertThrows(IllegalStateException.class, () -> kernel.setVariability(model(), 1));
+
+        Simulation simulation = new Simulation(articles(10), workstations, mock(Printer.class),
+                Simulation.SimulationStrategy.FIFO, Simulation.EngineMode.PROCESS);
+        assertThrows(IllegalStateException.class, () -> simulation.setVariability(model(), 0));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.production.Domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkstationPoolTest {
+
+    @Test
+    void testAcquireReturnsFastestWorkstation() {
+        WorkstationPool pool = new WorkstationPool(1);
+        pool.register(0, 30);
+        pool.register(1, 10);
+        pool.register(2, 20);
+
+        assertEquals(3, pool.registeredCount());
+        assertEquals(1, pool.peek());
+        assertEquals(1, pool.acquire());
+        assertEquals(2, pool.acquire());
+        assertEquals(0, pool.acquire());
+        assertEquals(-1, pool.acquire());
+        assertFalse(pool.hasIdle());
+    }
+
+    @Test
+    void testEquallyFastWorkstationsPreferLongestIdle() {
+        WorkstationPool pool = new WorkstationPool();
+        pool.register(0, 10);
+        pool.register(1, 10);
+        assertEquals(0, pool.acquire());
+        assertEquals(1, pool.acquire());
+
+        pool.release(1, 10, 15);
+        pool.release(0, 10, 20);
+
+        assertEquals(1, pool.acquire(), "A estação livre há mais tempo deve ser escolhida.");
+        assertEquals(0, pool.acquire());
+    }
+
+    @Test
+    void testRemoveIdleWorkstation() {
+        WorkstationPool pool = new WorkstationPool();
+        for (int w = 0; w < 10; w++) {
+            pool.register(w, 10 - w);
+        }
+        assertTrue(pool.remove(9));
+        assertFalse(pool.remove(9));
+        assertEquals(9, pool.idleCount());
+        assertEquals(8, pool.acquire());
+        assertEquals(7, pool.acquire());
+    }
+}
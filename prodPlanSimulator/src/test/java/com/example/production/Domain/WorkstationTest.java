@@ -22,4 +22,15 @@ class WorkstationTest {
         ws.addUsageTime(7);
         assertEquals(12, ws.getTotalUsageTime());
     }
+
+    @Test
+    void testSetupAndBatchSize() {
+        Workstation oven = new Workstation("ws2", "BAKE", 30, 5, 4);
+        assertEquals(5, oven.getSetupTime());
+        assertEquals(4, oven.getBatchSize());
+        assertTrue(oven.hasSetupOrBatching());
+        assertFalse(new Workstation("ws1", "CUT", 10).hasSetupOrBatching());
+        assertThrows(IllegalArgumentException.class, () -> new Workstation("ws3", "BAKE", 30, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Workstation("ws3", "BAKE", 30, -1, 1));
+    }
 }
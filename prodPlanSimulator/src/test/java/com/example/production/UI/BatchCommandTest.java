@@ -0,0 +1,107 @@
+package com.example.production.UI;
+
+import com.example.production.Utils.DatasetGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchCommandTest {
+
+    @TempDir
+    Path directory;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+    private final BatchCommand command = new BatchCommand(new PrintStream(out, true, StandardCharsets.UTF_8),
+            new PrintStream(err, true, StandardCharsets.UTF_8));
+
+    private void writeDataset() throws Exception {
+        DatasetGenerator generator = new DatasetGenerator(11);
+        generator.writeArticles(directory.resolve("articles.csv"), 200, 5, 3);
+        generator.writeWorkstations(directory.resolve("workstations.csv"), 5, 2, 20);
+        generator.writePertProject(directory.resolve("project.csv"), 30, 0.3, 5);
+    }
+
+    @Test
+    void testSimulateWritesReport() throws Exception {
+        writeDataset();
+        Path report = directory.resolve("report.csv");
+        int status = command.run("simulate", "articles=" + directory.resolve("articles.csv"),
+                "workstations=" + directory.resolve("workstations.csv"), "strategy=spt", "format=csv", "output=" + report);
+
+        assertEquals(BatchCommand.OK, status, err.toString(StandardCharsets.UTF_8));
+        List<String> lines = Files.readAllLines(report);
+        assertEquals("section;key;value", lines.get(0));
+        assertTrue(lines.get(1).matches("summary;makespan;[1-9][0-9]*"));
+        assertEquals("summary;rule;SPT", lines.get(2));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("workstation;")));
+    }
+
+    @Test
+    void testParallelEngineMatchesDeterministic() throws Exception {
+        writeDataset();
+        String articles = "articles=" + directory.resolve("articles.csv");
+        String workstations = "workstations=" + directory.resolve("workstations.csv");
+        assertEquals(BatchCommand.OK, command.run("simulate", articles, workstations, "format=json"));
+        String deterministic = out.toString(StandardCharsets.UTF_8);
+        out.reset();
+        assertEquals(BatchCommand.OK, command.run("simulate", articles, workstations, "engine=parallel", "threads=2", "format=json"));
+
+        assertTrue(deterministic.startsWith("{\"makespan\":"));
+        assertEquals(deterministic, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testScheduleExportsEveryActivity() throws Exception {
+        writeDataset();
+        Path report = directory.resolve("schedule.csv");
+        int status = command.run("schedule", "project=" + directory.resolve("project.csv"), "format=csv", "output=" + report);
+
+        assertEquals(BatchCommand.OK, status, err.toString(StandardCharsets.UTF_8));
+        List<String> lines = Files.readAllLines(report);
+        assertEquals("id;es;ef;ls;lf;slack", lines.get(0));
+        assertEquals(31, lines.size());
+    }
+
+    @Test
+    void testRejectedDataIsAFailureNotAUsageError() throws Exception {
+        writeDataset();
+        Path workstations = directory.resolve("batch-workstations.csv");
+        Files.writeString(workstations, "workstation;name_oper;time;setup_time;batch_size\nws1;"
+                + DatasetGenerator.operationName(0) + ";5;0;4\n");
+
+        // O motor paralelo rejeita postos com lotes durante a execução
+        int status = command.run("simulate", "articles=" + directory.resolve("articles.csv"),
+                "workstations=" + workstations, "engine=PARALLEL");
+        assertEquals(BatchCommand.FAILED, status);
+        assertFalse(err.toString(StandardCharsets.UTF_8).contains("Usage:"));
+    }
+
+    @Test
+    void testInvalidArguments() throws Exception {
+        assertEquals(BatchCommand.USAGE_ERROR, command.run());
+        assertEquals(BatchCommand.USAGE_ERROR, command.run("report"));
+        assertEquals(BatchCommand.USAGE_ERROR, command.run("simulate", "workstations=w.csv"));
+        assertEquals(BatchCommand.USAGE_ERROR, command.run("simulate", "articles=a.csv", "workstations=w.csv", "strategy=RANDOM"));
+        assertEquals(BatchCommand.USAGE_ERROR, command.run("schedule", "project=p.csv", "colour=red"));
+        // Combinações não suportadas são rejeitadas antes de ler os ficheiros
+        assertEquals(BatchCommand.USAGE_ERROR, command.run("simulate", "articles=a.csv", "workstations=w.csv",
+                "engine=CONCURRENT", "strategy=SPT"));
+        assertEquals(BatchCommand.USAGE_ERROR, command.run("simulate", "articles=a.csv", "workstations=w.csv",
+                "engine=PROCESS", "threads=4"));
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("Usage:"));
+
+        assertEquals(BatchCommand.USAGE_ERROR, command.run("simulate", "articles=a.csv", "workstations=w.csv",
+                "engine=PARALLEL", "threads=0"));
+        // Ficheiro inexistente: falha na execução, não nos argumentos
+        assertEquals(BatchCommand.FAILED, command.run("schedule", "project=" + directory.resolve("missing.csv")));
+    }
+}
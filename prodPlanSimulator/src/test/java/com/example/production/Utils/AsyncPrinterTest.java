@@ -0,0 +1,103 @@
+package com.example.production.Utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AsyncPrinterTest {
+
+    /**
+     * Writer que só aceita escrita depois de libertado, para encher o buffer do AsyncPrinter.
+     */
+    private static class GatedWriter extends StringWriter {
+        private final CountDownLatch gate = new CountDownLatch(1);
+
+        @Override
+        public void write(String str, int off, int len) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.write(str, off, len);
+        }
+
+        @Override
+        public StringWriter append(CharSequence csq) {
+            write(csq.toString(), 0, csq.length());
+            return this;
+        }
+    }
+
+    @Test
+    void testBlockingPolicyKeepsEveryEventInOrder() throws Exception {
+        StringWriter output = new StringWriter();
+        AsyncPrinter printer = new AsyncPrinter(mock(Printer.class), output, 8, AsyncPrinter.OverflowPolicy.BLOCK);
+        for (int i = 0; i < 1000; i++) {
+            printer.printProcessingEvent(String.valueOf(i), "CUT", "ws1", "CUT", i, i + 10);
+        }
+        printer.close();
+
+        String[] lines = output.toString().split(System.lineSeparator());
+        assertEquals(1000, lines.length);
+        assertEquals(String.format("%-10s | %-15s | %-15s | %-20s | %-10d | %-10d", "0", "CUT", "ws1", "CUT", 0, 10), lines[0]);
+        assertTrue(lines[999].startsWith("999 "));
+        assertEquals(0, printer.getDroppedEvents());
+    }
+
+    @Test
+    void testDropNewestDiscardsWhenFull() throws Exception {
+        GatedWriter output = new GatedWriter();
+        AsyncPrinter printer = new AsyncPrinter(mock(Printer.class), output, 4, AsyncPrinter.OverflowPolicy.DROP_NEWEST);
+        for (int i = 0; i < 100; i++) {
+            printer.printProcessingEvent(String.valueOf(i), "CUT", "ws1", "CUT", i, i + 1);
+        }
+        output.gate.countDown();
+        printer.close();
+
+        // O escritor pode ter retirado no máximo um lote antes de bloquear: ficam 4 no buffer
+        long dropped = printer.getDroppedEvents();
+        assertTrue(dropped >= 100 - 4 - 4, "Eventos descartados: " + dropped);
+        assertEquals(100 - dropped, output.toString().split(System.lineSeparator()).length);
+        assertTrue(output.toString().startsWith("0 "));
+    }
+
+    @Test
+    void testDropOldestKeepsLatestEvents() throws Exception {
+        GatedWriter output = new GatedWriter();
+        AsyncPrinter printer = new AsyncPrinter(mock(Printer.class), output, 4, AsyncPrinter.OverflowPolicy.DROP_OLDEST);
+        for (int i = 0; i < 100; i++) {
+            printer.printProcessingEvent(String.valueOf(i), "CUT", "ws1", "CUT", i, i + 1);
+        }
+        output.gate.countDown();
+        printer.close();
+
+        String[] lines = output.toString().split(System.lineSeparator());
+        assertTrue(lines[lines.length - 1].startsWith("99 "));
+        assertEquals(100 - printer.getDroppedEvents(), lines.length);
+    }
+
+    @Test
+    void testOtherCallsWaitForBufferedEvents() throws Exception {
+        StringWriter output = new StringWriter();
+        Printer delegate = mock(Printer.class);
+        List<Integer> linesAtSummary = new ArrayList<>();
+        doAnswer(invocation -> linesAtSummary.add(output.toString().split(System.lineSeparator()).length))
+                .when(delegate).printSimulationSummary(anyInt(), anyMap());
+
+        try (AsyncPrinter printer = new AsyncPrinter(delegate, output, 16, AsyncPrinter.OverflowPolicy.BLOCK)) {
+            for (int i = 0; i < 50; i++) {
+                printer.printProcessingEvent(String.valueOf(i), "CUT", "ws1", "CUT", i, i + 1);
+            }
+            printer.printSimulationSummary(51, Map.of());
+        }
+
+        assertEquals(List.of(50), linesAtSummary);
+        verify(delegate).printSimulationSummary(51, Map.of());
+    }
+}
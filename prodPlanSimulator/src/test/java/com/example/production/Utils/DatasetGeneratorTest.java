@@ -0,0 +1,117 @@
+package com.example.production.Utils;
+
+import com.example.production.Domain.Activity;
+import com.example.production.Domain.Article;
+import com.example.production.Domain.ProductionNode;
+import com.example.production.Domain.ProductionTree;
+import com.example.production.Domain.Workstation;
+import com.example.production.Graphs.PertCmpImporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetGeneratorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testArticlesAndWorkstationsAreReadByCSVReader() throws Exception {
+        DatasetGenerator generator = new DatasetGenerator(1);
+        generator.writeArticles(directory.resolve("articles.csv"), 50, 4, 6);
+        generator.writeWorkstations(directory.resolve("workstations.csv"), 4, 2, 30);
+
+        List<Article> articles = new ArrayList<>();
+        List<Workstation> workstations = new ArrayList<>();
+        CSVReader.readCSVFile(directory.resolve("articles.csv").toString(), "article", articles, workstations, null);
+        CSVReader.readCSVFile(directory.resolve("workstations.csv").toString(), "workstation", articles, workstations, null);
+
+        assertEquals(50, articles.size());
+        assertEquals(8, workstations.size());
+        Set<String> operations = new HashSet<>();
+        workstations.forEach(ws -> {
+            operations.add(ws.getOperationName());
+            assertTrue(ws.getTime() >= 1 && ws.getTime() <= 30);
+        });
+        for (Article article : articles) {
+            assertEquals(6, article.getNameOperations().size());
+            assertTrue(operations.containsAll(article.getNameOperations()));
+            assertTrue(Set.of("HIGH", "NORMAL", "LOW").contains(article.getPriority()), "Prioridade desconhecida: " + article.getPriority());
+        }
+    }
+
+    @Test
+    void testBooIsReadAsCompleteTree() throws Exception {
+        DatasetGenerator generator = new DatasetGenerator(2);
+        int operations = generator.writeBoo(directory.resolve("boo_v2.csv"), directory.resolve("items.csv"),
+                directory.resolve("operations.csv"), 2, 3, 5);
+        assertEquals(1 + 3 + 9, operations);
+
+        Map<String, ProductionTree> trees = CSVReader.readProductionTrees(directory.resolve("boo_v2.csv").toString(),
+                directory.resolve("items.csv").toString(), directory.resolve("operations.csv").toString());
+
+        // O produto final (operação 1) produz o item 101; a árvore contém as suas 12 sub-operações
+        ProductionTree product = trees.get("101");
+        assertNotNull(product);
+        assertEquals("product", product.getRoot().getName());
+        long operationNodes = product.getNodeMap().values().stream()
+                .filter(node -> node.getType() == ProductionNode.NodeType.OPERATION).count();
+        assertEquals(12, operationNodes);
+        assertEquals("OP2", product.getNodeById("2").getName());
+        assertEquals("OP1", product.getNodeById("6").getName());
+    }
+
+    @Test
+    void testBooItemIdsAreUnique() throws Exception {
+        DatasetGenerator generator = new DatasetGenerator(3);
+        generator.writeBoo(directory.resolve("boo_v2.csv"), directory.resolve("items.csv"),
+                directory.resolve("operations.csv"), 1, 12, 5);
+
+        List<String> items = Files.readAllLines(directory.resolve("items.csv"));
+        Set<String> ids = new HashSet<>();
+        for (String line : items.subList(1, items.size())) {
+            assertTrue(ids.add(line.split(";")[0]), "Item repetido: " + line);
+        }
+        // As linhas terminam no parêntese, como no boo_v2.csv
+        for (String line : Files.readAllLines(directory.resolve("boo_v2.csv"))) {
+            assertTrue(line.endsWith(")"), line);
+        }
+    }
+
+    @Test
+    void testPertProjectIsImportedWithAllPredecessors() throws Exception {
+        new DatasetGenerator(3).writePertProject(directory.resolve("project.csv"), 200, 0.5, 5);
+
+        PertCmpImporter importer = new PertCmpImporter(directory.resolve("project.csv").toString());
+        importer.importAndBuildGraph();
+
+        List<Activity> activities = importer.getActivitiesList();
+        assertEquals(200, activities.size());
+        int edges = 0;
+        for (Activity activity : activities) {
+            edges += activity.getPredecessors().size();
+        }
+        assertEquals(edges, importer.getPertCpmGraph().numEdges());
+        assertTrue(edges > 200, "Densidade 0.5 com janela 5 deve gerar mais arestas que atividades");
+    }
+
+    @Test
+    void testSameSeedProducesSameFiles() throws Exception {
+        new DatasetGenerator(7).writeArticles(directory.resolve("a.csv"), 100, 5, 4);
+        new DatasetGenerator(7).writeArticles(directory.resolve("b.csv"), 100, 5, 4);
+
+        assertEquals(Files.readAllLines(directory.resolve("a.csv")), Files.readAllLines(directory.resolve("b.csv")));
+    }
+
+    @Test
+    void testRejectsOversizedBoo() {
+        DatasetGenerator generator = new DatasetGenerator(4);
+        assertThrows(IllegalArgumentException.class, () -> generator.writeBoo(directory.resolve("boo.csv"),
+                directory.resolve("items.csv"), directory.resolve("operations.csv"), 40, 10, 5));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.production.Utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventCalendarTest {
+
+    @Test
+    void testPollReturnsEventsInTimeOrder() {
+        EventCalendar calendar = new EventCalendar(2);
+        calendar.schedule(30, 0, 3, 0);
+        calendar.schedule(10, 0, 1, 0);
+        calendar.schedule(20, 1, 2, 5);
+
+        assertEquals(3, calendar.size());
+        assertEquals(10, calendar.peekTime());
+
+        assertTrue(calendar.poll());
+        assertEquals(10, calendar.time());
+        assertEquals(1, calendar.article());
+
+        assertTrue(calendar.poll());
+        assertEquals(20, calendar.time());
+        assertEquals(1, calendar.type());
+        assertEquals(2, calendar.article());
+        assertEquals(5, calendar.workstation());
+
+        assertTrue(calendar.poll());
+        assertEquals(30, calendar.time());
+        assertFalse(calendar.poll());
+        assertTrue(calendar.isEmpty());
+    }
+
+    @Test
+    void testEventsAtSameTimeKeepInsertionOrder() {
+        EventCalendar calendar = new EventCalendar(4);
+        for (int i = 0; i < 100; i++) {
+            calendar.schedule(i % 2 == 0 ? 5 : 7, 0, i, 0);
+        }
+
+        int previousTime = -1;
+        int previousArticle = -1;
+        while (calendar.poll()) {
+            if (calendar.time() == previousTime) {
+                assertTrue(calendar.article() > previousArticle, "Empates devem sair pela ordem de inserção.");
+            }
+            previousTime = calendar.time();
+            previousArticle = calendar.article();
+        }
+        assertEquals(7, previousTime);
+    }
+
+    @Test
+    void testSlotsAreReusedAfterPoll() {
+        EventCalendar calendar = new EventCalendar(1);
+        for (int round = 0; round < 1000; round++) {
+            calendar.schedule(round, 0, round, 0);
+            calendar.schedule(round, 0, round + 1, 0);
+            assertTrue(calendar.poll());
+            assertEquals(round, calendar.article());
+            assertTrue(calendar.poll());
+            assertEquals(round + 1, calendar.article());
+        }
+        assertTrue(calendar.isEmpty());
+        assertThrows(NoSuchElementException.class, calendar::peekTime);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.production.Utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramTest {
+
+    @Test
+    void testSmallValuesAreExact() {
+        Histogram histogram = new Histogram();
+        for (int value = 1; value <= 20; value++) {
+            histogram.record(value);
+        }
+        assertEquals(20, histogram.getCount());
+        assertEquals(10, histogram.getPercentile(50));
+        assertEquals(19, histogram.getPercentile(95));
+        assertEquals(20, histogram.getPercentile(100));
+        assertEquals(1, histogram.getPercentile(0));
+        assertEquals(10.5, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    void testLargeValuesWithinRelativeError() {
+        Histogram histogram = new Histogram();
+        for (long value = 1; value <= 1_000_000; value++) {
+            histogram.record(value);
+        }
+        long median = histogram.getPercentile(50);
+        assertTrue(Math.abs(median - 500_000) <= 500_000 * 0.04, "Mediana fora do erro esperado: " + median);
+        assertEquals(1_000_000, histogram.getPercentile(100));
+        assertEquals(1_000_000, histogram.getMax());
+    }
+
+    @Test
+    void testBucketBoundsAreContiguous() {
+        for (long value = 0; value < 100_000; value++) {
+            int bucket = Histogram.bucketOf(value);
+            assertTrue(Histogram.lowerBound(bucket) <= value && value < Histogram.lowerBound(bucket + 1),
+                    "Valor " + value + " fora do balde " + bucket);
+        }
+    }
+
+    @Test
+    void testTimeWeightedMean() {
+        TimeWeightedStatistic statistic = new TimeWeightedStatistic();
+        statistic.update(0, 2);
+        statistic.update(10, 4);
+        statistic.update(15, 0);
+        assertEquals((2 * 10 + 4 * 5) / 20.0, statistic.getMean(20), 1e-9);
+        assertEquals(4, statistic.getMax());
+        assertEquals(0, statistic.getCurrent());
+    }
+
+    @Test
+    void testEmptyHistogram() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.getPercentile(99));
+        assertEquals(0, histogram.getMean());
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(101));
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.production.Utils;
+
+import com.example.production.Domain.Article;
+import com.example.production.Domain.Workstation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedCSVReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testReadsTestResourcesLikeCSVReader() throws Exception {
+        assertSameArticles("src/test/resources/articles_test.csv", new MappedCSVReader());
+        assertSameWorkstations("src/test/resources/workstations_test.csv", new MappedCSVReader());
+    }
+
+    @Test
+    void testEdgeCasesMatchCSVReader() throws Exception {
+        Path file = directory.resolve("articles.csv");
+        Files.writeString(file, "article;priority;name_oper1;name_oper2\r\n"
+                + "1;HIGH;CUT;POLISH\r\n"
+                + "2;LOW;;CUT;;\n"       // colunas vazias no meio e no fim
+                + "abc;NORMAL;PACK\n"    // ID inválido passa a 0
+                + "3;LOW;;;\n"           // só colunas vazias: ignorada
+                + "\n"
+                + "99999999999;HIGH;CUT\n"
+                + "-7;LOW;VARNISH", StandardCharsets.UTF_8);
+
+        assertSameArticles(file.toString(), new MappedCSVReader());
+    }
+
+    @Test
+    void testSetupTimeAndBatchSizeColumns() throws Exception {
+        Path file = directory.resolve("workstations.csv");
+        Files.writeString(file, "workstation;name_oper;time;setup_time;batch_size\n"
+                + "ws1;CUT;5\n"         // sem setup nem lote
+                + "ws2;OVEN;30;12;4\n"
+                + "ws3;PAINT;8;3\n"
+                + "ws4;PACK;2;-1;0\n"   // valores inválidos passam aos mínimos
+                + "ws5;DRILL;4;x;y\n"
+                + "ws6;PRESS;6;5 ; 2\t\n", StandardCharsets.UTF_8);
+
+        List<Workstation> workstations = new ArrayList<>();
+        new MappedCSVReader().readWorkstations(file, workstations);
+        assertEquals(12, workstations.get(1).getSetupTime());
+        assertEquals(4, workstations.get(1).getBatchSize());
+        assertEquals(3, workstations.get(2).getSetupTime());
+        assertEquals(1, workstations.get(2).getBatchSize());
+        // Espaços à volta dos valores são ignorados, como no CSVReader
+        assertEquals(5, workstations.get(5).getSetupTime());
+        assertEquals(2, workstations.get(5).getBatchSize());
+        assertSameWorkstations(file.toString(), new MappedCSVReader());
+    }
+
+    @Test
+    void testLinesAcrossMappingWindows() throws Exception {
+        DatasetGenerator generator = new DatasetGenerator(5);
+        Path articles = directory.resolve("articles.csv");
+        Path workstations = directory.resolve("workstations.csv");
+        generator.writeArticles(articles, 500, 8, 5);
+        generator.writeWorkstations(workstations, 8, 3, 50);
+
+        // Janelas de 96 bytes obrigam a remapear a meio de muitas linhas
+        MappedCSVReader reader = new MappedCSVReader(new SymbolTable(), 96);
+        assertSameArticles(articles.toString(), reader);
+        assertSameWorkstations(workstations.toString(), reader);
+        assertEquals(8 + 3, reader.getSymbols().size(), "8 operações e 3 prioridades");
+    }
+
+    @Test
+    void testOpenArticlesStreamsLazily() throws Exception {
+        Path file = directory.resolve("articles.csv");
+        new DatasetGenerator(6).writeArticles(file, 300, 4, 3);
+        List<Article> expected = new ArrayList<>();
+        CSVReader.readCSVFile(file.toString(), "article", expected, new ArrayList<>(), null);
+
+        MappedCSVReader reader = new MappedCSVReader(new SymbolTable(), 128);
+        try (MappedCSVReader.ArticleStream stream = reader.openArticles(file)) {
+            for (Article article : expected) {
+                assertTrue(stream.hasNext());
+                Article streamed = stream.next();
+                assertEquals(article.getArticleId(), streamed.getArticleId());
+                assertEquals(article.getNameOperations(), streamed.getNameOperations());
+            }
+            assertFalse(stream.hasNext());
+            assertThrows(NoSuchElementException.class, stream::next);
+        }
+    }
+
+    @Test
+    void testLineLongerThanWindowIsRejected() throws Exception {
+        Path file = directory.resolve("articles.csv");
+        Files.writeString(file, "header\n1;HIGH;" + "X".repeat(100) + "\n2;LOW;CUT\n");
+
+        MappedCSVReader reader = new MappedCSVReader(new SymbolTable(), 32);
+        assertThrows(java.io.IOException.class, () -> reader.readArticles(file, new ArrayList<>()));
+    }
+
+    @Test
+    void testOperationNamesAreInterned() throws Exception {
+        List<Article> articles = new ArrayList<>();
+        MappedCSVReader.readCSVFile("src/test/resources/articles_test.csv", "article", articles, null, null);
+
+        String first = articles.get(0).getNameOperations().get(0);
+        for (Article article : articles) {
+            for (String operation : article.getNameOperations()) {
+                if (operation.equals(first)) {
+                    assertSame(first, operation);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testParseInt() {
+        ByteBuffer buffer = ByteBuffer.wrap("x12;-5;+3;2147483647;2147483648;-2147483648;;-".getBytes(StandardCharsets.US_ASCII));
+        assertEquals(12, MappedCSVReader.parseInt(buffer, 1, 3, 0));
+        assertEquals(-5, MappedCSVReader.parseInt(buffer, 4, 6, 0));
+        assertEquals(3, MappedCSVReader.parseInt(buffer, 7, 9, 0));
+        assertEquals(Integer.MAX_VALUE, MappedCSVReader.parseInt(buffer, 10, 20, 0));
+        assertEquals(-1, MappedCSVReader.parseInt(buffer, 21, 31, -1));
+        assertEquals(Integer.MIN_VALUE, MappedCSVReader.parseInt(buffer, 32, 43, 0));
+        assertEquals(1, MappedCSVReader.parseInt(buffer, 44, 44, 1));
+        assertEquals(1, MappedCSVReader.parseInt(buffer, 45, 46, 1));
+        assertEquals(1, MappedCSVReader.parseInt(buffer, 0, 3, 1));
+
+        ByteBuffer padded = ByteBuffer.wrap(" 42\t;  ".getBytes(StandardCharsets.US_ASCII));
+        assertEquals(0, MappedCSVReader.parseInt(padded, 0, 4, 0));
+        assertEquals(42, MappedCSVReader.parseTrimmedInt(padded, 0, 4, 0));
+        assertEquals(7, MappedCSVReader.parseTrimmedInt(padded, 5, 7, 7));
+    }
+
+    private static void assertSameArticles(String file, MappedCSVReader reader) throws Exception {
+        List<Article> expected = new ArrayList<>();
+        CSVReader.readCSVFile(file, "article", expected, new ArrayList<>(), null);
+        List<Article> actual = new ArrayList<>();
+        reader.readArticles(Paths.get(file), actual);
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getArticleId(), actual.get(i).getArticleId());
+            assertEquals(expected.get(i).getPriority(), actual.get(i).getPriority());
+            assertEquals(expected.get(i).getNameOperations(), actual.get(i).getNameOperations());
+        }
+    }
+
+    private static void assertSameWorkstations(String file, MappedCSVReader reader) throws Exception {
+        List<Workstation> expected = new ArrayList<>();
+        CSVReader.readCSVFile(file, "workstation", new ArrayList<>(), expected, null);
+        List<Workstation> actual = new ArrayList<>();
+        reader.readWorkstations(Paths.get(file), actual);
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getWorkstationId(), actual.get(i).getWorkstationId());
+            assertEquals(expected.get(i).getOperationName(), actual.get(i).getOperationName());
+            assertEquals(expected.get(i).getTime(), actual.get(i).getTime());
+            assertEquals(expected.get(i).getSetupTime(), actual.get(i).getSetupTime());
+            assertEquals(expected.get(i).getBatchSize(), actual.get(i).getBatchSize());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.production.Utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsRegistryTest {
+
+    @Test
+    void testMetricsAreSharedByName() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("events").add(3);
+        registry.counter("events").increment();
+        registry.gauge("queue").set(7);
+        registry.gauge("queue").set(2);
+        registry.distribution("latency").record(10);
+        registry.distribution("latency").record(30);
+
+        assertSame(registry.counter("events"), registry.counter("events"));
+        assertEquals(Map.of("events", 4L), registry.getCounters());
+        assertEquals(Map.of("queue", 2L), registry.getGauges());
+        assertEquals(7, registry.gauge("queue").getMax());
+        assertEquals(2, registry.getDistributions().get("latency").getCount());
+        assertEquals(20.0, registry.distribution("latency").getMean(), 1e-9);
+        assertEquals(30, registry.distribution("latency").getPercentile(100));
+    }
+
+    @Test
+    void testConcurrentUpdates() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    registry.counter("events").increment();
+                    registry.distribution("values").record(i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(40_000, registry.counter("events").get());
+        assertEquals(40_000, registry.distribution("values").getCount());
+        assertEquals(9_999, registry.distribution("values").getMax());
+    }
+}
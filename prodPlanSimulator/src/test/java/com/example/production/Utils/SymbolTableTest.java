@@ -0,0 +1,47 @@
+package com.example.production.Utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymbolTableTest {
+
+    @Test
+    void testInternAssignsDenseIds() {
+        SymbolTable symbols = new SymbolTable(2);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, symbols.intern("OP" + i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, symbols.intern("OP" + i));
+            assertEquals("OP" + i, symbols.name(i));
+        }
+        assertEquals(1000, symbols.size());
+    }
+
+    @Test
+    void testInternFromBufferReusesString() {
+        SymbolTable symbols = new SymbolTable();
+        ByteBuffer buffer = ByteBuffer.wrap("CUT;POLISH;CUT;Lixar".getBytes(StandardCharsets.UTF_8));
+
+        int cut = symbols.intern(buffer, 0, 3);
+        int polish = symbols.intern(buffer, 4, 10);
+        assertEquals(cut, symbols.intern(buffer, 11, 14));
+        assertNotEquals(cut, polish);
+        assertSame(symbols.name(cut), symbols.name(symbols.intern("CUT")));
+        assertEquals("Lixar", symbols.name(symbols.intern(buffer, 15, 20)));
+    }
+
+    @Test
+    void testIdOfUnknownName() {
+        SymbolTable symbols = new SymbolTable();
+        symbols.intern("CUT");
+        assertEquals(0, symbols.idOf("CUT"));
+        assertEquals(-1, symbols.idOf("PACK"));
+        assertEquals(1, symbols.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> symbols.name(1));
+    }
+}
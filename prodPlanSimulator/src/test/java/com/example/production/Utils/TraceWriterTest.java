@@ -0,0 +1,119 @@
+package com.example.production.Utils;
+
+import com.example.production.Domain.Article;
+import com.example.production.Domain.Simulation;
+import com.example.production.Domain.Workstation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TraceWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRoundTripAcrossBlocks() throws IOException {
+        Path file = directory.resolve("trace.bin");
+        try (TraceWriter writer = new TraceWriter(file, 4)) {
+            int cut = writer.operationId("CUT");
+            int polish = writer.operationId("POLISH");
+            int ws1 = writer.workstationId("ws1");
+            for (int i = 0; i < 10; i++) {
+                writer.record(i, i % 2 == 0 ? cut : polish, ws1, i * 10, i * 10 + 5);
+            }
+            assertEquals(10, writer.getEventCount());
+        }
+
+        try (TraceReader reader = new TraceReader(file)) {
+            assertEquals(10, reader.getEventCount());
+            assertEquals(List.of("CUT", "POLISH"), reader.getOperations());
+            assertEquals(List.of("ws1"), reader.getWorkstations());
+
+            // Blocos de 4 eventos: 4 + 4 + 2
+            List<Integer> blockSizes = new ArrayList<>();
+            int expected = 0;
+            while (reader.nextBlock()) {
+                blockSizes.add(reader.getBlockSize());
+                for (int i = 0; i < reader.getBlockSize(); i++, expected++) {
+                    assertEquals(expected, reader.getArticleColumn()[i]);
+                    assertEquals(expected % 2, reader.getOperationColumn()[i]);
+                    assertEquals(expected * 10, reader.getStartColumn()[i]);
+                    assertEquals(expected * 10 + 5, reader.getFinishColumn()[i]);
+                }
+            }
+            assertEquals(List.of(4, 4, 2), blockSizes);
+        }
+    }
+
+    @Test
+    void testSimulationTraceReplaysPrintedEvents() throws IOException {
+        List<Article> articles = List.of(new Article(1, "HIGH", List.of("CUT", "POLISH")),
+                new Article(2, "LOW", List.of("CUT")), new Article(3, "NORMAL", List.of("POLISH", "CUT")));
+        List<Workstation> workstations = List.of(new Workstation("ws1", "CUT", 10), new Workstation("ws2", "POLISH", 5));
+        Printer printed = mock(Printer.class);
+        Path file = directory.resolve("simulation.trace");
+
+        try (TraceWriter writer = new TraceWriter(file)) {
+            Simulation simulation = new Simulation(articles, workstations, printed,
+                    Simulation.SimulationStrategy.FIFO, Simulation.EngineMode.DETERMINISTIC);
+            simulation.setTraceWriter(writer);
+            simulation.runSimulation();
+        }
+
+        Printer replayed = mock(Printer.class);
+        try (TraceReader reader = new TraceReader(file)) {
+            assertEquals(5, reader.getEventCount());
+            reader.replay(replayed);
+        }
+        verify(printed, times(2)).printProcessingEvent(eq("1"), anyString(), anyString(), anyString(), anyInt(), anyInt());
+        verify(replayed).printProcessingEvent("1", "CUT", "ws1", "CUT", 0, 10);
+        verify(printed).printProcessingEvent("1", "CUT", "ws1", "CUT", 0, 10);
+        verify(replayed).printProcessingEvent("3", "POLISH", "ws2", "POLISH", 0, 5);
+        verify(replayed, times(5)).printProcessingEvent(anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testProcessEngineWritesTrace() throws IOException {
+        List<Article> articles = List.of(new Article(1, "HIGH", List.of("CUT", "POLISH")),
+                new Article(2, "LOW", List.of("CUT")), new Article(3, "NORMAL", List.of("POLISH", "CUT")));
+        List<Workstation> workstations = List.of(new Workstation("ws1", "CUT", 10), new Workstation("ws2", "POLISH", 5));
+        Path file = directory.resolve("process.trace");
+
+        try (TraceWriter writer = new TraceWriter(file)) {
+            Simulation simulation = new Simulation(articles, workstations, new NullPrinter(),
+                    Simulation.SimulationStrategy.FIFO, Simulation.EngineMode.PROCESS);
+            simulation.setTraceWriter(writer);
+            simulation.runSimulation();
+        }
+
+        Printer replayed = mock(Printer.class);
+        try (TraceReader reader = new TraceReader(file)) {
+            assertEquals(5, reader.getEventCount());
+            reader.replay(replayed);
+        }
+        verify(replayed).printProcessingEvent("1", "CUT", "ws1", "CUT", 0, 10);
+        verify(replayed).printProcessingEvent("3", "POLISH", "ws2", "POLISH", 0, 5);
+    }
+
+    @Test
+    void testRejectsUnclosedTrace() throws IOException {
+        Path file = directory.resolve("partial.trace");
+        TraceWriter writer = new TraceWriter(file);
+        writer.record(1, writer.operationId("CUT"), writer.workstationId("ws1"), 0, 1);
+
+        assertThrows(IOException.class, () -> new TraceReader(file));
+        writer.close();
+        assertTrue(Files.size(file) > 0);
+        try (TraceReader reader = new TraceReader(file)) {
+            assertEquals(1, reader.getEventCount());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.production.Utils;
+
+import com.example.production.Domain.Workstation;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UsageStatisticsTest {
+
+    private final List<Workstation> workstations = List.of(
+            new Workstation("ws1", "CUT", 10), new Workstation("ws2", "POLISH", 5),
+            new Workstation("ws3", "CUT", 7), new Workstation("ws4", "DRILL", 3));
+
+    @Test
+    void testSnapshotsMergeByWorkstationAndOperation() {
+        UsageStatistics statistics = new UsageStatistics(workstations);
+        statistics.record(0, 10);
+        statistics.record(2, 7);
+        statistics.record(1, 5);
+        statistics.record(0, 10);
+
+        assertEquals(Map.of("ws1", 20, "ws2", 5, "ws3", 7), statistics.getWorkstationUsage());
+        // DRILL nunca foi usada e não aparece
+        assertEquals(Map.of("CUT", 27, "POLISH", 5), statistics.getOperationTimes());
+        assertEquals(List.of("CUT", "POLISH"), new ArrayList<>(statistics.getOperationTimes().keySet()));
+        assertEquals(4, statistics.getRecordedEvents());
+        assertEquals(20, statistics.getWorkstationTime(0));
+    }
+
+    @Test
+    void testLookupsMatchSnapshots() {
+        List<Workstation> plant = List.of(new Workstation("ws1", "CUT", 10), new Workstation("ws1", "PAINT", 4),
+                new Workstation("ws2", "CUT", 7));
+        UsageStatistics statistics = new UsageStatistics(plant);
+        statistics.record(0, 10);
+        statistics.record(1, 4);
+        statistics.record(2, 7);
+
+        // IDs repetidos são somados, como no mapa
+        assertEquals(14, statistics.getWorkstationUsage("ws1"));
+        statistics.getWorkstationUsage().forEach((id, time) -> assertEquals(time, statistics.getWorkstationUsage(id)));
+        statistics.getOperationTimes().forEach((name, time) -> assertEquals(time, statistics.getOperationTime(name)));
+        assertEquals(0, statistics.getWorkstationUsage("ws9"));
+        assertEquals(0, statistics.getOperationTime("DRILL"));
+    }
+
+    @Test
+    void testIndexOfUsesInstanceIdentity() {
+        UsageStatistics statistics = new UsageStatistics(workstations);
+        assertEquals(1, statistics.indexOf(workstations.get(1)));
+        assertEquals(-1, statistics.indexOf(new Workstation("ws2", "POLISH", 5)));
+    }
+
+    @Test
+    void testConcurrentRecordsAreNotLost() throws Exception {
+        UsageStatistics statistics = new UsageStatistics(workstations);
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        statistics.record((i + offset) % workstations.size(), 1);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals((long) threads * perThread, statistics.getRecordedEvents());
+        int total = statistics.getWorkstationUsage().values().stream().mapToInt(Integer::intValue).sum();
+        assertEquals(threads * perThread, total);
+        assertEquals(threads * perThread / 2, statistics.getOperationTimes().get("CUT"));
+    }
+}